@@ -0,0 +1,106 @@
+#!/usr/bin/env bash
+# Compares platform and virtual threads under many concurrent connections (see LOAD_TESTING.md).
+#
+#   scripts/load-test.sh [connections ...]      default: 1000 10000 50000
+#
+# Environment: RATE (total requests/s offered, default 20000), DURATION (default 60s),
+# THREADS (wrk2 threads per process, default 4), PER_ADDRESS (max connections per loopback
+# address, default 25000), JAR (default target/ssn-validation-service-*.jar), MODES (default
+# "platform virtual"). Needs Java 21 for the virtual mode and wrk2 (installed as `wrk`) on the PATH.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+if [ $# -gt 0 ]; then
+    CONNECTIONS=("$@")
+else
+    CONNECTIONS=(1000 10000 50000)
+fi
+RATE=${RATE:-20000}
+DURATION=${DURATION:-60s}
+THREADS=${THREADS:-4}
+PER_ADDRESS=${PER_ADDRESS:-25000}
+MODES=${MODES:-platform virtual}
+JAR=${JAR:-$(ls target/ssn-validation-service-*.jar | grep -v original | head -1)}
+PORT=8080
+RESULTS=target/load-test
+mkdir -p "$RESULTS"
+
+ulimit -n 200000 2>/dev/null || echo "warning: could not raise the open file limit, now $(ulimit -n)" >&2
+
+java_feature=$(java -XshowSettings:properties -version 2>&1 | awk -F' = ' '/java.specification.version/ {print $2}')
+
+start_service() {
+    local mode=$1
+    local profile=default
+    if [ "$mode" = virtual ]; then
+        if [ "${java_feature%%.*}" -lt 21 ]; then
+            echo "virtual mode needs Java 21, found $java_feature" >&2
+            return 1
+        fi
+        profile=virtual-threads
+    fi
+
+    # Same connection limits in both modes so only the threading model differs. The per-client
+    # rate limit is lifted because every request comes from the loopback interface.
+    java -jar "$JAR" \
+        --spring.profiles.active="$profile" \
+        --server.address=0.0.0.0 \
+        --server.tomcat.max-connections=60000 \
+        --server.tomcat.accept-count=1000 \
+        --rate.limit.requests-per-minute=1000000000 \
+        --logging.level.root=WARN \
+        > "$RESULTS/service-$mode.log" 2>&1 &
+    SERVICE_PID=$!
+
+    for _ in $(seq 60); do
+        curl -sf "http://127.0.0.1:$PORT/health" > /dev/null && return 0
+        sleep 1
+    done
+    echo "service did not start, see $RESULTS/service-$mode.log" >&2
+    return 1
+}
+
+stop_service() {
+    kill "$SERVICE_PID" 2>/dev/null || true
+    wait "$SERVICE_PID" 2>/dev/null || true
+}
+
+# One wrk2 process per 127.0.0.x target address keeps each under the ephemeral port range
+run_load() {
+    local mode=$1 connections=$2
+    local processes=$(( (connections + PER_ADDRESS - 1) / PER_ADDRESS ))
+    local pids=()
+
+    for i in $(seq 1 "$processes"); do
+        wrk -t"$THREADS" -c$(( connections / processes )) -d"$DURATION" -R$(( RATE / processes )) \
+            --latency -s scripts/validate.lua "http://127.0.0.$i:$PORT/api/v1/ssn/validate" \
+            > "$RESULTS/$mode-$connections-$i.txt" 2>&1 &
+        pids+=($!)
+    done
+    wait "${pids[@]}"
+
+    # Throughput adds up across processes; p99 is the worst of them
+    awk -v mode="$mode" -v c="$connections" '
+        /Requests\/sec/ { rps += $2 }
+        /^ *99\.000%/ { v = $2; ms = v + 0
+                        if (v ~ /us$/) ms /= 1000; else if (v ~ /[0-9]s$/ && v !~ /ms$/) ms *= 1000
+                        if (ms > p99) p99 = ms }
+        /Socket errors/ { errors += 1 }
+        END { printf "| %s | %d | %.0f | %.2f | %s |\n", mode, c, rps, p99, errors ? "yes" : "no" }
+    ' "$RESULTS/$mode-$connections"-*.txt
+}
+
+{
+    echo "| Threads | Connections | Requests/s | p99 (ms) | Socket errors |"
+    echo "|---------|-------------|------------|----------|---------------|"
+    for mode in $MODES; do
+        start_service "$mode" || continue
+        trap stop_service EXIT
+        for c in "${CONNECTIONS[@]}"; do
+            run_load "$mode" "$c"
+        done
+        stop_service
+        trap - EXIT
+    done
+} | tee "$RESULTS/summary.md"
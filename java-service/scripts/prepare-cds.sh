@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+# Unpacks the Spring Boot jar into a plain classpath and records an AppCDS archive for it (see STARTUP.md).
+#
+#   scripts/prepare-cds.sh [jar] [out-dir]      default: target/ssn-validation-service-*.jar target/cds
+#
+# out-dir then holds app.jar (the application classes), lib/ (dependencies), app.jsa (the archive) and
+# jvm.args, which starts the service from them:
+#
+#   java @target/cds/jvm.args              (run from out-dir's parent, or use absolute paths)
+#
+# CDS needs the classes on the application class path, which the nested jars of the Boot jar are not.
+# Training starts the application with -Dspring.context.exit=onRefresh: the context is refreshed, so
+# every bean class is loaded, and the JVM exits before opening the port. When the jar was built with
+# -P aot, the archive is recorded with AOT enabled and jvm.args enables it too. Set AOT=false to leave
+# it off. Extra JVM options for the training run can be passed in TRAIN_OPTS.
+#
+# STEP=unpack only unpacks (needs the JDK's jar tool) and STEP=train only records the archive of an
+# unpacked out-dir (pass "" as the jar). The archive only works with the JVM that recorded it, so an image unpacks in its
+# JDK build stage and trains on its runtime JRE.
+set -euo pipefail
+
+JAR=${1:-}
+OUT=${2:-target/cds}
+MAIN_CLASS=com.pii.validation.SsnValidationApplication
+
+STEP=${STEP:-all}
+
+if [ "$STEP" != train ]; then
+    JAR=${JAR:-$(ls target/ssn-validation-service-*.jar | grep -v original | head -1)}
+    rm -rf "$OUT"
+    mkdir -p "$OUT/unpacked" "$OUT/lib"
+    (cd "$OUT/unpacked" && jar xf "$(cd - >/dev/null && realpath "$JAR")")
+
+    # Non-empty directories can't be on a CDS class path, so the application classes go back into a jar
+    jar cf "$OUT/app.jar" -C "$OUT/unpacked/BOOT-INF/classes" .
+    mv "$OUT"/unpacked/BOOT-INF/lib/*.jar "$OUT/lib/"
+
+    if [ -n "$(find "$OUT/unpacked/BOOT-INF/classes" -name '*__BeanDefinitions.class' -print -quit)" ]; then
+        echo true >"$OUT/aot"
+    else
+        echo false >"$OUT/aot"
+    fi
+    rm -rf "$OUT/unpacked"
+fi
+if [ "$STEP" = unpack ]; then
+    exit 0
+fi
+
+aot=${AOT:-$(cat "$OUT/aot")}
+
+# A fixed, explicit class path: the archive only matches a run with the same entries in the same order
+classpath="$OUT/app.jar"
+for lib in $(ls "$OUT"/lib/*.jar | sort); do
+    classpath="$classpath:$lib"
+done
+
+java -XX:ArchiveClassesAtExit="$OUT/app.jsa" \
+    -Dspring.aot.enabled="$aot" \
+    -Dspring.context.exit=onRefresh \
+    ${TRAIN_OPTS:-} \
+    -cp "$classpath" "$MAIN_CLASS" >"$OUT/training.log" 2>&1 || {
+        echo "CDS training run failed, see $OUT/training.log" >&2
+        exit 1
+    }
+
+cat >"$OUT/jvm.args" <<ARGS
+-XX:SharedArchiveFile=$OUT/app.jsa
+-Dspring.aot.enabled=$aot
+-cp $classpath
+$MAIN_CLASS
+ARGS
+
+echo "CDS archive $OUT/app.jsa ($(du -h "$OUT/app.jsa" | cut -f1)), AOT $aot; start with: java @$OUT/jvm.args"
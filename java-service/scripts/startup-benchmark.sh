@@ -0,0 +1,119 @@
+#!/usr/bin/env bash
+# Measures startup of each way of running the service (see STARTUP.md): time from launch to the first
+# 200 from /health and from /api/v1/ssn/validate, and resident memory once idle.
+#
+#   scripts/startup-benchmark.sh [variant ...]      default: every variant that is available
+#
+# Variants: jar (java -jar), cds (AppCDS archive), aot (jar built with -P aot), aot-cds (both) and
+# native (target/ssn-validation-service, built with -P native). aot and aot-cds need a jar built with
+# -P aot; cds archives are prepared with scripts/prepare-cds.sh on the first run.
+#
+# Environment: RUNS (default 5, the median is reported), IDLE (seconds before reading RSS, default 5),
+# PORT (default 18080), JAVA_OPTS (extra JVM options for every JVM variant), JAR.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-5}
+IDLE=${IDLE:-5}
+PORT=${PORT:-18080}
+JAR=${JAR:-$(ls target/ssn-validation-service-*.jar | grep -v original | head -1)}
+NATIVE=target/ssn-validation-service
+RESULTS=target/startup
+mkdir -p "$RESULTS"
+
+aot_jar=false
+if unzip -l "$JAR" | grep '__BeanDefinitions.class' >/dev/null; then
+    aot_jar=true
+fi
+
+if [ $# -gt 0 ]; then
+    VARIANTS=("$@")
+else
+    VARIANTS=(jar cds)
+    if [ "$aot_jar" = true ]; then
+        VARIANTS+=(aot aot-cds)
+    fi
+    if [ -x "$NATIVE" ]; then
+        VARIANTS+=(native)
+    fi
+fi
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+command_for() {
+    case $1 in
+        jar) echo "java ${JAVA_OPTS:-} -Dspring.aot.enabled=false -jar $JAR" ;;
+        aot) echo "java ${JAVA_OPTS:-} -Dspring.aot.enabled=true -jar $JAR" ;;
+        cds) echo "java ${JAVA_OPTS:-} @target/cds-jar/jvm.args" ;;
+        aot-cds) echo "java ${JAVA_OPTS:-} @target/cds-aot/jvm.args" ;;
+        native) echo "$NATIVE" ;;
+        *) echo "unknown variant $1" >&2; return 1 ;;
+    esac
+}
+
+prepare() {
+    case $1 in
+        aot | aot-cds)
+            if [ "$aot_jar" != true ]; then
+                echo "$JAR was not built with -P aot" >&2
+                return 1
+            fi
+            ;;
+        native)
+            [ -x "$NATIVE" ] || { echo "$NATIVE not found; build it with mvn -P native native:compile" >&2; return 1; }
+            ;;
+    esac
+    case $1 in
+        cds) [ -f target/cds-jar/app.jsa ] || AOT=false scripts/prepare-cds.sh "$JAR" target/cds-jar >&2 ;;
+        aot-cds) [ -f target/cds-aot/app.jsa ] || AOT=true scripts/prepare-cds.sh "$JAR" target/cds-aot >&2 ;;
+    esac
+}
+
+# Prints "health_ms validate_ms rss_kb" for one start
+measure() {
+    local variant=$1 run=$2
+    local start health validate pid rss
+
+    start=$(now_ms)
+    $(command_for "$variant") --server.port="$PORT" >"$RESULTS/$variant-$run.log" 2>&1 &
+    pid=$!
+
+    until curl -sf -o /dev/null "localhost:$PORT/health"; do
+        kill -0 "$pid" 2>/dev/null || { echo "$variant exited, see $RESULTS/$variant-$run.log" >&2; return 1; }
+        sleep 0.01
+    done
+    health=$(( $(now_ms) - start ))
+
+    until curl -sf -o /dev/null -H 'Content-Type: application/json' -d '{"ssn": "123-45-6789"}' \
+            "localhost:$PORT/api/v1/ssn/validate"; do
+        sleep 0.01
+    done
+    validate=$(( $(now_ms) - start ))
+
+    sleep "$IDLE"
+    rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$health $validate $rss"
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+printf '%-8s %12s %14s %10s\n' variant health_ms validate_ms rss_mb
+for variant in "${VARIANTS[@]}"; do
+    prepare "$variant"
+    : >"$RESULTS/$variant.txt"
+    for run in $(seq 1 "$RUNS"); do
+        measure "$variant" "$run" >>"$RESULTS/$variant.txt"
+    done
+    printf '%-8s %12s %14s %10s\n' "$variant" \
+        "$(cut -d' ' -f1 "$RESULTS/$variant.txt" | median)" \
+        "$(cut -d' ' -f2 "$RESULTS/$variant.txt" | median)" \
+        "$(( $(cut -d' ' -f3 "$RESULTS/$variant.txt" | median) / 1024 ))"
+done
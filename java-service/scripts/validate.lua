@@ -0,0 +1,4 @@
+-- wrk2 request script: single SSN validation, the hot path of the service
+wrk.method = "POST"
+wrk.body = '{"ssn": "123-45-6789"}'
+wrk.headers["Content-Type"] = "application/json"
@@ -0,0 +1,67 @@
+package com.pii.validation.benchmark;
+
+import com.pii.validation.audit.AuditLog;
+import com.pii.validation.audit.ValidationEventListener;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * What auditing costs a request thread: publishing an event to a running {@link AuditLog}
+ * ({@code publish}), against hashing the SSN on the request thread ({@code inlineHmac}), which is
+ * the part of writing a record that the ring buffer moves to the consumer thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditBenchmark {
+
+    private static final byte[] KEY = new byte[32];
+    private static final String SSN = "123-45-6789";
+
+    private Path directory;
+    private AuditLog auditLog;
+    private Mac mac;
+
+    @Setup
+    public void setUp() throws IOException, GeneralSecurityException {
+        directory = Files.createTempDirectory("audit-benchmark");
+        auditLog = new AuditLog(directory, KEY, 65536, AuditLog.Backpressure.DROP, 256L << 20, 1000);
+        mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(KEY, "HmacSHA256"));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        auditLog.close();
+        System.out.printf("%naudit events written %,d, dropped %,d%n", auditLog.writtenCount(),
+                auditLog.droppedCount());
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void publish() {
+        auditLog.onValidation(ValidationEventListener.Source.SINGLE, 0xC0A80001L, SSN, 0);
+    }
+
+    @Benchmark
+    public byte[] inlineHmac() {
+        return mac.doFinal(SSN.getBytes(StandardCharsets.US_ASCII));
+    }
+}
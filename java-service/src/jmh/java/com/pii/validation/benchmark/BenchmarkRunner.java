@@ -0,0 +1,113 @@
+package com.pii.validation.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the JMH suite with the GC profiler, writes the JSON result file and prints a baseline
+ * table (score and normalized allocation per operation). When a previous result file is given,
+ * the table also shows the change against it.
+ *
+ * <p>Usage: {@code BenchmarkRunner <include-regex> <result-file> [baseline-file]}
+ */
+public final class BenchmarkRunner {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = args.length > 0 && !args[0].isBlank() ? args[0] : ".*";
+        String resultFile = args.length > 1 && !args[1].isBlank() ? args[1] : "jmh-result.json";
+        String baselineFile = args.length > 2 && !args[2].isBlank() ? args[2] : null;
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, double[]> baseline = baselineFile != null ? readBaseline(new File(baselineFile)) : Map.of();
+        printSummary(results, baseline);
+    }
+
+    private static void printSummary(Collection<RunResult> results, Map<String, double[]> baseline) {
+        Map<String, String> rows = new TreeMap<>();
+
+        for (RunResult result : results) {
+            String name = label(result.getParams().getBenchmark(), result.getParams().getParamsKeys().stream()
+                    .map(key -> key + "=" + result.getParams().getParam(key))
+                    .toList());
+            double score = result.getPrimaryResult().getScore();
+            String unit = result.getPrimaryResult().getScoreUnit();
+            var allocation = result.getSecondaryResults().get(ALLOCATION);
+            double bytesPerOp = allocation != null ? allocation.getScore() : Double.NaN;
+
+            String row = String.format("%-75s %14.3f %-8s %10.1f B/op", name, score, unit, bytesPerOp);
+            double[] previous = baseline.get(name);
+            if (previous != null) {
+                row += String.format("   score %+7.1f%%   alloc %+7.1f%%",
+                        change(previous[0], score), change(previous[1], bytesPerOp));
+            }
+            rows.put(name, row);
+        }
+
+        System.out.println();
+        System.out.println("Baseline (" + System.getProperty("java.vm.name") + " " + System.getProperty("java.version")
+                + ", " + Runtime.getRuntime().availableProcessors() + " CPUs)");
+        rows.values().forEach(System.out::println);
+    }
+
+    private static Map<String, double[]> readBaseline(File file) throws IOException {
+        Map<String, double[]> baseline = new HashMap<>();
+
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            JsonNode params = run.path("params");
+            String name = label(run.get("benchmark").asText(), fieldNames(params).stream()
+                    .map(key -> key + "=" + params.get(key).asText())
+                    .toList());
+            JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION).path("score");
+            baseline.put(name, new double[]{
+                    run.path("primaryMetric").path("score").asDouble(),
+                    allocation.isMissingNode() ? Double.NaN : allocation.asDouble()
+            });
+        }
+
+        return baseline;
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> keys = new ArrayList<>();
+        node.fieldNames().forEachRemaining(keys::add);
+        return keys;
+    }
+
+    private static String label(String benchmark, List<String> params) {
+        String shortName = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+        return params.isEmpty() ? shortName : shortName + " " + String.join(",", params);
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 || Double.isNaN(before) ? Double.NaN : (after - before) / before * 100;
+    }
+}
@@ -0,0 +1,109 @@
+package com.pii.validation.benchmark;
+
+import com.pii.validation.SsnValidationApplication;
+import com.pii.validation.core.BinaryValidationClient;
+import com.pii.validation.service.BinaryValidationServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation throughput of the whole service over REST and over the binary protocol, from one
+ * caller thread on loopback: one SSN per round trip ({@code rest}, {@code binary}), and
+ * {@value #BATCH} SSNs per round trip as an NDJSON batch ({@code restBatch}) or as pipelined frames
+ * ({@code binaryPipelined}). Scores are SSNs per second. The service runs in the benchmark's JVM with
+ * the rate limit lifted, so client and server share the CPU.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 3)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryProtocolBenchmark {
+
+    private static final int BATCH = 1000;
+
+    private ConfigurableApplicationContext service;
+    private HttpClient http;
+    private HttpRequest[] singles;
+    private HttpRequest batch;
+    private BinaryValidationClient client;
+    private List<String> ssns;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        service = SpringApplication.run(SsnValidationApplication.class,
+                "--server.port=0", "--binary.enabled=true", "--binary.port=0", "--binary.io-threads=1",
+                "--rate.limit.requests-per-minute=1000000000", "--concurrency.limit.enabled=false",
+                "--logging.level.root=WARN");
+        String base = "http://127.0.0.1:" + service.getEnvironment().getProperty("local.server.port")
+                + "/api/v1/ssn/validate";
+
+        SplittableRandom random = new SplittableRandom(42);
+        ssns = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            ssns.add(String.format("%03d-%02d-%04d", 1 + random.nextInt(665), 1 + random.nextInt(99),
+                    1 + random.nextInt(9999)));
+        }
+
+        http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        singles = new HttpRequest[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            singles[i] = HttpRequest.newBuilder(URI.create(base))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"ssn\":\"" + ssns.get(i) + "\"}"))
+                    .build();
+        }
+        batch = HttpRequest.newBuilder(URI.create(base + "/batch"))
+                .header("Content-Type", "text/plain")
+                .POST(HttpRequest.BodyPublishers.ofString(String.join("\n", ssns) + "\n"))
+                .build();
+
+        client = BinaryValidationClient.connect("127.0.0.1", service.getBean(BinaryValidationServer.class).getPort());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        client.close();
+        service.close();
+    }
+
+    @Benchmark
+    public int rest() throws IOException, InterruptedException {
+        return http.send(singles[next++ % BATCH], HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int restBatch() throws IOException, InterruptedException {
+        return http.send(batch, HttpResponse.BodyHandlers.ofByteArray()).body().length;
+    }
+
+    @Benchmark
+    public int binary() throws IOException {
+        return client.validate(ssns.get(next++ % BATCH)).join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int binaryPipelined() throws IOException {
+        int errors = 0;
+        for (CompletableFuture<Integer> result : client.validateAll(ssns)) {
+            errors |= result.join();
+        }
+        return errors;
+    }
+}
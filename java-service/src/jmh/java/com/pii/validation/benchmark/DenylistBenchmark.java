@@ -0,0 +1,69 @@
+package com.pii.validation.benchmark;
+
+import com.pii.validation.core.MappedSsnDenylist;
+import com.pii.validation.core.SsnDenylistWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random lookups against a memory-mapped denylist of {@code entries} values in both file formats,
+ * half of them hits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DenylistBenchmark {
+
+    private static final int PROBES = 1 << 16;
+
+    @Param({"sorted", "bitmap"})
+    public String format;
+
+    @Param({"1000000", "10000000"})
+    public int entries;
+
+    private Path file;
+    private MappedSsnDenylist denylist;
+    private int[] probes;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] values = new int[entries];
+        for (int i = 0; i < entries; i++) {
+            values[i] = random.nextInt(1_000_000_000);
+        }
+
+        file = Files.createTempFile("denylist", ".bin");
+        if (format.equals("bitmap")) {
+            SsnDenylistWriter.writeBitmap(values, file);
+        } else {
+            SsnDenylistWriter.writeSorted(values, file);
+        }
+        denylist = MappedSsnDenylist.open(file);
+
+        probes = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = i % 2 == 0 ? values[random.nextInt(entries)] : random.nextInt(1_000_000_000);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return denylist.contains(probes[next++ & (PROBES - 1)]);
+    }
+}
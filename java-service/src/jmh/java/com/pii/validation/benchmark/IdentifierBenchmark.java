@@ -0,0 +1,89 @@
+package com.pii.validation.benchmark;
+
+import com.pii.validation.core.IdentifierType;
+import com.pii.validation.core.IdentifierTypes;
+import com.pii.validation.core.IdentifierValidator;
+import com.pii.validation.core.SsnRuleSet;
+import com.pii.validation.core.SsnValidator;
+import com.pii.validation.core.ValidationRule;
+import com.pii.validation.dto.IdentifierValidationResponse;
+import com.pii.validation.service.IdentifierValidationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The shared identifier engine. {@code itin} and {@code ein} are a registry lookup plus a check,
+ * with {@code types} registered types, every one of which is exercised during setup so the JIT has
+ * seen them all: the built-in ITIN and EIN, and those plus 30 more. {@code ssnOnEngine} checks an SSN
+ * with the SSA structure rules expressed as an {@link IdentifierType}, next to {@code ssn}, the same
+ * check by {@link SsnValidator}. SSNs are not validated by the engine; this measures what moving them
+ * there would cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdentifierBenchmark {
+
+    // SsnRuleSet.DEFAULT's structure rules; the known test numbers are whole values, which no field covers
+    private static final IdentifierType SSN = IdentifierType.of("ssn-engine", "SSN", "###-##-####",
+            ValidationRule.reject("AREA_000", "Area number (first 3 digits) cannot be 000", 0, "000"),
+            ValidationRule.reject("AREA_666", "Area number (first 3 digits) cannot be 666", 0, "666"),
+            ValidationRule.reject("AREA_RESERVED", "Area number (first 3 digits) is not assigned", 0, "900-999"),
+            ValidationRule.reject("GROUP_00", "Group number (middle 2 digits) cannot be 00", 1, "00"),
+            ValidationRule.reject("SERIAL_0000", "Serial number (last 4 digits) cannot be 0000", 2, "0000"));
+
+    @Param({"2", "32"})
+    public int types;
+
+    private IdentifierValidationService identifierService;
+    private IdentifierValidator ssnEngine;
+    private String input = "123-45-6789";
+
+    @Setup
+    public void setUp() {
+        List<IdentifierType> registered = new ArrayList<>();
+        registered.add(IdentifierTypes.ITIN);
+        registered.add(IdentifierTypes.EIN);
+        for (int i = 2; i < types; i++) {
+            registered.add(IdentifierType.of("type-" + i, "T" + i, "###-##-####",
+                    ValidationRule.reject("AREA", "area", 0, String.valueOf(i)),
+                    ValidationRule.allowOnly("GROUP", "group", 1, "01-" + (50 + i))));
+        }
+        identifierService = new IdentifierValidationService(registered);
+        ssnEngine = IdentifierValidator.compile(SSN);
+
+        for (int round = 0; round < 20_000; round++) {
+            for (IdentifierType type : registered) {
+                identifierService.validate(type.name(), round % 2 == 0 ? "912-70-1234" : "12-3456789");
+            }
+            ssnEngine.check(input);
+            SsnValidator.check(input, SsnRuleSet.DEFAULT);
+        }
+    }
+
+    @Benchmark
+    public long ssn() {
+        return SsnValidator.check(input, SsnRuleSet.DEFAULT);
+    }
+
+    @Benchmark
+    public long ssnOnEngine() {
+        return ssnEngine.check(input);
+    }
+
+    @Benchmark
+    public Object itin() {
+        return identifierService.validate("itin", "912-70-1234").orElse(null);
+    }
+
+    @Benchmark
+    public IdentifierValidationResponse ein() {
+        return identifierService.validate("ein", "12-3456789").orElse(null);
+    }
+}
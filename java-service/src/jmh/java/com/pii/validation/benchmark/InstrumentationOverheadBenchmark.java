@@ -0,0 +1,61 @@
+package com.pii.validation.benchmark;
+
+import com.pii.validation.dto.SsnValidationResponse;
+import com.pii.validation.metrics.ValidationMetrics;
+import com.pii.validation.service.SsnValidationService;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SsnValidationService without timing versus a Prometheus registry with the default timer sampling
+ * and with every call timed, to keep the cost of instrumentation on the validation path visible.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentationOverheadBenchmark {
+
+    @Param({"none", "prometheus", "prometheusUnsampled"})
+    public String registry;
+
+    @Param({"valid", "ruleViolating"})
+    public String input;
+
+    private SsnValidationService service;
+    private String ssn;
+
+    @Setup
+    public void setUp() {
+        service = switch (registry) {
+            case "none" -> new SsnValidationService();
+            case "prometheus" -> new SsnValidationService(
+                    new ValidationMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), 32));
+            case "prometheusUnsampled" -> new SsnValidationService(
+                    new ValidationMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), 1));
+            default -> throw new IllegalArgumentException(registry);
+        };
+        ssn = switch (input) {
+            case "valid" -> "123-45-6789";
+            case "ruleViolating" -> "666-00-0000";
+            default -> throw new IllegalArgumentException(input);
+        };
+    }
+
+    @Benchmark
+    @Threads(1)
+    public SsnValidationResponse oneThread() {
+        return service.validate(ssn);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public SsnValidationResponse fourThreads() {
+        return service.validate(ssn);
+    }
+}
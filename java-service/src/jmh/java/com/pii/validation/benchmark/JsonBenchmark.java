@@ -0,0 +1,83 @@
+package com.pii.validation.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pii.validation.dto.SsnJsonCodec;
+import com.pii.validation.dto.SsnValidationRequest;
+import com.pii.validation.dto.SsnValidationResponse;
+import com.pii.validation.service.SsnValidationService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips of the request/response DTOs: Jackson, configured the way Spring Boot configures the
+ * ObjectMapper used by the HTTP message converters, against the hand-rolled {@link SsnJsonCodec}
+ * ({@code *Codec}) that the service uses for these two types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private byte[] requestJson;
+    private SsnValidationResponse validResponse;
+    private SsnValidationResponse invalidResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        requestJson = "{\"ssn\":\"123-45-6789\"}".getBytes(StandardCharsets.UTF_8);
+        SsnValidationService service = new SsnValidationService();
+        validResponse = service.validate("123-45-6789");
+        invalidResponse = service.validate("000-00-0000");
+    }
+
+    @Benchmark
+    public SsnValidationRequest readRequest() throws IOException {
+        return objectMapper.readValue(requestJson, SsnValidationRequest.class);
+    }
+
+    @Benchmark
+    public byte[] writeValidResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(validResponse);
+    }
+
+    @Benchmark
+    public byte[] writeInvalidResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(invalidResponse);
+    }
+
+    @Benchmark
+    public byte[] roundTrip() throws IOException {
+        SsnValidationRequest request = objectMapper.readValue(requestJson, SsnValidationRequest.class);
+        return objectMapper.writeValueAsBytes(new SsnValidationResponse(true, request.getSsn()));
+    }
+
+    @Benchmark
+    public SsnValidationRequest readRequestCodec() {
+        return SsnJsonCodec.readRequest(requestJson, requestJson.length);
+    }
+
+    @Benchmark
+    public byte[] writeValidResponseCodec() {
+        return SsnJsonCodec.writeResponse(validResponse);
+    }
+
+    @Benchmark
+    public byte[] writeInvalidResponseCodec() {
+        return SsnJsonCodec.writeResponse(invalidResponse);
+    }
+
+    @Benchmark
+    public byte[] roundTripCodec() {
+        SsnValidationRequest request = SsnJsonCodec.readRequest(requestJson, requestJson.length);
+        return SsnJsonCodec.writeResponse(new SsnValidationResponse(true, request.getSsn()));
+    }
+}
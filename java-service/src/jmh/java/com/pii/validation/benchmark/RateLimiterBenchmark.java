@@ -0,0 +1,67 @@
+package com.pii.validation.benchmark;
+
+import com.pii.validation.service.RateLimiterService;
+import io.github.bucket4j.Bucket;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@code resolveBucket} + {@code tryConsume} the way RateLimitFilter uses them.
+ * Low cardinality keeps every client bucket hot; high cardinality exceeds the cache cap and
+ * exercises eviction. The limit is set high enough that consumption almost never fails.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"16", "1000000"})
+    public int clients;
+
+    private RateLimiterService rateLimiterService;
+    private String[] keys;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        rateLimiterService = new RateLimiterService(Integer.MAX_VALUE);
+        keys = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            keys[i] = "10." + ((i >>> 16) & 0xFF) + "." + ((i >>> 8) & 0xFF) + "." + (i & 0xFF);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean oneThread(Cursor cursor) {
+        return consume(cursor);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean fourThreads(Cursor cursor) {
+        return consume(cursor);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean maxThreads(Cursor cursor) {
+        return consume(cursor);
+    }
+
+    private boolean consume(Cursor cursor) {
+        // Stride through the key space so threads don't walk it in lockstep
+        int index = cursor.next;
+        cursor.next = (index + 7919) % clients;
+        Bucket bucket = rateLimiterService.resolveBucket(keys[index]);
+        return bucket.tryConsume(1);
+    }
+}
@@ -0,0 +1,72 @@
+package com.pii.validation.benchmark;
+
+import com.pii.validation.service.ClientRateLimiter;
+import com.pii.validation.service.CompactRateLimiterService;
+import com.pii.validation.service.RateLimiterService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two {@link ClientRateLimiter} backends through the interface RateLimitFilter uses,
+ * with a hot client population and one far larger than the Caffeine cache cap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class RateLimiterContentionBenchmark {
+
+    @Param({"caffeine", "compact"})
+    public String backend;
+
+    @Param({"16", "1000000"})
+    public int clients;
+
+    private ClientRateLimiter rateLimiter;
+    private String[] keys;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        rateLimiter = switch (backend) {
+            case "caffeine" -> new RateLimiterService(1_000_000);
+            case "compact" -> new CompactRateLimiterService(1_000_000, 2 * 1_048_576);
+            default -> throw new IllegalArgumentException(backend);
+        };
+        keys = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            keys[i] = "10." + ((i >>> 16) & 0xFF) + "." + ((i >>> 8) & 0xFF) + "." + (i & 0xFF);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean oneThread(Cursor cursor) {
+        return consume(cursor);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean fourThreads(Cursor cursor) {
+        return consume(cursor);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean maxThreads(Cursor cursor) {
+        return consume(cursor);
+    }
+
+    private boolean consume(Cursor cursor) {
+        int index = cursor.next;
+        cursor.next = (index + 7919) % clients;
+        return rateLimiter.tryConsume(keys[index], 1).consumed();
+    }
+}
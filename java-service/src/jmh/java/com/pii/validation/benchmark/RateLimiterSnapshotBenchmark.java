@@ -0,0 +1,69 @@
+package com.pii.validation.benchmark;
+
+import com.pii.validation.service.CompactRateLimiterService;
+import com.pii.validation.service.RateLimiterService;
+import com.pii.validation.service.RateLimiterSnapshotService;
+import com.pii.validation.service.RestorableRateLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing and restoring a rate limiter snapshot with every bucket partly used: 10,000 clients for
+ * {@code caffeine} (its cap) and 500,000 for {@code compact}. {@code restore} is the startup cost
+ * (construction of the snapshot service), into a limiter that already holds the same clients.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class RateLimiterSnapshotBenchmark {
+
+    @Param({"caffeine", "compact"})
+    public String backend;
+
+    private Path dir;
+    private RateLimiterSnapshotService source;
+    private RestorableRateLimiter target;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("rate-limit-snapshot");
+        file = dir.resolve("rate-limits.snapshot");
+
+        RestorableRateLimiter limiter = limiter();
+        int clients = backend.equals("caffeine") ? 10_000 : 500_000;
+        for (int i = 0; i < clients; i++) {
+            limiter.tryConsume("10." + (i >>> 16) + "." + ((i >>> 8) & 0xFF) + "." + (i & 0xFF), 1 + i % 99);
+        }
+        source = new RateLimiterSnapshotService(limiter, file.toString(), 0);
+        source.snapshot();
+        target = limiter();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public long snapshot() throws IOException {
+        return source.snapshot();
+    }
+
+    @Benchmark
+    public Object restore() {
+        return new RateLimiterSnapshotService(target, file.toString(), 0);
+    }
+
+    private RestorableRateLimiter limiter() {
+        return backend.equals("caffeine") ? new RateLimiterService(100) : new CompactRateLimiterService(100, 1 << 20);
+    }
+}
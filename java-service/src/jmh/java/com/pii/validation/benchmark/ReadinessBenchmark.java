@@ -0,0 +1,49 @@
+package com.pii.validation.benchmark;
+
+import com.pii.validation.dto.ReadinessResponse;
+import com.pii.validation.service.CompactRateLimiterService;
+import com.pii.validation.service.SaturationMonitor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What {@link SaturationMonitor} adds to every request ({@code request}: in-flight count and a latency
+ * recorded into the window) and what a readiness check costs with a full 10 s window
+ * ({@code readiness}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadinessBenchmark {
+
+    private SaturationMonitor monitor;
+
+    @Setup
+    public void setUp() {
+        monitor = new SaturationMonitor(new CompactRateLimiterService(100, 1 << 16), 10, 0.9, 50, 1000, 100, 0, 0, 0.2);
+        monitor.setWorkerPool(() -> new ReadinessResponse.Workers(10, 200, 0, 10));
+        for (int i = 0; i < 1_000_000; i++) {
+            request();
+        }
+    }
+
+    @Benchmark
+    public void request() {
+        monitor.requestStarted();
+        monitor.requestFinished(latency(), true);
+    }
+
+    @Benchmark
+    public ReadinessResponse readiness() {
+        return monitor.readiness();
+    }
+
+    private static long latency() {
+        return 50_000 + ThreadLocalRandom.current().nextLong(2_000_000);
+    }
+}
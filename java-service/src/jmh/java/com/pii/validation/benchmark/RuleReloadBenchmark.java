@@ -0,0 +1,75 @@
+package com.pii.validation.benchmark;
+
+import com.pii.validation.core.SsnDenylist;
+import com.pii.validation.dto.SsnValidationResponse;
+import com.pii.validation.metrics.ValidationMetrics;
+import com.pii.validation.service.RuleSetService;
+import com.pii.validation.service.SsnValidationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation latency distribution while another thread rewrites and reloads the rule file every
+ * 10 ms (far more often than any real deployment), against the same load with no reloads.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RuleReloadBenchmark {
+
+    private static final String[] RULE_FILES = {
+            "version=1\nrules.known-test-numbers=078-05-1120,219-09-9999,457-55-5462\n",
+            "version=2\nrules.known-test-numbers=078-05-1120,219-09-9999,457-55-5462,111-11-1111\n"
+    };
+
+    @Param({"none", "every10ms"})
+    public String reload;
+
+    private Path dir;
+    private Path file;
+    private RuleSetService ruleSets;
+    private SsnValidationService service;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("rules");
+        file = dir.resolve("rules.properties");
+        Files.writeString(file, RULE_FILES[0]);
+        ruleSets = new RuleSetService(file.toString(), false);
+        service = new SsnValidationService(ValidationMetrics.noop(), SsnDenylist.EMPTY, ruleSets);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    @Group("underLoad")
+    @GroupThreads(3)
+    public SsnValidationResponse validate() {
+        return service.validate("123-45-6789");
+    }
+
+    @Benchmark
+    @Group("underLoad")
+    @GroupThreads(1)
+    public boolean reloader() throws IOException, InterruptedException {
+        boolean swapped = false;
+        if (reload.equals("every10ms")) {
+            Files.writeString(file, RULE_FILES[++next & 1]);
+            swapped = ruleSets.reload();
+        }
+        Thread.sleep(10);
+        return swapped;
+    }
+}
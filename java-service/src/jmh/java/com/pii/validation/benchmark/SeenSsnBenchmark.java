@@ -0,0 +1,64 @@
+package com.pii.validation.benchmark;
+
+import com.pii.validation.service.SeenSsnService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SeenSsnService#seen} against an index of {@code entries} random SSNs, half of the probes
+ * hits. Most of the time is the HMAC of the probe; the table lookup itself is one or two loads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SeenSsnBenchmark {
+
+    private static final int PROBES = 1 << 16;
+
+    @Param({"1000000", "10000000"})
+    public int entries;
+
+    private SeenSsnService service;
+    private String[] probes;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        service = new SeenSsnService(Base64.getEncoder().encodeToString(new byte[32]), "", 0);
+        SplittableRandom random = new SplittableRandom(42);
+        String[] loaded = new String[PROBES];
+
+        StringBuilder body = new StringBuilder(entries * 12);
+        for (int i = 0; i < entries; i++) {
+            String ssn = ssn(random);
+            body.append(ssn).append('\n');
+            if (i < PROBES) {
+                loaded[i] = ssn;
+            }
+        }
+        service.load(new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.US_ASCII)), false);
+
+        probes = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = i % 2 == 0 ? loaded[i] : ssn(random);
+        }
+    }
+
+    @Benchmark
+    public boolean seen() {
+        return service.seen(probes[next++ & (PROBES - 1)]);
+    }
+
+    private static String ssn(SplittableRandom random) {
+        return String.format("%03d-%02d-%04d", 1 + random.nextInt(899), 1 + random.nextInt(99), 1 + random.nextInt(9999));
+    }
+}
@@ -0,0 +1,52 @@
+package com.pii.validation.benchmark;
+
+import com.pii.validation.core.SsnRuleSet;
+import com.pii.validation.dto.SsnValidationResponse;
+import com.pii.validation.service.SsnValidationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code validate} is the default strict path; {@code validateNormalized} is the same call with
+ * {@code normalize=true}, which also accepts the {@code unseparated} and {@code fullWidth} inputs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SsnValidationBenchmark {
+
+    @Param({"valid", "malformed", "ruleViolating", "knownTestNumber", "padded", "unseparated", "fullWidth"})
+    public String input;
+
+    private SsnValidationService service;
+    private String ssn;
+
+    @Setup
+    public void setUp() {
+        service = new SsnValidationService();
+        ssn = switch (input) {
+            case "valid" -> "123-45-6789";
+            case "malformed" -> "12-345-6789";
+            case "ruleViolating" -> "666-00-0000";
+            case "knownTestNumber" -> "078-05-1120";
+            case "padded" -> "  123-45-6789  ";
+            case "unseparated" -> "123456789";
+            case "fullWidth" -> "\uFF11\uFF12\uFF13\uFF0D\uFF14\uFF15\uFF0D\uFF16\uFF17\uFF18\uFF19";
+            default -> throw new IllegalArgumentException(input);
+        };
+    }
+
+    @Benchmark
+    public SsnValidationResponse validate() {
+        return service.validate(ssn);
+    }
+
+    @Benchmark
+    public SsnValidationResponse validateNormalized() {
+        return service.validate(ssn, SsnRuleSet.DEFAULT, true);
+    }
+}
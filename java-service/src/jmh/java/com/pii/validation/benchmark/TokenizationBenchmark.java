@@ -0,0 +1,91 @@
+package com.pii.validation.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pii.validation.core.Ff1Cipher;
+import com.pii.validation.service.SsnTokenizationService;
+import com.pii.validation.service.SsnValidationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FF1 tokenization of SSNs: one {@link Ff1Cipher#encrypt} call per value, {@link Ff1Cipher#apply}
+ * over batches of 256, the single-SSN service call with validation and formatting, and the batch
+ * endpoint's line conversion over 10,000 lines. Every row is per SSN.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenizationBenchmark {
+
+    private static final int VALUES = 1 << 10;
+    private static final int BATCH = 256;
+    private static final int LINES = 10_000;
+
+    private Ff1Cipher cipher;
+    private SsnTokenizationService service;
+    private long[] values;
+    private long[] batch;
+    private String[] ssns;
+    private byte[] lines;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        byte[] key = new byte[16];
+        new SplittableRandom(7).nextBytes(key);
+        cipher = new Ff1Cipher(key, new byte[0], 9);
+        service = new SsnTokenizationService(new SsnValidationService(), new ObjectMapper(),
+                Base64.getEncoder().encodeToString(key), "");
+
+        SplittableRandom random = new SplittableRandom(42);
+        values = new long[VALUES];
+        ssns = new String[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            ssns[i] = String.format("%03d-%02d-%04d", 1 + random.nextInt(665), 1 + random.nextInt(99),
+                    1 + random.nextInt(9999));
+            values[i] = Long.parseLong(ssns[i].replace("-", ""));
+        }
+        batch = new long[BATCH];
+
+        StringBuilder body = new StringBuilder(LINES * 12);
+        for (int i = 0; i < LINES; i++) {
+            body.append(ssns[i % VALUES]).append('\n');
+        }
+        lines = body.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    public long encrypt() {
+        return cipher.encrypt(values[next++ & (VALUES - 1)]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public long[] encryptBatch() {
+        int offset = next++ & (VALUES / BATCH - 1);
+        System.arraycopy(values, offset * BATCH, batch, 0, BATCH);
+        cipher.apply(batch, BATCH, false);
+        return batch;
+    }
+
+    @Benchmark
+    public String tokenize() {
+        return service.tokenize(ssns[next++ & (VALUES - 1)]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public long tokenizeLines() throws IOException {
+        return service.convertLines(new ByteArrayInputStream(lines), OutputStream.nullOutputStream(), false);
+    }
+}
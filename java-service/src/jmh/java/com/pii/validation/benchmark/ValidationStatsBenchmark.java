@@ -0,0 +1,60 @@
+package com.pii.validation.benchmark;
+
+import com.pii.validation.audit.ValidationEventListener;
+import com.pii.validation.core.SsnErrorCode;
+import com.pii.validation.dto.ValidationStatsResponse;
+import com.pii.validation.service.ValidationStats;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What {@link ValidationStats} adds to every validation, for a few busy clients and for many clients
+ * that keep evicting each other from the top-client summaries. One in four validations is rejected.
+ * {@code recordOneClient} is one client validating from four threads at once; its updates go to the
+ * stripes of their threads rather than all to one lock. {@code query} answers a top-10 query over the
+ * default 300 s horizon.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationStatsBenchmark {
+
+    private static final int[] ERRORS = {0, 0, 0, SsnErrorCode.AREA_666.bit()};
+
+    @Param({"16", "100000"})
+    public int clients;
+
+    private ValidationStats stats;
+
+    @Setup
+    public void setUp() {
+        stats = new ValidationStats(300, 64);
+        for (int i = 0; i < 1_000_000; i++) {
+            record();
+        }
+    }
+
+    @Benchmark
+    public void record() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        stats.onValidation(ValidationEventListener.Source.SINGLE, random.nextInt(clients), null,
+                ERRORS[random.nextInt(ERRORS.length)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordOneClient() {
+        stats.onValidation(ValidationEventListener.Source.SINGLE, 0, null,
+                ERRORS[ThreadLocalRandom.current().nextInt(ERRORS.length)]);
+    }
+
+    @Benchmark
+    public ValidationStatsResponse query() {
+        return stats.query(300, ValidationStats.REJECTED, 10);
+    }
+}
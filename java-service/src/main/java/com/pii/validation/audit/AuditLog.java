@@ -0,0 +1,215 @@
+package com.pii.validation.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of validation decisions. Request threads publish events into an
+ * {@link AuditRingBuffer}. One background thread drains it in batches, replaces each SSN by a keyed
+ * hash (HMAC-SHA256, truncated to 16 bytes), and appends the records to a segmented
+ * memory-mapped log ({@link AuditLogWriter}). Neither the hashing nor the I/O ever happens on a
+ * request thread.
+ *
+ * <p>When the buffer is full, {@link Backpressure#DROP} discards the event and counts it;
+ * {@link Backpressure#BLOCK} makes the request thread wait for space. Events of bulk jobs
+ * ({@link Source#JOB}) always wait: they come from job workers, not request threads, and a large
+ * file would otherwise overrun the buffer and lose most of its rows. Pages are forced to disk
+ * every {@code flushIntervalMillis} and on close, so a power failure loses at most that much;
+ * a process crash loses only what is still in the buffer.
+ */
+public final class AuditLog implements ValidationEventListener, Closeable {
+
+    public enum Backpressure { DROP, BLOCK }
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    private static final int BATCH_SIZE = 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final String HMAC = "HmacSHA256";
+
+    private final AuditRingBuffer buffer;
+    private final Backpressure backpressure;
+    private final AuditLogWriter writer;
+    private final Mac mac;
+    private final long flushIntervalNanos;
+    private final Thread consumer;
+    private final AuditRingBuffer.EventHandler handler = this::write;
+
+    // Consumer-thread scratch space, so hashing doesn't allocate per event
+    private final byte[] ssnBytes = new byte[64];
+    private final byte[] digest = new byte[32];
+
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile boolean running = true;
+
+    public AuditLog(Path directory, byte[] hmacKey, int bufferSize, Backpressure backpressure, long segmentSize,
+                    long flushIntervalMillis) throws IOException {
+        if (hmacKey.length < 16) {
+            throw new IllegalArgumentException("audit.hmac-key must be at least 16 bytes");
+        }
+        try {
+            this.mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(hmacKey, HMAC));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+
+        this.buffer = new AuditRingBuffer(bufferSize);
+        this.backpressure = backpressure;
+        this.writer = new AuditLogWriter(directory, segmentSize, keyId(hmacKey));
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.consumer = new Thread(this::consume, "audit-log-writer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Override
+    public void onValidation(Source source, long client, String ssn, int errors) {
+        if (!running) {
+            dropped.increment();
+            return;
+        }
+        long timestamp = System.currentTimeMillis();
+        while (!buffer.offer(timestamp, client, ssn, errors, source.ordinal())) {
+            if ((backpressure == Backpressure.DROP && source != Source.JOB) || !running) {
+                dropped.increment();
+                return;
+            }
+            // The consumer may be idle-parked; a full buffer is worth waking it for
+            LockSupport.unpark(consumer);
+            LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+        }
+    }
+
+    public long writtenCount() {
+        return written.get();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public long failedCount() {
+        return failed.get();
+    }
+
+    public long backlog() {
+        return buffer.size();
+    }
+
+    public long segmentCount() {
+        return writer.segmentCount();
+    }
+
+    /**
+     * Stops accepting events, writes everything already published and forces the log to disk.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void consume() {
+        long lastForce = System.nanoTime();
+        boolean dirty = false;
+
+        while (true) {
+            int drained = buffer.drain(handler, BATCH_SIZE);
+            if (drained > 0) {
+                dirty = true;
+                continue;
+            }
+
+            if (dirty && System.nanoTime() - lastForce >= flushIntervalNanos) {
+                writer.force();
+                lastForce = System.nanoTime();
+                dirty = false;
+            }
+            if (!running) {
+                // A producer may have claimed a slot just before running turned false
+                if (buffer.size() == 0) {
+                    break;
+                }
+                Thread.onSpinWait();
+                continue;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+
+        writer.close();
+    }
+
+    private void write(long timestamp, long client, String ssn, int errors, int source) {
+        try {
+            byte[] hash = ssn != null ? hash(ssn) : null;
+            writer.append(timestamp, client, hash, 0, errors, source);
+            written.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            // The event is lost, but the consumer must keep draining or request threads would back up
+            if (failed.getAndIncrement() == 0) {
+                log.error("Could not write audit record", e);
+            }
+        }
+    }
+
+    private byte[] hash(String ssn) {
+        int length = ssn.length();
+        if (length <= ssnBytes.length && isAscii(ssn)) {
+            for (int i = 0; i < length; i++) {
+                ssnBytes[i] = (byte) ssn.charAt(i);
+            }
+            mac.update(ssnBytes, 0, length);
+        } else {
+            mac.update(ssn.getBytes(StandardCharsets.UTF_8));
+        }
+        try {
+            mac.doFinal(digest, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        return digest;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Identifies the key in segment headers without revealing it
+    private static byte[] keyId(byte[] key) {
+        try {
+            byte[] sha = MessageDigest.getInstance("SHA-256").digest(key);
+            return Arrays.copyOf(sha, AuditLogFormat.KEY_ID_SIZE);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
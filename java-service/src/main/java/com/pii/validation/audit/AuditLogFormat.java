@@ -0,0 +1,65 @@
+package com.pii.validation.audit;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * On-disk layout of audit log segments, shared by {@link AuditLogWriter} and
+ * {@link AuditLogReader}.
+ *
+ * <pre>
+ * header (64 bytes)                      record (40 bytes)
+ *   0  magic "SSNAUDT1"                    0  timestamp, epoch millis (0: end of data)
+ *   8  int format version (1)              8  client key
+ *  12  int record size (40)               16  HMAC-SHA256 of the SSN, first 16 bytes
+ *  16  long created, epoch millis         32  int error mask (SsnErrorCode bits)
+ *  24  8-byte HMAC key id                 36  byte source (0 single, 1 batch, 2 binary, 3 job)
+ *  32  reserved                           37  byte flags (1: SSN present)
+ *                                         38  reserved
+ * </pre>
+ */
+final class AuditLogFormat {
+
+    static final byte[] MAGIC = "SSNAUDT1".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 64;
+    static final int VERSION_OFFSET = 8;
+    static final int RECORD_SIZE_OFFSET = 12;
+    static final int CREATED_OFFSET = 16;
+    static final int KEY_ID_OFFSET = 24;
+    static final int KEY_ID_SIZE = 8;
+
+    static final int RECORD_SIZE = 40;
+    static final int TIMESTAMP = 0;
+    static final int CLIENT = 8;
+    static final int SSN_HASH = 16;
+    static final int HASH_SIZE = 16;
+    static final int ERRORS = 32;
+    static final int SOURCE = 36;
+    static final int FLAGS = 37;
+
+    static final byte FLAG_HAS_SSN = 1;
+
+    static final String SEGMENT_GLOB = "audit-*.log";
+
+    private static final String PREFIX = "audit-";
+    private static final String SUFFIX = ".log";
+
+    private AuditLogFormat() {
+    }
+
+    // Zero-padded so that name order is write order
+    static String segmentName(long index) {
+        return String.format("%s%012d%s", PREFIX, index, SUFFIX);
+    }
+
+    static long segmentIndex(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.pii.validation.audit;
+
+import com.pii.validation.core.SsnErrorCode;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads audit log segments written by {@link AuditLog}. With a directory, the reader visits every
+ * segment in write order. Segments may still be in use by a running writer; records published
+ * after the read started may or may not be seen.
+ *
+ * <pre>
+ *   java ... com.pii.validation.audit.AuditLogReader &lt;audit-dir|segment.log&gt;
+ * </pre>
+ *
+ * <p>The CLI prints CSV: {@code timestamp,client,ssn_hash,valid,errors,source}. To find the
+ * records for one SSN, compute its HMAC-SHA256 with the same key and compare the first 16 bytes.
+ */
+public final class AuditLogReader {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private AuditLogReader() {
+    }
+
+    public record AuditRecord(long timestamp, long client, byte[] ssnHash, int errors,
+                              ValidationEventListener.Source source) {
+
+        public boolean valid() {
+            return errors == 0;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: AuditLogReader <audit-dir|segment.log>");
+            System.exit(2);
+        }
+
+        PrintStream out = System.out;
+        out.println("timestamp,client,ssn_hash,valid,errors,source");
+        read(Path.of(args[0]), record -> out.println(String.join(",",
+                Instant.ofEpochMilli(record.timestamp()).toString(),
+                Long.toUnsignedString(record.client(), 16),
+                record.ssnHash() != null ? HEX.formatHex(record.ssnHash()) : "",
+                Boolean.toString(record.valid()),
+                errorNames(record.errors()),
+                record.source().name())));
+    }
+
+    /**
+     * Passes every record under {@code path} (a segment or a directory of segments) to
+     * {@code consumer} in write order.
+     *
+     * @return the number of records read
+     */
+    public static long read(Path path, Consumer<AuditRecord> consumer) throws IOException {
+        long count = 0;
+        for (Path segment : segments(path)) {
+            count += readSegment(segment, consumer);
+        }
+        return count;
+    }
+
+    static List<Path> segments(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return List.of(path);
+        }
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(path, AuditLogFormat.SEGMENT_GLOB)) {
+            files.forEach(segments::add);
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private static long readSegment(Path segment, Consumer<AuditRecord> consumer) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        byte[] magic = new byte[AuditLogFormat.MAGIC.length];
+        if (buffer.limit() < AuditLogFormat.HEADER_SIZE) {
+            throw new IOException(segment + " is not an audit log segment");
+        }
+        buffer.get(0, magic);
+        if (!Arrays.equals(magic, AuditLogFormat.MAGIC)
+                || buffer.getInt(AuditLogFormat.VERSION_OFFSET) != AuditLogFormat.VERSION
+                || buffer.getInt(AuditLogFormat.RECORD_SIZE_OFFSET) != AuditLogFormat.RECORD_SIZE) {
+            throw new IOException(segment + " is not an audit log segment (version " + AuditLogFormat.VERSION + ")");
+        }
+
+        ValidationEventListener.Source[] sources = ValidationEventListener.Source.values();
+        long count = 0;
+        for (int position = AuditLogFormat.HEADER_SIZE;
+             position + AuditLogFormat.RECORD_SIZE <= buffer.limit();
+             position += AuditLogFormat.RECORD_SIZE) {
+            long timestamp = buffer.getLong(position + AuditLogFormat.TIMESTAMP);
+            if (timestamp == 0) {
+                break;
+            }
+            byte[] hash = null;
+            if ((buffer.get(position + AuditLogFormat.FLAGS) & AuditLogFormat.FLAG_HAS_SSN) != 0) {
+                hash = new byte[AuditLogFormat.HASH_SIZE];
+                buffer.get(position + AuditLogFormat.SSN_HASH, hash);
+            }
+            int source = buffer.get(position + AuditLogFormat.SOURCE);
+            consumer.accept(new AuditRecord(timestamp, buffer.getLong(position + AuditLogFormat.CLIENT), hash,
+                    buffer.getInt(position + AuditLogFormat.ERRORS),
+                    sources[Math.min(Math.max(source, 0), sources.length - 1)]));
+            count++;
+        }
+        return count;
+    }
+
+    private static String errorNames(int errors) {
+        StringBuilder names = new StringBuilder();
+        for (SsnErrorCode code : SsnErrorCode.values()) {
+            if (code.isSet(errors)) {
+                if (names.length() > 0) {
+                    names.append(';');
+                }
+                names.append(code.name());
+            }
+        }
+        return names.toString();
+    }
+}
@@ -0,0 +1,116 @@
+package com.pii.validation.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends fixed-size audit records to memory-mapped segment files. A segment is created at its
+ * full size and mapped once. Appending a record is a handful of puts into the mapping, and the
+ * kernel writes the pages back; {@link #force()} makes that durable. When a segment is full, the
+ * next one is created. Segments are never reopened for writing: every writer, including one after a
+ * restart, starts a new segment.
+ *
+ * <p>Segment layout (big-endian): a {@value AuditLogFormat#HEADER_SIZE}-byte header, then records
+ * of {@value AuditLogFormat#RECORD_SIZE} bytes each (see {@link AuditLogFormat}). The unused tail
+ * of a segment is zero; a record with timestamp 0 marks the end.
+ */
+final class AuditLogWriter implements Closeable {
+
+    private final Path directory;
+    private final long segmentSize;
+    private final byte[] keyId;
+    private final int recordsPerSegment;
+
+    private long nextIndex;
+    private MappedByteBuffer segment;
+    private int records;
+    private volatile long segmentCount;
+
+    AuditLogWriter(Path directory, long segmentSize, byte[] keyId) throws IOException {
+        if (segmentSize < AuditLogFormat.HEADER_SIZE + AuditLogFormat.RECORD_SIZE || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("audit segment size must be between "
+                    + (AuditLogFormat.HEADER_SIZE + AuditLogFormat.RECORD_SIZE) + " and " + Integer.MAX_VALUE + " bytes");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.keyId = keyId.clone();
+        this.recordsPerSegment = (int) ((segmentSize - AuditLogFormat.HEADER_SIZE) / AuditLogFormat.RECORD_SIZE);
+        this.nextIndex = lastIndex(this.directory) + 1;
+    }
+
+    /**
+     * Appends one record. {@code ssnHash} holds {@value AuditLogFormat#HASH_SIZE} bytes at
+     * {@code hashOffset}, or is {@code null} when the request had no SSN.
+     */
+    void append(long timestamp, long client, byte[] ssnHash, int hashOffset, int errors, int source) throws IOException {
+        if (segment == null || records == recordsPerSegment) {
+            rotate();
+        }
+
+        int position = AuditLogFormat.HEADER_SIZE + records * AuditLogFormat.RECORD_SIZE;
+        segment.putLong(position + AuditLogFormat.CLIENT, client);
+        if (ssnHash != null) {
+            segment.put(position + AuditLogFormat.SSN_HASH, ssnHash, hashOffset, AuditLogFormat.HASH_SIZE);
+        }
+        segment.putInt(position + AuditLogFormat.ERRORS, errors);
+        segment.put(position + AuditLogFormat.SOURCE, (byte) source);
+        segment.put(position + AuditLogFormat.FLAGS, ssnHash != null ? AuditLogFormat.FLAG_HAS_SSN : 0);
+        // The timestamp marks the record as present, so it goes last
+        segment.putLong(position + AuditLogFormat.TIMESTAMP, timestamp);
+        records++;
+    }
+
+    /**
+     * Writes the current segment's dirty pages to disk.
+     */
+    void force() {
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    long segmentCount() {
+        return segmentCount;
+    }
+
+    @Override
+    public void close() {
+        force();
+        segment = null;
+    }
+
+    private void rotate() throws IOException {
+        force();
+
+        Path file = directory.resolve(AuditLogFormat.segmentName(nextIndex++));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        records = 0;
+        segmentCount++;
+
+        segment.put(0, AuditLogFormat.MAGIC);
+        segment.putInt(AuditLogFormat.VERSION_OFFSET, AuditLogFormat.VERSION);
+        segment.putInt(AuditLogFormat.RECORD_SIZE_OFFSET, AuditLogFormat.RECORD_SIZE);
+        segment.putLong(AuditLogFormat.CREATED_OFFSET, System.currentTimeMillis());
+        segment.put(AuditLogFormat.KEY_ID_OFFSET, keyId);
+    }
+
+    private static long lastIndex(Path directory) throws IOException {
+        long last = -1;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, AuditLogFormat.SEGMENT_GLOB)) {
+            for (Path file : files) {
+                last = Math.max(last, AuditLogFormat.segmentIndex(file));
+            }
+        }
+        return last;
+    }
+}
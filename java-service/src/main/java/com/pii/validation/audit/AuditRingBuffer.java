@@ -0,0 +1,102 @@
+package com.pii.validation.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded multi-producer, single-consumer queue of audit events. Events are stored in
+ * preallocated parallel arrays, so publishing copies a few primitives and one reference and
+ * never allocates or locks. A producer claims a sequence with one CAS, fills the slot and
+ * marks it published. The consumer reads slots in sequence order, and only while they are
+ * marked.
+ */
+final class AuditRingBuffer {
+
+    @FunctionalInterface
+    interface EventHandler {
+        void onEvent(long timestamp, long client, String ssn, int errors, int source);
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final long[] timestamps;
+    private final long[] clients;
+    private final int[] errors;
+    private final byte[] sources;
+    private final String[] ssns;
+    // Sequence + 1 of the event each slot holds once it is fully written (0: never written)
+    private final AtomicLongArray published;
+
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+
+    AuditRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("audit.buffer-size must be a power of two, at least 2");
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.timestamps = new long[capacity];
+        this.clients = new long[capacity];
+        this.errors = new int[capacity];
+        this.sources = new byte[capacity];
+        this.ssns = new String[capacity];
+        this.published = new AtomicLongArray(capacity);
+    }
+
+    /**
+     * Publishes one event, or returns {@code false} at once if the buffer is full.
+     */
+    boolean offer(long timestamp, long client, String ssn, int errorMask, int source) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed.get() >= capacity) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) sequence & mask;
+        timestamps[slot] = timestamp;
+        clients[slot] = client;
+        errors[slot] = errorMask;
+        sources[slot] = (byte) source;
+        ssns[slot] = ssn;
+        // Release: the consumer's acquire of this value makes the writes above visible
+        published.setRelease(slot, sequence + 1);
+        return true;
+    }
+
+    /**
+     * Hands up to {@code max} published events to {@code handler} in order. Consumer thread only.
+     *
+     * @return the number of events handled
+     */
+    int drain(EventHandler handler, int max) {
+        long next = consumed.get();
+        int count = 0;
+        while (count < max) {
+            int slot = (int) next & mask;
+            if (published.getAcquire(slot) != next + 1) {
+                break;
+            }
+            String ssn = ssns[slot];
+            ssns[slot] = null;
+            handler.onEvent(timestamps[slot], clients[slot], ssn, errors[slot], sources[slot]);
+            next++;
+            count++;
+        }
+        if (count > 0) {
+            consumed.setRelease(next);
+        }
+        return count;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    long size() {
+        return Math.max(claimed.get() - consumed.get(), 0);
+    }
+}
@@ -0,0 +1,35 @@
+package com.pii.validation.audit;
+
+/**
+ * Receives every validation decision made for a client. Called on request threads, and on the
+ * fork-join workers of bulk jobs ({@link Source#JOB}), so implementations must return quickly and
+ * must not block on I/O.
+ */
+@FunctionalInterface
+public interface ValidationEventListener {
+
+    ValidationEventListener NONE = (source, client, ssn, errors) -> {
+    };
+
+    enum Source { SINGLE, BATCH, BINARY, JOB }
+
+    /**
+     * @param client the client key (see {@link com.pii.validation.service.ClientKeys})
+     * @param ssn    the SSN as validated (trimmed), or {@code null}
+     * @param errors the {@link com.pii.validation.core.SsnErrorCode} mask, 0 when valid
+     */
+    void onValidation(Source source, long client, String ssn, int errors);
+
+    /**
+     * A listener that passes each decision to this one, then to {@code next}.
+     */
+    default ValidationEventListener andThen(ValidationEventListener next) {
+        if (this == NONE) {
+            return next;
+        }
+        return (source, client, ssn, errors) -> {
+            onValidation(source, client, ssn, errors);
+            next.onValidation(source, client, ssn, errors);
+        };
+    }
+}
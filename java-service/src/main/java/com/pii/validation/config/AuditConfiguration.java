@@ -0,0 +1,44 @@
+package com.pii.validation.config;
+
+import com.pii.validation.audit.AuditLog;
+import com.pii.validation.audit.ValidationEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Locale;
+
+@Configuration
+public class AuditConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditConfiguration.class);
+
+    // AuditLog is Closeable, so the context drains and closes it on shutdown
+    @Bean
+    public ValidationEventListener validationEventListener(
+            @Value("${audit.enabled:false}") boolean enabled,
+            @Value("${audit.dir:audit}") String dir,
+            @Value("${audit.hmac-key:}") String hmacKey,
+            @Value("${audit.buffer-size:65536}") int bufferSize,
+            @Value("${audit.backpressure:drop}") String backpressure,
+            @Value("${audit.segment-size-mb:64}") int segmentSizeMb,
+            @Value("${audit.flush-interval-ms:1000}") long flushIntervalMillis) throws IOException {
+        if (!enabled) {
+            return ValidationEventListener.NONE;
+        }
+        if (hmacKey.isBlank()) {
+            throw new IllegalStateException("audit.hmac-key (base64) is required when audit.enabled=true");
+        }
+
+        AuditLog.Backpressure policy = AuditLog.Backpressure.valueOf(backpressure.trim().toUpperCase(Locale.ROOT));
+        AuditLog auditLog = new AuditLog(Path.of(dir), Base64.getDecoder().decode(hmacKey.trim()), bufferSize, policy,
+                (long) segmentSizeMb << 20, flushIntervalMillis);
+        log.info("Audit log {}: buffer {} events, backpressure {}", Path.of(dir).toAbsolutePath(), bufferSize, policy);
+        return auditLog;
+    }
+}
@@ -0,0 +1,74 @@
+package com.pii.validation.config;
+
+import com.pii.validation.service.AdaptiveConcurrencyLimiter;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sheds load once the adaptive global in-flight limit is reached. Runs ahead of RateLimitFilter so
+ * an overloaded JVM turns requests away before doing any per-client work; the rejection is a
+ * pre-serialized 503 written straight to the output stream.
+ */
+@Component
+@Order(ConcurrencyLimitFilter.ORDER)
+@ConditionalOnProperty(name = "concurrency.limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter implements Filter {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+
+    private static final byte[] OVERLOADED_BODY =
+            "{\"error\": \"Service overloaded\", \"message\": \"Too many concurrent requests. Please retry shortly.\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+            throws IOException, ServletException {
+
+        HttpServletResponse httpResponse = (HttpServletResponse) servletResponse;
+
+        // Health checks cost next to nothing and must answer while the node is shedding load
+        if (Endpoints.isHealth(((HttpServletRequest) servletRequest).getRequestURI())) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+
+        if (!limiter.tryAcquire()) {
+            httpResponse.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            httpResponse.setHeader("X-Concurrency-Limit", String.valueOf(limiter.getLimit()));
+            httpResponse.setHeader("X-Concurrency-Inflight", String.valueOf(limiter.getInflight()));
+            httpResponse.setHeader("Retry-After", "1");
+            httpResponse.setContentType("application/json");
+            httpResponse.setContentLength(OVERLOADED_BODY.length);
+            httpResponse.getOutputStream().write(OVERLOADED_BODY);
+            return;
+        }
+
+        long start = System.nanoTime();
+        httpResponse.setHeader("X-Concurrency-Limit", String.valueOf(limiter.getLimit()));
+        httpResponse.setHeader("X-Concurrency-Inflight", String.valueOf(limiter.getInflight()));
+        try {
+            filterChain.doFilter(servletRequest, servletResponse);
+        } finally {
+            // A 429 costs next to nothing, so its latency would make the server look faster than it is;
+            // bulk requests take as long as their body does, which says nothing about load
+            boolean sample = httpResponse.getStatus() != HttpStatus.TOO_MANY_REQUESTS.value()
+                    && !Endpoints.isBulk(((HttpServletRequest) servletRequest).getRequestURI());
+            limiter.release(System.nanoTime() - start, sample);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.pii.validation.config;
+
+import com.pii.validation.core.MappedSsnDenylist;
+import com.pii.validation.core.SsnDenylist;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class DenylistConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(DenylistConfiguration.class);
+
+    // Only the header is read here; the file is mapped on the first lookup
+    @Bean
+    public SsnDenylist ssnDenylist(@Value("${ssn.denylist.path:}") String path) throws IOException {
+        if (path.isBlank()) {
+            return SsnDenylist.EMPTY;
+        }
+
+        MappedSsnDenylist denylist = MappedSsnDenylist.open(Path.of(path));
+        log.info("SSN denylist {}: {} entries ({})", path, denylist.size(), denylist.isBitmap() ? "bitmap" : "sorted");
+        return denylist;
+    }
+}
@@ -0,0 +1,34 @@
+package com.pii.validation.config;
+
+import java.util.Set;
+
+/**
+ * Classes of request path that the filters treat differently, kept in one place so that the
+ * filters always agree on them.
+ */
+final class Endpoints {
+
+    private static final String HEALTH_PATH = "/health";
+    private static final String JOBS_PATH = "/api/v1/ssn/jobs";
+    private static final Set<String> BULK_PATHS = Set.of("/api/v1/ssn/validate/batch", "/api/v1/ssn/seen/bulk",
+            "/api/v1/ssn/tokenize/batch", "/api/v1/ssn/detokenize/batch");
+
+    private Endpoints() {
+    }
+
+    /**
+     * {@code /health} and {@code /health/ready}. Probes must get their answer however busy the node
+     * is and however often they poll, so these bypass load shedding and rate limits.
+     */
+    static boolean isHealth(String uri) {
+        return uri.equals(HEALTH_PATH) || uri.startsWith(HEALTH_PATH + "/");
+    }
+
+    /**
+     * Batch, job, index-load and tokenization-batch endpoints, whose requests take as long as their
+     * body does. They run in the bulk lane and their latency says nothing about load.
+     */
+    static boolean isBulk(String uri) {
+        return uri.startsWith(JOBS_PATH) || BULK_PATHS.contains(uri);
+    }
+}
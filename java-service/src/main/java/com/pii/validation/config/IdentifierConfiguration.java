@@ -0,0 +1,21 @@
+package com.pii.validation.config;
+
+import com.pii.validation.core.IdentifierType;
+import com.pii.validation.core.IdentifierTypes;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Built-in identifier types; any other IdentifierType bean gets its own /api/v1/{type}/validate too
+@Configuration
+public class IdentifierConfiguration {
+
+    @Bean
+    public IdentifierType itin() {
+        return IdentifierTypes.ITIN;
+    }
+
+    @Bean
+    public IdentifierType ein() {
+        return IdentifierTypes.EIN;
+    }
+}
@@ -0,0 +1,97 @@
+package com.pii.validation.config;
+
+import com.pii.validation.metrics.LaneMetrics;
+import com.pii.validation.service.Lane;
+import com.pii.validation.service.LaneGate;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sorts API requests into {@link Lane lanes} and admits them through {@link LaneGate}. Batch,
+ * job and other bulk endpoints are always in the bulk lane; any other request joins it with
+ * {@code X-Lane: bulk}. The header can't move a bulk endpoint into the interactive lane.
+ *
+ * <p>Runs after SaturationFilter, so readiness counts queued requests as in flight, and before
+ * RateLimitFilter, which it points at the bulk budget for bulk endpoints. The header only lowers a
+ * request's priority: such requests stay charged to the client's normal limiter, so sending it
+ * can't buy a client the bulk budget on top of its own.
+ */
+@Component
+@Order(ConcurrencyLimitFilter.ORDER + 20)
+@ConditionalOnProperty(name = "lanes.enabled", havingValue = "true")
+public class LaneFilter implements Filter {
+
+    public static final String LANE_HEADER = "X-Lane";
+
+    private static final String API_PATH = "/api/";
+
+    private static final byte[] BUSY_BODY =
+            "{\"error\": \"Lane busy\", \"message\": \"Too many requests waiting in this lane. Please retry shortly.\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private final LaneGate gate;
+    private final LaneMetrics metrics;
+
+    public LaneFilter(LaneGate gate, LaneMetrics metrics) {
+        this.gate = gate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) servletRequest;
+        HttpServletResponse httpResponse = (HttpServletResponse) servletResponse;
+        String uri = httpRequest.getRequestURI();
+        if (!uri.startsWith(API_PATH)) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+
+        Lane lane = classify(uri, httpRequest.getHeader(LANE_HEADER));
+        httpResponse.setHeader(LANE_HEADER, lane.tag());
+
+        long start = System.nanoTime();
+        LaneGate.Admission admission;
+        try {
+            admission = gate.acquire(lane);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admission = LaneGate.Admission.TIMED_OUT;
+        }
+        if (admission != LaneGate.Admission.ADMITTED) {
+            httpResponse.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            httpResponse.setHeader("Retry-After", "1");
+            httpResponse.setContentType("application/json");
+            httpResponse.setContentLength(BUSY_BODY.length);
+            httpResponse.getOutputStream().write(BUSY_BODY);
+            return;
+        }
+
+        long admitted = System.nanoTime();
+        httpRequest.setAttribute(RateLimitFilter.LIMITER_ATTRIBUTE,
+                gate.budget(Endpoints.isBulk(uri) ? Lane.BULK : Lane.INTERACTIVE));
+        try {
+            filterChain.doFilter(servletRequest, servletResponse);
+        } finally {
+            gate.release(lane);
+            metrics.recordAdmitted(lane, admitted - start, System.nanoTime() - start);
+        }
+    }
+
+    static Lane classify(String uri, String header) {
+        if (Endpoints.isBulk(uri)) {
+            return Lane.BULK;
+        }
+        return Lane.fromTag(header) == Lane.BULK ? Lane.BULK : Lane.INTERACTIVE;
+    }
+}
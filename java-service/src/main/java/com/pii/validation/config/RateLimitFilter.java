@@ -1,7 +1,8 @@
 package com.pii.validation.config;
 
-import com.pii.validation.service.RateLimiterService;
-import io.github.bucket4j.Bucket;
+import com.pii.validation.metrics.RateLimitMetrics;
+import com.pii.validation.service.ClientRateLimiter;
+import com.pii.validation.service.RateLimitProbe;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -13,43 +14,76 @@ import java.io.IOException;
 @Component
 public class RateLimitFilter implements Filter {
 
-    private final RateLimiterService rateLimiterService;
+    // Request attribute holding the resolved client key, so handlers that charge
+    // additional tokens (e.g. per item in a batch) use the same bucket as the filter
+    public static final String CLIENT_KEY_ATTRIBUTE = RateLimitFilter.class.getName() + ".clientKey";
 
-    public RateLimitFilter(RateLimiterService rateLimiterService) {
-        this.rateLimiterService = rateLimiterService;
+    // Request attribute set by filters ahead of this one (LaneFilter) to charge the request, and any
+    // additional tokens, to a different ClientRateLimiter
+    public static final String LIMITER_ATTRIBUTE = RateLimitFilter.class.getName() + ".limiter";
+
+    private final ClientRateLimiter rateLimiter;
+    private final RateLimitMetrics metrics;
+
+    public RateLimitFilter(ClientRateLimiter rateLimiter, RateLimitMetrics metrics) {
+        this.rateLimiter = rateLimiter;
+        this.metrics = metrics;
     }
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
             throws IOException, ServletException {
         
+        long start = System.nanoTime();
         HttpServletRequest httpRequest = (HttpServletRequest) servletRequest;
         HttpServletResponse httpResponse = (HttpServletResponse) servletResponse;
 
+        // A load balancer polling readiness must never see a 429 instead of the node's state
+        if (Endpoints.isHealth(httpRequest.getRequestURI())) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+
         String clientIp = getClientIP(httpRequest);
-        Bucket bucket = rateLimiterService.resolveBucket(clientIp);
+        httpRequest.setAttribute(CLIENT_KEY_ATTRIBUTE, clientIp);
+        ClientRateLimiter rateLimiter = limiterFor(httpRequest, this.rateLimiter);
+        RateLimitProbe probe = rateLimiter.tryConsume(clientIp, 1);
 
-        if (bucket.tryConsume(1)) {
-            long availableTokens = bucket.getAvailableTokens();
+        if (probe.consumed()) {
+            long availableTokens = probe.remainingTokens();
             
-            httpResponse.addHeader("X-RateLimit-Limit", String.valueOf(rateLimiterService.getLimit()));
+            httpResponse.addHeader("X-RateLimit-Limit", String.valueOf(rateLimiter.getLimit()));
             httpResponse.addHeader("X-RateLimit-Remaining", String.valueOf(availableTokens));
             
-            filterChain.doFilter(servletRequest, servletResponse);
+            try {
+                filterChain.doFilter(servletRequest, servletResponse);
+            } finally {
+                metrics.recordAllowed(System.nanoTime() - start);
+            }
         } else {
-            long waitForRefill = bucket.estimateAbilityToConsume(1).getNanosToWaitForRefill() / 1_000_000_000;
+            long waitForRefill = probe.nanosToWaitForRefill() / 1_000_000_000;
             
             httpResponse.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            httpResponse.addHeader("X-RateLimit-Limit", String.valueOf(rateLimiterService.getLimit()));
+            httpResponse.addHeader("X-RateLimit-Limit", String.valueOf(rateLimiter.getLimit()));
             httpResponse.addHeader("X-RateLimit-Remaining", "0");
             httpResponse.addHeader("X-RateLimit-Reset", String.valueOf(System.currentTimeMillis() / 1000 + waitForRefill));
             httpResponse.setContentType("application/json");
             httpResponse.getWriter().write(
                 "{\"error\": \"Too many requests\", \"message\": \"Rate limit exceeded. Please try again in " + waitForRefill + " seconds.\"}"
             );
+            metrics.recordRejected(System.nanoTime() - start);
         }
     }
 
+    /**
+     * The rate limiter {@code request} is charged to: the one a filter put in
+     * {@link #LIMITER_ATTRIBUTE}, otherwise {@code defaultLimiter}.
+     */
+    public static ClientRateLimiter limiterFor(HttpServletRequest request, ClientRateLimiter defaultLimiter) {
+        Object limiter = request.getAttribute(LIMITER_ATTRIBUTE);
+        return limiter instanceof ClientRateLimiter clientRateLimiter ? clientRateLimiter : defaultLimiter;
+    }
+
     private String getClientIP(HttpServletRequest request) {
         // For internal service-to-service traffic, rely on the actual remote address
         // instead of trusting X-Forwarded-For, which can be spoofed by clients.
@@ -0,0 +1,51 @@
+package com.pii.validation.config;
+
+import com.pii.validation.service.SaturationMonitor;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Feeds {@link SaturationMonitor}: counts requests in flight and times validation requests for the
+ * readiness p99. Runs after ConcurrencyLimitFilter, so shed requests count as neither, and skips the
+ * health endpoints so a readiness check doesn't count itself.
+ */
+@Component
+@Order(ConcurrencyLimitFilter.ORDER + 10)
+public class SaturationFilter implements Filter {
+
+    private static final String VALIDATE_SUFFIX = "/validate";
+
+    private final SaturationMonitor monitor;
+
+    public SaturationFilter(SaturationMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain)
+            throws IOException, ServletException {
+
+        String uri = ((HttpServletRequest) servletRequest).getRequestURI();
+        if (Endpoints.isHealth(uri)) {
+            filterChain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+
+        long start = System.nanoTime();
+        monitor.requestStarted();
+        try {
+            filterChain.doFilter(servletRequest, servletResponse);
+        } finally {
+            // Single and identifier validations only; a 429 costs next to nothing and would pull the p99 down
+            boolean sample = uri.endsWith(VALIDATE_SUFFIX)
+                    && ((HttpServletResponse) servletResponse).getStatus() != HttpStatus.TOO_MANY_REQUESTS.value();
+            monitor.requestFinished(System.nanoTime() - start, sample);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.pii.validation.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pii.validation.dto.SsnJsonCodec;
+import com.pii.validation.dto.SsnValidationRequest;
+import com.pii.validation.dto.SsnValidationResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads {@link SsnValidationRequest} and writes {@link SsnValidationResponse} with
+ * {@link SsnJsonCodec} instead of Jackson databind. Spring Boot puts converter beans ahead of its
+ * defaults, so these two types take this path and every other type still goes to Jackson. Bodies
+ * the codec doesn't handle are passed to the application's {@link ObjectMapper}, which keeps
+ * parsing rules and error responses unchanged.
+ */
+@Component
+public class SsnJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    // Request bodies are a few dozen bytes; anything past this is streamed to Jackson instead
+    private static final int MAX_BUFFERED_BODY = 8 * 1024;
+    private static final int INITIAL_BUFFER = 256;
+
+    private final ObjectMapper objectMapper;
+
+    public SsnJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == SsnValidationRequest.class || clazz == SsnValidationResponse.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return clazz == SsnValidationRequest.class && canRead(mediaType) && isUtf8(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return clazz == SsnValidationResponse.class && canWrite(mediaType) && isUtf8(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        InputStream in = inputMessage.getBody();
+        long contentLength = inputMessage.getHeaders().getContentLength();
+
+        byte[] body;
+        int length;
+        boolean complete;
+        if (contentLength >= 0 && contentLength <= MAX_BUFFERED_BODY) {
+            body = new byte[(int) contentLength];
+            length = in.readNBytes(body, 0, body.length);
+            complete = true;
+        } else if (contentLength < 0) {
+            // Chunked: buffer up to the limit
+            body = new byte[INITIAL_BUFFER];
+            length = 0;
+            int read;
+            while ((read = in.read(body, length, body.length - length)) >= 0) {
+                length += read;
+                if (length == body.length) {
+                    if (length == MAX_BUFFERED_BODY) {
+                        break;
+                    }
+                    body = Arrays.copyOf(body, Math.min(length * 2, MAX_BUFFERED_BODY));
+                }
+            }
+            complete = read < 0;
+        } else {
+            body = new byte[0];
+            length = 0;
+            complete = false;
+        }
+
+        if (complete) {
+            SsnValidationRequest request = SsnJsonCodec.readRequest(body, length);
+            if (request != null) {
+                return request;
+            }
+            return readWithJackson(new ByteArrayInputStream(body, 0, length), inputMessage);
+        }
+        return readWithJackson(new SequenceInputStream(new ByteArrayInputStream(body, 0, length), in), inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object response, HttpOutputMessage outputMessage) throws IOException {
+        byte[] body = SsnJsonCodec.writeResponse((SsnValidationResponse) response);
+        if (body == null) {
+            try {
+                body = objectMapper.writeValueAsBytes(response);
+            } catch (JsonProcessingException e) {
+                throw new HttpMessageNotWritableException("Could not write JSON: " + e.getOriginalMessage(), e);
+            }
+        }
+        // Headers go out with the first byte of the body, so the exact length can still be set here
+        outputMessage.getHeaders().setContentLength(body.length);
+        outputMessage.getBody().write(body);
+    }
+
+    private Object readWithJackson(InputStream in, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return objectMapper.readValue(in, SsnValidationRequest.class);
+        } catch (JsonProcessingException e) {
+            // Same message MappingJackson2HttpMessageConverter produces
+            throw new HttpMessageNotReadableException("JSON parse error: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    private static boolean isUtf8(MediaType mediaType) {
+        Charset charset = mediaType != null ? mediaType.getCharset() : null;
+        return charset == null || charset.equals(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,41 @@
+package com.pii.validation.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs whether requests are served on virtual or platform threads. Spring Boot silently ignores
+ * {@code spring.threads.virtual.enabled} below Java 21, so a load test run against the wrong JVM
+ * would otherwise measure platform threads without anyone noticing.
+ */
+@Component
+public class ThreadingModeReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingModeReporter.class);
+
+    static final int VIRTUAL_THREADS_MIN_JAVA = 21;
+
+    private final boolean virtual;
+
+    public ThreadingModeReporter(@Value("${spring.threads.virtual.enabled:false}") boolean virtualRequested) {
+        int javaVersion = Runtime.version().feature();
+        this.virtual = effectiveVirtual(virtualRequested, javaVersion);
+
+        if (virtualRequested && !virtual) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads (needs {}+); "
+                    + "serving requests on platform threads", javaVersion, VIRTUAL_THREADS_MIN_JAVA);
+        } else {
+            log.info("Serving requests on {} threads", virtual ? "virtual" : "platform");
+        }
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    static boolean effectiveVirtual(boolean requested, int javaVersion) {
+        return requested && javaVersion >= VIRTUAL_THREADS_MIN_JAVA;
+    }
+}
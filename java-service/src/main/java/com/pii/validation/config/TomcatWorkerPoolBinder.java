@@ -0,0 +1,48 @@
+package com.pii.validation.config;
+
+import com.pii.validation.dto.ReadinessResponse;
+import com.pii.validation.service.SaturationMonitor;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Hands Tomcat's worker pool to {@link SaturationMonitor} once the server has started. Only a pool
+ * of platform threads has a utilization and a queue; with virtual threads readiness relies on the
+ * in-flight count instead.
+ */
+@Component
+public class TomcatWorkerPoolBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TomcatWorkerPoolBinder.class);
+
+    private final SaturationMonitor monitor;
+
+    public TomcatWorkerPoolBinder(SaturationMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (!(event.getWebServer() instanceof TomcatWebServer tomcat)) {
+            return;
+        }
+        ProtocolHandler handler = tomcat.getTomcat().getConnector().getProtocolHandler();
+        Executor executor = handler.getExecutor();
+        if (!(executor instanceof ThreadPoolExecutor pool)) {
+            log.info("Readiness doesn't report worker utilization for executor {}", executor);
+            return;
+        }
+        AbstractProtocol<?> protocol = handler instanceof AbstractProtocol<?> p ? p : null;
+        monitor.setWorkerPool(() -> new ReadinessResponse.Workers(pool.getActiveCount(), pool.getMaximumPoolSize(),
+                pool.getQueue().size(), protocol != null ? protocol.getConnectionCount() : -1));
+    }
+}
@@ -1,5 +1,10 @@
 package com.pii.validation.controller;
 
+import com.pii.validation.core.SsnRuleSet;
+import com.pii.validation.dto.ReadinessResponse;
+import com.pii.validation.service.RuleSetService;
+import com.pii.validation.service.SaturationMonitor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -9,11 +14,35 @@ import java.util.Map;
 @RestController
 public class HealthController {
 
+    private final RuleSetService ruleSets;
+    private final SaturationMonitor saturation;
+
+    public HealthController(RuleSetService ruleSets, SaturationMonitor saturation) {
+        this.ruleSets = ruleSets;
+        this.saturation = saturation;
+    }
+
     @GetMapping("/health")
-    public ResponseEntity<Map<String, String>> health() {
+    public ResponseEntity<Map<String, Object>> health() {
+        SsnRuleSet rules = ruleSets.current();
         return ResponseEntity.ok(Map.of(
                 "status", "UP",
-                "service", "ssn-validation-service"
+                "service", "ssn-validation-service",
+                "rules", Map.of(
+                        "version", rules.version(),
+                        "hash", rules.fingerprint()
+                )
         ));
     }
+
+    /**
+     * Readiness for load balancers: 503 while any saturation signal is past its threshold. {@code /health}
+     * stays UP regardless, so an overloaded node is taken out of rotation rather than restarted.
+     */
+    @GetMapping("/health/ready")
+    public ResponseEntity<ReadinessResponse> ready() {
+        ReadinessResponse readiness = saturation.readiness();
+        return ResponseEntity.status(readiness.isReady() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .body(readiness);
+    }
 }
@@ -0,0 +1,43 @@
+package com.pii.validation.controller;
+
+import com.pii.validation.dto.IdentifierValidationRequest;
+import com.pii.validation.dto.IdentifierValidationResponse;
+import com.pii.validation.service.IdentifierValidationService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code POST /api/v1/{type}/validate} for every registered identifier type. {@code /api/v1/ssn/validate}
+ * is the more specific mapping in {@link SsnController}, so SSNs never reach this controller.
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class IdentifierController {
+
+    private final IdentifierValidationService identifierService;
+
+    public IdentifierController(IdentifierValidationService identifierService) {
+        this.identifierService = identifierService;
+    }
+
+    @GetMapping("/identifiers")
+    public Map<String, List<String>> types() {
+        return Map.of("types", identifierService.types());
+    }
+
+    @PostMapping("/{type}/validate")
+    public ResponseEntity<?> validate(@PathVariable String type, @Valid @RequestBody IdentifierValidationRequest request) {
+        return identifierService.validate(type, request.getValue())
+                .<ResponseEntity<?>>map(response -> response.isValid()
+                        ? ResponseEntity.ok(response)
+                        : ResponseEntity.badRequest().body(response))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("error", "Unknown identifier type", "message",
+                                "No validator for '" + type + "'; see /api/v1/identifiers")));
+    }
+}
@@ -0,0 +1,48 @@
+package com.pii.validation.controller;
+
+import com.pii.validation.config.RateLimitFilter;
+import com.pii.validation.service.ClientRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Charges the items of a batch request to the client's rate limit, one token each. RateLimitFilter
+ * already charged one token for the HTTP call, which pays for the first item; every further item
+ * costs one more token, so a batch can't be used to bypass the limit.
+ */
+final class PerItemPermit implements BooleanSupplier {
+
+    private final ClientRateLimiter rateLimiter;
+    private final String clientKey;
+    private boolean prepaid = true;
+
+    private PerItemPermit(ClientRateLimiter rateLimiter, String clientKey) {
+        this.rateLimiter = rateLimiter;
+        this.clientKey = clientKey;
+    }
+
+    /**
+     * A permit drawing on the bucket RateLimitFilter charged {@code request} to.
+     */
+    static PerItemPermit of(HttpServletRequest request, ClientRateLimiter defaultLimiter) {
+        return new PerItemPermit(RateLimitFilter.limiterFor(request, defaultLimiter), clientKey(request));
+    }
+
+    /**
+     * The key RateLimitFilter resolved for {@code request}.
+     */
+    static String clientKey(HttpServletRequest request) {
+        Object key = request.getAttribute(RateLimitFilter.CLIENT_KEY_ATTRIBUTE);
+        return key != null ? key.toString() : request.getRemoteAddr();
+    }
+
+    @Override
+    public boolean getAsBoolean() {
+        if (prepaid) {
+            prepaid = false;
+            return true;
+        }
+        return rateLimiter.tryConsume(clientKey, 1).consumed();
+    }
+}
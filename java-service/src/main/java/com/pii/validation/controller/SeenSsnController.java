@@ -0,0 +1,51 @@
+package com.pii.validation.controller;
+
+import com.pii.validation.dto.SeenSsnResponse;
+import com.pii.validation.dto.SsnValidationRequest;
+import com.pii.validation.service.SeenSsnService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/ssn/seen")
+@ConditionalOnProperty(name = "ssn.index.enabled", havingValue = "true")
+public class SeenSsnController {
+
+    private final SeenSsnService seenSsnService;
+
+    public SeenSsnController(SeenSsnService seenSsnService) {
+        this.seenSsnService = seenSsnService;
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public SeenSsnResponse seen(@Valid @RequestBody SsnValidationRequest request,
+                                @RequestParam(defaultValue = "false") boolean record) {
+        String ssn = request.getSsn();
+        return SeenSsnResponse.of(record ? seenSsnService.record(ssn) : seenSsnService.seen(ssn));
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public SeenSsnService.LoadResult load(HttpServletRequest request,
+                                          @RequestParam(defaultValue = "false") boolean replace) throws IOException {
+        return seenSsnService.load(request.getInputStream(), replace);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> invalidSsn(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", "Invalid SSN", "message", e.getMessage()));
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Map<String, String>> conflict(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("error", "SSN index busy", "message", e.getMessage()));
+    }
+}
@@ -1,30 +1,95 @@
 package com.pii.validation.controller;
 
+import com.pii.validation.audit.ValidationEventListener;
+import com.pii.validation.core.EmbeddedSsnValidator;
+import com.pii.validation.core.SsnRuleSet;
+import com.pii.validation.dto.RuleSetResponse;
 import com.pii.validation.dto.SsnValidationRequest;
 import com.pii.validation.dto.SsnValidationResponse;
+import com.pii.validation.service.BatchValidationService;
+import com.pii.validation.service.ClientKeys;
+import com.pii.validation.service.ClientRateLimiter;
 import com.pii.validation.service.SsnValidationService;
+import com.pii.validation.service.ValidationStats;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/ssn")
 public class SsnController {
 
     private final SsnValidationService validationService;
+    private final BatchValidationService batchValidationService;
+    private final ClientRateLimiter rateLimiter;
+    private final ValidationEventListener validationEvents;
 
-    public SsnController(SsnValidationService validationService) {
+    public SsnController(SsnValidationService validationService,
+                         BatchValidationService batchValidationService,
+                         ClientRateLimiter rateLimiter,
+                         ValidationEventListener validationEvents,
+                         Optional<ValidationStats> stats) {
         this.validationService = validationService;
+        this.batchValidationService = batchValidationService;
+        this.rateLimiter = rateLimiter;
+        this.validationEvents = stats.map(s -> validationEvents.andThen(s::onValidation)).orElse(validationEvents);
     }
 
     @PostMapping("/validate")
-    public ResponseEntity<SsnValidationResponse> validate(@Valid @RequestBody SsnValidationRequest request) {
-        SsnValidationResponse response = validationService.validate(request.getSsn());
+    public ResponseEntity<SsnValidationResponse> validate(@Valid @RequestBody SsnValidationRequest request,
+                                                          @RequestParam(defaultValue = "false") boolean normalize,
+                                                          HttpServletRequest httpRequest) {
+        SsnRuleSet rules = validationService.currentRules();
+        SsnValidationResponse response = validationService.validate(request.getSsn(), rules, normalize);
+        validationEvents.onValidation(ValidationEventListener.Source.SINGLE, ClientKeys.of(PerItemPermit.clientKey(httpRequest)),
+                response.getSsn(), response.getErrorCodes());
+
+        // Embedded validators compare this with their own rules to know whether their rejections hold
+        return (response.isValid() ? ResponseEntity.ok() : ResponseEntity.badRequest())
+                .header(EmbeddedSsnValidator.FINGERPRINT_HEADER, rules.fingerprint())
+                .body(response);
+    }
 
-        if (response.isValid()) {
-            return ResponseEntity.ok(response);
+    /**
+     * The active rule set, for embedded validators to check and adopt. The fingerprint is the ETag,
+     * so polling with {@code If-None-Match} costs a 304 until the rules change.
+     */
+    @GetMapping("/rules")
+    public ResponseEntity<RuleSetResponse> rules(WebRequest request) {
+        SsnRuleSet rules = validationService.currentRules();
+        String etag = '"' + rules.fingerprint() + '"';
+        if (request.checkNotModified(etag)) {
+            return null;
         }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .header(EmbeddedSsnValidator.FINGERPRINT_HEADER, rules.fingerprint())
+                .body(RuleSetResponse.of(rules));
+    }
+
+    @PostMapping(value = "/validate/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_PLAIN_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void validateBatch(@RequestParam(defaultValue = "false") boolean normalize,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
 
-        return ResponseEntity.badRequest().body(response);
+        // One rate limit token per item, so a batch can't be used to bypass the limit
+        batchValidationService.validate(
+                request.getInputStream(),
+                MediaType.parseMediaType(request.getContentType()),
+                response.getOutputStream(),
+                PerItemPermit.of(request, rateLimiter),
+                validationEvents,
+                ClientKeys.of(PerItemPermit.clientKey(request)),
+                normalize
+        );
     }
 }
@@ -0,0 +1,37 @@
+package com.pii.validation.controller;
+
+import com.pii.validation.dto.ValidationStatsResponse;
+import com.pii.validation.service.ValidationStats;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/stats")
+@ConditionalOnProperty(name = "stats.enabled", havingValue = "true")
+public class StatsController {
+
+    private final ValidationStats stats;
+
+    public StatsController(ValidationStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Outcome counts of the last {@code window} seconds (default: the whole horizon) and the
+     * {@code top} clients by {@code outcome}.
+     */
+    @GetMapping
+    public ValidationStatsResponse stats(@RequestParam(required = false) Integer window,
+                                         @RequestParam(defaultValue = ValidationStats.REJECTED) String outcome,
+                                         @RequestParam(defaultValue = "10") int top) {
+        return stats.query(window != null ? window : stats.getHorizonSeconds(), outcome, top);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> invalidQuery(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", "Invalid query", "message", e.getMessage()));
+    }
+}
@@ -0,0 +1,66 @@
+package com.pii.validation.controller;
+
+import com.pii.validation.dto.DetokenizeResponse;
+import com.pii.validation.dto.SsnValidationRequest;
+import com.pii.validation.dto.TokenRequest;
+import com.pii.validation.dto.TokenResponse;
+import com.pii.validation.service.ClientRateLimiter;
+import com.pii.validation.service.InvalidSsnException;
+import com.pii.validation.service.SsnTokenizationService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/ssn")
+@ConditionalOnProperty(name = "ssn.tokenization.enabled", havingValue = "true")
+public class TokenizationController {
+
+    private final SsnTokenizationService tokenizationService;
+    private final ClientRateLimiter rateLimiter;
+
+    public TokenizationController(SsnTokenizationService tokenizationService, ClientRateLimiter rateLimiter) {
+        this.tokenizationService = tokenizationService;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @PostMapping(value = "/tokenize", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public TokenResponse tokenize(@Valid @RequestBody SsnValidationRequest request) {
+        return new TokenResponse(tokenizationService.tokenize(request.getSsn()));
+    }
+
+    @PostMapping(value = "/detokenize", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public DetokenizeResponse detokenize(@Valid @RequestBody TokenRequest request) {
+        return new DetokenizeResponse(tokenizationService.detokenize(request.getToken()));
+    }
+
+    @PostMapping(value = "/tokenize/batch", consumes = MediaType.TEXT_PLAIN_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void tokenizeBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        tokenizationService.convertLines(request.getInputStream(), response.getOutputStream(), false,
+                PerItemPermit.of(request, rateLimiter));
+    }
+
+    @PostMapping(value = "/detokenize/batch", consumes = MediaType.TEXT_PLAIN_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void detokenizeBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        tokenizationService.convertLines(request.getInputStream(), response.getOutputStream(), true,
+                PerItemPermit.of(request, rateLimiter));
+    }
+
+    @ExceptionHandler(InvalidSsnException.class)
+    public ResponseEntity<Map<String, Object>> invalidSsn(InvalidSsnException e) {
+        List<String> errors = e.messages();
+        return ResponseEntity.badRequest().body(Map.of("error", "Invalid SSN", "errors", errors));
+    }
+}
@@ -0,0 +1,100 @@
+package com.pii.validation.controller;
+
+import com.pii.validation.dto.ValidationJobRequest;
+import com.pii.validation.dto.ValidationJobStatus;
+import com.pii.validation.service.ClientKeys;
+import com.pii.validation.service.UploadTooLargeException;
+import com.pii.validation.service.ValidationJob;
+import com.pii.validation.service.ValidationJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/api/v1/ssn/jobs")
+public class ValidationJobController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final ValidationJobService jobService;
+
+    public ValidationJobController(ValidationJobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ValidationJobStatus> submitFile(@Valid @RequestBody ValidationJobRequest request,
+                                                          HttpServletRequest httpRequest) throws IOException {
+        return accepted(jobService.submitFile(request.getPath(), request.getColumn(), request.isHeader(),
+                request.isNormalize(), ClientKeys.of(PerItemPermit.clientKey(httpRequest))));
+    }
+
+    @PostMapping(consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ValidationJobStatus> submitUpload(HttpServletRequest request,
+                                                            @RequestParam(defaultValue = "0") int column,
+                                                            @RequestParam(defaultValue = "false") boolean header,
+                                                            @RequestParam(defaultValue = "false") boolean normalize)
+            throws IOException {
+        // Chunked uploads have no length; submitUpload stops those at the limit instead
+        if (request.getContentLengthLong() > jobService.maxUploadBytes()) {
+            throw new UploadTooLargeException(jobService.maxUploadBytes());
+        }
+        return accepted(jobService.submitUpload(request.getInputStream(), column, header, normalize,
+                ClientKeys.of(PerItemPermit.clientKey(request))));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ValidationJobStatus> status(@PathVariable String id) {
+        return jobService.find(id)
+                .map(job -> ResponseEntity.ok(ValidationJobStatus.of(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/{id}/results")
+    public ResponseEntity<Resource> results(@PathVariable String id) {
+        return jobService.results(id)
+                .map(path -> ResponseEntity.ok()
+                        .contentType(TEXT_CSV)
+                        .body((Resource) new FileSystemResource(path)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable String id) throws IOException {
+        return jobService.delete(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> invalidJob(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", "Invalid job", "message", e.getMessage()));
+    }
+
+    @ExceptionHandler(UploadTooLargeException.class)
+    public ResponseEntity<Map<String, String>> uploadTooLarge(UploadTooLargeException e) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(Map.of("error", "Upload too large", "message", e.getMessage()));
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> queueFull() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "60")
+                .body(Map.of("error", "Too many jobs", "message", "The job queue is full. Please retry later."));
+    }
+
+    private static ResponseEntity<ValidationJobStatus> accepted(ValidationJob job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/ssn/jobs/" + job.id()))
+                .body(ValidationJobStatus.of(job));
+    }
+}
@@ -0,0 +1,51 @@
+package com.pii.validation.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Wire format of the binary validation protocol, shared by the server and
+ * {@link BinaryValidationClient}. All integers are big-endian.
+ *
+ * <p>A connection opens with the client sending {@link #PREAMBLE}, which the server echoes before
+ * its first reply. After that both sides exchange frames, each a {@code u16} length of the rest of
+ * the frame followed by the body:
+ *
+ * <pre>
+ *  request  u16 length (9)  u8 op ({@link #VALIDATE})      i32 request id  i32 SSN as a nine-digit number
+ *  reply    u16 length (9)  u8 status ({@link #VALIDATED}) i32 request id  i32 {@link SsnErrorCode} mask
+ *                           u8 status ({@link #RATE_LIMITED})               i32 milliseconds until the limit refills
+ * </pre>
+ *
+ * A client may send any number of requests without waiting for replies. The server answers them in
+ * the order they were sent; the request id is echoed so clients can check. A frame with any other
+ * length or op ends the connection.
+ */
+public final class BinaryProtocol {
+
+    /** {@code "SSN"} and the protocol version. */
+    public static final int PREAMBLE = 0x53534E01;
+    public static final int PREAMBLE_SIZE = 4;
+
+    /** Length field of every frame defined so far. */
+    public static final int BODY_LENGTH = 9;
+    public static final int FRAME_SIZE = 2 + BODY_LENGTH;
+
+    public static final byte VALIDATE = 1;
+
+    public static final byte VALIDATED = 0;
+    public static final byte RATE_LIMITED = 1;
+
+    /** Highest SSN value; larger ones fail with {@link SsnErrorCode#FORMAT}. */
+    public static final int MAX_VALUE = 999_999_999;
+
+    private BinaryProtocol() {
+    }
+
+    public static void putRequest(ByteBuffer buffer, int id, int value) {
+        buffer.putShort((short) BODY_LENGTH).put(VALIDATE).putInt(id).putInt(value);
+    }
+
+    public static void putReply(ByteBuffer buffer, byte status, int id, int result) {
+        buffer.putShort((short) BODY_LENGTH).put(status).putInt(id).putInt(result);
+    }
+}
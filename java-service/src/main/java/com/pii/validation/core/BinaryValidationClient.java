@@ -0,0 +1,264 @@
+package com.pii.validation.core;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Client of the binary validation protocol ({@link BinaryProtocol}) over one persistent
+ * connection. Requests are pipelined: {@link #validate} and {@link #validateAll} write their frames
+ * and return futures without waiting for the replies, which a reader thread matches to them in
+ * order. At most {@code maxInFlight} requests are outstanding; callers block when it is reached.
+ *
+ * <p>Missing and malformed SSNs ({@link SsnErrorCode#REQUIRED}, {@link SsnErrorCode#FORMAT}) are
+ * answered locally, since the protocol only carries decoded numbers. Every other SSN goes to the
+ * server, which applies the rules, the denylist and the client's rate limit. A request the rate
+ * limit refuses completes with a {@link RateLimitedException}.
+ *
+ * <p>Instances are thread-safe. Writers take turns on a {@link ReentrantLock}, held across socket
+ * writes and the wait for an in-flight slot, so a virtual thread waiting on a slow server doesn't
+ * pin its carrier. Futures complete on the reader thread, so callbacks attached with the non-async
+ * methods run there and must not block.
+ */
+public final class BinaryValidationClient implements Closeable {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4096;
+
+    private static final int LOCAL_ERRORS = SsnErrorCode.REQUIRED.bit() | SsnErrorCode.FORMAT.bit();
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The server's rate limit for this client refused the request.
+     */
+    public static final class RateLimitedException extends IOException {
+
+        private final long retryAfterMillis;
+
+        RateLimitedException(long retryAfterMillis) {
+            super("Rate limit exceeded, retry in " + retryAfterMillis + " ms");
+            this.retryAfterMillis = retryAfterMillis;
+        }
+
+        public long retryAfterMillis() {
+            return retryAfterMillis;
+        }
+    }
+
+    private record Pending(int id, CompletableFuture<Integer> result) {
+    }
+
+    private final SocketChannel channel;
+    private final Semaphore inFlight;
+    // Added before the request is written, so the reader always finds the entry for a reply
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private final Thread reader;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Guarded by writeLock
+    private final ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE);
+    private int nextId;
+
+    private volatile IOException failure;
+
+    private BinaryValidationClient(SocketChannel channel, int maxInFlight) {
+        this.channel = channel;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.reader = new Thread(this::read, "ssn-binary-client-" + channel.socket().getLocalPort());
+        reader.setDaemon(true);
+    }
+
+    public static BinaryValidationClient connect(String host, int port) throws IOException {
+        return connect(new InetSocketAddress(host, port), DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public static BinaryValidationClient connect(InetSocketAddress address, int maxInFlight) throws IOException {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive");
+        }
+        SocketChannel channel = SocketChannel.open(address);
+        try {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            BinaryValidationClient client = new BinaryValidationClient(channel, maxInFlight);
+            // Not shared yet, so no lock
+            client.out.putInt(BinaryProtocol.PREAMBLE);
+            client.flush();
+            client.reader.start();
+            return client;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Validates {@code ssn} and completes with its {@link SsnErrorCode} mask, 0 when valid.
+     */
+    public CompletableFuture<Integer> validate(CharSequence ssn) throws IOException {
+        return validateAll(Collections.singletonList(ssn)).get(0);
+    }
+
+    /**
+     * Validates every SSN of {@code ssns}, written to the connection together, and returns their
+     * futures in the same order.
+     */
+    public List<CompletableFuture<Integer>> validateAll(List<? extends CharSequence> ssns) throws IOException {
+        List<CompletableFuture<Integer>> results = new ArrayList<>(ssns.size());
+        try {
+            // Another writer may hold the lock while it waits for replies
+            writeLock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting to write");
+        }
+        try {
+            for (CharSequence ssn : ssns) {
+                long checked = SsnValidator.check(ssn);
+                int errors = SsnValidator.errors(checked);
+                if ((errors & LOCAL_ERRORS) != 0) {
+                    results.add(CompletableFuture.completedFuture(errors));
+                    continue;
+                }
+                results.add(send(SsnValidator.value(checked)));
+            }
+            flush();
+        } catch (IOException e) {
+            fail(e);
+            throw e;
+        } finally {
+            writeLock.unlock();
+        }
+        return results;
+    }
+
+    public boolean isOpen() {
+        return failure == null && channel.isOpen();
+    }
+
+    /**
+     * Closes the connection. Requests still waiting for a reply complete exceptionally.
+     */
+    @Override
+    public void close() throws IOException {
+        fail(new IOException("Client closed"));
+    }
+
+    // Called with writeLock held
+    private CompletableFuture<Integer> send(int value) throws IOException {
+        if (!inFlight.tryAcquire()) {
+            // Let the server work through what is buffered before waiting for its replies
+            flush();
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted waiting for replies");
+            }
+        }
+        IOException failed = failure;
+        if (failed != null) {
+            inFlight.release();
+            throw new IOException("Connection failed", failed);
+        }
+
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        int id = nextId++;
+        pending.add(new Pending(id, result));
+        if (failure != null) {
+            // Failed after the check above, possibly after draining pending; drain it again
+            fail(failure);
+        }
+        if (out.remaining() < BinaryProtocol.FRAME_SIZE) {
+            flush();
+        }
+        BinaryProtocol.putRequest(out, id, value);
+        return result;
+    }
+
+    private void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    private void read() {
+        // Kept ready to get from, empty to begin with
+        ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE).flip();
+        try {
+            fill(in, BinaryProtocol.PREAMBLE_SIZE);
+            if (in.getInt() != BinaryProtocol.PREAMBLE) {
+                throw new IOException("Server does not speak protocol version " + (BinaryProtocol.PREAMBLE & 0xFF));
+            }
+            while (true) {
+                fill(in, BinaryProtocol.FRAME_SIZE);
+                while (in.remaining() >= BinaryProtocol.FRAME_SIZE) {
+                    complete(in);
+                }
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    // Reads until in holds at least size bytes and leaves it ready to get them
+    private void fill(ByteBuffer in, int size) throws IOException {
+        in.compact();
+        while (in.position() < size) {
+            if (channel.read(in) < 0) {
+                throw new EOFException("Connection closed by the server");
+            }
+        }
+        in.flip();
+    }
+
+    private void complete(ByteBuffer in) throws IOException {
+        int length = in.getShort() & 0xFFFF;
+        byte status = in.get();
+        int id = in.getInt();
+        int result = in.getInt();
+        if (length != BinaryProtocol.BODY_LENGTH) {
+            throw new IOException("Unexpected frame length " + length);
+        }
+
+        Pending request = pending.poll();
+        if (request == null || request.id() != id) {
+            throw new IOException("Reply " + id + " does not match an outstanding request");
+        }
+        inFlight.release();
+        switch (status) {
+            case BinaryProtocol.VALIDATED -> request.result().complete(result);
+            case BinaryProtocol.RATE_LIMITED -> request.result().completeExceptionally(new RateLimitedException(result));
+            default -> throw new IOException("Unknown reply status " + status);
+        }
+    }
+
+    private void fail(IOException cause) {
+        if (failure == null) {
+            failure = cause;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+        Pending request;
+        while ((request = pending.poll()) != null) {
+            inFlight.release();
+            request.result().completeExceptionally(failure);
+        }
+    }
+}
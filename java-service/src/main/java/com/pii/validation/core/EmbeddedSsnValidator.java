@@ -0,0 +1,167 @@
+package com.pii.validation.core;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * Pre-validation for services that embed the core jar instead of calling the validation service
+ * for every SSN. It answers {@link Outcome#INVALID} only when the server would reject the SSN
+ * too, and {@link Outcome#ASK_SERVER} otherwise, so the server stays the source of truth:
+ *
+ * <ul>
+ *   <li>Missing and malformed input ({@link SsnErrorCode#REQUIRED}, {@link SsnErrorCode#FORMAT})
+ *       is rejected locally whatever the rules are.</li>
+ *   <li>Rule errors are rejected locally only while the local rules have the fingerprint the server
+ *       last reported; until then, or after the server's rules change, they are asked about.</li>
+ *   <li>SSNs that pass locally are always asked about, since only the server applies the
+ *       denylist.</li>
+ * </ul>
+ *
+ * What counts as malformed depends on whether the SSN is sent with {@code normalize=true}: the
+ * server then accepts {@code 123456789} and the other forms {@link SsnValidator#checkLenient}
+ * reads. Callers that normalize must pre-validate with {@link #prevalidate(CharSequence, boolean)}.
+ * The server reports its fingerprint in the {@value #FINGERPRINT_HEADER} header of every single
+ * validation and in {@code GET /api/v1/ssn/rules}, which also returns the rule file to
+ * {@linkplain #adopt adopt}. Instances are thread-safe.
+ */
+public final class EmbeddedSsnValidator {
+
+    public static final String FINGERPRINT_HEADER = "X-Rules-Fingerprint";
+
+    private static final int RULE_INDEPENDENT_ERRORS = SsnErrorCode.REQUIRED.bit() | SsnErrorCode.FORMAT.bit();
+
+    public enum Outcome {
+        /** The server would reject the SSN with the same errors. */
+        INVALID,
+        /** Only the server can tell; send it the SSN. */
+        ASK_SERVER
+    }
+
+    public static final class Result {
+
+        private final Outcome outcome;
+        private final int errors;
+
+        Result(Outcome outcome, int errors) {
+            this.outcome = outcome;
+            this.errors = errors;
+        }
+
+        public Outcome outcome() {
+            return outcome;
+        }
+
+        public boolean isInvalid() {
+            return outcome == Outcome.INVALID;
+        }
+
+        /**
+         * The {@link SsnErrorCode} mask found locally. It can be non-zero for
+         * {@link Outcome#ASK_SERVER} when the rules are out of sync.
+         */
+        public int errors() {
+            return errors;
+        }
+
+        public List<String> messages() {
+            return SsnErrorCode.messages(errors);
+        }
+    }
+
+    private static final Result ASK_SERVER = new Result(Outcome.ASK_SERVER, 0);
+
+    // Rules and the server's fingerprint change together, so a reader never pairs one with the
+    // other's predecessor
+    private record State(SsnRuleSet rules, String serverFingerprint) {
+
+        boolean inSync() {
+            return rules.fingerprint().equals(serverFingerprint);
+        }
+    }
+
+    private volatile State state;
+
+    /**
+     * Starts with the built-in rules and no known server fingerprint.
+     */
+    public EmbeddedSsnValidator() {
+        this(SsnRuleSet.DEFAULT, null);
+    }
+
+    /**
+     * Starts with {@code rules}, taken to match the server if {@code serverFingerprint} is their
+     * fingerprint; pass null if the server hasn't been asked yet.
+     */
+    public EmbeddedSsnValidator(SsnRuleSet rules, String serverFingerprint) {
+        this.state = new State(rules, serverFingerprint);
+    }
+
+    /**
+     * Pre-validates {@code ssn} as the server reads it without {@code normalize}.
+     */
+    public Result prevalidate(CharSequence ssn) {
+        return prevalidate(ssn, false);
+    }
+
+    /**
+     * Pre-validates {@code ssn} as the server reads it with or without {@code normalize}, so a
+     * {@link SsnErrorCode#FORMAT} error is only final for the mode the SSN will be sent in.
+     */
+    public Result prevalidate(CharSequence ssn, boolean normalize) {
+        State current = state;
+        long result = normalize
+                ? SsnValidator.checkLenient(ssn, current.rules())
+                : SsnValidator.check(ssn, current.rules());
+        int errors = SsnValidator.errors(result);
+        if (errors == 0) {
+            return ASK_SERVER;
+        }
+        boolean definitive = (errors & RULE_INDEPENDENT_ERRORS) != 0 || current.inSync();
+        return new Result(definitive ? Outcome.INVALID : Outcome.ASK_SERVER, errors);
+    }
+
+    public SsnRuleSet rules() {
+        return state.rules();
+    }
+
+    /**
+     * Whether the local rules are the ones the server last reported.
+     */
+    public boolean inSync() {
+        return state.inSync();
+    }
+
+    /**
+     * Records the fingerprint the server reported, from {@value #FINGERPRINT_HEADER} or
+     * {@code GET /api/v1/ssn/rules}.
+     *
+     * @return whether the local rules match it
+     */
+    public synchronized boolean serverFingerprint(String fingerprint) {
+        State updated = new State(state.rules(), fingerprint);
+        state = updated;
+        return updated.inSync();
+    }
+
+    /**
+     * Replaces the local rules with the server's, given the {@code ruleFile} and {@code fingerprint}
+     * returned by {@code GET /api/v1/ssn/rules}.
+     *
+     * @throws IllegalArgumentException if the file doesn't parse or compiles to rules with a
+     *                                  different fingerprint, in which case nothing changes
+     */
+    public synchronized void adopt(String ruleFile, String fingerprint) {
+        SsnRuleSet rules;
+        try {
+            rules = SsnRuleSet.parse(new StringReader(ruleFile));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read rule file", e);
+        }
+        if (!rules.fingerprint().equals(fingerprint)) {
+            throw new IllegalArgumentException("Rule file compiles to fingerprint " + rules.fingerprint()
+                    + ", expected " + fingerprint);
+        }
+        state = new State(rules, fingerprint);
+    }
+}
@@ -0,0 +1,264 @@
+package com.pii.validation.core;
+
+import javax.crypto.Cipher;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * FF1 format-preserving encryption (NIST SP 800-38G) of fixed-length decimal numbers, with AES.
+ * A nine-digit SSN encrypts to another nine-digit number, so a token fits every column, form and
+ * regex that holds an SSN.
+ *
+ * <p>Numbers are handled as {@code long}s of exactly {@code length} digits (leading zeros
+ * included), for lengths 6 to 18. Within that range, every FF1 round is one AES block. In
+ * SP 800-38G terms: radix 10, so b &le; 4 and d = 8. The CBC-MAC over P and over the constant start
+ * of Q (the tweak and its padding) is the same in every round. It is computed once, when the cipher
+ * is created. A round then only mixes the round number and the other half into that state and
+ * encrypts one block.
+ *
+ * <p>Instances are immutable and thread-safe. AES itself runs on {@link Cipher} objects, which
+ * are not thread-safe. They are keyed once, kept in a small pool and picked by thread, so key
+ * expansion never happens on the hot path. Their locks are {@link ReentrantLock}s, so a virtual
+ * thread waiting for one does not pin its carrier.
+ */
+public final class Ff1Cipher {
+
+    public static final int MIN_LENGTH = 6;
+    public static final int MAX_LENGTH = 18;
+
+    private static final int ROUNDS = 10;
+    private static final int BLOCK = 16;
+    private static final int RADIX = 10;
+    private static final long[] POW10 = new long[MAX_LENGTH + 1];
+
+    static {
+        POW10[0] = 1;
+        for (int i = 1; i < POW10.length; i++) {
+            POW10[i] = POW10[i - 1] * 10;
+        }
+    }
+
+    private final int length;
+    private final int u;
+    private final int v;
+    // Bytes of NUM(B) in Q: ceil(ceil(v * log2(10)) / 8)
+    private final int b;
+    // CBC-MAC state after every constant block of P || Q, XORed with the constant part of Q's last
+    // block; a round XORs in i and NUM(B) and encrypts the result
+    private final byte[] roundBase;
+    private final Slot[] pool;
+
+    /**
+     * @param key    AES key of 16, 24 or 32 bytes
+     * @param tweak  FF1 tweak, may be empty
+     * @param length number of digits, {@value #MIN_LENGTH} to {@value #MAX_LENGTH}
+     */
+    public Ff1Cipher(byte[] key, byte[] tweak, int length) {
+        if (key.length != 16 && key.length != 24 && key.length != 32) {
+            throw new IllegalArgumentException("FF1 key must be 16, 24 or 32 bytes");
+        }
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            throw new IllegalArgumentException("FF1 length must be between " + MIN_LENGTH + " and " + MAX_LENGTH);
+        }
+
+        this.length = length;
+        this.u = length / 2;
+        this.v = length - u;
+        this.b = (int) Math.ceil(Math.ceil(v * Math.log(RADIX) / Math.log(2)) / 8);
+
+        SecretKeySpec keySpec = new SecretKeySpec(key, "AES");
+        // Two per CPU, rounded up to a power of two, so a thread rarely finds its slot taken
+        int poolSize = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1;
+        this.pool = new Slot[poolSize];
+        for (int i = 0; i < poolSize; i++) {
+            pool[i] = new Slot(newCipher(keySpec));
+        }
+        this.roundBase = roundBase(pool[0].cipher, tweak);
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Encrypts a number of {@link #length()} digits.
+     */
+    public long encrypt(long value) {
+        Slot slot = acquire();
+        try {
+            return encrypt(value, slot);
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    public long decrypt(long value) {
+        Slot slot = acquire();
+        try {
+            return decrypt(value, slot);
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    /**
+     * Encrypts (or with {@code decrypt}, decrypts) {@code values[0, count)} in place, holding one
+     * pooled AES instance for the whole batch.
+     */
+    public void apply(long[] values, int count, boolean decrypt) {
+        Slot slot = acquire();
+        try {
+            for (int i = 0; i < count; i++) {
+                values[i] = decrypt ? decrypt(values[i], slot) : encrypt(values[i], slot);
+            }
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    private long encrypt(long value, Slot slot) {
+        checkRange(value);
+        long a = value / POW10[v];
+        long bValue = value % POW10[v];
+        for (int i = 0; i < ROUNDS; i++) {
+            int m = (i & 1) == 0 ? u : v;
+            long y = round(slot, i, bValue);
+            long c = (a + Long.remainderUnsigned(y, POW10[m])) % POW10[m];
+            a = bValue;
+            bValue = c;
+        }
+        return a * POW10[v] + bValue;
+    }
+
+    private long decrypt(long value, Slot slot) {
+        checkRange(value);
+        long a = value / POW10[v];
+        long bValue = value % POW10[v];
+        for (int i = ROUNDS - 1; i >= 0; i--) {
+            int m = (i & 1) == 0 ? u : v;
+            long y = round(slot, i, a);
+            long c = Math.floorMod(bValue - Long.remainderUnsigned(y, POW10[m]), POW10[m]);
+            bValue = a;
+            a = c;
+        }
+        return a * POW10[v] + bValue;
+    }
+
+    // NUM(S) for round i, where S is the first d = 8 bytes of PRF(P || Q)
+    private long round(Slot slot, int i, long half) {
+        byte[] block = slot.block;
+        System.arraycopy(roundBase, 0, block, 0, BLOCK);
+        block[BLOCK - b - 1] ^= (byte) i;
+        for (int k = BLOCK - 1; k >= BLOCK - b; k--) {
+            block[k] ^= (byte) half;
+            half >>>= 8;
+        }
+        try {
+            slot.cipher.update(block, 0, BLOCK, slot.out, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        long s = 0;
+        for (int k = 0; k < Long.BYTES; k++) {
+            s = s << 8 | (slot.out[k] & 0xFF);
+        }
+        return s;
+    }
+
+    private void checkRange(long value) {
+        if (value < 0 || value >= POW10[length]) {
+            throw new IllegalArgumentException("Value must have at most " + length + " digits");
+        }
+    }
+
+    private byte[] roundBase(Cipher cipher, byte[] tweak) {
+        int t = tweak.length;
+        // Q = T || 0^((-t-b-1) mod 16) || [i]^1 || [NUM(B)]^b
+        int qLength = t + Math.floorMod(-t - b - 1, BLOCK) + 1 + b;
+        byte[] message = new byte[BLOCK + qLength];
+
+        // P = [1]^1 || [2]^1 || [1]^1 || [radix]^3 || [10]^1 || [u mod 256]^1 || [n]^4 || [t]^4
+        message[0] = 1;
+        message[1] = 2;
+        message[2] = 1;
+        message[5] = RADIX;
+        message[6] = 10;
+        message[7] = (byte) u;
+        putInt(message, 8, length);
+        putInt(message, 12, t);
+        System.arraycopy(tweak, 0, message, BLOCK, t);
+
+        // CBC-MAC over every block but the last; the last block is XORed into the state instead of
+        // being encrypted, leaving i and NUM(B) (zero here) to be mixed in per round
+        byte[] state = new byte[BLOCK];
+        byte[] out = new byte[BLOCK];
+        int last = message.length - BLOCK;
+        try {
+            for (int offset = 0; offset < last; offset += BLOCK) {
+                for (int k = 0; k < BLOCK; k++) {
+                    state[k] ^= message[offset + k];
+                }
+                cipher.update(state, 0, BLOCK, out, 0);
+                System.arraycopy(out, 0, state, 0, BLOCK);
+            }
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        for (int k = 0; k < BLOCK; k++) {
+            state[k] ^= message[last + k];
+        }
+        return state;
+    }
+
+    private Slot acquire() {
+        int mask = pool.length - 1;
+        int home = (int) mix(Thread.currentThread().getId()) & mask;
+        for (int probe = 0; probe <= mask; probe++) {
+            Slot slot = pool[(home + probe) & mask];
+            if (slot.lock.tryLock()) {
+                return slot;
+            }
+        }
+        pool[home].lock.lock();
+        return pool[home];
+    }
+
+    private static Cipher newCipher(SecretKeySpec key) {
+        try {
+            Cipher cipher = Cipher.getInstance("AES/ECB/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, key);
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES is not available", e);
+        }
+    }
+
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    // A keyed AES instance with its scratch blocks; only used by the thread holding the lock
+    private static final class Slot {
+
+        private final Cipher cipher;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final byte[] block = new byte[BLOCK];
+        private final byte[] out = new byte[BLOCK];
+
+        private Slot(Cipher cipher) {
+            this.cipher = cipher;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.pii.validation.core;
+
+import java.util.List;
+
+/**
+ * A kind of identifier validated by the shared {@link IdentifierValidator} engine: its format and
+ * the {@link ValidationRule}s on its digit groups. Built-in types are in {@link IdentifierTypes}; an
+ * application adds one by declaring another {@code IdentifierType} bean.
+ *
+ * <p>The format has one character per input character. {@code #} is any digit, another digit is
+ * that digit only, and anything else must appear literally. Runs of digit positions are the fields
+ * rules refer to, numbered from 0: in {@code 9##-##-####}, field 1 is the middle two digits. A format
+ * holds at most nine digits.
+ */
+public interface IdentifierType {
+
+    /**
+     * Lower-case name used in URLs, e.g. {@code itin} for {@code /api/v1/itin/validate}.
+     */
+    String name();
+
+    /**
+     * Name used in messages, e.g. {@code ITIN}.
+     */
+    String label();
+
+    String format();
+
+    List<ValidationRule> rules();
+
+    static IdentifierType of(String name, String label, String format, ValidationRule... rules) {
+        return new Definition(name, label, format, List.of(rules));
+    }
+
+    record Definition(String name, String label, String format, List<ValidationRule> rules)
+            implements IdentifierType {
+    }
+}
@@ -0,0 +1,32 @@
+package com.pii.validation.core;
+
+/**
+ * Built-in {@link IdentifierType}s besides the SSN, which keeps its own validator
+ * ({@link SsnValidator}): the engine can't express its whole-number test numbers, hot-reloaded
+ * rules or normalization.
+ */
+public final class IdentifierTypes {
+
+    /**
+     * Individual Taxpayer Identification Number: nine digits starting with 9, with the middle two
+     * digits in the ranges the IRS issues (50-65, 70-88, 90-92 and 94-99).
+     *
+     * <p>IRS: https://www.irs.gov/individuals/individual-taxpayer-identification-number
+     */
+    public static final IdentifierType ITIN = IdentifierType.of("itin", "ITIN", "9##-##-####",
+            ValidationRule.allowOnly("GROUP_RANGE", "Middle 2 digits must be 50-65, 70-88, 90-92 or 94-99", 1,
+                    "50-65,70-88,90-92,94-99"));
+
+    /**
+     * Employer Identification Number: nine digits, the first two being a prefix the IRS assigns to
+     * one of its campuses or to internet applications.
+     *
+     * <p>IRS: https://www.irs.gov/businesses/small-businesses-self-employed/how-eins-are-assigned-and-valid-ein-prefixes
+     */
+    public static final IdentifierType EIN = IdentifierType.of("ein", "EIN", "##-#######",
+            ValidationRule.allowOnly("PREFIX", "Prefix (first 2 digits) is not a valid EIN prefix", 0,
+                    "01-06,10-16,20-27,30-48,50-68,71-77,80-88,90-95,98-99"));
+
+    private IdentifierTypes() {
+    }
+}
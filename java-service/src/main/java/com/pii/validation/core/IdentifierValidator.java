@@ -0,0 +1,216 @@
+package com.pii.validation.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validator compiled from an {@link IdentifierType}. A check makes one pass over the input, matching
+ * each character against the class its position in the format allows and accumulating the digits into
+ * one number. It then looks up each field with rules in a precomputed table, indexed by the field's
+ * value, that holds the error bits of every rule on that field. As with {@link SsnValidator}, the result
+ * is a primitive packing the error mask (high 32 bits) and the decoded value (low 32 bits), and the hot
+ * path allocates nothing.
+ *
+ * <p>Bit 0 of the mask is "required", bit 1 "format" (matching {@link SsnErrorCode#REQUIRED} and
+ * {@link SsnErrorCode#FORMAT}), and bit {@code 2 + i} is rule {@code i} of the type.
+ */
+public final class IdentifierValidator {
+
+    public static final int REQUIRED = 1;
+    public static final int FORMAT = 1 << 1;
+
+    static final int MAX_DIGITS = 9;
+    static final int MAX_RULES = 8;
+    // Largest field a rule can be on: its table has 10^5 entries
+    static final int MAX_RULE_FIELD_DIGITS = 5;
+
+    private static final char ANY_DIGIT = '#';
+
+    private final IdentifierType type;
+    // Per position: ANY_DIGIT, a fixed digit, or a literal separator
+    private final char[] pattern;
+    private final boolean[] digit;
+    // Fields with rules only: value = (number / divisor) % modulus, errors = table[value]
+    private final int[] divisors;
+    private final int[] moduli;
+    private final int[][] tables;
+    private final List<List<String>> messages;
+
+    private IdentifierValidator(IdentifierType type) {
+        this.type = type;
+        this.pattern = type.format().toCharArray();
+        this.digit = new boolean[pattern.length];
+
+        List<int[]> fields = new ArrayList<>();   // {first digit index, width}
+        int digits = 0;
+        for (int i = 0; i < pattern.length; i++) {
+            char c = pattern[i];
+            digit[i] = c == ANY_DIGIT || (c >= '0' && c <= '9');
+            if (!digit[i]) {
+                continue;
+            }
+            if (i == 0 || !digit[i - 1]) {
+                fields.add(new int[]{digits, 0});
+            }
+            fields.get(fields.size() - 1)[1]++;
+            digits++;
+        }
+        if (digits == 0 || digits > MAX_DIGITS) {
+            throw new IllegalArgumentException(type.name() + ": format must have 1 to " + MAX_DIGITS + " digits");
+        }
+        List<ValidationRule> rules = type.rules();
+        if (rules.size() > MAX_RULES) {
+            throw new IllegalArgumentException(type.name() + ": at most " + MAX_RULES + " rules");
+        }
+
+        // One table per field that has rules, holding the OR of their bits for every field value
+        int[][] fieldTables = new int[fields.size()][];
+        for (int r = 0; r < rules.size(); r++) {
+            ValidationRule rule = rules.get(r);
+            if (rule.field() >= fields.size()) {
+                throw new IllegalArgumentException(type.name() + ": rule " + rule.code() + " is on field "
+                        + rule.field() + ", but the format has " + fields.size());
+            }
+            int width = fields.get(rule.field())[1];
+            if (width > MAX_RULE_FIELD_DIGITS) {
+                throw new IllegalArgumentException(type.name() + ": rule " + rule.code() + " is on a field wider than "
+                        + MAX_RULE_FIELD_DIGITS + " digits");
+            }
+            int size = pow10(width);
+            if (rule.maxValue() >= size) {
+                throw new IllegalArgumentException(type.name() + ": rule " + rule.code() + " lists values wider than "
+                        + width + " digits");
+            }
+            int[] table = fieldTables[rule.field()] != null ? fieldTables[rule.field()] : new int[size];
+            for (int value = 0; value < size; value++) {
+                if (rule.violatedBy(value)) {
+                    table[value] |= 1 << (2 + r);
+                }
+            }
+            fieldTables[rule.field()] = table;
+        }
+
+        int ruled = 0;
+        for (int[] table : fieldTables) {
+            ruled += table != null ? 1 : 0;
+        }
+        this.divisors = new int[ruled];
+        this.moduli = new int[ruled];
+        this.tables = new int[ruled][];
+        for (int f = 0, next = 0; f < fields.size(); f++) {
+            if (fieldTables[f] != null) {
+                int[] field = fields.get(f);
+                divisors[next] = pow10(digits - field[0] - field[1]);
+                moduli[next] = pow10(field[1]);
+                tables[next++] = fieldTables[f];
+            }
+        }
+
+        this.messages = buildMessages(type);
+    }
+
+    public static IdentifierValidator compile(IdentifierType type) {
+        return new IdentifierValidator(type);
+    }
+
+    public IdentifierType type() {
+        return type;
+    }
+
+    /**
+     * Validates {@code input}, trimmed like {@link SsnValidator#check(CharSequence)}. Blank input yields
+     * {@link #REQUIRED}.
+     */
+    public long check(CharSequence input) {
+        if (input == null) {
+            return pack(REQUIRED, 0);
+        }
+
+        int end = input.length();
+        int start = 0;
+        while (start < end && Character.isWhitespace(input.charAt(start))) {
+            start++;
+        }
+        if (start == end) {
+            return pack(REQUIRED, 0);
+        }
+
+        start = 0;
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (end - start != pattern.length) {
+            return pack(FORMAT, 0);
+        }
+
+        int value = 0;
+        for (int i = 0; i < pattern.length; i++) {
+            char c = input.charAt(start + i);
+            char expected = pattern[i];
+            if (expected == ANY_DIGIT ? c < '0' || c > '9' : c != expected) {
+                return pack(FORMAT, 0);
+            }
+            if (digit[i]) {
+                value = value * 10 + (c - '0');
+            }
+        }
+
+        int errors = 0;
+        for (int f = 0; f < tables.length; f++) {
+            errors |= tables[f][(value / divisors[f]) % moduli[f]];
+        }
+        return pack(errors, value);
+    }
+
+    /**
+     * The messages for an error mask from {@link #check(CharSequence)}, from a pre-built list.
+     */
+    public List<String> messages(int mask) {
+        return messages.get(mask & (messages.size() - 1));
+    }
+
+    public static int errors(long result) {
+        return (int) (result >>> 32);
+    }
+
+    public static int value(long result) {
+        return (int) result;
+    }
+
+    private static List<List<String>> buildMessages(IdentifierType type) {
+        List<String> all = new ArrayList<>();
+        all.add(type.label() + " is required");
+        all.add(type.label() + " must be in " + type.format().replace(ANY_DIGIT, 'X') + " format");
+        for (ValidationRule rule : type.rules()) {
+            all.add(rule.message());
+        }
+
+        int combinations = 1 << all.size();
+        List<List<String>> messages = new ArrayList<>(combinations);
+        for (int mask = 0; mask < combinations; mask++) {
+            List<String> list = new ArrayList<>();
+            for (int bit = 0; bit < all.size(); bit++) {
+                if ((mask & (1 << bit)) != 0) {
+                    list.add(all.get(bit));
+                }
+            }
+            messages.add(List.copyOf(list));
+        }
+        return List.copyOf(messages);
+    }
+
+    private static int pow10(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    private static long pack(int errors, int value) {
+        return ((long) errors << 32) | (value & 0xFFFF_FFFFL);
+    }
+}
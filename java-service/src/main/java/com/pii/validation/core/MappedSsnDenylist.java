@@ -0,0 +1,154 @@
+package com.pii.validation.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link SsnDenylist} read from a memory-mapped file, so millions of entries cost no heap and
+ * no GC work: the OS pages the file in on demand and can share it between processes.
+ *
+ * <p>File layout (big-endian), written by {@link SsnDenylistWriter}:
+ * <pre>
+ *   0  8 bytes  magic "SSNDENY1"
+ *   8  int      format: 1 = bitmap, 2 = sorted
+ *  12  int      entry count
+ *  16  payload  bitmap: 10^9 bits, bit (value % 8) of byte (value / 8) set when denied
+ *               sorted: entry count distinct ints in ascending order
+ * </pre>
+ * A bitmap answers in one byte read and is always about 119 MB; a sorted array is 4 bytes per
+ * entry and answers with a binary search, so it is smaller below roughly 31 million entries.
+ *
+ * <p>Opening the list only reads and checks the header. The payload is mapped on the first
+ * lookup, and lookups use absolute reads only, so they are allocation-free and thread-safe.
+ */
+public final class MappedSsnDenylist implements SsnDenylist {
+
+    static final byte[] MAGIC = "SSNDENY1".getBytes(StandardCharsets.US_ASCII);
+    static final int HEADER_BYTES = 16;
+    static final int FORMAT_BITMAP = 1;
+    static final int FORMAT_SORTED = 2;
+    static final int VALUE_RANGE = 1_000_000_000;
+    static final int BITMAP_BYTES = VALUE_RANGE / 8;
+    static final int MAX_SORTED_ENTRIES = (Integer.MAX_VALUE - HEADER_BYTES) / Integer.BYTES;
+
+    private final Path path;
+    private final int format;
+    private final int size;
+    private final long payloadBytes;
+    private final ReentrantLock mapLock = new ReentrantLock();
+    private volatile MappedByteBuffer payload;
+
+    private MappedSsnDenylist(Path path, int format, int size, long payloadBytes) {
+        this.path = path;
+        this.format = format;
+        this.size = size;
+        this.payloadBytes = payloadBytes;
+    }
+
+    /**
+     * Checks the header of {@code path} without mapping the payload.
+     *
+     * @throws IOException if the file can't be read or is not a denylist file
+     */
+    public static MappedSsnDenylist open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete or the file ends
+            }
+            if (header.hasRemaining() || !ByteBuffer.wrap(MAGIC).equals(header.flip().slice(0, MAGIC.length))) {
+                throw new IOException(path + " is not an SSN denylist file");
+            }
+
+            int format = header.getInt(8);
+            int size = header.getInt(12);
+            long payloadBytes = switch (format) {
+                case FORMAT_BITMAP -> BITMAP_BYTES;
+                case FORMAT_SORTED -> {
+                    if (size < 0 || size > MAX_SORTED_ENTRIES) {
+                        throw new IOException(path + " has an invalid entry count " + size);
+                    }
+                    yield (long) size * Integer.BYTES;
+                }
+                default -> throw new IOException(path + " has unknown denylist format " + format);
+            };
+
+            if (channel.size() < HEADER_BYTES + payloadBytes) {
+                throw new IOException(path + " is truncated: expected " + (HEADER_BYTES + payloadBytes)
+                        + " bytes, found " + channel.size());
+            }
+            return new MappedSsnDenylist(path, format, size, payloadBytes);
+        }
+    }
+
+    @Override
+    public boolean contains(int value) {
+        if (value < 0 || value >= VALUE_RANGE) {
+            return false;
+        }
+
+        MappedByteBuffer buffer = payload();
+        if (format == FORMAT_BITMAP) {
+            return (buffer.get(value >>> 3) & (1 << (value & 7))) != 0;
+        }
+
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = buffer.getInt(mid * Integer.BYTES);
+            if (entry < value) {
+                low = mid + 1;
+            } else if (entry > value) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isBitmap() {
+        return format == FORMAT_BITMAP;
+    }
+
+    public boolean isMapped() {
+        return payload != null;
+    }
+
+    private MappedByteBuffer payload() {
+        MappedByteBuffer mapped = payload;
+        if (mapped == null) {
+            mapped = map();
+        }
+        return mapped;
+    }
+
+    // A lock rather than synchronized: mapping does I/O and must not pin a virtual thread
+    private MappedByteBuffer map() {
+        mapLock.lock();
+        try {
+            if (payload == null) {
+                // The mapping stays valid after the channel is closed
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    payload = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, payloadBytes);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Could not map SSN denylist " + path, e);
+                }
+            }
+            return payload;
+        } finally {
+            mapLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.pii.validation.core;
+
+/**
+ * Set of nine-digit SSN values (as decoded by {@link SsnValidator#value(long)}) that must be
+ * rejected even though they pass the SSA rules.
+ */
+public interface SsnDenylist {
+
+    SsnDenylist EMPTY = value -> false;
+
+    boolean contains(int value);
+}
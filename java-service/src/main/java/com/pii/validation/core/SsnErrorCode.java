@@ -0,0 +1,75 @@
+package com.pii.validation.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stable error codes produced by {@link SsnValidator}. Each code owns one bit of the error mask;
+ * the numeric code is part of the contract and must never be reused or renumbered.
+ */
+public enum SsnErrorCode {
+
+    REQUIRED(0, "SSN is required"),
+    FORMAT(1, "SSN must be in XXX-XX-XXXX format"),
+    AREA_000(2, "Area number (first 3 digits) cannot be 000"),
+    AREA_666(3, "Area number (first 3 digits) cannot be 666"),
+    GROUP_00(4, "Group number (middle 2 digits) cannot be 00"),
+    SERIAL_0000(5, "Serial number (last 4 digits) cannot be 0000"),
+    KNOWN_TEST_NUMBER(6, "This SSN is a known invalid test number"),
+    DENYLISTED(7, "This SSN is on the denylist of compromised or synthetic numbers"),
+    AREA_RESERVED(8, "Area number (first 3 digits) is not assigned");
+
+    private static final SsnErrorCode[] VALUES = values();
+
+    // Every possible mask maps to a pre-built immutable message list, so turning a mask into
+    // messages at serialization time never allocates
+    private static final List<List<String>> MESSAGES = buildMessages();
+
+    private final int code;
+    private final String message;
+
+    SsnErrorCode(int code, String message) {
+        this.code = code;
+        this.message = message;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    public int bit() {
+        return 1 << code;
+    }
+
+    public String message() {
+        return message;
+    }
+
+    public boolean isSet(int mask) {
+        return (mask & bit()) != 0;
+    }
+
+    public static List<String> messages(int mask) {
+        return MESSAGES.get(mask & (MESSAGES.size() - 1));
+    }
+
+    private static List<List<String>> buildMessages() {
+        int highestCode = 0;
+        for (SsnErrorCode value : VALUES) {
+            highestCode = Math.max(highestCode, value.code);
+        }
+
+        int combinations = 1 << (highestCode + 1);
+        List<List<String>> messages = new ArrayList<>(combinations);
+        for (int mask = 0; mask < combinations; mask++) {
+            List<String> list = new ArrayList<>();
+            for (SsnErrorCode value : VALUES) {
+                if (value.isSet(mask)) {
+                    list.add(value.message);
+                }
+            }
+            messages.add(List.copyOf(list));
+        }
+        return List.copyOf(messages);
+    }
+}
@@ -0,0 +1,242 @@
+package com.pii.validation.core;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable, compiled form of the SSA rules applied by {@link SsnValidator}: one error-mask table
+ * entry per area number, the group/serial zero checks and a sorted array of known test numbers.
+ * Instances never change after construction, so a validator can keep using the one it read while
+ * a newer version is swapped in.
+ *
+ * <p>Rule files are properties files:
+ * <pre>
+ *   version=2024-06-01
+ *   rules.area-000=true                 # reject area 000 (AREA_000)
+ *   rules.area-666=true                 # reject area 666 (AREA_666)
+ *   rules.group-00=true                 # reject group 00 (GROUP_00)
+ *   rules.serial-0000=true              # reject serial 0000 (SERIAL_0000)
+ *   rules.reserved-areas=734-749,773    # areas or ranges rejected as AREA_RESERVED
+ *   rules.known-test-numbers=078-05-1120,219-09-9999   # KNOWN_TEST_NUMBER
+ * </pre>
+ * {@code version} is required; any other key left out keeps the built-in setting of
+ * {@link #DEFAULT}. The {@linkplain #fingerprint() fingerprint} is a SHA-256 of the compiled
+ * rules, so reformatting a file or editing comments doesn't change it.
+ */
+public final class SsnRuleSet {
+
+    static final String BUILT_IN_VERSION = "built-in";
+
+    private static final int AREAS = 1000;
+    private static final Set<String> KEYS = Set.of("version", "rules.area-000", "rules.area-666", "rules.group-00",
+            "rules.serial-0000", "rules.reserved-areas", "rules.known-test-numbers");
+
+    public static final SsnRuleSet DEFAULT = new SsnRuleSet(BUILT_IN_VERSION, true, true, true, true, new int[0],
+            new int[]{
+                    78_05_1120,   // 078-05-1120 Woolworth wallet SSN (famous public example)
+                    219_09_9999,  // Used in advertisements
+                    457_55_5462   // Used in advertisements
+            });
+
+    private final String version;
+    private final String fingerprint;
+    private final boolean area000;
+    private final boolean area666;
+    private final int[] reservedAreas;
+    private final int[] areaErrors;
+    private final int groupZeroError;
+    private final int serialZeroError;
+    private final int[] knownTestNumbers;
+
+    private SsnRuleSet(String version, boolean area000, boolean area666, boolean group00, boolean serial0000,
+                       int[] reservedAreas, int[] knownTestNumbers) {
+        this.version = version;
+        this.area000 = area000;
+        this.area666 = area666;
+        this.reservedAreas = distinctSorted(reservedAreas);
+        this.knownTestNumbers = distinctSorted(knownTestNumbers);
+        this.groupZeroError = group00 ? SsnErrorCode.GROUP_00.bit() : 0;
+        this.serialZeroError = serial0000 ? SsnErrorCode.SERIAL_0000.bit() : 0;
+
+        this.areaErrors = new int[AREAS];
+        for (int area : this.reservedAreas) {
+            areaErrors[area] |= SsnErrorCode.AREA_RESERVED.bit();
+        }
+        if (area000) {
+            areaErrors[0] |= SsnErrorCode.AREA_000.bit();
+        }
+        if (area666) {
+            areaErrors[666] |= SsnErrorCode.AREA_666.bit();
+        }
+
+        this.fingerprint = sha256(canonical());
+    }
+
+    public static SsnRuleSet load(Path path) throws IOException {
+        return parse(new StringReader(Files.readString(path, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Parses and compiles a rule file.
+     *
+     * @throws IllegalArgumentException if the file is missing its version, has unknown keys or
+     *                                  values that don't parse
+     */
+    public static SsnRuleSet parse(Reader reader) throws IOException {
+        Properties properties = new Properties();
+        properties.load(reader);
+
+        for (String key : properties.stringPropertyNames()) {
+            if (!KEYS.contains(key)) {
+                throw new IllegalArgumentException("Unknown rule key '" + key + "'");
+            }
+        }
+        String version = properties.getProperty("version", "").trim();
+        if (version.isEmpty()) {
+            throw new IllegalArgumentException("Rule file has no version");
+        }
+
+        return new SsnRuleSet(version,
+                flag(properties, "rules.area-000", DEFAULT.area000),
+                flag(properties, "rules.area-666", DEFAULT.area666),
+                flag(properties, "rules.group-00", DEFAULT.groupZeroError != 0),
+                flag(properties, "rules.serial-0000", DEFAULT.serialZeroError != 0),
+                properties.containsKey("rules.reserved-areas")
+                        ? areas(properties.getProperty("rules.reserved-areas")) : DEFAULT.reservedAreas,
+                properties.containsKey("rules.known-test-numbers")
+                        ? ssns(properties.getProperty("rules.known-test-numbers")) : DEFAULT.knownTestNumbers);
+    }
+
+    /**
+     * Applies the rules to a decoded nine-digit SSN value and returns the error mask.
+     */
+    public int check(int value) {
+        int area = value / 1_000_000;
+        int group = (value / 10_000) % 100;
+        int serial = value % 10_000;
+
+        int errors = areaErrors[area];
+        if (group == 0) {
+            errors |= groupZeroError;
+        }
+        if (serial == 0) {
+            errors |= serialZeroError;
+        }
+        if (Arrays.binarySearch(knownTestNumbers, value) >= 0) {
+            errors |= SsnErrorCode.KNOWN_TEST_NUMBER.bit();
+        }
+        return errors;
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * The compiled rules in a stable text form, one key per line; the fingerprint is its SHA-256.
+     */
+    public String canonical() {
+        StringBuilder text = new StringBuilder()
+                .append("rules.area-000=").append(area000).append('\n')
+                .append("rules.area-666=").append(area666).append('\n')
+                .append("rules.group-00=").append(groupZeroError != 0).append('\n')
+                .append("rules.serial-0000=").append(serialZeroError != 0).append('\n')
+                .append("rules.reserved-areas=");
+        for (int i = 0; i < reservedAreas.length; i++) {
+            text.append(i == 0 ? "" : ",").append(String.format("%03d", reservedAreas[i]));
+        }
+        text.append('\n').append("rules.known-test-numbers=");
+        for (int i = 0; i < knownTestNumbers.length; i++) {
+            int value = knownTestNumbers[i];
+            text.append(i == 0 ? "" : ",").append(String.format("%03d-%02d-%04d",
+                    value / 1_000_000, (value / 10_000) % 100, value % 10_000));
+        }
+        return text.append('\n').toString();
+    }
+
+    /**
+     * A rule file that {@link #parse parses} back to these rules, version included. This is how
+     * an embedded copy of the validator picks up the server's rules.
+     */
+    public String ruleFile() {
+        return "version=" + version.replace("\\", "\\\\") + '\n' + canonical();
+    }
+
+    private static boolean flag(Properties properties, String key, boolean defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        return switch (value.trim()) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new IllegalArgumentException(key + " must be true or false, got '" + value + "'");
+        };
+    }
+
+    private static int[] areas(String list) {
+        boolean[] reserved = new boolean[AREAS];
+        for (String item : items(list)) {
+            int dash = item.indexOf('-');
+            int from = area(dash < 0 ? item : item.substring(0, dash), item);
+            int to = dash < 0 ? from : area(item.substring(dash + 1), item);
+            if (to < from) {
+                throw new IllegalArgumentException("Empty area range '" + item + "'");
+            }
+            Arrays.fill(reserved, from, to + 1, true);
+        }
+        return IntStream.range(0, AREAS).filter(area -> reserved[area]).toArray();
+    }
+
+    private static int area(String text, String item) {
+        String digits = text.trim();
+        if (digits.length() != 3 || !digits.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            throw new IllegalArgumentException("Not an area number: '" + item + "'");
+        }
+        return Integer.parseInt(digits);
+    }
+
+    private static int[] ssns(String list) {
+        String[] items = items(list);
+        int[] values = new int[items.length];
+        for (int i = 0; i < items.length; i++) {
+            values[i] = SsnValidator.decode(items[i], 0, items[i].length());
+            if (values[i] < 0) {
+                throw new IllegalArgumentException("Not an SSN: '" + items[i] + "'");
+            }
+        }
+        return values;
+    }
+
+    private static String[] items(String list) {
+        return Arrays.stream(list.split(",")).map(String::trim).filter(item -> !item.isEmpty()).toArray(String[]::new);
+    }
+
+    private static int[] distinctSorted(int[] values) {
+        return Arrays.stream(values).distinct().sorted().toArray();
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.pii.validation.core;
+
+/**
+ * Single-pass SSN validator that applies the SSA rules without regexes, substrings or
+ * collections. The result of {@link #check(CharSequence)} is a primitive packing the error
+ * mask (see {@link SsnErrorCode}) in the high 32 bits and the decoded nine-digit SSN value
+ * in the low 32 bits, so the hot path allocates nothing. The rules themselves come from an
+ * {@link SsnRuleSet}; methods without one use {@link SsnRuleSet#DEFAULT}.
+ *
+ * <p>{@link #checkLenient} also accepts the formats upstream sources commonly send instead of
+ * XXX-XX-XXXX, and flags results whose canonical form differs from the input with
+ * {@link #isNormalized(long)}; {@link #format(int)} turns the value back into the canonical form.
+ *
+ * <p>SSA Standards: https://www.ssa.gov/employer/randomization.html
+ */
+public final class SsnValidator {
+
+    private static final int LENGTH = 11;
+    private static final int FIRST_DASH = 3;
+    private static final int SECOND_DASH = 6;
+
+    // Bit 31 of the value half; nine-digit values never reach it
+    private static final long NORMALIZED = 0x8000_0000L;
+    private static final int VALUE_MASK = 0x7FFF_FFFF;
+
+    private SsnValidator() {
+    }
+
+    /**
+     * Validates {@code input}, ignoring leading and trailing characters up to and including
+     * space exactly like {@link String#trim()}. Blank input (per {@link String#isBlank()})
+     * yields {@link SsnErrorCode#REQUIRED}.
+     */
+    public static long check(CharSequence input) {
+        return check(input, SsnRuleSet.DEFAULT);
+    }
+
+    public static long check(CharSequence input, SsnRuleSet rules) {
+        if (input == null) {
+            return pack(SsnErrorCode.REQUIRED.bit(), 0);
+        }
+
+        int end = input.length();
+        int start = 0;
+        while (start < end && Character.isWhitespace(input.charAt(start))) {
+            start++;
+        }
+        if (start == end) {
+            return pack(SsnErrorCode.REQUIRED.bit(), 0);
+        }
+
+        start = 0;
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        return checkTrimmed(input, start, end, rules);
+    }
+
+    /**
+     * Validates {@code input[start, end)} as an already trimmed, non-blank SSN.
+     */
+    public static long checkTrimmed(CharSequence input, int start, int end) {
+        return checkTrimmed(input, start, end, SsnRuleSet.DEFAULT);
+    }
+
+    public static long checkTrimmed(CharSequence input, int start, int end, SsnRuleSet rules) {
+        int value = decode(input, start, end);
+        if (value < 0) {
+            return pack(SsnErrorCode.FORMAT.bit(), 0);
+        }
+        return pack(rules.check(value), value);
+    }
+
+    /**
+     * Like {@link #check(CharSequence, SsnRuleSet)}, but also accepts, in the same single pass:
+     *
+     * <ul>
+     *   <li>nine digits without separators ({@code 123456789})</li>
+     *   <li>spaces, or a dash surrounded by any whitespace, between the groups ({@code 123 45 6789})</li>
+     *   <li>full-width digits, dashes and spaces ({@code １２３－４５－６７８９})</li>
+     *   <li>leading and trailing Unicode whitespace, such as no-break spaces</li>
+     * </ul>
+     *
+     * Separators are only accepted between the 3-, 2- and 4-digit groups, so other digit groupings
+     * still fail with {@link SsnErrorCode#FORMAT}. When the canonical form of a decoded value isn't
+     * what {@link #check(CharSequence)} would have read, the result is {@link #isNormalized normalized}.
+     */
+    public static long checkLenient(CharSequence input, SsnRuleSet rules) {
+        if (input == null) {
+            return pack(SsnErrorCode.REQUIRED.bit(), 0);
+        }
+
+        int end = input.length();
+        int start = 0;
+        // Whether only what String.trim() removes is trimmed, so the rest can still be canonical
+        boolean trimmedAscii = true;
+        while (start < end && isSpace(input.charAt(start))) {
+            trimmedAscii &= input.charAt(start) <= ' ';
+            start++;
+        }
+        if (start == end) {
+            return pack(SsnErrorCode.REQUIRED.bit(), 0);
+        }
+        while (end > start && isSpace(input.charAt(end - 1))) {
+            trimmedAscii &= input.charAt(end - 1) <= ' ';
+            end--;
+        }
+
+        boolean canonical = trimmedAscii && end - start == LENGTH;
+        int value = 0;
+        int digits = 0;
+        // Dashes seen in the current gap between groups
+        int dashes = 0;
+        for (int i = start; i < end; i++) {
+            char c = input.charAt(i);
+            int digit = digit(c);
+            int offset = i - start;
+            if (digit >= 0) {
+                if (++digits > 9) {
+                    return pack(SsnErrorCode.FORMAT.bit(), 0);
+                }
+                value = value * 10 + digit;
+                dashes = 0;
+                canonical &= c <= '9' && offset != FIRST_DASH && offset != SECOND_DASH;
+                continue;
+            }
+
+            boolean dash = isDash(c);
+            if (digits != 3 && digits != 5 || !dash && !isSpace(c) || dash && ++dashes > 1) {
+                return pack(SsnErrorCode.FORMAT.bit(), 0);
+            }
+            canonical &= c == '-' && (offset == FIRST_DASH || offset == SECOND_DASH);
+        }
+        if (digits != 9) {
+            return pack(SsnErrorCode.FORMAT.bit(), 0);
+        }
+
+        return pack(rules.check(value), value) | (canonical ? 0 : NORMALIZED);
+    }
+
+    /**
+     * Whether {@code result} of {@link #checkLenient} decoded a value from a format other than
+     * XXX-XX-XXXX, so the response should carry {@link #format(int)} of it.
+     */
+    public static boolean isNormalized(long result) {
+        return (result & NORMALIZED) != 0;
+    }
+
+    /**
+     * The canonical XXX-XX-XXXX form of a nine-digit SSN value.
+     */
+    public static String format(int value) {
+        char[] chars = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            if (i == FIRST_DASH || i == SECOND_DASH) {
+                chars[i] = '-';
+                continue;
+            }
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Applies the built-in SSA rules to a decoded nine-digit SSN value and returns the error mask.
+     */
+    public static int checkValue(int value) {
+        return SsnRuleSet.DEFAULT.check(value);
+    }
+
+    public static int errors(long result) {
+        return (int) (result >>> 32);
+    }
+
+    public static int value(long result) {
+        return (int) result & VALUE_MASK;
+    }
+
+    public static boolean isValid(long result) {
+        return errors(result) == 0;
+    }
+
+    /**
+     * Decodes {@code input[start, end)} in XXX-XX-XXXX format to its nine-digit value, or returns
+     * -1 if it isn't in that format.
+     */
+    static int decode(CharSequence input, int start, int end) {
+        if (end - start != LENGTH
+                || input.charAt(start + FIRST_DASH) != '-'
+                || input.charAt(start + SECOND_DASH) != '-') {
+            return -1;
+        }
+
+        int value = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            if (i == FIRST_DASH || i == SECOND_DASH) {
+                continue;
+            }
+            int digit = input.charAt(start + i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    // ASCII and full-width digits
+    private static int digit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= '\uFF10' && c <= '\uFF19') {
+            return c - '\uFF10';
+        }
+        return -1;
+    }
+
+    // Hyphen-minus, Unicode hyphens and dashes up to the horizontal bar, minus sign, full-width hyphen-minus
+    private static boolean isDash(char c) {
+        return c == '-' || c >= '\u2010' && c <= '\u2015' || c == '\u2212' || c == '\uFF0D';
+    }
+
+    // Control characters and spaces String.trim() removes, plus Unicode spaces (no-break, ideographic)
+    private static boolean isSpace(char c) {
+        return c <= ' ' || Character.isSpaceChar(c);
+    }
+
+    private static long pack(int errors, int value) {
+        return ((long) errors << 32) | (value & 0xFFFF_FFFFL);
+    }
+}
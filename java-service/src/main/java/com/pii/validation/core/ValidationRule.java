@@ -0,0 +1,99 @@
+package com.pii.validation.core;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * One constraint of an {@link IdentifierType}, on one digit group (field) of its format: the values
+ * the field may not take, or the only values it may take. A violated rule sets its own bit in the
+ * error mask and is reported with its message.
+ *
+ * <p>Values are given as a comma-separated list of numbers and inclusive ranges, for example
+ * {@code "734-749,773"}. {@link IdentifierValidator} turns every rule on a field into one lookup table
+ * indexed by the field's value, so a check costs the same however many rules and ranges there are.
+ */
+public final class ValidationRule {
+
+    private final String code;
+    private final String message;
+    private final int field;
+    private final boolean allowOnly;
+    private final int[] values;
+
+    private ValidationRule(String code, String message, int field, boolean allowOnly, String values) {
+        if (code == null || code.isBlank() || message == null || message.isBlank()) {
+            throw new IllegalArgumentException("A rule needs a code and a message");
+        }
+        if (field < 0) {
+            throw new IllegalArgumentException("Field index must not be negative");
+        }
+        this.code = code;
+        this.message = message;
+        this.field = field;
+        this.allowOnly = allowOnly;
+        this.values = parse(values);
+    }
+
+    /**
+     * Field {@code field} (0-based digit group) must not take any of {@code values}.
+     */
+    public static ValidationRule reject(String code, String message, int field, String values) {
+        return new ValidationRule(code, message, field, false, values);
+    }
+
+    /**
+     * Field {@code field} (0-based digit group) must take one of {@code values}.
+     */
+    public static ValidationRule allowOnly(String code, String message, int field, String values) {
+        return new ValidationRule(code, message, field, true, values);
+    }
+
+    public String code() {
+        return code;
+    }
+
+    public String message() {
+        return message;
+    }
+
+    public int field() {
+        return field;
+    }
+
+    /**
+     * Whether {@code value} of the field breaks this rule.
+     */
+    public boolean violatedBy(int value) {
+        return (Arrays.binarySearch(values, value) >= 0) != allowOnly;
+    }
+
+    int maxValue() {
+        return values.length == 0 ? 0 : values[values.length - 1];
+    }
+
+    private static int[] parse(String list) {
+        return Arrays.stream(list.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .flatMapToInt(item -> {
+                    int dash = item.indexOf('-');
+                    int from = number(dash < 0 ? item : item.substring(0, dash), item);
+                    int to = dash < 0 ? from : number(item.substring(dash + 1), item);
+                    if (to < from) {
+                        throw new IllegalArgumentException("Empty range '" + item + "'");
+                    }
+                    return IntStream.rangeClosed(from, to);
+                })
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    private static int number(String text, String item) {
+        String digits = text.trim();
+        if (digits.isEmpty() || digits.length() > 9 || !digits.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            throw new IllegalArgumentException("Not a number or range: '" + item + "'");
+        }
+        return Integer.parseInt(digits);
+    }
+}
@@ -0,0 +1,14 @@
+package com.pii.validation.dto;
+
+public class DetokenizeResponse {
+
+    private final String ssn;
+
+    public DetokenizeResponse(String ssn) {
+        this.ssn = ssn;
+    }
+
+    public String getSsn() {
+        return ssn;
+    }
+}
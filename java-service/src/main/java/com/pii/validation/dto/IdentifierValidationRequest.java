@@ -0,0 +1,24 @@
+package com.pii.validation.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class IdentifierValidationRequest {
+
+    @NotBlank(message = "Value is required")
+    private String value;
+
+    public IdentifierValidationRequest() {
+    }
+
+    public IdentifierValidationRequest(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+}
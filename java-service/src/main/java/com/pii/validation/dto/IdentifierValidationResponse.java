@@ -0,0 +1,34 @@
+package com.pii.validation.dto;
+
+import java.util.List;
+
+public class IdentifierValidationResponse {
+
+    private final String type;
+    private final boolean valid;
+    private final String value;
+    private final List<String> errors;
+
+    public IdentifierValidationResponse(String type, boolean valid, String value, List<String> errors) {
+        this.type = type;
+        this.valid = valid;
+        this.value = value;
+        this.errors = errors;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
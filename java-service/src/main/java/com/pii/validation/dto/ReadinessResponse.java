@@ -0,0 +1,169 @@
+package com.pii.validation.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Body of {@code GET /health/ready}: the verdict, the thresholds that were exceeded, and the signals
+ * it was based on. {@code workers} is absent when the server's worker pool can't be inspected (e.g.
+ * virtual threads), and {@code latency.p99Millis} while the window holds too few requests.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReadinessResponse {
+
+    public static final String READY = "READY";
+    public static final String NOT_READY = "NOT_READY";
+
+    private final String status;
+    private final List<String> reasons;
+    private final int windowSeconds;
+    private final int inflight;
+    private final Workers workers;
+    private final Latency latency;
+    private final RateLimiter rateLimiter;
+    private final Gc gc;
+
+    public ReadinessResponse(List<String> reasons, int windowSeconds, int inflight, Workers workers,
+                             Latency latency, RateLimiter rateLimiter, Gc gc) {
+        this.status = reasons.isEmpty() ? READY : NOT_READY;
+        this.reasons = reasons;
+        this.windowSeconds = windowSeconds;
+        this.inflight = inflight;
+        this.workers = workers;
+        this.latency = latency;
+        this.rateLimiter = rateLimiter;
+        this.gc = gc;
+    }
+
+    @JsonIgnore
+    public boolean isReady() {
+        return reasons.isEmpty();
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public List<String> getReasons() {
+        return reasons;
+    }
+
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public int getInflight() {
+        return inflight;
+    }
+
+    public Workers getWorkers() {
+        return workers;
+    }
+
+    public Latency getLatency() {
+        return latency;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public Gc getGc() {
+        return gc;
+    }
+
+    public static class Workers {
+
+        private final int busy;
+        private final int max;
+        private final int queued;
+        private final long connections;
+
+        public Workers(int busy, int max, int queued, long connections) {
+            this.busy = busy;
+            this.max = max;
+            this.queued = queued;
+            this.connections = connections;
+        }
+
+        public int getBusy() {
+            return busy;
+        }
+
+        public int getMax() {
+            return max;
+        }
+
+        public double getUtilization() {
+            return max > 0 ? (double) busy / max : 0;
+        }
+
+        public int getQueued() {
+            return queued;
+        }
+
+        public long getConnections() {
+            return connections;
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Latency {
+
+        private final long samples;
+        private final Double p99Millis;
+
+        public Latency(long samples, Double p99Millis) {
+            this.samples = samples;
+            this.p99Millis = p99Millis;
+        }
+
+        public long getSamples() {
+            return samples;
+        }
+
+        public Double getP99Millis() {
+            return p99Millis;
+        }
+    }
+
+    public static class RateLimiter {
+
+        private final long clients;
+        private final double evictionsPerSecond;
+
+        public RateLimiter(long clients, double evictionsPerSecond) {
+            this.clients = clients;
+            this.evictionsPerSecond = evictionsPerSecond;
+        }
+
+        public long getClients() {
+            return clients;
+        }
+
+        public double getEvictionsPerSecond() {
+            return evictionsPerSecond;
+        }
+    }
+
+    public static class Gc {
+
+        private final long pauseMillis;
+        private final double pauseRatio;
+
+        public Gc(long pauseMillis, double pauseRatio) {
+            this.pauseMillis = pauseMillis;
+            this.pauseRatio = pauseRatio;
+        }
+
+        public long getPauseMillis() {
+            return pauseMillis;
+        }
+
+        public double getPauseRatio() {
+            return pauseRatio;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.pii.validation.dto;
+
+import com.pii.validation.core.SsnRuleSet;
+
+/**
+ * Body of {@code GET /api/v1/ssn/rules}: the active rule set's version and fingerprint, and a rule
+ * file that compiles to it for embedded validators to adopt.
+ */
+public final class RuleSetResponse {
+
+    private final String version;
+    private final String fingerprint;
+    private final String ruleFile;
+
+    private RuleSetResponse(String version, String fingerprint, String ruleFile) {
+        this.version = version;
+        this.fingerprint = fingerprint;
+        this.ruleFile = ruleFile;
+    }
+
+    public static RuleSetResponse of(SsnRuleSet rules) {
+        return new RuleSetResponse(rules.version(), rules.fingerprint(), rules.ruleFile());
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public String getRuleFile() {
+        return ruleFile;
+    }
+}
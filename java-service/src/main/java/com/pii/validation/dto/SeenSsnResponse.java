@@ -0,0 +1,21 @@
+package com.pii.validation.dto;
+
+public final class SeenSsnResponse {
+
+    public static final SeenSsnResponse SEEN = new SeenSsnResponse(true);
+    public static final SeenSsnResponse NOT_SEEN = new SeenSsnResponse(false);
+
+    private final boolean seen;
+
+    private SeenSsnResponse(boolean seen) {
+        this.seen = seen;
+    }
+
+    public static SeenSsnResponse of(boolean seen) {
+        return seen ? SEEN : NOT_SEEN;
+    }
+
+    public boolean isSeen() {
+        return seen;
+    }
+}
@@ -0,0 +1,392 @@
+package com.pii.validation.dto;
+
+import com.pii.validation.core.SsnErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Hand-rolled JSON for {@link SsnValidationRequest} and {@link SsnValidationResponse}, the only
+ * payloads on the hot path. Both directions work on bytes: the request is parsed in place, and the
+ * response is encoded into one exactly sized array from pre-encoded fragments. Neither uses a
+ * tokenizer, reflection or intermediate Strings.
+ *
+ * <p>Only the common shapes take this path. For anything else, such as escapes, non-ASCII text,
+ * nested values or malformed input, the methods return {@code null}. The caller then hands the
+ * same bytes to Jackson, so accepted input, error messages and output stay exactly Jackson's.
+ */
+public final class SsnJsonCodec {
+
+    private static final byte[] VALID_PREFIX = ascii("{\"valid\":true,\"ssn\":");
+    private static final byte[] INVALID_PREFIX = ascii("{\"valid\":false,\"ssn\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+    private static final byte[] ERRORS_PREFIX = ascii(",\"errors\":[");
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+    // Replace the closing brace when the response says whether the SSN was normalized
+    private static final byte[] NORMALIZED_TRUE = ascii(",\"normalized\":true}");
+    private static final byte[] NORMALIZED_FALSE = ascii(",\"normalized\":false}");
+
+    // ,"errors":[...]} for every error mask, so a response derived from codes copies one fragment
+    private static final byte[][] ERRORS = buildErrors();
+
+    private SsnJsonCodec() {
+    }
+
+    /**
+     * Parses {@code json[0, length)} as a request object.
+     *
+     * @return the request, or {@code null} if the body needs the general parser
+     */
+    public static SsnValidationRequest readRequest(byte[] json, int length) {
+        int i = skipWhitespace(json, 0, length);
+        if (i == length || json[i] != '{') {
+            return null;
+        }
+        i = skipWhitespace(json, i + 1, length);
+        if (i == length) {
+            return null;
+        }
+
+        String ssn = null;
+        if (json[i] == '}') {
+            i++;
+        } else {
+            while (true) {
+                if (json[i] != '"') {
+                    return null;
+                }
+                int keyEnd = stringEnd(json, i + 1, length);
+                if (keyEnd < 0) {
+                    return null;
+                }
+                boolean isSsn = keyEnd - i == 4 && json[i + 1] == 's' && json[i + 2] == 's' && json[i + 3] == 'n';
+
+                i = skipWhitespace(json, keyEnd + 1, length);
+                if (i == length || json[i] != ':') {
+                    return null;
+                }
+                i = skipWhitespace(json, i + 1, length);
+                if (i == length) {
+                    return null;
+                }
+
+                if (json[i] == '"') {
+                    int valueEnd = stringEnd(json, i + 1, length);
+                    if (valueEnd < 0) {
+                        return null;
+                    }
+                    if (isSsn) {
+                        // Plain ASCII, so Latin-1 decoding is a straight copy into a compact String
+                        ssn = new String(json, i + 1, valueEnd - i - 1, StandardCharsets.ISO_8859_1);
+                    }
+                    i = valueEnd + 1;
+                } else {
+                    int scalarEnd = scalarEnd(json, i, length);
+                    // Jackson coerces numbers and booleans to a String ssn; leave that to it
+                    if (scalarEnd < 0 || isSsn && !isLiteral(json, i, scalarEnd, NULL)) {
+                        return null;
+                    }
+                    if (isSsn) {
+                        ssn = null;
+                    }
+                    i = scalarEnd;
+                }
+
+                i = skipWhitespace(json, i, length);
+                if (i == length) {
+                    return null;
+                }
+                if (json[i] == '}') {
+                    i++;
+                    break;
+                }
+                if (json[i] != ',') {
+                    return null;
+                }
+                i = skipWhitespace(json, i + 1, length);
+                if (i == length) {
+                    return null;
+                }
+            }
+        }
+
+        return skipWhitespace(json, i, length) == length ? new SsnValidationRequest(ssn) : null;
+    }
+
+    /**
+     * Encodes {@code response} as UTF-8 JSON, byte for byte what Jackson writes for it.
+     *
+     * @return the encoded response, or {@code null} if it needs the general serializer
+     */
+    public static byte[] writeResponse(SsnValidationResponse response) {
+        String ssn = response.getSsn();
+        List<String> explicitErrors = response.explicitErrors();
+        byte[] prefix = response.isValid() ? VALID_PREFIX : INVALID_PREFIX;
+        byte[] errors = explicitErrors == null ? ERRORS[response.getErrorCodes() & (ERRORS.length - 1)] : null;
+        Boolean normalized = response.getNormalized();
+        byte[] suffix = normalized == null ? null : normalized ? NORMALIZED_TRUE : NORMALIZED_FALSE;
+
+        int ssnLength = ssn == null ? NULL.length : encodedLength(ssn);
+        if (ssnLength < 0) {
+            return null;
+        }
+        int length = prefix.length + ssnLength + (suffix == null ? 0 : suffix.length - 1);
+        if (errors != null) {
+            length += errors.length;
+        } else {
+            length += ERRORS_PREFIX.length + 2 + Math.max(explicitErrors.size() - 1, 0);
+            for (String error : explicitErrors) {
+                int errorLength = error == null ? NULL.length : encodedLength(error);
+                if (errorLength < 0) {
+                    return null;
+                }
+                length += errorLength;
+            }
+        }
+
+        byte[] out = new byte[length];
+        int position = put(out, 0, prefix);
+        position = ssn == null ? put(out, position, NULL) : encode(ssn, out, position);
+        if (errors != null) {
+            if (suffix == null) {
+                put(out, position, errors);
+            } else {
+                System.arraycopy(errors, 0, out, position, errors.length - 1);
+                put(out, position + errors.length - 1, suffix);
+            }
+            return out;
+        }
+
+        position = put(out, position, ERRORS_PREFIX);
+        for (int i = 0; i < explicitErrors.size(); i++) {
+            if (i > 0) {
+                out[position++] = ',';
+            }
+            String error = explicitErrors.get(i);
+            position = error == null ? put(out, position, NULL) : encode(error, out, position);
+        }
+        out[position++] = ']';
+        if (suffix == null) {
+            out[position] = '}';
+        } else {
+            put(out, position, suffix);
+        }
+        return out;
+    }
+
+    private static int skipWhitespace(byte[] json, int from, int length) {
+        while (from < length && (json[from] == ' ' || json[from] == '\n' || json[from] == '\r' || json[from] == '\t')) {
+            from++;
+        }
+        return from;
+    }
+
+    // Index of the closing quote of a string without escapes, control characters or non-ASCII bytes,
+    // or -1
+    private static int stringEnd(byte[] json, int from, int length) {
+        for (int i = from; i < length; i++) {
+            byte b = json[i];
+            if (b == '"') {
+                return i;
+            }
+            if (b == '\\' || b < 0x20) {
+                // Bytes above 0x7F are negative
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    // End of a true/false/null literal or a number starting at from, or -1
+    private static int scalarEnd(byte[] json, int from, int length) {
+        int end = from;
+        while (end < length && isScalarByte(json[end])) {
+            end++;
+        }
+        if (isLiteral(json, from, end, NULL) || isLiteral(json, from, end, TRUE) || isLiteral(json, from, end, FALSE)
+                || isNumber(json, from, end)) {
+            return end;
+        }
+        return -1;
+    }
+
+    private static boolean isScalarByte(byte b) {
+        return b >= 'a' && b <= 'z' || b >= '0' && b <= '9' || b == '-' || b == '+' || b == '.' || b == 'E';
+    }
+
+    private static boolean isLiteral(byte[] json, int from, int to, byte[] literal) {
+        if (to - from != literal.length) {
+            return false;
+        }
+        for (int i = 0; i < literal.length; i++) {
+            if (json[from + i] != literal[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // -?(0|[1-9][0-9]*)(\.[0-9]+)?([eE][+-]?[0-9]+)?
+    private static boolean isNumber(byte[] json, int from, int to) {
+        int i = from;
+        if (i < to && json[i] == '-') {
+            i++;
+        }
+        if (i == to || !isDigit(json[i])) {
+            return false;
+        }
+        if (json[i] == '0') {
+            i++;
+        } else {
+            while (i < to && isDigit(json[i])) {
+                i++;
+            }
+        }
+        if (i < to && json[i] == '.') {
+            int digits = ++i;
+            while (i < to && isDigit(json[i])) {
+                i++;
+            }
+            if (i == digits) {
+                return false;
+            }
+        }
+        if (i < to && (json[i] == 'e' || json[i] == 'E')) {
+            i++;
+            if (i < to && (json[i] == '+' || json[i] == '-')) {
+                i++;
+            }
+            int digits = i;
+            while (i < to && isDigit(json[i])) {
+                i++;
+            }
+            if (i == digits) {
+                return false;
+            }
+        }
+        return i == to;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * Length of {@code text} as a quoted, escaped UTF-8 JSON string, or -1 if it contains an unpaired
+     * surrogate.
+     */
+    private static int encodedLength(String text) {
+        int length = 2;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                length += c == '"' || c == '\\' ? 2 : c >= 0x20 ? 1 : shortEscape(c) != 0 ? 2 : 6;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                if (i + 1 == text.length() || !Character.isLowSurrogate(text.charAt(i + 1))) {
+                    return -1;
+                }
+                length += 4;
+                i++;
+            } else if (Character.isLowSurrogate(c)) {
+                return -1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    // Writes text the way Jackson does by default: short escapes where JSON has them, \\u00XX for
+    // other control characters, everything else as UTF-8
+    private static int encode(String text, byte[] out, int position) {
+        out[position++] = '"';
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    out[position++] = '\\';
+                    out[position++] = (byte) c;
+                } else if (c >= 0x20) {
+                    out[position++] = (byte) c;
+                } else if (shortEscape(c) != 0) {
+                    out[position++] = '\\';
+                    out[position++] = (byte) shortEscape(c);
+                } else {
+                    out[position++] = '\\';
+                    out[position++] = 'u';
+                    out[position++] = '0';
+                    out[position++] = '0';
+                    out[position++] = HEX[c >> 4];
+                    out[position++] = HEX[c & 0xF];
+                }
+            } else if (c < 0x800) {
+                out[position++] = (byte) (0xC0 | c >> 6);
+                out[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c)) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                out[position++] = (byte) (0xF0 | codePoint >> 18);
+                out[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                out[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                out[position++] = (byte) (0x80 | codePoint & 0x3F);
+            } else {
+                out[position++] = (byte) (0xE0 | c >> 12);
+                out[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                out[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        out[position++] = '"';
+        return position;
+    }
+
+    private static char shortEscape(char c) {
+        return switch (c) {
+            case '\b' -> 'b';
+            case '\t' -> 't';
+            case '\n' -> 'n';
+            case '\f' -> 'f';
+            case '\r' -> 'r';
+            default -> 0;
+        };
+    }
+
+    private static int put(byte[] out, int position, byte[] fragment) {
+        System.arraycopy(fragment, 0, out, position, fragment.length);
+        return position + fragment.length;
+    }
+
+    private static byte[][] buildErrors() {
+        int highestCode = 0;
+        for (SsnErrorCode code : SsnErrorCode.values()) {
+            highestCode = Math.max(highestCode, code.code());
+        }
+
+        byte[][] errors = new byte[1 << (highestCode + 1)][];
+        for (int mask = 0; mask < errors.length; mask++) {
+            List<String> messages = SsnErrorCode.messages(mask);
+            int length = ERRORS_PREFIX.length + 2 + Math.max(messages.size() - 1, 0);
+            for (String message : messages) {
+                length += encodedLength(message);
+            }
+            byte[] fragment = new byte[length];
+            int position = put(fragment, 0, ERRORS_PREFIX);
+            for (int i = 0; i < messages.size(); i++) {
+                if (i > 0) {
+                    fragment[position++] = ',';
+                }
+                position = encode(messages.get(i), fragment, position);
+            }
+            fragment[position++] = ']';
+            fragment[position] = '}';
+            errors[mask] = fragment;
+        }
+        return errors;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
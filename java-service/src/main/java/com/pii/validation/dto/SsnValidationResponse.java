@@ -1,5 +1,9 @@
 package com.pii.validation.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.pii.validation.core.SsnErrorCode;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -8,16 +12,18 @@ public class SsnValidationResponse {
 
     private boolean valid;
     private String ssn;
+    private int errorCodes;
+    // Explicit messages; when null, messages are derived from errorCodes on serialization
     private List<String> errors;
+    // Whether the SSN was rewritten into canonical form; null when normalization wasn't requested
+    private Boolean normalized;
 
     public SsnValidationResponse() {
-        this.errors = new ArrayList<>();
     }
 
     public SsnValidationResponse(boolean valid, String ssn) {
         this.valid = valid;
         this.ssn = ssn;
-        this.errors = new ArrayList<>();
     }
 
     public SsnValidationResponse(boolean valid, String ssn, List<String> errors) {
@@ -26,6 +32,12 @@ public class SsnValidationResponse {
         this.errors = errors != null ? errors : new ArrayList<>();
     }
 
+    public SsnValidationResponse(boolean valid, String ssn, int errorCodes) {
+        this.valid = valid;
+        this.ssn = ssn;
+        this.errorCodes = errorCodes;
+    }
+
     public boolean isValid() {
         return valid;
     }
@@ -42,18 +54,48 @@ public class SsnValidationResponse {
         this.ssn = ssn;
     }
 
+    @JsonIgnore
+    public int getErrorCodes() {
+        return errorCodes;
+    }
+
+    @JsonIgnore
+    public void setErrorCodes(int errorCodes) {
+        this.errorCodes = errorCodes;
+    }
+
     public List<String> getErrors() {
+        if (errors == null) {
+            return SsnErrorCode.messages(errorCodes);
+        }
         return Collections.unmodifiableList(errors);
     }
 
+    // Messages set explicitly, or null when they come from errorCodes
+    List<String> explicitErrors() {
+        return errors;
+    }
+
     public void setErrors(List<String> errors) {
         this.errors = errors;
     }
 
     public void addError(String error) {
+        if (this.errors == null) {
+            this.errors = new ArrayList<>(SsnErrorCode.messages(errorCodes));
+        }
         this.errors.add(error);
     }
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Boolean getNormalized() {
+        return normalized;
+    }
+
+    public void setNormalized(Boolean normalized) {
+        this.normalized = normalized;
+    }
+
     public static SsnValidationResponse success(String ssn) {
         return new SsnValidationResponse(true, ssn);
     }
@@ -61,4 +103,8 @@ public class SsnValidationResponse {
     public static SsnValidationResponse failure(String ssn, List<String> errors) {
         return new SsnValidationResponse(false, ssn, errors);
     }
+
+    public static SsnValidationResponse failure(String ssn, int errorCodes) {
+        return new SsnValidationResponse(false, ssn, errorCodes);
+    }
 }
@@ -0,0 +1,14 @@
+package com.pii.validation.dto;
+
+public class TokenResponse {
+
+    private final String token;
+
+    public TokenResponse(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+}
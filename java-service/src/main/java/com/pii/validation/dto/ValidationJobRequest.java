@@ -0,0 +1,58 @@
+package com.pii.validation.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+public class ValidationJobRequest {
+
+    @NotBlank(message = "path is required")
+    private String path;
+
+    @Min(value = 0, message = "column must be 0 or greater")
+    private int column;
+
+    private boolean header;
+
+    private boolean normalize;
+
+    public ValidationJobRequest() {
+    }
+
+    public ValidationJobRequest(String path, int column, boolean header) {
+        this.path = path;
+        this.column = column;
+        this.header = header;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public void setColumn(int column) {
+        this.column = column;
+    }
+
+    public boolean isHeader() {
+        return header;
+    }
+
+    public void setHeader(boolean header) {
+        this.header = header;
+    }
+
+    public boolean isNormalize() {
+        return normalize;
+    }
+
+    public void setNormalize(boolean normalize) {
+        this.normalize = normalize;
+    }
+}
@@ -0,0 +1,86 @@
+package com.pii.validation.dto;
+
+import com.pii.validation.service.ValidationJob;
+
+public class ValidationJobStatus {
+
+    private final String id;
+    private final String state;
+    private final String rulesVersion;
+    private final long bytesTotal;
+    private final long bytesProcessed;
+    private final double progress;
+    private final long rows;
+    private final long validRows;
+    private final long invalidRows;
+    private final long rowsPerSecond;
+    private final long elapsedMillis;
+    private final String error;
+
+    private ValidationJobStatus(ValidationJob job) {
+        this.id = job.id();
+        this.state = job.state().name();
+        this.rulesVersion = job.rulesVersion();
+        this.bytesTotal = job.bytesTotal();
+        this.bytesProcessed = job.bytesProcessed();
+        this.progress = job.progress();
+        this.rows = job.rows();
+        this.invalidRows = job.invalidRows();
+        this.validRows = rows - invalidRows;
+        this.rowsPerSecond = job.rowsPerSecond();
+        this.elapsedMillis = job.elapsedMillis();
+        this.error = job.error();
+    }
+
+    public static ValidationJobStatus of(ValidationJob job) {
+        return new ValidationJobStatus(job);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public String getRulesVersion() {
+        return rulesVersion;
+    }
+
+    public long getBytesTotal() {
+        return bytesTotal;
+    }
+
+    public long getBytesProcessed() {
+        return bytesProcessed;
+    }
+
+    public double getProgress() {
+        return progress;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getValidRows() {
+        return validRows;
+    }
+
+    public long getInvalidRows() {
+        return invalidRows;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
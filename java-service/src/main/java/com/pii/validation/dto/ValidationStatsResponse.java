@@ -0,0 +1,66 @@
+package com.pii.validation.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body of {@code GET /api/v1/stats}: validations per outcome over the window, and the clients with
+ * the most validations of the requested outcome. A client's {@code count} is at most {@code error}
+ * above its true count; seconds in which it wasn't among the busiest clients aren't counted.
+ */
+public class ValidationStatsResponse {
+
+    private final int windowSeconds;
+    private final Map<String, Long> outcomes;
+    private final String outcome;
+    private final List<Client> topClients;
+
+    public ValidationStatsResponse(int windowSeconds, Map<String, Long> outcomes, String outcome,
+                                   List<Client> topClients) {
+        this.windowSeconds = windowSeconds;
+        this.outcomes = outcomes;
+        this.outcome = outcome;
+        this.topClients = topClients;
+    }
+
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public Map<String, Long> getOutcomes() {
+        return outcomes;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public List<Client> getTopClients() {
+        return topClients;
+    }
+
+    public static class Client {
+
+        private final String client;
+        private final long count;
+        private final long error;
+
+        public Client(String client, long count, long error) {
+            this.client = client;
+            this.count = count;
+            this.error = error;
+        }
+
+        public String getClient() {
+            return client;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.pii.validation.metrics;
+
+import com.pii.validation.audit.AuditLog;
+import com.pii.validation.audit.ValidationEventListener;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meters for the audit log, read from {@link AuditLog} on scrape: records written, events dropped
+ * by backpressure or lost to write errors, and events waiting in the ring buffer. Nothing is
+ * registered when auditing is disabled.
+ */
+@Component
+public class AuditMetrics {
+
+    public AuditMetrics(MeterRegistry registry, ValidationEventListener listener) {
+        if (!(listener instanceof AuditLog auditLog)) {
+            return;
+        }
+
+        FunctionCounter.builder("audit.events", auditLog, AuditLog::writtenCount)
+                .description("Audit events by outcome")
+                .tag("outcome", "written")
+                .register(registry);
+        FunctionCounter.builder("audit.events", auditLog, AuditLog::droppedCount)
+                .description("Audit events by outcome")
+                .tag("outcome", "dropped")
+                .register(registry);
+        FunctionCounter.builder("audit.events", auditLog, AuditLog::failedCount)
+                .description("Audit events by outcome")
+                .tag("outcome", "failed")
+                .register(registry);
+        Gauge.builder("audit.backlog", auditLog, AuditLog::backlog)
+                .description("Audit events published but not yet written")
+                .register(registry);
+    }
+}
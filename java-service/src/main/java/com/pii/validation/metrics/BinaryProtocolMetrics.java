@@ -0,0 +1,36 @@
+package com.pii.validation.metrics;
+
+import com.pii.validation.service.BinaryValidationServer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meters for the binary validation protocol, read from {@link BinaryValidationServer} on scrape so
+ * the event loops only bump striped counters. Validations themselves are counted in
+ * {@code ssn.validations} like REST ones.
+ */
+@Component
+@ConditionalOnProperty(name = "binary.enabled", havingValue = "true")
+public class BinaryProtocolMetrics {
+
+    public BinaryProtocolMetrics(MeterRegistry registry, BinaryValidationServer server) {
+        Gauge.builder("binary.connections", server, BinaryValidationServer::connectionCount)
+                .description("Open binary protocol connections")
+                .register(registry);
+        FunctionCounter.builder("binary.frames", server, BinaryValidationServer::frameCount)
+                .description("Validation frames received, including rate-limited ones")
+                .register(registry);
+        FunctionCounter.builder("binary.rate.limited", server, BinaryValidationServer::rateLimitedCount)
+                .description("Validation frames answered as rate limited")
+                .register(registry);
+        FunctionCounter.builder("binary.connections.refused", server, BinaryValidationServer::refusedConnectionCount)
+                .description("Connections closed on accept because binary.max-connections were open")
+                .register(registry);
+        FunctionCounter.builder("binary.protocol.errors", server, BinaryValidationServer::protocolErrorCount)
+                .description("Connections closed for a bad preamble or frame")
+                .register(registry);
+    }
+}
@@ -0,0 +1,34 @@
+package com.pii.validation.metrics;
+
+import com.pii.validation.service.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Meters for ConcurrencyLimitFilter: the current adaptive limit, requests in flight, and admission
+ * decisions, all read from {@link AdaptiveConcurrencyLimiter} on scrape.
+ */
+@Component
+@ConditionalOnProperty(name = "concurrency.limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitMetrics {
+
+    public ConcurrencyLimitMetrics(MeterRegistry registry, AdaptiveConcurrencyLimiter limiter) {
+        Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on requests in flight")
+                .register(registry);
+        Gauge.builder("concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInflight)
+                .description("Requests in flight")
+                .register(registry);
+        FunctionCounter.builder("concurrency.limit.decisions", limiter, AdaptiveConcurrencyLimiter::acceptedCount)
+                .description("Admission decisions of the concurrency limiter")
+                .tag("outcome", "accepted")
+                .register(registry);
+        FunctionCounter.builder("concurrency.limit.decisions", limiter, AdaptiveConcurrencyLimiter::rejectedCount)
+                .description("Admission decisions of the concurrency limiter")
+                .tag("outcome", "rejected")
+                .register(registry);
+    }
+}
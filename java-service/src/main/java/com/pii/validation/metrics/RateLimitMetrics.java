@@ -0,0 +1,65 @@
+package com.pii.validation.metrics;
+
+import com.pii.validation.service.ClientRateLimiter;
+import com.pii.validation.service.LeasedRateLimiterService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for RateLimitFilter and the active {@link ClientRateLimiter}: filter latency by outcome,
+ * a 429 counter, and the limiter's client count and eviction count read lazily on scrape.
+ */
+@Component
+public class RateLimitMetrics {
+
+    private final Timer allowedTimer;
+    private final Timer rejectedTimer;
+    private final Counter rejections;
+
+    public RateLimitMetrics(MeterRegistry registry, ClientRateLimiter rateLimiter) {
+        this.allowedTimer = filterTimer(registry, "allowed");
+        this.rejectedTimer = filterTimer(registry, "rejected");
+        this.rejections = Counter.builder("rate.limit.rejections")
+                .description("Requests rejected with 429 Too Many Requests")
+                .register(registry);
+
+        Gauge.builder("rate.limit.clients", rateLimiter, ClientRateLimiter::size)
+                .description("Clients currently tracked by the rate limiter")
+                .register(registry);
+        FunctionCounter.builder("rate.limit.evictions", rateLimiter, ClientRateLimiter::evictionCount)
+                .description("Client buckets evicted or reassigned by the rate limiter")
+                .register(registry);
+
+        if (rateLimiter instanceof LeasedRateLimiterService leased) {
+            FunctionCounter.builder("rate.limit.lease.coordinator.calls", leased, LeasedRateLimiterService::coordinatorCallCount)
+                    .description("Round trips to the token lease coordinator")
+                    .register(registry);
+            FunctionCounter.builder("rate.limit.lease.tokens", leased, LeasedRateLimiterService::leasedTokenCount)
+                    .description("Tokens leased from the coordinator")
+                    .register(registry);
+        }
+    }
+
+    public void recordAllowed(long nanos) {
+        allowedTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRejected(long nanos) {
+        rejectedTimer.record(nanos, TimeUnit.NANOSECONDS);
+        rejections.increment();
+    }
+
+    private static Timer filterTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("rate.limit.filter")
+                .description("Time spent in RateLimitFilter, including the downstream chain for allowed requests")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.pii.validation.metrics;
+
+import com.pii.validation.service.SeenSsnService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Size of the seen-SSN index and of its table, read from {@link SeenSsnService} on scrape.
+ */
+@Component
+@ConditionalOnProperty(name = "ssn.index.enabled", havingValue = "true")
+public class SeenSsnMetrics {
+
+    public SeenSsnMetrics(MeterRegistry registry, SeenSsnService seenSsnService) {
+        Gauge.builder("ssn.index.size", seenSsnService, SeenSsnService::size)
+                .description("SSNs in the seen-SSN index")
+                .register(registry);
+        Gauge.builder("ssn.index.capacity", seenSsnService, SeenSsnService::capacity)
+                .description("Slots in the seen-SSN index table")
+                .register(registry);
+    }
+}
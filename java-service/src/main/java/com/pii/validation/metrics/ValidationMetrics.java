@@ -0,0 +1,98 @@
+package com.pii.validation.metrics;
+
+import com.pii.validation.core.SsnErrorCode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Meters for SsnValidationService. Validation takes tens of nanoseconds, so the per-call cost has
+ * to stay in the same range: counts go to striped {@link LongAdder}s that Micrometer reads on
+ * scrape, and only a random 1 in {@code timer-sampling} calls is timed into the latency histogram.
+ * The timer's count is therefore the sample size; {@code ssn.validations} is the exact total.
+ */
+@Component
+public class ValidationMetrics {
+
+    private final Timer validationTimer;
+    private final LongAdder validations = new LongAdder();
+    private final LongAdder[] rejections;
+    // -1 disables timing, otherwise a call is timed when (random & sampleMask) == 0
+    private final int sampleMask;
+
+    @Autowired
+    public ValidationMetrics(MeterRegistry registry,
+                             @Value("${ssn.metrics.timer-sampling:32}") int timerSampling) {
+        if (timerSampling < 0 || Integer.bitCount(timerSampling) > 1) {
+            throw new IllegalArgumentException("ssn.metrics.timer-sampling must be 0 or a power of two");
+        }
+        this.sampleMask = timerSampling - 1;
+
+        this.validationTimer = Timer.builder("ssn.validation")
+                .description("Time spent validating a single SSN, sampled")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100))
+                .maximumExpectedValue(Duration.ofMillis(10))
+                .register(registry);
+
+        FunctionCounter.builder("ssn.validations", validations, LongAdder::sum)
+                .description("SSNs validated")
+                .register(registry);
+
+        int highestCode = 0;
+        for (SsnErrorCode code : SsnErrorCode.values()) {
+            highestCode = Math.max(highestCode, code.code());
+        }
+        this.rejections = new LongAdder[highestCode + 1];
+        for (SsnErrorCode code : SsnErrorCode.values()) {
+            LongAdder counter = new LongAdder();
+            rejections[code.code()] = counter;
+            FunctionCounter.builder("ssn.validation.rejections", counter, LongAdder::sum)
+                    .description("SSNs rejected, by failed rule")
+                    .tag("reason", code.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Metrics that count but never time and record into a registry with no backends, for code
+     * constructed outside Spring.
+     */
+    public static ValidationMetrics noop() {
+        return new ValidationMetrics(new CompositeMeterRegistry(), 0);
+    }
+
+    /**
+     * Whether the caller should time this call and report it with {@link #recordLatency}.
+     */
+    public boolean sampleLatency() {
+        return sampleMask >= 0 && (ThreadLocalRandom.current().nextInt() & sampleMask) == 0;
+    }
+
+    public void recordLatency(long nanos) {
+        validationTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordOutcome(int errorMask) {
+        validations.increment();
+
+        int remaining = errorMask;
+        while (remaining != 0) {
+            int code = Integer.numberOfTrailingZeros(remaining);
+            if (code < rejections.length && rejections[code] != null) {
+                rejections[code].increment();
+            }
+            remaining &= remaining - 1;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.pii.validation.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Global in-flight request limit that adapts to observed latency with a gradient algorithm: the
+ * limit shrinks when recent latency rises above the long-term average by more than
+ * {@code tolerance}, and grows by roughly its square root per window while latency holds steady
+ * and the limit is actually being used. Requests past the limit are rejected outright.
+ *
+ * <p>The request path is a CAS on the in-flight count plus a few striped adders; the limit is
+ * recalculated at most once per {@code window-ms} by whichever request completes the window.
+ */
+@Service
+@ConditionalOnProperty(name = "concurrency.limit.enabled", havingValue = "true", matchIfMissing = true)
+public class AdaptiveConcurrencyLimiter {
+
+    // Long-term latency is an average over this many windows
+    private static final int LONG_WINDOW = 600;
+    private static final double SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final long windowNanos;
+    private final int minSamples;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile int limit;
+
+    private final AtomicLong windowStart;
+    private final LongAdder windowRttNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicInteger windowMaxInflight = new AtomicInteger();
+
+    // Only touched under the monitor in updateLimit()
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(@Value("${concurrency.limit.initial:100}") int initialLimit,
+                                      @Value("${concurrency.limit.min:10}") int minLimit,
+                                      @Value("${concurrency.limit.max:1000}") int maxLimit,
+                                      @Value("${concurrency.limit.tolerance:1.5}") double tolerance,
+                                      @Value("${concurrency.limit.window-ms:100}") long windowMillis,
+                                      @Value("${concurrency.limit.min-samples:10}") int minSamples) {
+        this(initialLimit, minLimit, maxLimit, tolerance, TimeUnit.MILLISECONDS.toNanos(windowMillis), minSamples,
+                System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, long windowNanos,
+                               int minSamples, LongSupplier nanoClock) {
+        if (minLimit <= 0 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(
+                    "concurrency.limit must satisfy 0 < min <= initial <= max, got min=" + minLimit
+                            + " initial=" + initialLimit + " max=" + maxLimit);
+        }
+        if (tolerance < 1) {
+            throw new IllegalArgumentException("concurrency.limit.tolerance must be at least 1");
+        }
+
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowNanos = windowNanos;
+        this.minSamples = minSamples;
+        this.nanoClock = nanoClock;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+        this.windowStart = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Claims an in-flight slot. Every successful call must be paired with {@link #release}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot of a request that took {@code rttNanos}. Requests whose latency says nothing
+     * about server capacity (e.g. rejected by the rate limiter) pass {@code sample = false}.
+     */
+    public void release(long rttNanos, boolean sample) {
+        int inflightBefore = inflight.getAndDecrement();
+        if (!sample) {
+            return;
+        }
+
+        windowRttNanos.add(rttNanos);
+        windowSamples.increment();
+        if (inflightBefore > windowMaxInflight.get()) {
+            windowMaxInflight.accumulateAndGet(inflightBefore, Math::max);
+        }
+
+        long now = nanoClock.getAsLong();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowSamples.sum() >= minSamples && windowStart.compareAndSet(start, now)) {
+            updateLimit();
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public long acceptedCount() {
+        return accepted.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    // Never blocks; the windowStart CAS already lets one caller per window in
+    private synchronized void updateLimit() {
+        long samples = windowSamples.sumThenReset();
+        long rttSum = windowRttNanos.sumThenReset();
+        int maxInflight = windowMaxInflight.getAndSet(0);
+        if (samples == 0) {
+            return;
+        }
+
+        double shortRtt = Math.max((double) rttSum / samples, 1);
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+        } else {
+            longRttNanos += (shortRtt - longRttNanos) / LONG_WINDOW;
+            // After a latency spike the long average lags far behind; let it catch up faster
+            if (longRttNanos / shortRtt > 2) {
+                longRttNanos *= 0.95;
+            }
+        }
+
+        // Latency of a mostly idle server says nothing about how far the limit can go
+        if (maxInflight < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / shortRtt));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING));
+        limit = (int) estimatedLimit;
+    }
+}
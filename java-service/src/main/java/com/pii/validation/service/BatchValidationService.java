@@ -0,0 +1,179 @@
+package com.pii.validation.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pii.validation.audit.ValidationEventListener;
+import com.pii.validation.core.SsnRuleSet;
+import com.pii.validation.dto.SsnValidationResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BooleanSupplier;
+
+@Service
+public class BatchValidationService {
+
+    private final SsnValidationService validationService;
+    private final ObjectMapper objectMapper;
+
+    public BatchValidationService(SsnValidationService validationService, ObjectMapper objectMapper) {
+        this.validationService = validationService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Validates SSNs read from {@code in} one at a time and writes one NDJSON result line per item.
+     * JSON bodies may be a single array or a stream of root-level values (NDJSON); each value is
+     * either an SSN string or an object with an {@code ssn} field. {@code text/plain} bodies carry
+     * one raw SSN per line. {@code permit} is asked before every item; once it refuses, a terminal
+     * error line is written and the rest of the input is left unread. The whole batch is validated
+     * against the rule set that was active when it started.
+     *
+     * @return the number of items validated
+     */
+    public long validate(InputStream in, MediaType contentType, OutputStream out, BooleanSupplier permit)
+            throws IOException {
+        return validate(in, contentType, out, permit, ValidationEventListener.NONE, 0);
+    }
+
+    /**
+     * Like {@link #validate(InputStream, MediaType, OutputStream, BooleanSupplier)}, and reports every
+     * item's outcome to {@code events} on behalf of {@code client}.
+     */
+    public long validate(InputStream in, MediaType contentType, OutputStream out, BooleanSupplier permit,
+                         ValidationEventListener events, long client) throws IOException {
+        return validate(in, contentType, out, permit, events, client, false);
+    }
+
+    /**
+     * Like {@link #validate(InputStream, MediaType, OutputStream, BooleanSupplier, ValidationEventListener, long)};
+     * with {@code normalize}, items are normalized as by
+     * {@link SsnValidationService#validate(String, SsnRuleSet, boolean)}.
+     */
+    public long validate(InputStream in, MediaType contentType, OutputStream out, BooleanSupplier permit,
+                         ValidationEventListener events, long client, boolean normalize) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            // Lines are terminated explicitly instead of using Jackson's root separator
+            generator.setRootValueSeparator(null);
+            Batch batch = new Batch(generator, permit, validationService.currentRules(), events, client, normalize);
+            if (MediaType.TEXT_PLAIN.includes(contentType)) {
+                return validateLines(in, batch);
+            }
+            return validateJson(in, batch);
+        }
+    }
+
+    private long validateJson(InputStream in, Batch batch) throws IOException {
+        JsonGenerator generator = batch.generator;
+        long count = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+
+            while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                String ssn = readSsn(parser, token);
+                if (!batch.permit.getAsBoolean()) {
+                    writeRateLimited(generator, count);
+                    return count;
+                }
+                writeResult(generator, validate(ssn, batch));
+                count++;
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            writeError(generator, "Malformed batch", "Could not parse item " + (count + 1) + ": " + e.getOriginalMessage());
+        }
+
+        return count;
+    }
+
+    private long validateLines(InputStream in, Batch batch) throws IOException {
+        JsonGenerator generator = batch.generator;
+        long count = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (!batch.permit.getAsBoolean()) {
+                writeRateLimited(generator, count);
+                return count;
+            }
+            writeResult(generator, validate(line, batch));
+            count++;
+        }
+
+        return count;
+    }
+
+    private SsnValidationResponse validate(String ssn, Batch batch) {
+        SsnValidationResponse response = validationService.validate(ssn, batch.rules, batch.normalize);
+        batch.events.onValidation(ValidationEventListener.Source.BATCH, batch.client, response.getSsn(),
+                response.getErrorCodes());
+        return response;
+    }
+
+    private String readSsn(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.START_OBJECT) {
+            String ssn = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                if ("ssn".equals(field)) {
+                    ssn = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return ssn;
+        }
+
+        if (token == JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+
+        return parser.getValueAsString();
+    }
+
+    private void writeResult(JsonGenerator generator, SsnValidationResponse response) throws IOException {
+        objectMapper.writeValue(generator, response);
+        endLine(generator);
+    }
+
+    private void writeRateLimited(JsonGenerator generator, long processed) throws IOException {
+        writeError(generator, "Too many requests", "Rate limit exceeded after " + processed + " items.");
+    }
+
+    private void writeError(JsonGenerator generator, String error, String message) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("error", error);
+        generator.writeStringField("message", message);
+        generator.writeEndObject();
+        endLine(generator);
+    }
+
+    private void endLine(JsonGenerator generator) throws IOException {
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+
+    private record Batch(JsonGenerator generator, BooleanSupplier permit, SsnRuleSet rules,
+                         ValidationEventListener events, long client, boolean normalize) {
+    }
+}
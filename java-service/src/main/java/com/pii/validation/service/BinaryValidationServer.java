@@ -0,0 +1,389 @@
+package com.pii.validation.service;
+
+import com.pii.validation.audit.ValidationEventListener;
+import com.pii.validation.core.BinaryProtocol;
+import com.pii.validation.core.SsnRuleSet;
+import com.pii.validation.core.SsnValidator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves the binary validation protocol ({@link BinaryProtocol}) on its own port, for internal
+ * callers that validate at volumes where HTTP and JSON framing cost more than the validation. An
+ * acceptor thread hands connections to {@code binary.io-threads} event loops, each a selector over
+ * non-blocking channels. A loop validates the complete frames of every read on its own thread,
+ * since a validation takes less time than handing it to another thread would, and replies in order.
+ *
+ * <p>Each read is charged to the client's rate limit in one call, to the same buckets as REST
+ * requests from the same address; frames past the remaining tokens get a rate-limited reply. A
+ * connection whose replies can't be written stops being read until they are, so a client that sends
+ * without reading is held back by TCP instead of growing the server's buffers.
+ */
+@Service
+@ConditionalOnProperty(name = "binary.enabled", havingValue = "true")
+public class BinaryValidationServer {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryValidationServer.class);
+
+    // Per direction and connection; about 1,500 frames
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final SsnValidationService validationService;
+    private final ClientRateLimiter rateLimiter;
+    private final ValidationEventListener validationEvents;
+    private final int maxConnections;
+
+    private final ServerSocketChannel server;
+    private final EventLoop[] loops;
+    private final Thread acceptor;
+    private volatile boolean running = true;
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder refusedConnections = new LongAdder();
+    private final LongAdder protocolErrors = new LongAdder();
+
+    @Autowired
+    public BinaryValidationServer(@Value("${binary.address:127.0.0.1}") String address,
+                                  @Value("${binary.port:9090}") int port,
+                                  @Value("${binary.io-threads:0}") int ioThreads,
+                                  @Value("${binary.max-connections:256}") int maxConnections,
+                                  SsnValidationService validationService,
+                                  ClientRateLimiter rateLimiter,
+                                  ValidationEventListener validationEvents,
+                                  Optional<ValidationStats> stats) throws IOException {
+        this(new InetSocketAddress(address, port), ioThreads, maxConnections, validationService, rateLimiter,
+                stats.map(s -> validationEvents.andThen(s::onValidation)).orElse(validationEvents));
+    }
+
+    public BinaryValidationServer(InetSocketAddress address, int ioThreads, int maxConnections,
+                                  SsnValidationService validationService, ClientRateLimiter rateLimiter,
+                                  ValidationEventListener validationEvents) throws IOException {
+        if (ioThreads < 0) {
+            throw new IllegalArgumentException("binary.io-threads must not be negative");
+        }
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("binary.max-connections must be positive");
+        }
+        this.validationService = validationService;
+        this.rateLimiter = rateLimiter;
+        this.validationEvents = validationEvents;
+        this.maxConnections = maxConnections;
+
+        this.server = ServerSocketChannel.open();
+        try {
+            server.bind(address);
+            int threads = ioThreads == 0 ? Runtime.getRuntime().availableProcessors() : ioThreads;
+            this.loops = new EventLoop[threads];
+            for (int i = 0; i < threads; i++) {
+                loops[i] = new EventLoop(Selector.open());
+            }
+        } catch (IOException | RuntimeException e) {
+            server.close();
+            throw e;
+        }
+        for (int i = 0; i < loops.length; i++) {
+            Thread thread = new Thread(loops[i], "ssn-binary-loop-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        this.acceptor = new Thread(this::accept, "ssn-binary-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        log.info("Binary validation protocol listening on {} with {} event loops", server.getLocalAddress(),
+                loops.length);
+    }
+
+    /**
+     * The bound port, which differs from {@code binary.port} when that is 0.
+     */
+    public int getPort() {
+        try {
+            return ((InetSocketAddress) server.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    public long frameCount() {
+        return frames.sum();
+    }
+
+    public long rateLimitedCount() {
+        return rateLimited.sum();
+    }
+
+    public long refusedConnectionCount() {
+        return refusedConnections.sum();
+    }
+
+    public long protocolErrorCount() {
+        return protocolErrors.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        running = false;
+        server.close();
+        for (EventLoop loop : loops) {
+            loop.selector.wakeup();
+        }
+    }
+
+    private void accept() {
+        int next = 0;
+        while (running) {
+            SocketChannel channel;
+            try {
+                channel = server.accept();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                log.warn("Could not accept a binary protocol connection", e);
+                continue;
+            }
+
+            if (connections.incrementAndGet() > maxConnections) {
+                connections.decrementAndGet();
+                refusedConnections.increment();
+                closeQuietly(channel);
+                continue;
+            }
+            try {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                InetSocketAddress remote = (InetSocketAddress) channel.getRemoteAddress();
+                // The same key Tomcat's getRemoteAddr gives RateLimitFilter for this address
+                loops[next].register(new Connection(channel, remote.getAddress().getHostAddress()));
+                next = (next + 1) % loops.length;
+            } catch (IOException e) {
+                connections.decrementAndGet();
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing left to do with it
+        }
+    }
+
+    private final class EventLoop implements Runnable {
+
+        final Selector selector;
+        final Queue<Connection> registrations = new ConcurrentLinkedQueue<>();
+
+        EventLoop(Selector selector) {
+            this.selector = selector;
+        }
+
+        void register(Connection connection) {
+            registrations.add(connection);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    Connection connection;
+                    while ((connection = registrations.poll()) != null) {
+                        try {
+                            connection.key = connection.channel.register(selector, SelectionKey.OP_READ, connection);
+                        } catch (IOException e) {
+                            close(connection);
+                        }
+                    }
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        Connection ready = (Connection) key.attachment();
+                        try {
+                            if (key.isWritable()) {
+                                ready.flush();
+                            }
+                            if (key.isValid() && key.isReadable()) {
+                                ready.read();
+                            }
+                        } catch (IOException e) {
+                            close(ready);
+                        } catch (RuntimeException e) {
+                            log.warn("Closing binary protocol connection from {}", ready.clientKey, e);
+                            close(ready);
+                        }
+                    }
+                    selector.selectedKeys().clear();
+                }
+            } catch (ClosedSelectorException e) {
+                // Shutting down
+            } catch (IOException e) {
+                log.error("Binary protocol event loop failed", e);
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    close((Connection) key.attachment());
+                }
+                Connection connection;
+                while ((connection = registrations.poll()) != null) {
+                    close(connection);
+                }
+                try {
+                    selector.close();
+                } catch (IOException e) {
+                    // Nothing left to do with it
+                }
+            }
+        }
+
+        private void close(Connection connection) {
+            if (connection.channel.isOpen()) {
+                closeQuietly(connection.channel);
+                connections.decrementAndGet();
+            }
+        }
+    }
+
+    private final class Connection {
+
+        final SocketChannel channel;
+        final String clientKey;
+        final long client;
+        // Both stay in write mode between events
+        final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        SelectionKey key;
+        boolean opened;
+        // From the last read the rate limit didn't fully admit
+        int retryAfterMillis;
+
+        Connection(SocketChannel channel, String clientKey) {
+            this.channel = channel;
+            this.clientKey = clientKey;
+            this.client = ClientKeys.of(clientKey);
+        }
+
+        void read() throws IOException {
+            if (channel.read(in) < 0) {
+                throw new ClosedChannelException();
+            }
+            process();
+            flush();
+        }
+
+        // Writes what it can; while replies are left, waits for the socket instead of reading more
+        void flush() throws IOException {
+            out.flip();
+            channel.write(out);
+            boolean drained = !out.hasRemaining();
+            out.compact();
+            if (!drained) {
+                key.interestOps(SelectionKey.OP_WRITE);
+                return;
+            }
+            if (key.interestOps() != SelectionKey.OP_READ) {
+                // Frames may have waited in the input buffer for room in the output buffer
+                key.interestOps(SelectionKey.OP_READ);
+                process();
+                if (out.position() > 0) {
+                    flush();
+                }
+            }
+        }
+
+        private void process() throws IOException {
+            in.flip();
+            try {
+                if (!opened) {
+                    if (in.remaining() < BinaryProtocol.PREAMBLE_SIZE) {
+                        return;
+                    }
+                    if (in.getInt() != BinaryProtocol.PREAMBLE) {
+                        protocolErrors.increment();
+                        throw new ClosedChannelException();
+                    }
+                    out.putInt(BinaryProtocol.PREAMBLE);
+                    opened = true;
+                }
+
+                int count = Math.min(in.remaining(), out.remaining()) / BinaryProtocol.FRAME_SIZE;
+                if (count == 0) {
+                    return;
+                }
+                int permitted = charge(count);
+                // One version of the rules for everything this read brought in
+                SsnRuleSet rules = validationService.currentRules();
+                for (int i = 0; i < count; i++) {
+                    int length = in.getShort() & 0xFFFF;
+                    byte op = in.get();
+                    int id = in.getInt();
+                    int value = in.getInt();
+                    if (length != BinaryProtocol.BODY_LENGTH || op != BinaryProtocol.VALIDATE) {
+                        protocolErrors.increment();
+                        throw new ClosedChannelException();
+                    }
+                    if (i < permitted) {
+                        int errors = validationService.validateValue(value, rules);
+                        notify(value, errors);
+                        BinaryProtocol.putReply(out, BinaryProtocol.VALIDATED, id, errors);
+                    } else {
+                        BinaryProtocol.putReply(out, BinaryProtocol.RATE_LIMITED, id, retryAfterMillis);
+                    }
+                }
+                frames.add(count);
+                rateLimited.add(count - permitted);
+            } finally {
+                in.compact();
+            }
+        }
+
+        // Tokens for count frames, or for as many as the bucket has left
+        private int charge(int count) {
+            RateLimitProbe probe = rateLimiter.tryConsume(clientKey, count);
+            if (probe.consumed()) {
+                return count;
+            }
+            retryAfterMillis = (int) Math.min(Integer.MAX_VALUE,
+                    TimeUnit.NANOSECONDS.toMillis(probe.nanosToWaitForRefill()));
+            long remaining = probe.remainingTokens();
+            if (remaining > 0 && rateLimiter.tryConsume(clientKey, remaining).consumed()) {
+                return (int) remaining;
+            }
+            return 0;
+        }
+
+        private void notify(int value, int errors) {
+            if (validationEvents != ValidationEventListener.NONE) {
+                validationEvents.onValidation(ValidationEventListener.Source.BINARY, client,
+                        value >= 0 && value <= BinaryProtocol.MAX_VALUE ? SsnValidator.format(value) : null, errors);
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.pii.validation.service;
+
+/**
+ * Turns client addresses into primitive keys without allocating: IPv4 addresses (including
+ * IPv4-mapped IPv6) become their 32-bit value, IPv6 addresses become their /64 prefix, so every
+ * host of a single IPv6 subnet shares one key. Anything else is hashed.
+ *
+ * <p>IPv4 keys occupy the range whose high 32 bits are zero, which as an IPv6 /64 prefix lies in
+ * the reserved ::/32 block, so the two families don't collide in practice.
+ */
+public final class ClientKeys {
+
+    private static final long NOT_IPV6 = Long.MIN_VALUE;
+
+    private ClientKeys() {
+    }
+
+    public static long of(String address) {
+        int length = address.length();
+
+        long ipv4 = parseIpv4(address, 0, length);
+        if (ipv4 >= 0) {
+            return ipv4;
+        }
+
+        if (address.indexOf(':') >= 0) {
+            long ipv6 = parseIpv6Prefix(address, length);
+            if (ipv6 != NOT_IPV6) {
+                return ipv6;
+            }
+        }
+
+        return hash(address);
+    }
+
+    /**
+     * An address that {@link #of} maps back to {@code key}: dotted IPv4 when the high 32 bits are
+     * zero, otherwise the /64 prefix as {@code a:b:c:d::}. Hashed keys come out as such a prefix too,
+     * so the round trip is exact for every key but {@code Long.MIN_VALUE}, not only for real addresses.
+     */
+    public static String toAddress(long key) {
+        if (key >>> 32 == 0) {
+            return (key >>> 24) + "." + ((key >>> 16) & 0xFF) + "." + ((key >>> 8) & 0xFF) + "." + (key & 0xFF);
+        }
+        return Long.toHexString(key >>> 48) + ":" + Long.toHexString((key >>> 32) & 0xFFFF) + ":"
+                + Long.toHexString((key >>> 16) & 0xFFFF) + ":" + Long.toHexString(key & 0xFFFF) + "::";
+    }
+
+    static long parseIpv4(CharSequence s, int from, int to) {
+        long address = 0;
+        int octets = 0;
+        int i = from;
+
+        while (i < to) {
+            int octet = 0;
+            int digits = 0;
+            while (i < to && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+                octet = octet * 10 + (s.charAt(i) - '0');
+                digits++;
+                i++;
+            }
+            if (digits == 0 || digits > 3 || octet > 255) {
+                return -1;
+            }
+            address = (address << 8) | octet;
+            octets++;
+
+            if (i < to) {
+                if (s.charAt(i) != '.' || octets == 4) {
+                    return -1;
+                }
+                i++;
+                if (i == to) {
+                    return -1;
+                }
+            }
+        }
+
+        return octets == 4 ? address : -1;
+    }
+
+    private static long parseIpv6Prefix(String s, int length) {
+        int from = 0;
+        int to = length;
+
+        if (s.charAt(0) == '[') {
+            from = 1;
+            to = s.indexOf(']');
+            if (to < 0) {
+                return NOT_IPV6;
+            }
+        }
+        int zone = s.indexOf('%', from);
+        if (zone >= 0 && zone < to) {
+            to = zone;
+        }
+
+        // Only the first four groups matter, so groups are packed as they're read: up to four
+        // before "::" (head) and up to four after it (tail), plus the total count on each side
+        long head = 0;
+        int headGroups = 0;
+        long tail = 0;
+        int tailGroups = 0;
+        int tailPacked = 0;
+        boolean compressed = false;
+        long embeddedIpv4 = -1;
+
+        int i = from;
+        if (to - i >= 2 && s.charAt(i) == ':' && s.charAt(i + 1) == ':') {
+            compressed = true;
+            i += 2;
+        }
+
+        while (i < to) {
+            int group = 0;
+            int digits = 0;
+            int start = i;
+            while (i < to && digits <= 4) {
+                int hex = Character.digit(s.charAt(i), 16);
+                if (hex < 0) {
+                    break;
+                }
+                group = (group << 4) | hex;
+                digits++;
+                i++;
+            }
+
+            if (i < to && s.charAt(i) == '.') {
+                // Trailing dotted IPv4 counts as the last two groups
+                embeddedIpv4 = parseIpv4(s, start, to);
+                if (embeddedIpv4 < 0) {
+                    return NOT_IPV6;
+                }
+                if (compressed) {
+                    tailGroups += 2;
+                } else {
+                    headGroups += 2;
+                }
+                i = to;
+                break;
+            }
+
+            if (digits == 0 || digits > 4) {
+                return NOT_IPV6;
+            }
+
+            if (!compressed) {
+                if (headGroups < 4) {
+                    head = (head << 16) | group;
+                }
+                headGroups++;
+            } else {
+                if (tailPacked < 4) {
+                    tail = (tail << 16) | group;
+                    tailPacked++;
+                }
+                tailGroups++;
+            }
+
+            if (i == to) {
+                break;
+            }
+            if (s.charAt(i) != ':' || ++i == to) {
+                return NOT_IPV6;
+            }
+            if (s.charAt(i) == ':') {
+                if (compressed) {
+                    return NOT_IPV6;
+                }
+                compressed = true;
+                i++;
+            }
+        }
+
+        int groups = headGroups + tailGroups;
+        if (compressed ? groups > 7 : groups != 8) {
+            return NOT_IPV6;
+        }
+
+        // ::ffff:a.b.c.d is an IPv4 client and shares the IPv4 key
+        if (compressed && headGroups == 0 && tailPacked == 1 && tail == 0xFFFF && embeddedIpv4 >= 0) {
+            return embeddedIpv4;
+        }
+
+        long prefix = headGroups >= 4 ? head : head << (16 * (4 - headGroups));
+        if (compressed && tailGroups > 4) {
+            // The first (tailGroups - 4) tail groups spill into the prefix
+            prefix |= tail >>> (16 * (tailPacked - (tailGroups - 4)));
+        }
+        return prefix;
+    }
+
+    private static long hash(String s) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < s.length(); i++) {
+            h = (h ^ s.charAt(i)) * 0x100000001B3L;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,29 @@
+package com.pii.validation.service;
+
+/**
+ * Per-client token bucket used by RateLimitFilter. Implementations are selected with
+ * {@code rate.limit.backend}.
+ */
+public interface ClientRateLimiter {
+
+    RateLimitProbe tryConsume(String clientKey, long tokens);
+
+    int getLimit();
+
+    /**
+     * Number of clients currently tracked.
+     */
+    long size();
+
+    /**
+     * Number of client buckets dropped or reassigned to make room for others since startup.
+     */
+    long evictionCount();
+
+    /**
+     * A separate set of buckets of {@code requestsPerMinute} on the same backend, such as the bulk
+     * lane's budget. {@code name} keeps its clients apart from this limiter's where the backend's
+     * state is shared between nodes.
+     */
+    ClientRateLimiter withLimit(String name, int requestsPerMinute);
+}
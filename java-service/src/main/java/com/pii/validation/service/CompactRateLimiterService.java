@@ -0,0 +1,242 @@
+package com.pii.validation.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Rate limiter for very high client cardinality. Buckets live in a fixed open-addressing table of
+ * primitive longs (16 bytes per client: key + packed state) updated with CAS, so there is no
+ * per-client object, no lock and no size-triggered eviction of active clients.
+ *
+ * <p>Clients are keyed with {@link ClientKeys}. The state long packs the start of the client's
+ * current refill window (milliseconds) above {@value #TOKEN_BITS} bits of remaining tokens. A
+ * slot whose window is older than one refill period holds a full bucket by definition, so it can
+ * be handed to another client without losing anything: that is the only form of eviction.
+ * Semantics match the Bucket4j backend: {@code requestsPerMinute} tokens, refilled all at once
+ * every minute from the moment the bucket was created.
+ */
+@Service
+@ConditionalOnProperty(name = "rate.limit.backend", havingValue = "compact")
+public class CompactRateLimiterService implements RestorableRateLimiter {
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long EMPTY = 0;
+    private static final int MAX_PROBES = 32;
+
+    private final int requestsPerMinute;
+    private final long periodMillis;
+    private final LongSupplier nanoClock;
+    private final long originNanos;
+    private final int mask;
+    // Interleaved [key, state] pairs so a lookup touches one cache line
+    private final AtomicLongArray table;
+    private final AtomicLong occupied = new AtomicLong();
+    private final AtomicLong reclaimed = new AtomicLong();
+    private final AtomicLong overflowed = new AtomicLong();
+
+    @Autowired
+    public CompactRateLimiterService(@Value("${rate.limit.requests-per-minute:100}") int requestsPerMinute,
+                                     @Value("${rate.limit.compact.capacity:1048576}") int capacity) {
+        this(requestsPerMinute, capacity, TimeUnit.MINUTES.toMillis(1), System::nanoTime);
+    }
+
+    CompactRateLimiterService(int requestsPerMinute, int capacity, long periodMillis, LongSupplier nanoClock) {
+        if (requestsPerMinute <= 0 || requestsPerMinute > TOKEN_MASK) {
+            throw new IllegalArgumentException("rate.limit.requests-per-minute must be between 1 and " + TOKEN_MASK);
+        }
+        if (capacity <= 0 || capacity > (1 << 29)) {
+            throw new IllegalArgumentException("rate.limit.compact.capacity must be between 1 and " + (1 << 29));
+        }
+
+        int slots = Integer.highestOneBit(capacity);
+        if (slots < capacity) {
+            slots <<= 1;
+        }
+
+        this.requestsPerMinute = requestsPerMinute;
+        this.periodMillis = periodMillis;
+        this.nanoClock = nanoClock;
+        this.originNanos = nanoClock.getAsLong();
+        this.mask = slots - 1;
+        this.table = new AtomicLongArray(slots * 2);
+    }
+
+    @Override
+    public RateLimitProbe tryConsume(String clientKey, long tokens) {
+        return tryConsume(ClientKeys.of(clientKey), tokens);
+    }
+
+    public RateLimitProbe tryConsume(long clientKey, long tokens) {
+        long now = nowMillis();
+        int slot = locate(storedKey(clientKey), now);
+        boolean fresh = slot < 0;
+        int stateIndex = (fresh ? ~slot : slot) * 2 + 1;
+
+        while (true) {
+            long state = table.get(stateIndex);
+            long windowStart = state >>> TOKEN_BITS;
+            long available = state & TOKEN_MASK;
+
+            if (fresh) {
+                windowStart = now;
+                available = requestsPerMinute;
+            } else if (now - windowStart >= periodMillis) {
+                windowStart = now - (now - windowStart) % periodMillis;
+                available = requestsPerMinute;
+            }
+
+            if (available < tokens) {
+                return new RateLimitProbe(false, available, TimeUnit.MILLISECONDS.toNanos(windowStart + periodMillis - now));
+            }
+
+            long remaining = available - tokens;
+            if (table.compareAndSet(stateIndex, state, (windowStart << TOKEN_BITS) | remaining)) {
+                return new RateLimitProbe(true, remaining, 0);
+            }
+            fresh = false;
+        }
+    }
+
+    @Override
+    public void forEachBucket(long nowEpochMillis, BucketVisitor visitor) {
+        long now = nowMillis();
+        for (int slot = 0; slot <= mask; slot++) {
+            long key = table.get(slot * 2);
+            if (key == EMPTY) {
+                continue;
+            }
+            long state = table.get(slot * 2 + 1);
+            long windowStart = state >>> TOKEN_BITS;
+            long tokens = state & TOKEN_MASK;
+            if (now - windowStart < periodMillis && tokens < requestsPerMinute) {
+                visitor.visit(ClientKeys.toAddress(key - 1), tokens, nowEpochMillis + windowStart + periodMillis - now);
+            }
+        }
+    }
+
+    @Override
+    public void restoreBucket(String clientKey, long tokens, long nextRefillEpochMillis, long nowEpochMillis) {
+        long untilRefill = nextRefillEpochMillis - nowEpochMillis;
+        if (untilRefill <= 0) {
+            return;
+        }
+        long now = nowMillis();
+        // The window started one period before the saved refill; nowMillis() is at least one period,
+        // so this stays positive
+        long windowStart = now - periodMillis + Math.min(untilRefill, periodMillis);
+        long remaining = Math.max(0, Math.min(tokens, requestsPerMinute));
+        int slot = locate(storedKey(ClientKeys.of(clientKey)), now);
+        table.set((slot < 0 ? ~slot : slot) * 2 + 1, (windowStart << TOKEN_BITS) | remaining);
+    }
+
+    @Override
+    public int getLimit() {
+        return requestsPerMinute;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    @Override
+    public long size() {
+        return occupied.get();
+    }
+
+    @Override
+    public long evictionCount() {
+        return reclaimed.get();
+    }
+
+    public long overflowCount() {
+        return overflowed.get();
+    }
+
+    @Override
+    public CompactRateLimiterService withLimit(String name, int requestsPerMinute) {
+        return new CompactRateLimiterService(requestsPerMinute, capacity(), periodMillis, nanoClock);
+    }
+
+    /**
+     * Returns the slot holding {@code key}, or its complement when the slot was just claimed
+     * (empty or reclaimed) and its state must be treated as a new bucket.
+     */
+    private int locate(long key, long now) {
+        int home = (int) mix(key) & mask;
+        int reclaimable = -1;
+
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int slot = (home + probe) & mask;
+            int keyIndex = slot * 2;
+            long current = table.get(keyIndex);
+
+            if (current == key) {
+                return slot;
+            }
+
+            if (current == EMPTY) {
+                if (table.compareAndSet(keyIndex, EMPTY, key)) {
+                    occupied.incrementAndGet();
+                    return ~slot;
+                }
+                if (table.get(keyIndex) == key) {
+                    return slot;
+                }
+                continue;
+            }
+
+            if (reclaimable < 0 && isIdle(table.get(keyIndex + 1), now)) {
+                reclaimable = slot;
+            }
+        }
+
+        if (reclaimable >= 0) {
+            int keyIndex = reclaimable * 2;
+            long current = table.get(keyIndex);
+            if (current == key) {
+                return reclaimable;
+            }
+            if (isIdle(table.get(keyIndex + 1), now) && table.compareAndSet(keyIndex, current, key)) {
+                reclaimed.incrementAndGet();
+                return ~reclaimable;
+            }
+        }
+
+        // Probe sequence saturated with active clients: share the home slot's bucket rather than
+        // letting the client through unmetered
+        overflowed.incrementAndGet();
+        return home;
+    }
+
+    private boolean isIdle(long state, long now) {
+        return now - (state >>> TOKEN_BITS) >= periodMillis;
+    }
+
+    private long nowMillis() {
+        // Offset by one period so a zeroed state always reads as an idle, full bucket
+        return TimeUnit.NANOSECONDS.toMillis(nanoClock.getAsLong() - originNanos) + periodMillis;
+    }
+
+    private static long storedKey(long clientKey) {
+        // 0 marks an empty slot; the only key that would map to it (all-ones) shares key 0's slot
+        long stored = clientKey + 1;
+        return stored == EMPTY ? 1 : stored;
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        key *= 0xC4CEB9FE1A85EC53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
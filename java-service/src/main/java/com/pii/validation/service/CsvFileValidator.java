@@ -0,0 +1,415 @@
+package com.pii.validation.service;
+
+import com.pii.validation.audit.ValidationEventListener;
+import com.pii.validation.core.SsnErrorCode;
+import com.pii.validation.core.SsnRuleSet;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Validates one column of a CSV file in parallel. The file is split into chunks that end on a line
+ * boundary; each chunk is memory-mapped on its own and validated by a fork-join worker, which
+ * writes its results to a part file. The parts are then concatenated in order. Heap use depends on
+ * the number of workers, not on the file size: a worker holds one mapped chunk (page cache, not
+ * heap) and one output buffer.
+ *
+ * <p>Results have one line per non-empty input row, {@code line,valid,errors}, where {@code line}
+ * is the 1-based line number in the input and {@code errors} lists {@link SsnErrorCode} names
+ * separated by {@code ;}. The SSNs themselves are not copied to the results; each row is passed to
+ * the {@link ValidationEventListener} instead, which is the only place it is audited.
+ */
+final class CsvFileValidator {
+
+    static final String RESULTS_HEADER = "line,valid,errors\n";
+
+    static final long MAX_CHUNK_SIZE = 1L << 30;
+
+    private static final int OUTPUT_BUFFER = 64 * 1024;
+    private static final int SCAN_BUFFER = 8 * 1024;
+    // Progress is published every this many rows, so readers see it move without contention
+    private static final int PROGRESS_ROWS = 4096;
+
+    // ",true,\n" / ",false,AREA_000;GROUP_00\n" for every possible error mask
+    private static final byte[][] OUTCOMES = buildOutcomes();
+
+    private final SsnValidationService validationService;
+    private final ValidationEventListener validationEvents;
+    private final ForkJoinPool pool;
+    private final long chunkSize;
+
+    CsvFileValidator(SsnValidationService validationService, ValidationEventListener validationEvents,
+                     ForkJoinPool pool, long chunkSize) {
+        // A chunk runs up to one line past chunkSize and must stay mappable as a single buffer
+        if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("chunk size must be between 1 and " + MAX_CHUNK_SIZE + " bytes");
+        }
+        this.validationService = validationService;
+        this.validationEvents = validationEvents;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Validates {@code job}'s input against {@code rules} and writes the results to {@code output}.
+     *
+     * @throws CancellationException if the job was cancelled while running
+     */
+    void validate(ValidationJob job, SsnRuleSet rules, Path output) throws IOException {
+        Path directory = output.toAbsolutePath().getParent();
+        List<Path> parts = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(job.input(), StandardOpenOption.READ)) {
+            long[] starts = chunkStarts(channel);
+            int chunks = starts.length - 1;
+
+            // Each chunk needs the line number it starts at before it can write results, so lines
+            // are counted first; that pass is a plain byte scan of pages the second pass reuses
+            long[] lines = new long[chunks];
+            invoke(chunks, chunk -> lines[chunk] = countLines(map(channel, starts, chunk)));
+            long[] firstLines = new long[chunks];
+            long line = 1;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                firstLines[chunk] = line;
+                line += lines[chunk];
+            }
+
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                parts.add(Files.createTempFile(directory, job.id() + "-", ".part"));
+            }
+            invoke(chunks, chunk -> validateChunk(job, rules, map(channel, starts, chunk), firstLines[chunk],
+                    parts.get(chunk)));
+
+            Path merged = Files.createTempFile(directory, job.id() + "-", ".tmp");
+            parts.add(merged);
+            merge(parts.subList(0, chunks), merged);
+            Files.move(merged, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            for (Path part : parts) {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    /**
+     * Chunk boundaries: roughly every {@code chunkSize} bytes, moved forward to the start of the
+     * next line. The last element is the file size.
+     */
+    private long[] chunkStarts(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> starts = new ArrayList<>();
+        starts.add(0L);
+
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_BUFFER);
+        long start = 0;
+        while (size - start > chunkSize) {
+            long next = nextLineStart(channel, start + chunkSize, scan);
+            if (next < 0) {
+                throw new IOException("Line at byte " + start + " or later is longer than the chunk size ("
+                        + chunkSize + " bytes)");
+            }
+            if (next >= size) {
+                break;
+            }
+            starts.add(next);
+            start = next;
+        }
+
+        starts.add(size);
+        return starts.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // Returns the offset after the first newline at or after from - 1, or -1 if none follows
+    // within chunkSize bytes
+    private long nextLineStart(FileChannel channel, long from, ByteBuffer scan) throws IOException {
+        long position = from - 1;
+        long limit = from + chunkSize;
+        while (position < limit) {
+            scan.clear();
+            int read = channel.read(scan, position);
+            if (read < 0) {
+                return channel.size();
+            }
+            int end = (int) Math.min(read, limit - position);
+            for (int i = 0; i < end; i++) {
+                if (scan.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return -1;
+    }
+
+    private void invoke(int chunks, ChunkAction action) {
+        pool.invoke(new ChunkRange(0, chunks, action));
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long[] starts, int chunk) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, starts[chunk], starts[chunk + 1] - starts[chunk]);
+    }
+
+    private static long countLines(ByteBuffer chunk) {
+        int length = chunk.limit();
+        long lines = 0;
+        for (int i = 0; i < length; i++) {
+            if (chunk.get(i) == '\n') {
+                lines++;
+            }
+        }
+        // A last line without a trailing newline still counts
+        if (length > 0 && chunk.get(length - 1) != '\n') {
+            lines++;
+        }
+        return lines;
+    }
+
+    private void validateChunk(ValidationJob job, SsnRuleSet rules, ByteBuffer chunk, long firstLine, Path part)
+            throws IOException {
+        int length = chunk.limit();
+        int column = job.column();
+        boolean skipHeader = job.header() && firstLine == 1;
+        AsciiView field = new AsciiView(chunk);
+        byte[] digits = new byte[20];
+
+        long rows = 0;
+        long invalid = 0;
+        int reported = 0;
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part), OUTPUT_BUFFER)) {
+            long line = firstLine;
+            int position = 0;
+            while (position < length) {
+                int end = position;
+                while (end < length && chunk.get(end) != '\n') {
+                    end++;
+                }
+                int lineEnd = end > position && chunk.get(end - 1) == '\r' ? end - 1 : end;
+
+                if (lineEnd > position && !(skipHeader && line == 1)) {
+                    selectField(chunk, position, lineEnd, column, field);
+                    CharSequence ssn = job.normalize() ? field.decoded() : field;
+                    int errors = validationService.check(ssn, rules, job.normalize());
+                    // Only an audited row is copied into a String
+                    if (validationEvents != ValidationEventListener.NONE) {
+                        validationEvents.onValidation(ValidationEventListener.Source.JOB, job.client(),
+                                ssn.toString(), errors);
+                    }
+                    writeLong(out, line, digits);
+                    out.write(OUTCOMES[errors]);
+                    rows++;
+                    if (errors != 0) {
+                        invalid++;
+                    }
+                    if (rows % PROGRESS_ROWS == 0) {
+                        if (job.isCancelled()) {
+                            throw new CancellationException();
+                        }
+                        job.progressed(end - reported, PROGRESS_ROWS, invalid);
+                        reported = end;
+                        invalid = 0;
+                    }
+                }
+
+                line++;
+                position = end + 1;
+            }
+        }
+
+        job.progressed(length - reported, rows % PROGRESS_ROWS, invalid);
+    }
+
+    /**
+     * Points {@code field} at column {@code column} of {@code [from, to)}, without surrounding
+     * spaces or quotes. Commas inside quotes don't separate fields. A missing column is empty.
+     */
+    private static void selectField(ByteBuffer chunk, int from, int to, int column, AsciiView field) {
+        int start = from;
+        int current = 0;
+        boolean quoted = false;
+        int i = from;
+        for (; i < to; i++) {
+            byte b = chunk.get(i);
+            if (b == '"') {
+                quoted = !quoted;
+            } else if (b == ',' && !quoted) {
+                if (current == column) {
+                    break;
+                }
+                current++;
+                start = i + 1;
+            }
+        }
+        if (current != column) {
+            field.set(from, from);
+            return;
+        }
+
+        int end = i;
+        // Bytes of UTF-8 sequences are negative, and are never spaces
+        while (start < end && (chunk.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (chunk.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        if (end - start >= 2 && chunk.get(start) == '"' && chunk.get(end - 1) == '"') {
+            start++;
+            end--;
+        }
+        field.set(start, end);
+    }
+
+    private static void merge(List<Path> parts, Path merged) throws IOException {
+        try (FileChannel out = FileChannel.open(merged, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.write(ByteBuffer.wrap(RESULTS_HEADER.getBytes(StandardCharsets.US_ASCII)));
+            for (Path part : parts) {
+                try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+                    long size = in.size();
+                    long position = 0;
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeLong(OutputStream out, long value, byte[] scratch) throws IOException {
+        int i = scratch.length;
+        do {
+            scratch[--i] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        out.write(scratch, i, scratch.length - i);
+    }
+
+    private static byte[][] buildOutcomes() {
+        SsnErrorCode[] codes = SsnErrorCode.values();
+        int highestCode = 0;
+        for (SsnErrorCode code : codes) {
+            highestCode = Math.max(highestCode, code.code());
+        }
+
+        byte[][] outcomes = new byte[1 << (highestCode + 1)][];
+        for (int mask = 0; mask < outcomes.length; mask++) {
+            StringBuilder text = new StringBuilder(mask == 0 ? ",true," : ",false,");
+            String separator = "";
+            for (SsnErrorCode code : codes) {
+                if (code.isSet(mask)) {
+                    text.append(separator).append(code.name());
+                    separator = ";";
+                }
+            }
+            outcomes[mask] = text.append('\n').toString().getBytes(StandardCharsets.US_ASCII);
+        }
+        return outcomes;
+    }
+
+    @FunctionalInterface
+    private interface ChunkAction {
+        void run(int chunk) throws IOException;
+    }
+
+    // Splits a range of chunks in halves until one is left, the usual fork-join decomposition
+    private static final class ChunkRange extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final ChunkAction action;
+
+        private ChunkRange(int from, int to, ChunkAction action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ChunkRange(from, middle, action), new ChunkRange(middle, to, action));
+                return;
+            }
+            if (to > from) {
+                try {
+                    action.run(from);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    // A reusable CharSequence over a byte range of a mapped chunk, so rows are validated without
+    // decoding them into Strings. Only normalized jobs, whose SSNs may have full-width digits or
+    // Unicode spaces, decode the rare fields that aren't ASCII
+    private static final class AsciiView implements CharSequence {
+
+        private final ByteBuffer buffer;
+        private int start;
+        private int length;
+
+        private AsciiView(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private void set(int start, int end) {
+            this.start = start;
+            this.length = end - start;
+        }
+
+        /**
+         * This field, or its UTF-8 decoding if it has any non-ASCII byte.
+         */
+        private CharSequence decoded() {
+            for (int i = start; i < start + length; i++) {
+                if (buffer.get(i) < 0) {
+                    byte[] bytes = new byte[length];
+                    buffer.get(start, bytes);
+                    return new String(bytes, StandardCharsets.UTF_8);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(start + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return toString().subSequence(from, to);
+        }
+
+        @Override
+        public String toString() {
+            byte[] bytes = new byte[length];
+            buffer.get(start, bytes);
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
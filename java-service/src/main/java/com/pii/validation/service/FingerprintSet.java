@@ -0,0 +1,123 @@
+package com.pii.validation.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongConsumer;
+
+/**
+ * Set of non-zero 64-bit fingerprints in an open-addressing table of primitive longs (linear
+ * probing, 8 bytes per slot, at most 3/4 full). The fingerprints are uniformly distributed hash
+ * values, so their low bits pick the home slot directly.
+ *
+ * <p>Lookups are lock-free and may run concurrently with an insert. Inserts must be serialized by
+ * the caller. A resize builds the larger table on the side and then publishes it, so a concurrent
+ * lookup sees either the old table or the new one, never a partial copy.
+ */
+final class FingerprintSet {
+
+    static final int MAX_CAPACITY = 1 << 30;
+
+    private static final int MIN_CAPACITY = 1 << 10;
+    private static final long EMPTY = 0;
+
+    private volatile AtomicLongArray table;
+    private volatile long size;
+
+    FingerprintSet(long expectedSize) {
+        this.table = new AtomicLongArray(capacityFor(expectedSize));
+    }
+
+    boolean contains(long fingerprint) {
+        long key = key(fingerprint);
+        AtomicLongArray slots = table;
+        int mask = slots.length() - 1;
+        for (int slot = (int) key & mask; ; slot = (slot + 1) & mask) {
+            long current = slots.getAcquire(slot);
+            if (current == key) {
+                return true;
+            }
+            if (current == EMPTY) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Adds {@code fingerprint}; callers must not call this concurrently.
+     *
+     * @return {@code false} if it was already present
+     */
+    boolean add(long fingerprint) {
+        if ((size + 1) * 4 > (long) table.length() * 3) {
+            grow();
+        }
+        if (!insert(table, key(fingerprint))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    long size() {
+        return size;
+    }
+
+    int capacity() {
+        return table.length();
+    }
+
+    /**
+     * Passes every fingerprint to {@code consumer}. Fingerprints added while this runs may or may
+     * not be included.
+     */
+    void forEach(LongConsumer consumer) {
+        AtomicLongArray slots = table;
+        for (int slot = 0; slot < slots.length(); slot++) {
+            long current = slots.getAcquire(slot);
+            if (current != EMPTY) {
+                consumer.accept(current);
+            }
+        }
+    }
+
+    private void grow() {
+        AtomicLongArray current = table;
+        if (current.length() == MAX_CAPACITY) {
+            throw new IllegalStateException("SSN index is full (" + size + " entries)");
+        }
+        AtomicLongArray larger = new AtomicLongArray(current.length() * 2);
+        for (int slot = 0; slot < current.length(); slot++) {
+            long key = current.getPlain(slot);
+            if (key != EMPTY) {
+                insert(larger, key);
+            }
+        }
+        table = larger;
+    }
+
+    private static boolean insert(AtomicLongArray slots, long key) {
+        int mask = slots.length() - 1;
+        for (int slot = (int) key & mask; ; slot = (slot + 1) & mask) {
+            long current = slots.getPlain(slot);
+            if (current == key) {
+                return false;
+            }
+            if (current == EMPTY) {
+                slots.setRelease(slot, key);
+                return true;
+            }
+        }
+    }
+
+    // 0 marks an empty slot; the one fingerprint that is 0 shares the key of fingerprint 1
+    private static long key(long fingerprint) {
+        return fingerprint == EMPTY ? 1 : fingerprint;
+    }
+
+    private static int capacityFor(long expectedSize) {
+        long needed = Math.max(MIN_CAPACITY, expectedSize * 4 / 3 + 1);
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("SSN index can hold at most " + MAX_CAPACITY / 4 * 3 + " entries");
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+}
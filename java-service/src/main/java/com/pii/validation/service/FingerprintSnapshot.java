@@ -0,0 +1,149 @@
+package com.pii.validation.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Snapshot file of a {@link FingerprintSet}. The file has a 64-byte header followed by the
+ * fingerprints as big-endian longs, in table order:
+ *
+ * <pre>
+ *   0  magic "SSNSEEN1"
+ *   8  int format version (1)
+ *  16  8-byte HMAC key id
+ *  24  long fingerprint count
+ *  32  long CRC32C of the fingerprint bytes
+ *  40  reserved
+ * </pre>
+ *
+ * A snapshot is written to a temporary file and renamed over the old one, so a crash mid-write
+ * leaves the previous snapshot in place.
+ */
+final class FingerprintSnapshot {
+
+    static final int HEADER_SIZE = 64;
+
+    private static final byte[] MAGIC = "SSNSEEN1".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+    private static final int VERSION_OFFSET = 8;
+    private static final int KEY_ID_OFFSET = 16;
+    private static final int COUNT_OFFSET = 24;
+    private static final int CRC_OFFSET = 32;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private FingerprintSnapshot() {
+    }
+
+    /**
+     * Writes every fingerprint in {@code set} to {@code file}.
+     *
+     * @return the number of fingerprints written
+     */
+    static long write(FingerprintSet set, byte[] keyId, Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        CRC32C crc = new CRC32C();
+        long[] count = new long[1];
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_SIZE);
+            try {
+                set.forEach(fingerprint -> {
+                    buffer.putLong(fingerprint);
+                    count[0]++;
+                    if (!buffer.hasRemaining()) {
+                        flush(channel, buffer, crc);
+                    }
+                });
+                flush(channel, buffer, crc);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.put(MAGIC);
+            header.putInt(VERSION_OFFSET, VERSION);
+            header.put(KEY_ID_OFFSET, keyId);
+            header.putLong(COUNT_OFFSET, count[0]);
+            header.putLong(CRC_OFFSET, crc.getValue());
+            header.clear();
+            channel.write(header, 0);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count[0];
+    }
+
+    /**
+     * Reads a snapshot written with the key identified by {@code keyId}.
+     *
+     * @throws IOException if the file is not a snapshot, is damaged, or was written with another key
+     */
+    static FingerprintSet read(Path file, byte[] keyId) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if (channel.size() < HEADER_SIZE || channel.read(header, 0) < HEADER_SIZE) {
+                throw new IOException(file + " is not an SSN index snapshot");
+            }
+            byte[] magic = new byte[MAGIC.length];
+            header.get(0, magic);
+            if (!Arrays.equals(magic, MAGIC) || header.getInt(VERSION_OFFSET) != VERSION) {
+                throw new IOException(file + " is not an SSN index snapshot (version " + VERSION + ")");
+            }
+            byte[] storedKeyId = new byte[keyId.length];
+            header.get(KEY_ID_OFFSET, storedKeyId);
+            if (!Arrays.equals(storedKeyId, keyId)) {
+                throw new IOException(file + " was written with a different ssn.index.hmac-key");
+            }
+            long count = header.getLong(COUNT_OFFSET);
+            if (count < 0 || count > FingerprintSet.MAX_CAPACITY || channel.size() != HEADER_SIZE + count * Long.BYTES) {
+                throw new IOException(file + " is truncated or damaged");
+            }
+
+            FingerprintSet set = new FingerprintSet(count);
+            CRC32C crc = new CRC32C();
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            channel.position(HEADER_SIZE);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                // Only whole fingerprints; a partial one stays in the buffer for the next read
+                int whole = buffer.remaining() & -Long.BYTES;
+                crc.update(buffer.slice(buffer.position(), whole));
+                for (int i = 0; i < whole; i += Long.BYTES) {
+                    set.add(buffer.getLong());
+                }
+                buffer.compact();
+            }
+            if (crc.getValue() != header.getLong(CRC_OFFSET)) {
+                throw new IOException(file + " is damaged (checksum mismatch)");
+            }
+            return set;
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer, CRC32C crc) {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+}
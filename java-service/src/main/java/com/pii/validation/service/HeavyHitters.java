@@ -0,0 +1,139 @@
+package com.pii.validation.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Space-Saving summary of the most frequent client keys in a stream, in a fixed number of counters.
+ * A key that isn't tracked replaces the one with the lowest count and inherits that count as its
+ * error, so a tracked count is never below the true one and at most {@code error} above it.
+ *
+ * <p>The counters are split into stripes by thread, each with its own lock, so updates from
+ * different threads rarely meet on one lock even when they are all for the same key. A stripe is
+ * small enough that a linear scan finds the key or the entry to evict. A key can be tracked by
+ * several stripes, and {@link #forEach} merges them: a full stripe that doesn't track the key may
+ * have seen it up to its lowest count times, which is added to both its count and its error. Any
+ * key seen more than {@code total * stripes / capacity} times is tracked by at least one stripe.
+ */
+final class HeavyHitters {
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long key, long count, long error);
+    }
+
+    private static final int MAX_STRIPES = 8;
+    // Entries per stripe below which striping costs more accuracy than the locks are worth
+    private static final int MIN_STRIPE_SIZE = 8;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+
+    HeavyHitters(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        int count = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, capacity / MIN_STRIPE_SIZE)));
+        this.stripes = new Stripe[count];
+        this.stripeShift = 64 - Integer.numberOfTrailingZeros(count);
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(capacity / count + (i < capacity % count ? 1 : 0));
+        }
+    }
+
+    void add(long key) {
+        stripes[stripe(Thread.currentThread().getId())].add(key);
+    }
+
+    void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    /**
+     * Passes every tracked key with its count and error, merged across stripes, to
+     * {@code consumer}, in no particular order.
+     */
+    void forEach(EntryConsumer consumer) {
+        // Per key {count, error} over the stripes tracking it, less those stripes' floors, so that
+        // adding every stripe's floor at the end charges each key the floors of the others
+        Map<Long, long[]> merged = new HashMap<>();
+        long floors = 0;
+        for (Stripe stripe : stripes) {
+            floors += stripe.mergeInto(merged);
+        }
+        for (Map.Entry<Long, long[]> entry : merged.entrySet()) {
+            long[] value = entry.getValue();
+            consumer.accept(entry.getKey(), value[0] + floors, value[1] + floors);
+        }
+    }
+
+    private int stripe(long threadId) {
+        // Fibonacci hashing; thread ids are sequential. A shift of 64 keeps the id unchanged, so a
+        // single stripe needs the explicit check
+        return stripes.length == 1 ? 0 : (int) ((threadId * 0x9E3779B97F4A7C15L) >>> stripeShift);
+    }
+
+    private static final class Stripe {
+
+        private final long[] keys;
+        private final long[] counts;
+        private final long[] errors;
+        private int size;
+
+        Stripe(int capacity) {
+            this.keys = new long[capacity];
+            this.counts = new long[capacity];
+            this.errors = new long[capacity];
+        }
+
+        // Held for a scan of a few counters; a virtual thread waiting for it isn't pinned for long
+        synchronized void add(long key) {
+            int min = 0;
+            for (int i = 0; i < size; i++) {
+                if (keys[i] == key) {
+                    counts[i]++;
+                    return;
+                }
+                if (counts[i] < counts[min]) {
+                    min = i;
+                }
+            }
+            if (size < keys.length) {
+                keys[size] = key;
+                counts[size] = 1;
+                errors[size] = 0;
+                size++;
+                return;
+            }
+            keys[min] = key;
+            errors[min] = counts[min];
+            counts[min]++;
+        }
+
+        synchronized void clear() {
+            size = 0;
+        }
+
+        /**
+         * Adds this stripe's entries, less its floor, to {@code merged} and returns the floor: the
+         * most times it can have seen a key it doesn't track, which is its lowest count once full.
+         */
+        synchronized long mergeInto(Map<Long, long[]> merged) {
+            long floor = 0;
+            if (size == keys.length) {
+                floor = Long.MAX_VALUE;
+                for (int i = 0; i < size; i++) {
+                    floor = Math.min(floor, counts[i]);
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                long[] entry = merged.computeIfAbsent(keys[i], k -> new long[2]);
+                entry[0] += counts[i] - floor;
+                entry[1] += errors[i] - floor;
+            }
+            return floor;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.pii.validation.service;
+
+import com.pii.validation.core.IdentifierType;
+import com.pii.validation.core.IdentifierValidator;
+import com.pii.validation.dto.IdentifierValidationResponse;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Validates every {@link IdentifierType} bean in the context (ITIN and EIN built in) with a
+ * validator compiled from it at startup. Looking up a type is one hash map read, so the number of
+ * registered types doesn't affect the cost of validating any of them. SSNs keep their own endpoint
+ * and {@link SsnValidationService}.
+ */
+@Service
+public class IdentifierValidationService {
+
+    private static final Pattern NAME = Pattern.compile("[a-z][a-z0-9-]*");
+
+    private final Map<String, IdentifierValidator> validators;
+
+    public IdentifierValidationService(List<IdentifierType> types) {
+        Map<String, IdentifierValidator> compiled = new HashMap<>();
+        for (IdentifierType type : types) {
+            if (!NAME.matcher(type.name()).matches()) {
+                throw new IllegalArgumentException("Identifier type name '" + type.name()
+                        + "' must be lower-case letters, digits and dashes");
+            }
+            if (type.name().equals("ssn")) {
+                throw new IllegalArgumentException("Identifier type name 'ssn' is taken by /api/v1/ssn");
+            }
+            if (compiled.put(type.name(), IdentifierValidator.compile(type)) != null) {
+                throw new IllegalArgumentException("Identifier type '" + type.name() + "' is registered twice");
+            }
+        }
+        this.validators = Map.copyOf(compiled);
+    }
+
+    /**
+     * Validates {@code value} as an identifier of type {@code type}, or returns empty if no such type
+     * is registered.
+     */
+    public Optional<IdentifierValidationResponse> validate(String type, String value) {
+        IdentifierValidator validator = validators.get(type);
+        if (validator == null) {
+            return Optional.empty();
+        }
+        int errors = IdentifierValidator.errors(validator.check(value));
+        String trimmed = value == null || value.isBlank() ? value : value.trim();
+        return Optional.of(new IdentifierValidationResponse(type, errors == 0, trimmed, validator.messages(errors)));
+    }
+
+    /**
+     * The compiled validator for {@code type}, or {@code null}.
+     */
+    public IdentifierValidator validator(String type) {
+        return validators.get(type);
+    }
+
+    public List<String> types() {
+        return validators.keySet().stream().sorted().toList();
+    }
+}
@@ -0,0 +1,81 @@
+package com.pii.validation.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Coordinator that keeps the per-client windows in the local JVM, each holding the limit its lease
+ * requests carry. It enforces one budget per key for every {@link LeasedRateLimiterService} sharing
+ * the instance, which makes it the stand-in for a networked coordinator in tests and single-node
+ * setups.
+ */
+@Service
+@ConditionalOnExpression("'${rate.limit.backend:caffeine}' == 'leased' and '${rate.limit.lease.coordinator:in-process}' == 'in-process'")
+public class InProcessTokenLeaseCoordinator implements TokenLeaseCoordinator {
+
+    private final long periodNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<String, Window> windows;
+    private final AtomicLong calls = new AtomicLong();
+
+    public InProcessTokenLeaseCoordinator() {
+        this(TimeUnit.MINUTES.toNanos(1), System::nanoTime);
+    }
+
+    InProcessTokenLeaseCoordinator(long periodNanos, LongSupplier nanoClock) {
+        this.periodNanos = periodNanos;
+        this.nanoClock = nanoClock;
+        this.windows = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(15))
+                .build();
+    }
+
+    @Override
+    public List<TokenLease> acquire(List<LeaseRequest> requests) {
+        calls.incrementAndGet();
+        long now = nanoClock.getAsLong();
+        List<TokenLease> leases = new ArrayList<>(requests.size());
+
+        for (LeaseRequest request : requests) {
+            Window window = windows.get(request.clientKey(), k -> new Window(now, request.requestsPerMinute()));
+            leases.add(window.take(request.tokens(), request.requestsPerMinute(), now));
+        }
+
+        return leases;
+    }
+
+    public long callCount() {
+        return calls.get();
+    }
+
+    private final class Window {
+
+        private long start;
+        private long remaining;
+
+        private Window(long now, int requestsPerMinute) {
+            this.start = now;
+            this.remaining = requestsPerMinute;
+        }
+
+        // Held only for a few arithmetic operations, never across I/O
+        private synchronized TokenLease take(long tokens, int requestsPerMinute, long now) {
+            if (now - start >= periodNanos) {
+                start = now - (now - start) % periodNanos;
+                remaining = requestsPerMinute;
+            }
+            long granted = Math.min(tokens, remaining);
+            remaining -= granted;
+            return new TokenLease(granted, start + periodNanos - now);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.pii.validation.service;
+
+import com.pii.validation.core.SsnErrorCode;
+
+import java.util.List;
+
+/**
+ * Thrown when an operation needs a valid (or at least well-formed) SSN and gets something else.
+ * Carries the {@link SsnErrorCode} mask so callers can report the same messages as validation.
+ */
+public class InvalidSsnException extends IllegalArgumentException {
+
+    private final int errors;
+
+    public InvalidSsnException(int errors) {
+        super(String.join("; ", SsnErrorCode.messages(errors)));
+        this.errors = errors;
+    }
+
+    public int errors() {
+        return errors;
+    }
+
+    public List<String> messages() {
+        return SsnErrorCode.messages(errors);
+    }
+}
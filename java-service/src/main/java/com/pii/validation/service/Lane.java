@@ -0,0 +1,36 @@
+package com.pii.validation.service;
+
+import java.util.Locale;
+
+/**
+ * Priority lanes of {@link LaneGate}. Interactive requests may use all of the capacity; bulk
+ * requests only what interactive ones leave idle.
+ */
+public enum Lane {
+
+    INTERACTIVE,
+    BULK;
+
+    private static final Lane[] VALUES = values();
+
+    private final String tag = name().toLowerCase(Locale.ROOT);
+
+    /**
+     * Lower-case name, as used in the {@code X-Lane} header and metric tags.
+     */
+    public String tag() {
+        return tag;
+    }
+
+    /**
+     * The lane named {@code tag}, ignoring case, or null.
+     */
+    public static Lane fromTag(String tag) {
+        for (Lane lane : VALUES) {
+            if (lane.tag.equalsIgnoreCase(tag)) {
+                return lane;
+            }
+        }
+        return null;
+    }
+}
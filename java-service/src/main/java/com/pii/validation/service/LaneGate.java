@@ -0,0 +1,219 @@
+package com.pii.validation.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admission gate that keeps bulk traffic out of the way of interactive traffic. The two
+ * {@link Lane lanes} share {@code lanes.capacity} request slots:
+ *
+ * <ul>
+ *   <li>Interactive requests may take any free slot.</li>
+ *   <li>Bulk requests may take at most {@code lanes.bulk.max-concurrent} slots, never the last
+ *       {@code lanes.interactive.reserved}, and none while an interactive request is waiting.</li>
+ * </ul>
+ *
+ * A request that finds no slot waits in its lane's queue, bounded by {@code max-queued} and
+ * {@code max-wait-ms}, and is turned away after that. Freed slots go to interactive waiters first.
+ * Each lane also has its own per-client token budget: interactive requests draw on the configured
+ * rate limiter, bulk endpoints on separate buckets of {@code lanes.bulk.requests-per-minute} on the
+ * same backend, so a bulk run can't spend the tokens a client's form submits need.
+ *
+ * <p>Waiting requests hold their server thread, so capacity plus both queue bounds should stay
+ * below {@code server.tomcat.threads.max}.
+ */
+@Service
+@ConditionalOnProperty(name = "lanes.enabled", havingValue = "true")
+public class LaneGate {
+
+    public enum Admission {
+        ADMITTED,
+        QUEUE_FULL,
+        TIMED_OUT
+    }
+
+    private static final int LANES = Lane.values().length;
+    private static final int INTERACTIVE = Lane.INTERACTIVE.ordinal();
+    private static final int BULK = Lane.BULK.ordinal();
+
+    private final int capacity;
+    private final int reserved;
+    private final int bulkMaxConcurrent;
+    private final int[] maxQueued = new int[LANES];
+    private final long[] maxWaitNanos = new long[LANES];
+    private final ClientRateLimiter[] budgets = new ClientRateLimiter[LANES];
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition[] slotFreed = new Condition[LANES];
+    // Only touched under lock
+    private final int[] inflight = new int[LANES];
+    private final int[] waiting = new int[LANES];
+
+    private final LongAdder[] queueFull = new LongAdder[LANES];
+    private final LongAdder[] timedOut = new LongAdder[LANES];
+
+    @Autowired
+    public LaneGate(ClientRateLimiter rateLimiter,
+                    @Value("${lanes.capacity:64}") int capacity,
+                    @Value("${lanes.interactive.reserved:16}") int reserved,
+                    @Value("${lanes.interactive.max-queued:100}") int interactiveMaxQueued,
+                    @Value("${lanes.interactive.max-wait-ms:1000}") long interactiveMaxWaitMillis,
+                    @Value("${lanes.bulk.max-concurrent:16}") int bulkMaxConcurrent,
+                    @Value("${lanes.bulk.max-queued:16}") int bulkMaxQueued,
+                    @Value("${lanes.bulk.max-wait-ms:10000}") long bulkMaxWaitMillis,
+                    @Value("${lanes.bulk.requests-per-minute:6000}") int bulkRequestsPerMinute) {
+        this(rateLimiter, bulkBudget(rateLimiter, bulkRequestsPerMinute), capacity, reserved, interactiveMaxQueued,
+                TimeUnit.MILLISECONDS.toNanos(interactiveMaxWaitMillis), bulkMaxConcurrent, bulkMaxQueued,
+                TimeUnit.MILLISECONDS.toNanos(bulkMaxWaitMillis));
+    }
+
+    LaneGate(ClientRateLimiter interactiveBudget, ClientRateLimiter bulkBudget, int capacity, int reserved,
+             int interactiveMaxQueued, long interactiveMaxWaitNanos, int bulkMaxConcurrent, int bulkMaxQueued,
+             long bulkMaxWaitNanos) {
+        if (capacity <= 0 || reserved < 0 || reserved >= capacity) {
+            throw new IllegalArgumentException("lanes must satisfy 0 <= interactive.reserved < capacity, got capacity="
+                    + capacity + " reserved=" + reserved);
+        }
+        if (bulkMaxConcurrent <= 0) {
+            throw new IllegalArgumentException("lanes.bulk.max-concurrent must be positive");
+        }
+        if (interactiveMaxQueued < 0 || bulkMaxQueued < 0 || interactiveMaxWaitNanos < 0 || bulkMaxWaitNanos < 0) {
+            throw new IllegalArgumentException("lanes max-queued and max-wait-ms must not be negative");
+        }
+
+        this.capacity = capacity;
+        this.reserved = reserved;
+        this.bulkMaxConcurrent = bulkMaxConcurrent;
+        maxQueued[INTERACTIVE] = interactiveMaxQueued;
+        maxQueued[BULK] = bulkMaxQueued;
+        maxWaitNanos[INTERACTIVE] = interactiveMaxWaitNanos;
+        maxWaitNanos[BULK] = bulkMaxWaitNanos;
+        budgets[INTERACTIVE] = interactiveBudget;
+        budgets[BULK] = bulkBudget;
+        for (int lane = 0; lane < LANES; lane++) {
+            slotFreed[lane] = lock.newCondition();
+            queueFull[lane] = new LongAdder();
+            timedOut[lane] = new LongAdder();
+        }
+    }
+
+    /**
+     * Claims a slot in {@code lane}, waiting in its queue if there is none. Every
+     * {@link Admission#ADMITTED} must be paired with {@link #release}.
+     */
+    public Admission acquire(Lane lane) throws InterruptedException {
+        int index = lane.ordinal();
+        lock.lock();
+        try {
+            // Newcomers don't overtake requests already waiting in their lane
+            if (waiting[index] == 0 && admissible(index)) {
+                inflight[index]++;
+                return Admission.ADMITTED;
+            }
+            if (waiting[index] >= maxQueued[index]) {
+                queueFull[index].increment();
+                return Admission.QUEUE_FULL;
+            }
+
+            waiting[index]++;
+            try {
+                long remaining = maxWaitNanos[index];
+                while (!admissible(index)) {
+                    if (remaining <= 0) {
+                        timedOut[index].increment();
+                        return Admission.TIMED_OUT;
+                    }
+                    remaining = slotFreed[index].awaitNanos(remaining);
+                }
+                inflight[index]++;
+                return Admission.ADMITTED;
+            } finally {
+                waiting[index]--;
+                // Pass on a slot this waiter didn't need; the last interactive waiter leaving may also
+                // be what held bulk waiters back
+                signalNext();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(Lane lane) {
+        lock.lock();
+        try {
+            inflight[lane.ordinal()]--;
+            signalNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The per-client token budget requests in {@code lane} are charged to.
+     */
+    public ClientRateLimiter budget(Lane lane) {
+        return budgets[lane.ordinal()];
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getInflight(Lane lane) {
+        lock.lock();
+        try {
+            return inflight[lane.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued(Lane lane) {
+        lock.lock();
+        try {
+            return waiting[lane.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long rejectedCount(Lane lane, Admission reason) {
+        return switch (reason) {
+            case QUEUE_FULL -> queueFull[lane.ordinal()].sum();
+            case TIMED_OUT -> timedOut[lane.ordinal()].sum();
+            case ADMITTED -> 0;
+        };
+    }
+
+    private boolean admissible(int index) {
+        int total = inflight[INTERACTIVE] + inflight[BULK];
+        if (index == INTERACTIVE) {
+            return total < capacity;
+        }
+        return waiting[INTERACTIVE] == 0 && inflight[BULK] < bulkMaxConcurrent && total < capacity - reserved;
+    }
+
+    private void signalNext() {
+        if (waiting[INTERACTIVE] > 0) {
+            if (admissible(INTERACTIVE)) {
+                slotFreed[INTERACTIVE].signal();
+            }
+        } else if (waiting[BULK] > 0 && admissible(BULK)) {
+            slotFreed[BULK].signal();
+        }
+    }
+
+    private static ClientRateLimiter bulkBudget(ClientRateLimiter rateLimiter, int requestsPerMinute) {
+        if (requestsPerMinute <= 0) {
+            throw new IllegalArgumentException("lanes.bulk.requests-per-minute must be positive");
+        }
+        return rateLimiter.withLimit(Lane.BULK.tag(), requestsPerMinute);
+    }
+}
@@ -0,0 +1,97 @@
+package com.pii.validation.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request latencies of the last few seconds, for a percentile over a sliding window. Each second of
+ * a {@link SecondRing} has its own log-linear buckets (four per power of two of microseconds, so a
+ * reported value is at most 25% above the true one) made of striped {@link LongAdder}s, so recording
+ * is one increment. The window slides one second at a time. The ring may lose a request that races
+ * the clear of its second, which a readiness signal can afford.
+ */
+final class LatencyWindow {
+
+    // Four sub-buckets per power of two up to 2^26 µs (67 s); slower requests go into the last bucket
+    private static final int MAX_EXPONENT = 26;
+    static final int BUCKETS = 4 * MAX_EXPONENT;
+
+    private final SecondRing<LongAdder[]> ring;
+    private final int seconds;
+
+    LatencyWindow(int seconds) {
+        this.seconds = seconds;
+        this.ring = new SecondRing<>(seconds, LatencyWindow::newBuckets, LatencyWindow::clear);
+    }
+
+    void record(long nowNanos, long latencyNanos) {
+        ring.current(nowNanos)[bucket(TimeUnit.NANOSECONDS.toMicros(latencyNanos))].increment();
+    }
+
+    /**
+     * Counts per bucket over the seconds of the window that end with {@code nowNanos}'s.
+     */
+    long[] snapshot(long nowNanos) {
+        long[] counts = new long[BUCKETS];
+        ring.forEach(nowNanos, seconds, buckets -> {
+            for (int b = 0; b < BUCKETS; b++) {
+                counts[b] += buckets[b].sum();
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * The upper bound, in microseconds, of the bucket holding the {@code quantile} of {@code counts}.
+     */
+    static long quantileMicros(long[] counts, double quantile) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int b = 0; b < counts.length; b++) {
+            seen += counts[b];
+            if (seen >= rank && counts[b] > 0) {
+                return upperBoundMicros(b);
+            }
+        }
+        return 0;
+    }
+
+    static int bucket(long micros) {
+        if (micros < 4) {
+            return (int) Math.max(micros, 0);
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent >= MAX_EXPONENT + 1) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (micros >>> (exponent - 2)) & 3;
+        return 4 * (exponent - 1) + sub;
+    }
+
+    static long upperBoundMicros(int bucket) {
+        if (bucket < 4) {
+            return bucket + 1;
+        }
+        int exponent = bucket / 4 + 1;
+        int sub = bucket % 4;
+        return (long) (5 + sub) << (exponent - 2);
+    }
+
+    private static LongAdder[] newBuckets() {
+        LongAdder[] buckets = new LongAdder[BUCKETS];
+        for (int b = 0; b < BUCKETS; b++) {
+            buckets[b] = new LongAdder();
+        }
+        return buckets;
+    }
+
+    private static void clear(LongAdder[] buckets) {
+        for (LongAdder count : buckets) {
+            count.reset();
+        }
+    }
+}
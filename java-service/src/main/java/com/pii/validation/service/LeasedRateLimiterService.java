@@ -0,0 +1,285 @@
+package com.pii.validation.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.pii.validation.service.TokenLeaseCoordinator.LeaseRequest;
+import com.pii.validation.service.TokenLeaseCoordinator.TokenLease;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Cluster-wide rate limiter: every node serves requests from a local lease of tokens per client
+ * and tops the lease up from a shared {@link TokenLeaseCoordinator} in the background, batching
+ * all clients that need tokens into one coordinator call. The request path only touches local
+ * atomics.
+ *
+ * <p>Leased tokens expire with the coordinator window they were taken from. A client seen for the
+ * first time gets {@code initial-credit} tokens up front so it doesn't wait for the first lease,
+ * which bounds over-admission to {@code nodes * initial-credit} per client.
+ * {@code X-RateLimit-Remaining} reports the node's local lease, not the cluster-wide remainder.
+ * Every lease request carries the limit, so one coordinator serves several budgets; a budget made
+ * with {@link #withLimit} prefixes its client keys with its name.
+ */
+@Service
+@ConditionalOnProperty(name = "rate.limit.backend", havingValue = "leased")
+public class LeasedRateLimiterService implements ClientRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(LeasedRateLimiterService.class);
+
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+
+    private final int requestsPerMinute;
+    private final long blockSize;
+    private final long initialCredit;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final TokenLeaseCoordinator coordinator;
+    private final String keyPrefix;
+    private final LongSupplier nanoClock;
+    private final long originNanos;
+    private final Cache<String, Lease> leases;
+    private final ConcurrentLinkedQueue<Lease> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ScheduledExecutorService refresher;
+
+    private final LongAdder requests = new LongAdder();
+    private final AtomicLong coordinatorCalls = new AtomicLong();
+    private final AtomicLong leasedTokens = new AtomicLong();
+
+    @Autowired
+    public LeasedRateLimiterService(@Value("${rate.limit.requests-per-minute:100}") int requestsPerMinute,
+                                    @Value("${rate.limit.lease.block-size:10}") long blockSize,
+                                    @Value("${rate.limit.lease.initial-credit:1}") long initialCredit,
+                                    @Value("${rate.limit.lease.batch-size:256}") int batchSize,
+                                    @Value("${rate.limit.lease.flush-interval-ms:5}") long flushIntervalMillis,
+                                    TokenLeaseCoordinator coordinator) {
+        this(requestsPerMinute, blockSize, initialCredit, batchSize, TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis),
+                coordinator, System::nanoTime, Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "rate-limit-lease-refresher");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    LeasedRateLimiterService(int requestsPerMinute, long blockSize, long initialCredit, int batchSize,
+                             long flushIntervalNanos, TokenLeaseCoordinator coordinator, LongSupplier nanoClock,
+                             ScheduledExecutorService refresher) {
+        this(requestsPerMinute, blockSize, initialCredit, batchSize, flushIntervalNanos, coordinator, "", nanoClock,
+                refresher);
+    }
+
+    private LeasedRateLimiterService(int requestsPerMinute, long blockSize, long initialCredit, int batchSize,
+                                     long flushIntervalNanos, TokenLeaseCoordinator coordinator, String keyPrefix,
+                                     LongSupplier nanoClock, ScheduledExecutorService refresher) {
+        if (blockSize <= 0 || blockSize > TOKEN_MASK) {
+            throw new IllegalArgumentException("rate.limit.lease.block-size must be between 1 and " + TOKEN_MASK);
+        }
+
+        this.requestsPerMinute = requestsPerMinute;
+        this.blockSize = blockSize;
+        this.initialCredit = Math.min(initialCredit, TOKEN_MASK);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushIntervalNanos;
+        this.coordinator = coordinator;
+        this.keyPrefix = keyPrefix;
+        this.nanoClock = nanoClock;
+        this.originNanos = nanoClock.getAsLong();
+        this.leases = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(15))
+                .recordStats()
+                .build();
+        this.refresher = refresher;
+
+        if (refresher != null) {
+            refresher.scheduleWithFixedDelay(this::flush, flushIntervalNanos, flushIntervalNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public RateLimitProbe tryConsume(String clientKey, long tokens) {
+        requests.increment();
+        long now = nowMillis();
+        Lease lease = leases.get(clientKey, this::newLease);
+
+        while (true) {
+            long state = lease.state.get();
+            long available = now < (state >>> TOKEN_BITS) ? state & TOKEN_MASK : 0;
+
+            if (available < tokens) {
+                requestRefill(lease);
+                long wait = Math.max(lease.retryAtNanos - nanoClock.getAsLong(), 0);
+                return new RateLimitProbe(false, available, wait);
+            }
+
+            long remaining = available - tokens;
+            if (lease.state.compareAndSet(state, (state & ~TOKEN_MASK) | remaining)) {
+                if (remaining <= blockSize / 2) {
+                    requestRefill(lease);
+                }
+                return new RateLimitProbe(true, remaining, 0);
+            }
+        }
+    }
+
+    @Override
+    public int getLimit() {
+        return requestsPerMinute;
+    }
+
+    @Override
+    public long size() {
+        return leases.estimatedSize();
+    }
+
+    @Override
+    public long evictionCount() {
+        return leases.stats().evictionCount();
+    }
+
+    /**
+     * Shares this limiter's coordinator and refresher thread, so it is cluster-wide as well and
+     * stops with this bean.
+     */
+    @Override
+    public LeasedRateLimiterService withLimit(String name, int requestsPerMinute) {
+        return new LeasedRateLimiterService(requestsPerMinute, blockSize, initialCredit, batchSize, flushIntervalNanos,
+                coordinator, keyPrefix + name + ":", nanoClock, refresher);
+    }
+
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    public long coordinatorCallCount() {
+        return coordinatorCalls.get();
+    }
+
+    public long leasedTokenCount() {
+        return leasedTokens.get();
+    }
+
+    /**
+     * Sends one coordinator call for up to {@code batch-size} clients waiting for tokens. Runs on
+     * the refresher thread; exposed for tests that drive the refresh cycle manually.
+     */
+    void flush() {
+        List<Lease> batch = new ArrayList<>(Math.min(pendingCount.get(), batchSize));
+        Lease lease;
+        while (batch.size() < batchSize && (lease = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(lease);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<LeaseRequest> leaseRequests = new ArrayList<>(batch.size());
+        for (Lease waiting : batch) {
+            leaseRequests.add(new LeaseRequest(keyPrefix + waiting.clientKey, blockSize, requestsPerMinute));
+        }
+
+        try {
+            coordinatorCalls.incrementAndGet();
+            List<TokenLease> grants = coordinator.acquire(leaseRequests);
+            long now = nanoClock.getAsLong();
+            for (int i = 0; i < batch.size(); i++) {
+                apply(batch.get(i), grants.get(i), now);
+            }
+        } catch (RuntimeException e) {
+            // Leases simply stay empty until the coordinator answers again
+            log.warn("Token lease coordinator call failed for {} clients", batch.size(), e);
+            for (Lease waiting : batch) {
+                waiting.retryAtNanos = nanoClock.getAsLong() + flushIntervalNanos;
+                waiting.refillPending.set(false);
+            }
+        }
+
+        if (pendingCount.get() >= batchSize && refresher != null) {
+            refresher.execute(this::flush);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    private void apply(Lease lease, TokenLease grant, long nowNanos) {
+        if (grant.tokens() > 0) {
+            leasedTokens.addAndGet(grant.tokens());
+            long expiresAt = TimeUnit.NANOSECONDS.toMillis(nowNanos - originNanos + grant.validForNanos());
+            long now = TimeUnit.NANOSECONDS.toMillis(nowNanos - originNanos);
+            while (true) {
+                long state = lease.state.get();
+                long current = now < (state >>> TOKEN_BITS) ? state & TOKEN_MASK : 0;
+                long tokens = Math.min(current + grant.tokens(), TOKEN_MASK);
+                if (lease.state.compareAndSet(state, (expiresAt << TOKEN_BITS) | tokens)) {
+                    break;
+                }
+            }
+        } else {
+            lease.retryAtNanos = nowNanos + grant.validForNanos();
+        }
+        lease.refillPending.set(false);
+    }
+
+    private void requestRefill(Lease lease) {
+        // Once the coordinator reported the window as exhausted, don't ask again before it resets
+        if (nanoClock.getAsLong() - lease.retryAtNanos < 0) {
+            return;
+        }
+        if (lease.refillPending.compareAndSet(false, true)) {
+            pending.add(lease);
+            if (pendingCount.incrementAndGet() == batchSize && refresher != null) {
+                refresher.execute(this::flush);
+            }
+        }
+    }
+
+    private Lease newLease(String clientKey) {
+        Lease lease = new Lease(clientKey, nanoClock.getAsLong());
+        long expiresAt = nowMillis() + TimeUnit.MINUTES.toMillis(1);
+        lease.state.set((expiresAt << TOKEN_BITS) | initialCredit);
+        requestRefill(lease);
+        return lease;
+    }
+
+    private long nowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanoClock.getAsLong() - originNanos);
+    }
+
+    private static final class Lease {
+
+        private final String clientKey;
+        // Lease expiry (ms since origin) above the remaining token count
+        private final AtomicLong state = new AtomicLong();
+        private final AtomicBoolean refillPending = new AtomicBoolean();
+        private volatile long retryAtNanos;
+
+        private Lease(String clientKey, long createdAtNanos) {
+            this.clientKey = clientKey;
+            this.retryAtNanos = createdAtNanos;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.pii.validation.service;
+
+/**
+ * Outcome of a {@link ClientRateLimiter#tryConsume} call.
+ */
+public record RateLimitProbe(boolean consumed, long remainingTokens, long nanosToWaitForRefill) {
+}
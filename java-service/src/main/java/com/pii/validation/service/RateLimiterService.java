@@ -4,14 +4,20 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.EstimationProbe;
 import io.github.bucket4j.Refill;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
 
 @Service
-public class RateLimiterService {
+@ConditionalOnProperty(name = "rate.limit.backend", havingValue = "caffeine", matchIfMissing = true)
+public class RateLimiterService implements RestorableRateLimiter {
 
     private final int requestsPerMinute;
     private final Cache<String, Bucket> cache;
@@ -23,6 +29,7 @@ public class RateLimiterService {
                 .expireAfterAccess(Duration.ofMinutes(15))
                 // Hard cap on number of distinct IPs to prevent unbounded growth
                 .maximumSize(10_000)
+                .recordStats()
                 .build();
     }
 
@@ -30,6 +37,12 @@ public class RateLimiterService {
         return cache.get(key, k -> createNewBucket());
     }
 
+    @Override
+    public RateLimitProbe tryConsume(String clientKey, long tokens) {
+        ConsumptionProbe probe = resolveBucket(clientKey).tryConsumeAndReturnRemaining(tokens);
+        return new RateLimitProbe(probe.isConsumed(), probe.getRemainingTokens(), probe.getNanosToWaitForRefill());
+    }
+
     private Bucket createNewBucket() {
         Bandwidth limit = Bandwidth.classic(requestsPerMinute, Refill.intervally(requestsPerMinute, Duration.ofMinutes(1)));
         return Bucket.builder()
@@ -37,7 +50,48 @@ public class RateLimiterService {
                 .build();
     }
 
+    @Override
+    public void forEachBucket(long nowEpochMillis, BucketVisitor visitor) {
+        cache.asMap().forEach((key, bucket) -> {
+            // A full bucket can take the whole limit; any other one reports its tokens and the wait
+            // for the next refill, which refills it completely
+            EstimationProbe probe = bucket.estimateAbilityToConsume(requestsPerMinute);
+            if (!probe.canBeConsumed()) {
+                visitor.visit(key, probe.getRemainingTokens(),
+                        nowEpochMillis + TimeUnit.NANOSECONDS.toMillis(probe.getNanosToWaitForRefill()));
+            }
+        });
+    }
+
+    @Override
+    public void restoreBucket(String clientKey, long tokens, long nextRefillEpochMillis, long nowEpochMillis) {
+        if (nextRefillEpochMillis <= nowEpochMillis) {
+            return;
+        }
+        // Same limit and period as a new bucket, with its refills aligned to the saved schedule
+        Bandwidth limit = Bandwidth.classic(requestsPerMinute, Refill.intervallyAligned(requestsPerMinute,
+                        Duration.ofMinutes(1), Instant.ofEpochMilli(nextRefillEpochMillis), false))
+                .withInitialTokens(Math.max(0, Math.min(tokens, requestsPerMinute)));
+        cache.put(clientKey, Bucket.builder().addLimit(limit).build());
+    }
+
+    @Override
     public int getLimit() {
         return requestsPerMinute;
     }
+
+    @Override
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public long evictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    @Override
+    public RateLimiterService withLimit(String name, int requestsPerMinute) {
+        return new RateLimiterService(requestsPerMinute);
+    }
 }
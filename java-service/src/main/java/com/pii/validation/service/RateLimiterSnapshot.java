@@ -0,0 +1,173 @@
+package com.pii.validation.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Snapshot file of a {@link RestorableRateLimiter}. The file has a 64-byte header followed by one
+ * variable-length record per client bucket that isn't full:
+ *
+ * <pre>
+ *   0  magic "SSNRATE1"
+ *   8  int format version (1)
+ *  12  int requests per minute when written
+ *  16  long record count
+ *  24  long CRC32C of the record bytes
+ *  32  long written at (epoch milliseconds)
+ *  40  reserved
+ *
+ *  record: byte key length, key (UTF-8), int tokens, long next refill (epoch milliseconds)
+ * </pre>
+ *
+ * Keys are client addresses as the rate limiter sees them, so a snapshot of one backend can be
+ * restored into the other. As with {@link FingerprintSnapshot}, the file is written to a temporary
+ * file and renamed over the old one.
+ */
+final class RateLimiterSnapshot {
+
+    static final int HEADER_SIZE = 64;
+    static final int MAX_KEY_BYTES = 255;
+
+    private static final byte[] MAGIC = "SSNRATE1".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+    private static final int VERSION_OFFSET = 8;
+    private static final int LIMIT_OFFSET = 12;
+    private static final int COUNT_OFFSET = 16;
+    private static final int CRC_OFFSET = 24;
+    private static final int WRITTEN_AT_OFFSET = 32;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_RECORD_SIZE = 1 + MAX_KEY_BYTES + Integer.BYTES + Long.BYTES;
+
+    record Header(int requestsPerMinute, long count, long writtenAtEpochMillis) {
+    }
+
+    private RateLimiterSnapshot() {
+    }
+
+    /**
+     * Writes every bucket of {@code limiter} that isn't full to {@code file}. Keys longer than
+     * {@value #MAX_KEY_BYTES} bytes are skipped.
+     *
+     * @return the number of buckets written
+     */
+    static long write(RestorableRateLimiter limiter, long nowEpochMillis, Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        CRC32C crc = new CRC32C();
+        long[] count = new long[1];
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_SIZE);
+            try {
+                limiter.forEachBucket(nowEpochMillis, (clientKey, tokens, nextRefillEpochMillis) -> {
+                    byte[] key = clientKey.getBytes(StandardCharsets.UTF_8);
+                    if (key.length > MAX_KEY_BYTES) {
+                        return;
+                    }
+                    if (buffer.remaining() < MAX_RECORD_SIZE) {
+                        flush(channel, buffer, crc);
+                    }
+                    buffer.put((byte) key.length);
+                    buffer.put(key);
+                    buffer.putInt((int) tokens);
+                    buffer.putLong(nextRefillEpochMillis);
+                    count[0]++;
+                });
+                flush(channel, buffer, crc);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.put(MAGIC);
+            header.putInt(VERSION_OFFSET, VERSION);
+            header.putInt(LIMIT_OFFSET, limiter.getLimit());
+            header.putLong(COUNT_OFFSET, count[0]);
+            header.putLong(CRC_OFFSET, crc.getValue());
+            header.putLong(WRITTEN_AT_OFFSET, nowEpochMillis);
+            header.clear();
+            channel.write(header, 0);
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count[0];
+    }
+
+    /**
+     * Restores every bucket in {@code file} into {@code limiter}. The checksum is verified before
+     * any bucket is restored, so a damaged file changes nothing.
+     *
+     * @throws IOException if the file is not a snapshot or is damaged
+     */
+    static Header read(Path file, RestorableRateLimiter limiter, long nowEpochMillis) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException(file + " is not a rate limiter snapshot");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            byte[] magic = new byte[MAGIC.length];
+            mapped.get(0, magic);
+            if (!Arrays.equals(magic, MAGIC) || mapped.getInt(VERSION_OFFSET) != VERSION) {
+                throw new IOException(file + " is not a rate limiter snapshot (version " + VERSION + ")");
+            }
+            Header header = new Header(mapped.getInt(LIMIT_OFFSET), mapped.getLong(COUNT_OFFSET),
+                    mapped.getLong(WRITTEN_AT_OFFSET));
+
+            ByteBuffer records = mapped.slice(HEADER_SIZE, (int) size - HEADER_SIZE);
+            CRC32C crc = new CRC32C();
+            crc.update(records.duplicate());
+            if (crc.getValue() != mapped.getLong(CRC_OFFSET)) {
+                throw new IOException(file + " is damaged (checksum mismatch)");
+            }
+
+            byte[] key = new byte[MAX_KEY_BYTES];
+            long restored = 0;
+            try {
+                while (records.hasRemaining()) {
+                    int length = records.get() & 0xFF;
+                    records.get(key, 0, length);
+                    int tokens = records.getInt();
+                    long nextRefillEpochMillis = records.getLong();
+                    limiter.restoreBucket(new String(key, 0, length, StandardCharsets.UTF_8), tokens,
+                            nextRefillEpochMillis, nowEpochMillis);
+                    restored++;
+                }
+            } catch (RuntimeException e) {
+                throw new IOException(file + " is truncated or damaged", e);
+            }
+            if (restored != header.count()) {
+                throw new IOException(file + " is truncated or damaged");
+            }
+            return header;
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer, CRC32C crc) {
+        buffer.flip();
+        crc.update(buffer.duplicate());
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+}
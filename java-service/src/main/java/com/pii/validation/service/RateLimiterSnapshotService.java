@@ -0,0 +1,162 @@
+package com.pii.validation.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps rate limiter state across restarts, so a deploy doesn't hand every client a full bucket at
+ * once. Buckets that aren't full are written to {@code rate.limit.snapshot.path} every
+ * {@code rate.limit.snapshot.interval-s} and on shutdown, after the web server has stopped taking
+ * requests. They are restored when this bean is created, which is before the server starts. With
+ * lanes enabled, the bulk lane's budget is kept the same way in {@code <path>.bulk}.
+ *
+ * <p>A missing or unreadable snapshot only costs the warm start, so the service starts with empty
+ * buckets rather than failing. The {@code leased} backend keeps its state in the coordinator and
+ * has nothing local to save.
+ */
+@Service
+@ConditionalOnProperty(name = "rate.limit.snapshot.enabled", havingValue = "true")
+public class RateLimiterSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiterSnapshotService.class);
+
+    private final List<Target> targets;
+    private final LongSupplier wallClock;
+    private final ScheduledExecutorService snapshotter;
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    @Autowired
+    public RateLimiterSnapshotService(ClientRateLimiter limiter, Optional<LaneGate> lanes,
+                                      @Value("${rate.limit.snapshot.path:rate-limits.snapshot}") String path,
+                                      @Value("${rate.limit.snapshot.interval-s:30}") long intervalSeconds) {
+        this(targets(limiter, lanes, Path.of(path)), intervalSeconds, System::currentTimeMillis);
+    }
+
+    public RateLimiterSnapshotService(ClientRateLimiter limiter, String path, long intervalSeconds) {
+        this(limiter, Optional.empty(), path, intervalSeconds);
+    }
+
+    RateLimiterSnapshotService(RestorableRateLimiter limiter, Path path, long intervalSeconds, LongSupplier wallClock) {
+        this(List.of(new Target(limiter, path)), intervalSeconds, wallClock);
+    }
+
+    private RateLimiterSnapshotService(List<Target> targets, long intervalSeconds, LongSupplier wallClock) {
+        this.targets = targets;
+        this.wallClock = wallClock;
+
+        for (Target target : targets) {
+            restore(target.limiter(), target.path());
+        }
+
+        if (intervalSeconds > 0) {
+            this.snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "rate-limit-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotter.scheduleWithFixedDelay(this::snapshotQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        } else {
+            this.snapshotter = null;
+        }
+    }
+
+    /**
+     * Writes the buckets that aren't full to the snapshot files.
+     *
+     * @return the number of buckets written
+     */
+    public long snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            long total = 0;
+            for (Target target : targets) {
+                long start = System.nanoTime();
+                long written = RateLimiterSnapshot.write(target.limiter(), wallClock.getAsLong(), target.path());
+                log.debug("Rate limiter snapshot {}: {} buckets in {} ms", target.path(), written,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                total += written;
+            }
+            return total;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (snapshotter != null) {
+            snapshotter.shutdown();
+            try {
+                snapshotter.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        snapshotQuietly();
+    }
+
+    private void restore(RestorableRateLimiter limiter, Path path) {
+        if (!Files.exists(path)) {
+            log.info("No rate limiter snapshot at {}; starting with full buckets", path);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            RateLimiterSnapshot.Header header = RateLimiterSnapshot.read(path, limiter, wallClock.getAsLong());
+            if (header.requestsPerMinute() != limiter.getLimit()) {
+                log.info("Rate limiter snapshot {} was written with a limit of {} per minute, now {}; "
+                        + "restored token counts are capped at the new limit", path, header.requestsPerMinute(),
+                        limiter.getLimit());
+            }
+            log.info("Rate limiter state restored from {}: {} buckets saved {} s ago, in {} ms", path, header.count(),
+                    TimeUnit.MILLISECONDS.toSeconds(wallClock.getAsLong() - header.writtenAtEpochMillis()),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException e) {
+            log.warn("Could not restore rate limiter state from {}; starting with full buckets", path, e);
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not write rate limiter snapshot", e);
+        }
+    }
+
+    private static List<Target> targets(ClientRateLimiter limiter, Optional<LaneGate> lanes, Path path) {
+        List<Target> targets = new ArrayList<>(2);
+        targets.add(new Target(restorable(limiter), path));
+        lanes.ifPresent(gate -> targets.add(new Target(restorable(gate.budget(Lane.BULK)),
+                Path.of(path + "." + Lane.BULK.tag()))));
+        return List.copyOf(targets);
+    }
+
+    private static RestorableRateLimiter restorable(ClientRateLimiter limiter) {
+        if (limiter instanceof RestorableRateLimiter restorable) {
+            return restorable;
+        }
+        throw new IllegalArgumentException("rate.limit.snapshot.enabled needs the caffeine or compact backend, not "
+                + limiter.getClass().getSimpleName());
+    }
+
+    private record Target(RestorableRateLimiter limiter, Path path) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.pii.validation.service;
+
+/**
+ * A {@link ClientRateLimiter} whose buckets can be saved by {@link RateLimiterSnapshotService} and
+ * restored after a restart. Only buckets that aren't full are exchanged: a full bucket behaves like
+ * a new one, so leaving it out loses nothing. Refill times are wall-clock milliseconds so they mean
+ * the same thing in the next process.
+ */
+public interface RestorableRateLimiter extends ClientRateLimiter {
+
+    @FunctionalInterface
+    interface BucketVisitor {
+
+        void visit(String clientKey, long tokens, long nextRefillEpochMillis);
+    }
+
+    /**
+     * Calls {@code visitor} for every client whose bucket isn't full at {@code nowEpochMillis}.
+     * Buckets change while this runs; each one is read once.
+     */
+    void forEachBucket(long nowEpochMillis, BucketVisitor visitor);
+
+    /**
+     * Replaces the bucket of {@code clientKey} with one holding {@code tokens} (at most the limit)
+     * that refills at {@code nextRefillEpochMillis} and every period after. Ignored if that time has
+     * passed, since the bucket would be full again.
+     */
+    void restoreBucket(String clientKey, long tokens, long nextRefillEpochMillis, long nowEpochMillis);
+}
@@ -0,0 +1,137 @@
+package com.pii.validation.service;
+
+import com.pii.validation.core.SsnRuleSet;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the active {@link SsnRuleSet} and replaces it when the rule file at {@code ssn.rules.path}
+ * changes. The rule set is immutable and published through a volatile field: a validation reads it
+ * once and keeps that version to the end, and the request path never locks. A file that fails to
+ * parse is logged and the previous version stays active.
+ *
+ * <p>The whole directory is watched rather than the file, so replacing the file by rename or
+ * symlink swap (as Kubernetes does for mounted ConfigMaps) is picked up too.
+ */
+@Service
+public class RuleSetService {
+
+    private static final Logger log = LoggerFactory.getLogger(RuleSetService.class);
+
+    // Editors and copy tools often write a file in several steps; wait for them to go quiet
+    private static final long SETTLE_MILLIS = 50;
+
+    private final Path path;
+    private final WatchService watchService;
+    private volatile SsnRuleSet current;
+
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong failedReloads = new AtomicLong();
+
+    public RuleSetService(@Value("${ssn.rules.path:}") String path,
+                          @Value("${ssn.rules.watch:true}") boolean watch) throws IOException {
+        if (path.isBlank()) {
+            this.path = null;
+            this.watchService = null;
+            this.current = SsnRuleSet.DEFAULT;
+            return;
+        }
+
+        this.path = Path.of(path).toAbsolutePath();
+        // An unreadable file at startup is a configuration error, not something to run without
+        this.current = SsnRuleSet.load(this.path);
+        log.info("Loaded SSN rules {} version {} ({})", this.path, current.version(), current.fingerprint());
+
+        if (watch) {
+            this.watchService = this.path.getFileSystem().newWatchService();
+            this.path.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            Thread watcher = new Thread(this::watch, "ssn-rules-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        } else {
+            this.watchService = null;
+        }
+    }
+
+    public SsnRuleSet current() {
+        return current;
+    }
+
+    /**
+     * Re-reads the rule file and swaps it in if its rules changed.
+     *
+     * @return whether a new rule set became active
+     */
+    public boolean reload() {
+        if (path == null) {
+            return false;
+        }
+
+        SsnRuleSet next;
+        try {
+            next = SsnRuleSet.load(path);
+        } catch (IOException | IllegalArgumentException e) {
+            failedReloads.incrementAndGet();
+            log.error("Could not reload SSN rules from {}, keeping version {}", path, current.version(), e);
+            return false;
+        }
+
+        SsnRuleSet previous = current;
+        if (next.fingerprint().equals(previous.fingerprint()) && next.version().equals(previous.version())) {
+            return false;
+        }
+        current = next;
+        reloads.incrementAndGet();
+        log.info("Reloaded SSN rules: version {} ({}), was {} ({})",
+                next.version(), next.fingerprint(), previous.version(), previous.fingerprint());
+        return true;
+    }
+
+    public long reloadCount() {
+        return reloads.get();
+    }
+
+    public long failedReloadCount() {
+        return failedReloads.get();
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                drain(watchService.take());
+                WatchKey more;
+                while ((more = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    drain(more);
+                }
+                reload();
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Shutting down
+        }
+    }
+
+    private static void drain(WatchKey key) {
+        key.pollEvents();
+        key.reset();
+    }
+}
@@ -0,0 +1,217 @@
+package com.pii.validation.service;
+
+import com.pii.validation.dto.ReadinessResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Saturation signals behind {@code GET /health/ready}: worker pool utilization and queue depth,
+ * requests in flight, p99 latency of validation requests, the rate limiter's client table, and time
+ * spent in GC pauses. The node reports not ready while any signal is past its threshold, so a load
+ * balancer stops sending it traffic before requests start to time out.
+ *
+ * <p>The request path costs an increment and decrement of the in-flight count plus one striped
+ * counter increment for the latency window. Rates (GC pauses, evictions) are differences between
+ * the current reading and one taken at least a window earlier, sampled by the readiness checks
+ * themselves, so nothing runs in the background and a check is a few microseconds.
+ */
+@Service
+public class SaturationMonitor {
+
+    // A p99 of fewer requests than this is mostly noise and is not compared against the threshold
+    static final int MIN_LATENCY_SAMPLES = 100;
+    static final int MAX_WINDOW_SECONDS = 60;
+
+    private final int windowSeconds;
+    private final double maxWorkerUtilization;
+    private final int maxQueued;
+    private final int maxInflight;
+    private final double maxP99Millis;
+    private final long maxRateLimitClients;
+    private final double maxEvictionsPerSecond;
+    private final double maxGcPauseRatio;
+
+    private final ClientRateLimiter rateLimiter;
+    private final LongSupplier nanoClock;
+    private final LongSupplier gcPauseMillis;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final LatencyWindow latencies;
+    private volatile Supplier<ReadinessResponse.Workers> workerPool = () -> null;
+
+    // Readings of the cumulative counters {nanos, GC pause ms, evictions}, at most one per second;
+    // only touched under the monitor in readiness()
+    private final ArrayDeque<long[]> readings = new ArrayDeque<>();
+
+    @Autowired
+    public SaturationMonitor(ClientRateLimiter rateLimiter,
+                             @Value("${readiness.window-s:10}") int windowSeconds,
+                             @Value("${readiness.max-worker-utilization:0.9}") double maxWorkerUtilization,
+                             @Value("${readiness.max-queued:50}") int maxQueued,
+                             @Value("${readiness.max-inflight:1000}") int maxInflight,
+                             @Value("${readiness.max-p99-ms:100}") double maxP99Millis,
+                             @Value("${readiness.max-rate-limit-clients:0}") long maxRateLimitClients,
+                             @Value("${readiness.max-rate-limit-evictions-per-s:0}") double maxEvictionsPerSecond,
+                             @Value("${readiness.max-gc-pause-ratio:0.2}") double maxGcPauseRatio) {
+        this(rateLimiter, windowSeconds, maxWorkerUtilization, maxQueued, maxInflight, maxP99Millis,
+                maxRateLimitClients, maxEvictionsPerSecond, maxGcPauseRatio, System::nanoTime,
+                SaturationMonitor::totalGcPauseMillis);
+    }
+
+    SaturationMonitor(ClientRateLimiter rateLimiter, int windowSeconds, double maxWorkerUtilization, int maxQueued,
+                      int maxInflight, double maxP99Millis, long maxRateLimitClients, double maxEvictionsPerSecond,
+                      double maxGcPauseRatio, LongSupplier nanoClock, LongSupplier gcPauseMillis) {
+        if (windowSeconds < 1 || windowSeconds > MAX_WINDOW_SECONDS) {
+            throw new IllegalArgumentException("readiness.window-s must be between 1 and " + MAX_WINDOW_SECONDS);
+        }
+        if (maxWorkerUtilization < 0 || maxQueued < 0 || maxInflight < 0 || maxP99Millis < 0
+                || maxRateLimitClients < 0 || maxEvictionsPerSecond < 0 || maxGcPauseRatio < 0) {
+            throw new IllegalArgumentException("readiness thresholds must not be negative (0 disables one)");
+        }
+
+        this.rateLimiter = rateLimiter;
+        this.windowSeconds = windowSeconds;
+        this.maxWorkerUtilization = maxWorkerUtilization;
+        this.maxQueued = maxQueued;
+        this.maxInflight = maxInflight;
+        this.maxP99Millis = maxP99Millis;
+        this.maxRateLimitClients = maxRateLimitClients;
+        this.maxEvictionsPerSecond = maxEvictionsPerSecond;
+        this.maxGcPauseRatio = maxGcPauseRatio;
+        this.nanoClock = nanoClock;
+        this.gcPauseMillis = gcPauseMillis;
+        this.latencies = new LatencyWindow(windowSeconds);
+        readings.add(reading(nanoClock.getAsLong()));
+    }
+
+    /**
+     * Reports the server's worker pool from now on; {@code pool} returns null if it can't tell.
+     */
+    public void setWorkerPool(Supplier<ReadinessResponse.Workers> pool) {
+        this.workerPool = pool;
+    }
+
+    public void requestStarted() {
+        inflight.incrementAndGet();
+    }
+
+    /**
+     * Ends a request begun with {@link #requestStarted}; {@code sample} adds its latency to the p99.
+     */
+    public void requestFinished(long latencyNanos, boolean sample) {
+        inflight.decrementAndGet();
+        if (sample) {
+            latencies.record(nanoClock.getAsLong(), latencyNanos);
+        }
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public synchronized ReadinessResponse readiness() {
+        long now = nanoClock.getAsLong();
+        List<String> reasons = new ArrayList<>();
+
+        int currentInflight = inflight.get();
+        exceeds(reasons, "inflight", currentInflight, maxInflight);
+
+        ReadinessResponse.Workers workers = workerPool.get();
+        if (workers != null) {
+            exceeds(reasons, "workers.utilization", workers.getUtilization(), maxWorkerUtilization);
+            exceeds(reasons, "workers.queued", workers.getQueued(), maxQueued);
+        }
+
+        long[] counts = latencies.snapshot(now);
+        long samples = 0;
+        for (long count : counts) {
+            samples += count;
+        }
+        Double p99Millis = null;
+        if (samples >= MIN_LATENCY_SAMPLES) {
+            p99Millis = LatencyWindow.quantileMicros(counts, 0.99) / 1000.0;
+            exceeds(reasons, "latency.p99Millis", p99Millis, maxP99Millis);
+        }
+
+        long[] current = reading(now);
+        long[] baseline = baseline(current);
+        // Until a window has passed since startup, rates are averaged over a whole window anyway, so
+        // a GC pause while the context starts doesn't look like a node spending most of its time in GC
+        double elapsedSeconds = Math.max(current[0] - baseline[0], TimeUnit.SECONDS.toNanos(windowSeconds)) / 1e9;
+
+        long clients = rateLimiter.size();
+        double evictionsPerSecond = (current[2] - baseline[2]) / elapsedSeconds;
+        exceeds(reasons, "rateLimiter.clients", clients, maxRateLimitClients);
+        exceeds(reasons, "rateLimiter.evictionsPerSecond", evictionsPerSecond, maxEvictionsPerSecond);
+
+        long pauseMillis = current[1] - baseline[1];
+        double pauseRatio = pauseMillis / 1000.0 / elapsedSeconds;
+        exceeds(reasons, "gc.pauseRatio", pauseRatio, maxGcPauseRatio);
+
+        return new ReadinessResponse(reasons, windowSeconds, currentInflight, workers,
+                new ReadinessResponse.Latency(samples, p99Millis),
+                new ReadinessResponse.RateLimiter(clients, evictionsPerSecond),
+                new ReadinessResponse.Gc(pauseMillis, pauseRatio));
+    }
+
+    // The newest reading at least a window old (the oldest one while none is), dropping older ones;
+    // stores current if the last stored reading is a second old
+    private long[] baseline(long[] current) {
+        long windowStart = current[0] - TimeUnit.SECONDS.toNanos(windowSeconds);
+        while (readings.size() > 1) {
+            long[] oldest = readings.removeFirst();
+            if (readings.peekFirst()[0] > windowStart) {
+                readings.addFirst(oldest);
+                break;
+            }
+        }
+        long[] baseline = readings.peekFirst();
+        if (current[0] - readings.peekLast()[0] >= TimeUnit.SECONDS.toNanos(1)) {
+            readings.addLast(current);
+        }
+        return baseline;
+    }
+
+    private long[] reading(long now) {
+        return new long[]{now, gcPauseMillis.getAsLong(), rateLimiter.evictionCount()};
+    }
+
+    private static void exceeds(List<String> reasons, String signal, double value, double threshold) {
+        if (threshold > 0 && value > threshold) {
+            reasons.add(String.format(Locale.ROOT, "%s %s exceeds %s", signal, format(value), format(threshold)));
+        }
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    /**
+     * Time spent in collections that pause the application, since the JVM started. Collectors that
+     * report concurrent cycles as a separate bean (ZGC and Shenandoah "Cycles", G1 "Concurrent GC" on
+     * Java 20+) are left out, since that time runs alongside requests.
+     */
+    static long totalGcPauseMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            String name = gc.getName();
+            if (name.contains("Cycles") || name.contains("Concurrent")) {
+                continue;
+            }
+            total += Math.max(gc.getCollectionTime(), 0);
+        }
+        return total;
+    }
+}
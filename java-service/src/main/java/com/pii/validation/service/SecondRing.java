@@ -0,0 +1,77 @@
+package com.pii.validation.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * One slot per second for the last {@code seconds} seconds, reused round-robin. The first update of
+ * a second clears the slot it takes over, and a read visits the slots of the seconds it covers, so
+ * there is no background thread. An update that races the clear of its slot may be lost.
+ */
+final class SecondRing<S> {
+
+    private final Entry<S>[] entries;
+    private final int seconds;
+
+    @SuppressWarnings("unchecked")
+    SecondRing(int seconds, Supplier<S> newSlot, Consumer<S> clear) {
+        this.seconds = seconds;
+        // One spare slot so the second being filled never overwrites the oldest second of the ring
+        this.entries = new Entry[seconds + 1];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new Entry<>(newSlot.get(), clear);
+        }
+    }
+
+    /**
+     * The slot of {@code nowNanos}'s second, cleared first if it still holds an older second.
+     */
+    S current(long nowNanos) {
+        long second = TimeUnit.NANOSECONDS.toSeconds(nowNanos);
+        Entry<S> entry = entries[(int) Math.floorMod(second, (long) entries.length)];
+        if (entry.second != second) {
+            entry.reset(second);
+        }
+        return entry.slot;
+    }
+
+    /**
+     * Passes the slots of the last {@code windowSeconds} seconds, ending with {@code nowNanos}'s, to
+     * {@code action}. Seconds without updates have no slot.
+     */
+    void forEach(long nowNanos, int windowSeconds, Consumer<S> action) {
+        if (windowSeconds > seconds) {
+            throw new IllegalArgumentException("window of " + windowSeconds + " s is longer than the ring's "
+                    + seconds + " s");
+        }
+        long now = TimeUnit.NANOSECONDS.toSeconds(nowNanos);
+        for (Entry<S> entry : entries) {
+            long second = entry.second;
+            if (second > now - windowSeconds && second <= now) {
+                action.accept(entry.slot);
+            }
+        }
+    }
+
+    private static final class Entry<S> {
+
+        final S slot;
+        final Consumer<S> clear;
+        volatile long second = Long.MIN_VALUE;
+
+        Entry(S slot, Consumer<S> clear) {
+            this.slot = slot;
+            this.clear = clear;
+        }
+
+        // Never blocks on I/O, so it doesn't pin a virtual thread for long
+        synchronized void reset(long newSecond) {
+            if (second == newSecond) {
+                return;
+            }
+            clear.accept(slot);
+            second = newSecond;
+        }
+    }
+}
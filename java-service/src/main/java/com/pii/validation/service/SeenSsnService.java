@@ -0,0 +1,363 @@
+package com.pii.validation.service;
+
+import com.pii.validation.core.SsnErrorCode;
+import com.pii.validation.core.SsnValidator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Index of SSNs the service has been told about, for duplicate checks that the Rails side can't
+ * make cheaply against encrypted columns. Only a keyed fingerprint of each SSN is kept: the first
+ * 8 bytes of HMAC-SHA256 over its nine-digit value, in a {@link FingerprintSet}. Lookups are
+ * lock-free; writes are serialized by one lock.
+ *
+ * <p>The index is snapshotted to {@code ssn.index.snapshot-path} every
+ * {@code ssn.index.snapshot-interval-s} when it has changed, after each bulk load and on shutdown,
+ * and read back on startup. A snapshot written with a different key is refused rather than
+ * silently ignored, since an empty index would report every SSN as new.
+ */
+@Service
+@ConditionalOnProperty(name = "ssn.index.enabled", havingValue = "true")
+public class SeenSsnService {
+
+    public record LoadResult(long lines, long added, long invalid, long size) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(SeenSsnService.class);
+
+    private static final String HMAC = "HmacSHA256";
+    private static final int INVALID = -1;
+    private static final int LOAD_BATCH = 4096;
+
+    private final SecretKeySpec key;
+    private final byte[] keyId;
+    private final ThreadLocal<Fingerprinter> fingerprinters;
+    private final Path snapshotPath;
+    private final ScheduledExecutorService snapshotter;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private volatile FingerprintSet set;
+    // Set being built by a replacing load; records during the load go to both
+    private volatile FingerprintSet pending;
+    private volatile long changes;
+    private long snapshotChanges;
+
+    @Autowired
+    public SeenSsnService(@Value("${ssn.index.hmac-key:}") String hmacKey,
+                          @Value("${ssn.index.snapshot-path:}") String snapshotPath,
+                          @Value("${ssn.index.snapshot-interval-s:300}") long snapshotIntervalSeconds) throws IOException {
+        this(decodeKey(hmacKey), snapshotPath.isBlank() ? null : Path.of(snapshotPath), snapshotIntervalSeconds);
+    }
+
+    SeenSsnService(byte[] hmacKey, Path snapshotPath, long snapshotIntervalSeconds) throws IOException {
+        if (hmacKey.length < 16) {
+            throw new IllegalArgumentException("ssn.index.hmac-key must be at least 16 bytes");
+        }
+        this.key = new SecretKeySpec(hmacKey, HMAC);
+        this.keyId = keyId(hmacKey);
+        this.fingerprinters = ThreadLocal.withInitial(() -> new Fingerprinter(key));
+        this.snapshotPath = snapshotPath;
+
+        if (snapshotPath != null && Files.exists(snapshotPath)) {
+            long start = System.nanoTime();
+            this.set = FingerprintSnapshot.read(snapshotPath, keyId);
+            log.info("SSN index loaded from {}: {} entries in {} ms", snapshotPath, set.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } else {
+            this.set = new FingerprintSet(0);
+        }
+
+        if (snapshotPath != null && snapshotIntervalSeconds > 0) {
+            this.snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ssn-index-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotter.scheduleWithFixedDelay(this::snapshotQuietly, snapshotIntervalSeconds, snapshotIntervalSeconds,
+                    TimeUnit.SECONDS);
+        } else {
+            this.snapshotter = null;
+        }
+    }
+
+    /**
+     * Whether {@code ssn} is in the index.
+     *
+     * @throws IllegalArgumentException if {@code ssn} is not in XXX-XX-XXXX format
+     */
+    public boolean seen(String ssn) {
+        return set.contains(fingerprint(ssn));
+    }
+
+    /**
+     * Adds {@code ssn} to the index.
+     *
+     * @return whether it was already there
+     * @throws IllegalArgumentException if {@code ssn} is not in XXX-XX-XXXX format
+     */
+    public boolean record(String ssn) {
+        long fingerprint = fingerprint(ssn);
+        if (pending == null && set.contains(fingerprint)) {
+            return true;
+        }
+
+        writeLock.lock();
+        try {
+            if (pending != null) {
+                pending.add(fingerprint);
+            }
+            boolean added = set.add(fingerprint);
+            if (added) {
+                changes++;
+            }
+            return !added;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Adds every SSN in {@code in}, one per line. Lines that aren't a well-formed SSN are counted as
+     * invalid and skipped. With {@code replace}, the index afterwards holds exactly the loaded SSNs,
+     * plus any recorded while the load ran; lookups keep using the old index until the load is done.
+     *
+     * @throws IllegalStateException if another load is running
+     */
+    public LoadResult load(InputStream in, boolean replace) throws IOException {
+        if (!loadLock.tryLock()) {
+            throw new IllegalStateException("Another SSN index load is running");
+        }
+        try {
+            if (replace) {
+                writeLock.lock();
+                try {
+                    pending = new FingerprintSet(set.size());
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+
+            long lines = 0;
+            long added = 0;
+            long invalid = 0;
+            long[] batch = new long[LOAD_BATCH];
+            int batched = 0;
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                lines++;
+                long fingerprint = fingerprintOrInvalid(line);
+                if (fingerprint == INVALID) {
+                    invalid++;
+                    continue;
+                }
+                // Hash outside the lock, insert in batches under it
+                batch[batched++] = fingerprint;
+                if (batched == batch.length) {
+                    added += addAll(batch, batched, replace);
+                    batched = 0;
+                }
+            }
+            added += addAll(batch, batched, replace);
+
+            if (replace) {
+                writeLock.lock();
+                try {
+                    set = pending;
+                    pending = null;
+                    changes++;
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+            if (snapshotter != null && (added > 0 || replace)) {
+                snapshotter.execute(this::snapshotQuietly);
+            }
+            return new LoadResult(lines, added, invalid, set.size());
+        } finally {
+            if (replace && pending != null) {
+                writeLock.lock();
+                try {
+                    pending = null;
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+            loadLock.unlock();
+        }
+    }
+
+    public long size() {
+        return set.size();
+    }
+
+    public int capacity() {
+        return set.capacity();
+    }
+
+    /**
+     * Writes the index to the snapshot file if it changed since the last snapshot.
+     *
+     * @return whether a snapshot was written
+     */
+    public boolean snapshot() throws IOException {
+        if (snapshotPath == null) {
+            return false;
+        }
+        snapshotLock.lock();
+        try {
+            long changesBefore = changes;
+            if (changesBefore == snapshotChanges && Files.exists(snapshotPath)) {
+                return false;
+            }
+            long start = System.nanoTime();
+            long written = FingerprintSnapshot.write(set, keyId, snapshotPath);
+            snapshotChanges = changesBefore;
+            log.info("SSN index snapshot {}: {} entries in {} ms", snapshotPath, written,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return true;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (snapshotter != null) {
+            // Lets a snapshot in progress finish; interrupting it would close its channel
+            snapshotter.shutdown();
+            try {
+                snapshotter.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        snapshotQuietly();
+    }
+
+    private long addAll(long[] fingerprints, int count, boolean replace) {
+        long added = 0;
+        writeLock.lock();
+        try {
+            FingerprintSet target = replace ? pending : set;
+            for (int i = 0; i < count; i++) {
+                if (target.add(fingerprints[i])) {
+                    added++;
+                }
+            }
+            if (!replace) {
+                changes += added;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return added;
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not write SSN index snapshot to {}", snapshotPath, e);
+        }
+    }
+
+    private long fingerprint(String ssn) {
+        long fingerprint = fingerprintOrInvalid(ssn);
+        if (fingerprint == INVALID) {
+            throw new IllegalArgumentException("SSN must be in XXX-XX-XXXX format");
+        }
+        return fingerprint;
+    }
+
+    private long fingerprintOrInvalid(String ssn) {
+        long result = SsnValidator.check(ssn);
+        int errors = SsnValidator.errors(result);
+        if (SsnErrorCode.REQUIRED.isSet(errors) || SsnErrorCode.FORMAT.isSet(errors)) {
+            return INVALID;
+        }
+        long fingerprint = fingerprinters.get().fingerprint(SsnValidator.value(result));
+        // Reserve INVALID; the SSN it belongs to shares the fingerprint of its neighbour
+        return fingerprint == INVALID ? INVALID - 1 : fingerprint;
+    }
+
+    private static byte[] decodeKey(String hmacKey) {
+        if (hmacKey.isBlank()) {
+            throw new IllegalStateException("ssn.index.hmac-key (base64) is required when ssn.index.enabled=true");
+        }
+        return Base64.getDecoder().decode(hmacKey.trim());
+    }
+
+    // Identifies the key in snapshot headers without revealing it
+    private static byte[] keyId(byte[] key) {
+        try {
+            return Arrays.copyOf(MessageDigest.getInstance("SHA-256").digest(key), 8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // Per-thread Mac and scratch buffers, since Mac is stateful and not thread-safe
+    private static final class Fingerprinter {
+
+        private final Mac mac;
+        private final byte[] input = new byte[Integer.BYTES];
+        private final byte[] digest = new byte[32];
+
+        private Fingerprinter(SecretKeySpec key) {
+            try {
+                mac = Mac.getInstance(HMAC);
+                mac.init(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        }
+
+        long fingerprint(int value) {
+            input[0] = (byte) (value >>> 24);
+            input[1] = (byte) (value >>> 16);
+            input[2] = (byte) (value >>> 8);
+            input[3] = (byte) value;
+            mac.update(input);
+            try {
+                mac.doFinal(digest, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+            long fingerprint = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                fingerprint = fingerprint << 8 | (digest[i] & 0xFF);
+            }
+            return fingerprint;
+        }
+    }
+}
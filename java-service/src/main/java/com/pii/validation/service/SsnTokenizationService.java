@@ -0,0 +1,201 @@
+package com.pii.validation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pii.validation.core.Ff1Cipher;
+import com.pii.validation.core.SsnErrorCode;
+import com.pii.validation.core.SsnRuleSet;
+import com.pii.validation.core.SsnValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Replaces SSNs by format-preserving tokens and back, with FF1 over the nine digits
+ * ({@link Ff1Cipher}). A token looks like an SSN ({@code XXX-XX-XXXX}), so it fits existing
+ * columns and validations, but it is only meaningful to holders of {@code ssn.tokenization.key}.
+ * The same SSN always gives the same token, so tokenized columns can still be joined and
+ * de-duplicated.
+ *
+ * <p>Only SSNs that pass validation (SSA rules and denylist) are tokenized. Detokenization accepts
+ * any well-formed token.
+ */
+@Service
+@ConditionalOnProperty(name = "ssn.tokenization.enabled", havingValue = "true")
+public class SsnTokenizationService {
+
+    private static final int SSN_DIGITS = 9;
+    private static final int BATCH = 256;
+    private static final int FORMAT_ERRORS = SsnErrorCode.REQUIRED.bit() | SsnErrorCode.FORMAT.bit();
+
+    private static final byte[] TOKEN_PREFIX = "{\"token\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SSN_PREFIX = "{\"ssn\":\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LINE_SUFFIX = "\"}\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final SsnValidationService validationService;
+    private final ObjectMapper objectMapper;
+    private final Ff1Cipher cipher;
+
+    @Autowired
+    public SsnTokenizationService(SsnValidationService validationService, ObjectMapper objectMapper,
+                                  @Value("${ssn.tokenization.key:}") String key,
+                                  @Value("${ssn.tokenization.tweak:}") String tweak) {
+        this(validationService, objectMapper, decodeKey(key), tweak.getBytes(StandardCharsets.UTF_8));
+    }
+
+    SsnTokenizationService(SsnValidationService validationService, ObjectMapper objectMapper, byte[] key,
+                           byte[] tweak) {
+        this.validationService = validationService;
+        this.objectMapper = objectMapper;
+        this.cipher = new Ff1Cipher(key, tweak, SSN_DIGITS);
+    }
+
+    /**
+     * @throws InvalidSsnException if {@code ssn} is not a valid SSN
+     */
+    public String tokenize(String ssn) {
+        long value = tokenizable(ssn, validationService.currentRules());
+        if (value < 0) {
+            throw new InvalidSsnException((int) -value);
+        }
+        return format(cipher.encrypt(value));
+    }
+
+    /**
+     * @throws InvalidSsnException if {@code token} is not in XXX-XX-XXXX format
+     */
+    public String detokenize(String token) {
+        long value = wellFormed(token);
+        if (value < 0) {
+            throw new InvalidSsnException((int) -value);
+        }
+        return format(cipher.decrypt(value));
+    }
+
+    /**
+     * Tokenizes (or with {@code detokenize}, detokenizes) one value per line of {@code in} and
+     * writes one NDJSON line per input line to {@code out}, in order: {@code {"token": ...}}
+     * (or {@code {"ssn": ...}}), or {@code {"errors": [...]}} for input that can't be converted.
+     * Lines are converted in batches that share one pooled cipher instance.
+     *
+     * @return the number of lines converted
+     */
+    public long convertLines(InputStream in, OutputStream out, boolean detokenize) throws IOException {
+        return convertLines(in, out, detokenize, () -> true);
+    }
+
+    /**
+     * Like {@link #convertLines(InputStream, OutputStream, boolean)}, taking one {@code permit} per
+     * line. When it refuses one, the output ends with an {@code {"error": ..., "message": ...}} line
+     * and the rest of the input is not read, as in {@link BatchValidationService}.
+     */
+    public long convertLines(InputStream in, OutputStream out, boolean detokenize, BooleanSupplier permit)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        SsnRuleSet rules = validationService.currentRules();
+        byte[] prefix = detokenize ? SSN_PREFIX : TOKEN_PREFIX;
+
+        long[] results = new long[BATCH];
+        long[] values = new long[BATCH];
+        byte[] line = new byte[prefix.length + 11 + LINE_SUFFIX.length];
+        System.arraycopy(prefix, 0, line, 0, prefix.length);
+        System.arraycopy(LINE_SUFFIX, 0, line, prefix.length + 11, LINE_SUFFIX.length);
+
+        long count = 0;
+        boolean more = true;
+        boolean limited = false;
+        while (more) {
+            int read = 0;
+            int valid = 0;
+            String text;
+            while (read < BATCH && (text = reader.readLine()) != null) {
+                if (!permit.getAsBoolean()) {
+                    limited = true;
+                    break;
+                }
+                long value = detokenize ? wellFormed(text) : tokenizable(text, rules);
+                results[read++] = value;
+                if (value >= 0) {
+                    values[valid++] = value;
+                }
+            }
+            more = read == BATCH && !limited;
+
+            cipher.apply(values, valid, detokenize);
+
+            for (int i = 0, next = 0; i < read; i++) {
+                if (results[i] >= 0) {
+                    writeDigits(values[next++], line, prefix.length);
+                    out.write(line);
+                } else {
+                    out.write(objectMapper.writeValueAsBytes(Map.of("errors", SsnErrorCode.messages((int) -results[i]))));
+                    out.write('\n');
+                }
+            }
+            count += read;
+            if (limited) {
+                out.write(objectMapper.writeValueAsBytes(objectMapper.createObjectNode()
+                        .put("error", "Too many requests")
+                        .put("message", "Rate limit exceeded after " + count + " items.")));
+                out.write('\n');
+            }
+            out.flush();
+        }
+        return count;
+    }
+
+    // The SSN's nine-digit value, or the negated error mask if it isn't valid
+    private long tokenizable(String ssn, SsnRuleSet rules) {
+        int errors = validationService.check(ssn, rules);
+        if (errors != 0) {
+            return -(long) errors;
+        }
+        return SsnValidator.value(SsnValidator.check(ssn, rules));
+    }
+
+    // The token's nine-digit value, or the negated error mask if it isn't in XXX-XX-XXXX format
+    private static long wellFormed(String token) {
+        long result = SsnValidator.check(token);
+        int errors = SsnValidator.errors(result) & FORMAT_ERRORS;
+        if (errors != 0) {
+            return -(long) errors;
+        }
+        return SsnValidator.value(result);
+    }
+
+    static String format(long value) {
+        byte[] digits = new byte[11];
+        writeDigits(value, digits, 0);
+        return new String(digits, StandardCharsets.ISO_8859_1);
+    }
+
+    // XXX-XX-XXXX at offset
+    private static void writeDigits(long value, byte[] out, int offset) {
+        int remaining = (int) value;
+        for (int i = 10; i >= 0; i--) {
+            if (i == 3 || i == 6) {
+                out[offset + i] = '-';
+                continue;
+            }
+            out[offset + i] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+    }
+
+    private static byte[] decodeKey(String key) {
+        if (key.isBlank()) {
+            throw new IllegalStateException("ssn.tokenization.key (base64 AES key) is required when ssn.tokenization.enabled=true");
+        }
+        return Base64.getDecoder().decode(key.trim());
+    }
+}
@@ -1,79 +1,164 @@
 package com.pii.validation.service;
 
+import com.pii.validation.core.BinaryProtocol;
+import com.pii.validation.core.SsnDenylist;
+import com.pii.validation.core.SsnErrorCode;
+import com.pii.validation.core.SsnRuleSet;
+import com.pii.validation.core.SsnValidator;
 import com.pii.validation.dto.SsnValidationResponse;
+import com.pii.validation.metrics.ValidationMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.function.Supplier;
 
 @Service
 public class SsnValidationService {
 
-    private static final Pattern SSN_FORMAT_PATTERN = Pattern.compile("^\\d{3}-\\d{2}-\\d{4}$");
-
-    // SSA Standards: Invalid area numbers (first 3 digits)
-    // Source: https://www.ssa.gov/employer/randomization.html
-    private static final String INVALID_AREA_ALL_ZEROS = "000";
-    private static final String INVALID_AREA_DEVIL_NUMBER = "666";
-    
-    // SSA Standards: Invalid group and serial numbers
-    private static final String INVALID_GROUP_ALL_ZEROS = "00";
-    private static final String INVALID_SERIAL_ALL_ZEROS = "0000";
-
-    // Known public test SSNs that SSA has identified as invalid
-    // These are different from the above rules - they're specific numbers to reject
-    private static final Set<String> INVALID_SSNS = Set.of(
-            "078-05-1120",  // Woolworth wallet SSN (famous public example)
-            "219-09-9999",  // Used in advertisements
-            "457-55-5462"   // Used in advertisements
-    );
+    private final ValidationMetrics metrics;
+    private final SsnDenylist denylist;
+    private final Supplier<SsnRuleSet> rules;
 
+    public SsnValidationService() {
+        this(ValidationMetrics.noop());
+    }
+
+    public SsnValidationService(ValidationMetrics metrics) {
+        this(metrics, SsnDenylist.EMPTY);
+    }
+
+    public SsnValidationService(ValidationMetrics metrics, SsnDenylist denylist) {
+        this(metrics, denylist, () -> SsnRuleSet.DEFAULT);
+    }
+
+    @Autowired
+    public SsnValidationService(ValidationMetrics metrics, SsnDenylist denylist, RuleSetService ruleSets) {
+        this(metrics, denylist, ruleSets::current);
+    }
+
+    private SsnValidationService(ValidationMetrics metrics, SsnDenylist denylist, Supplier<SsnRuleSet> rules) {
+        this.metrics = metrics;
+        this.denylist = denylist;
+        this.rules = rules;
+    }
+
+    /**
+     * The active rule set. Callers validating several SSNs as one unit pass it to
+     * {@link #validate(String, SsnRuleSet)} so a reload midway doesn't mix versions.
+     */
+    public SsnRuleSet currentRules() {
+        return rules.get();
+    }
+
+    // The SSA rules (format, area 000/666, group 00, serial 0000 and known test numbers)
+    // live in SsnValidator, which checks them in a single allocation-free pass and reports
+    // failures as a bitmask of SsnErrorCode; messages are only resolved when the response is written.
+    // Numbers that pass the rules are then looked up in the (memory-mapped) denylist
     public SsnValidationResponse validate(String ssn) {
-        List<String> errors = new ArrayList<>();
+        return validate(ssn, rules.get());
+    }
+
+    public SsnValidationResponse validate(String ssn, SsnRuleSet rules) {
+        boolean timed = metrics.sampleLatency();
+        long start = timed ? System.nanoTime() : 0;
+        int errors = check(ssn, rules);
+        if (timed) {
+            metrics.recordLatency(System.nanoTime() - start);
+        }
+        metrics.recordOutcome(errors);
 
         if (ssn == null || ssn.isBlank()) {
-            errors.add("SSN is required");
             return SsnValidationResponse.failure(ssn, errors);
         }
 
         ssn = ssn.trim();
 
-        if (!SSN_FORMAT_PATTERN.matcher(ssn).matches()) {
-            errors.add("SSN must be in XXX-XX-XXXX format");
-            return SsnValidationResponse.failure(ssn, errors);
+        if (errors == 0) {
+            return SsnValidationResponse.success(ssn);
         }
 
-        String[] parts = ssn.split("-");
-        String areaNumber = parts[0];
-        String groupNumber = parts[1];
-        String serialNumber = parts[2];
+        return SsnValidationResponse.failure(ssn, errors);
+    }
 
-        if (INVALID_AREA_ALL_ZEROS.equals(areaNumber)) {
-            errors.add("Area number (first 3 digits) cannot be 000");
+    /**
+     * Like {@link #validate(String, SsnRuleSet)}. With {@code normalize}, SSNs are read with
+     * {@link SsnValidator#checkLenient}: the response carries the canonical XXX-XX-XXXX form of any
+     * decoded SSN, and says whether it differs from the input.
+     */
+    public SsnValidationResponse validate(String ssn, SsnRuleSet rules, boolean normalize) {
+        if (!normalize) {
+            return validate(ssn, rules);
         }
 
-        if (INVALID_AREA_DEVIL_NUMBER.equals(areaNumber)) {
-            errors.add("Area number (first 3 digits) cannot be 666");
+        boolean timed = metrics.sampleLatency();
+        long start = timed ? System.nanoTime() : 0;
+        long result = SsnValidator.checkLenient(ssn, rules);
+        int errors = withDenylist(result);
+        if (timed) {
+            metrics.recordLatency(System.nanoTime() - start);
         }
+        metrics.recordOutcome(errors);
 
-        if (INVALID_GROUP_ALL_ZEROS.equals(groupNumber)) {
-            errors.add("Group number (middle 2 digits) cannot be 00");
+        boolean normalized = SsnValidator.isNormalized(result);
+        if (normalized) {
+            ssn = SsnValidator.format(SsnValidator.value(result));
+        } else if (ssn != null && !ssn.isBlank()) {
+            ssn = ssn.trim();
         }
 
-        if (INVALID_SERIAL_ALL_ZEROS.equals(serialNumber)) {
-            errors.add("Serial number (last 4 digits) cannot be 0000");
-        }
+        SsnValidationResponse response = errors == 0
+                ? SsnValidationResponse.success(ssn)
+                : SsnValidationResponse.failure(ssn, errors);
+        response.setNormalized(normalized);
+        return response;
+    }
 
-        if (INVALID_SSNS.contains(ssn)) {
-            errors.add("This SSN is a known invalid test number");
+    /**
+     * Validates an SSN already decoded to its nine-digit number, as the binary protocol sends it, and
+     * returns the {@link SsnErrorCode} mask. Numbers above 999-99-9999 fail with the format error.
+     * Metrics are recorded as for {@link #validate(String, SsnRuleSet)}.
+     */
+    public int validateValue(int value, SsnRuleSet rules) {
+        boolean timed = metrics.sampleLatency();
+        long start = timed ? System.nanoTime() : 0;
+        int errors;
+        if (value < 0 || value > BinaryProtocol.MAX_VALUE) {
+            errors = SsnErrorCode.FORMAT.bit();
+        } else {
+            errors = rules.check(value);
+            if (errors == 0 && denylist.contains(value)) {
+                errors = SsnErrorCode.DENYLISTED.bit();
+            }
         }
-
-        if (errors.isEmpty()) {
-            return SsnValidationResponse.success(ssn);
+        if (timed) {
+            metrics.recordLatency(System.nanoTime() - start);
         }
+        metrics.recordOutcome(errors);
+        return errors;
+    }
 
-        return SsnValidationResponse.failure(ssn, errors);
+    /**
+     * Applies the rules and the denylist to {@code ssn} and returns the {@link SsnErrorCode} mask,
+     * without building a response or recording metrics. Used for bulk input, where a response per
+     * row would dominate the cost.
+     */
+    public int check(CharSequence ssn, SsnRuleSet rules) {
+        return withDenylist(SsnValidator.check(ssn, rules));
+    }
+
+    /**
+     * Like {@link #check(CharSequence, SsnRuleSet)}, reading {@code ssn} with
+     * {@link SsnValidator#checkLenient} when {@code normalize} is set.
+     */
+    public int check(CharSequence ssn, SsnRuleSet rules, boolean normalize) {
+        return withDenylist(normalize ? SsnValidator.checkLenient(ssn, rules) : SsnValidator.check(ssn, rules));
+    }
+
+    private int withDenylist(long result) {
+        int errors = SsnValidator.errors(result);
+        if (errors == 0 && denylist.contains(SsnValidator.value(result))) {
+            errors = SsnErrorCode.DENYLISTED.bit();
+        }
+        return errors;
     }
 }
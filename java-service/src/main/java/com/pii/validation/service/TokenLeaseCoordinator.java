@@ -0,0 +1,30 @@
+package com.pii.validation.service;
+
+import java.util.List;
+
+/**
+ * Shared owner of the cluster-wide token budget for {@link LeasedRateLimiterService}. Nodes lease
+ * blocks of tokens per client key; each call carries many keys so a node makes one round trip
+ * per refill batch, never one per request.
+ */
+public interface TokenLeaseCoordinator {
+
+    /**
+     * Grants up to the requested number of tokens for every request, in request order.
+     */
+    List<TokenLease> acquire(List<LeaseRequest> requests);
+
+    /**
+     * {@code tokens} for {@code clientKey}, whose window holds {@code requestsPerMinute} tokens.
+     */
+    record LeaseRequest(String clientKey, long tokens, int requestsPerMinute) {
+    }
+
+    /**
+     * {@code tokens} granted from the client's current window, usable for {@code validForNanos}
+     * (until the window ends). When nothing is granted, {@code validForNanos} is the time until
+     * the next window.
+     */
+    record TokenLease(long tokens, long validForNanos) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.pii.validation.service;
+
+/**
+ * Thrown when a job upload is larger than {@code ssn.jobs.max-upload-mb}.
+ */
+public class UploadTooLargeException extends IllegalArgumentException {
+
+    private final long maxBytes;
+
+    public UploadTooLargeException(long maxBytes) {
+        super("Uploads are limited to " + (maxBytes >> 20) + " MB");
+        this.maxBytes = maxBytes;
+    }
+
+    public long maxBytes() {
+        return maxBytes;
+    }
+}
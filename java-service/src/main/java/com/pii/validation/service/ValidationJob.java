@@ -0,0 +1,177 @@
+package com.pii.validation.service;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bulk validation job and its live progress. Counters are updated by the fork-join workers in
+ * batches and can be read at any time without locking.
+ */
+public final class ValidationJob {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private final String id;
+    private final Path input;
+    private final boolean upload;
+    private final int column;
+    private final boolean header;
+    private final boolean normalize;
+    private final long bytesTotal;
+    // The submitting client's key (see ClientKeys), for the audit events of its rows
+    private final long client;
+
+    private final LongAdder bytesProcessed = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder invalidRows = new LongAdder();
+
+    private volatile State state = State.QUEUED;
+    private volatile String rulesVersion;
+    private volatile String error;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private volatile boolean cancelled;
+
+    ValidationJob(String id, Path input, boolean upload, int column, boolean header, boolean normalize,
+                  long bytesTotal, long client) {
+        this.id = id;
+        this.input = input;
+        this.upload = upload;
+        this.column = column;
+        this.header = header;
+        this.normalize = normalize;
+        this.bytesTotal = bytesTotal;
+        this.client = client;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public State state() {
+        return state;
+    }
+
+    public int column() {
+        return column;
+    }
+
+    public boolean header() {
+        return header;
+    }
+
+    public boolean normalize() {
+        return normalize;
+    }
+
+    public String rulesVersion() {
+        return rulesVersion;
+    }
+
+    public String error() {
+        return error;
+    }
+
+    public long bytesTotal() {
+        return bytesTotal;
+    }
+
+    public long bytesProcessed() {
+        return bytesProcessed.sum();
+    }
+
+    public long rows() {
+        return rows.sum();
+    }
+
+    public long invalidRows() {
+        return invalidRows.sum();
+    }
+
+    public double progress() {
+        if (state == State.COMPLETED) {
+            return 1.0;
+        }
+        return bytesTotal == 0 ? 0.0 : Math.min((double) bytesProcessed() / bytesTotal, 1.0);
+    }
+
+    public long elapsedMillis() {
+        long started = startedNanos;
+        if (started == 0) {
+            return 0;
+        }
+        long finished = finishedNanos;
+        return TimeUnit.NANOSECONDS.toMillis((finished != 0 ? finished : System.nanoTime()) - started);
+    }
+
+    public long rowsPerSecond() {
+        long started = startedNanos;
+        if (started == 0) {
+            return 0;
+        }
+        long finished = finishedNanos;
+        long elapsed = (finished != 0 ? finished : System.nanoTime()) - started;
+        return elapsed <= 0 ? 0 : (long) (rows() * 1e9 / elapsed);
+    }
+
+    public boolean isDone() {
+        State current = state;
+        return current == State.COMPLETED || current == State.FAILED || current == State.CANCELLED;
+    }
+
+    long finishedNanos() {
+        return finishedNanos;
+    }
+
+    Path input() {
+        return input;
+    }
+
+    long client() {
+        return client;
+    }
+
+    boolean isUpload() {
+        return upload;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Marks the job cancelled.
+     *
+     * @return whether it had already finished, leaving its results to the caller to delete
+     */
+    synchronized boolean cancel() {
+        cancelled = true;
+        return isDone();
+    }
+
+    void started(String rulesVersion) {
+        this.rulesVersion = rulesVersion;
+        this.startedNanos = System.nanoTime();
+        this.state = State.RUNNING;
+    }
+
+    void progressed(long bytes, long rows, long invalidRows) {
+        bytesProcessed.add(bytes);
+        this.rows.add(rows);
+        this.invalidRows.add(invalidRows);
+    }
+
+    /**
+     * Records how the job ended, or {@link State#CANCELLED} if it was cancelled before it could.
+     *
+     * @return the state recorded
+     */
+    synchronized State finished(State state, String error) {
+        State outcome = cancelled ? State.CANCELLED : state;
+        this.error = cancelled ? null : error;
+        this.finishedNanos = System.nanoTime();
+        this.state = outcome;
+        return outcome;
+    }
+}
@@ -0,0 +1,349 @@
+package com.pii.validation.service;
+
+import com.pii.validation.audit.ValidationEventListener;
+import com.pii.validation.core.SsnRuleSet;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Runs bulk validation jobs over CSV files. A job's input is either a file under
+ * {@code ssn.jobs.input-dir} or an upload streamed to {@code ssn.jobs.work-dir}. Jobs run one at a
+ * time on a runner thread; each job is spread over all cores by {@link CsvFileValidator} on a
+ * dedicated fork-join pool, so bulk work never competes with request threads for the common pool.
+ * At most {@code ssn.jobs.max-queued} jobs wait behind the running one; a submission reserves its
+ * place before an upload is streamed, so a full queue turns uploads away without reading them.
+ *
+ * <p>A job is validated against the rule set that was active when it started. Every row is passed
+ * to the {@link ValidationEventListener} as a {@link ValidationEventListener.Source#JOB} decision
+ * of the client that submitted the job. Finished jobs and their results are kept for
+ * {@code ssn.jobs.retention-minutes}, or until the job is deleted.
+ */
+@Service
+public class ValidationJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ValidationJobService.class);
+
+    private final SsnValidationService validationService;
+    private final Path inputDir;
+    private final Path workDir;
+    private final CsvFileValidator validator;
+    private final ForkJoinPool pool;
+    private final ThreadPoolExecutor runner;
+    // Places in the runner's queue, taken on submission and given back when the job starts
+    private final Semaphore queueSlots;
+    private final long maxUploadBytes;
+    private final long retentionNanos;
+    // On the System.nanoTime scale, which ValidationJob's timestamps use
+    private final LongSupplier nanoClock;
+    private final ScheduledExecutorService reaper;
+    private final Map<String, ValidationJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ValidationJobService(SsnValidationService validationService,
+                                ValidationEventListener validationEvents,
+                                @Value("${ssn.jobs.input-dir:}") String inputDir,
+                                @Value("${ssn.jobs.work-dir:${java.io.tmpdir}/ssn-jobs}") String workDir,
+                                @Value("${ssn.jobs.chunk-size-mb:16}") int chunkSizeMb,
+                                @Value("${ssn.jobs.parallelism:0}") int parallelism,
+                                @Value("${ssn.jobs.max-queued:16}") int maxQueued,
+                                @Value("${ssn.jobs.max-upload-mb:1024}") int maxUploadMb,
+                                @Value("${ssn.jobs.retention-minutes:1440}") long retentionMinutes) throws IOException {
+        this(validationService, validationEvents, inputDir.isBlank() ? null : Path.of(inputDir), Path.of(workDir),
+                (long) chunkSizeMb << 20, parallelism, maxQueued, (long) maxUploadMb << 20,
+                TimeUnit.MINUTES.toNanos(retentionMinutes), System::nanoTime);
+    }
+
+    ValidationJobService(SsnValidationService validationService, ValidationEventListener validationEvents,
+                         Path inputDir, Path workDir, long chunkSize, int parallelism, int maxQueued,
+                         long maxUploadBytes, long retentionNanos, LongSupplier nanoClock) throws IOException {
+        if (maxUploadBytes <= 0) {
+            throw new IllegalArgumentException("ssn.jobs.max-upload-mb must be positive");
+        }
+        this.validationService = validationService;
+        this.maxUploadBytes = maxUploadBytes;
+        this.retentionNanos = retentionNanos;
+        this.nanoClock = nanoClock;
+        this.queueSlots = new Semaphore(maxQueued);
+        // Resolved once so that symlinks can't be used to step outside it later
+        this.inputDir = inputDir != null ? inputDir.toRealPath() : null;
+        this.workDir = Files.createDirectories(workDir).toRealPath();
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("ssn-job-worker-" + thread.getPoolIndex());
+                    thread.setDaemon(true);
+                    return thread;
+                }, null, false);
+        this.validator = new CsvFileValidator(validationService, validationEvents, pool, chunkSize);
+        this.runner = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(maxQueued),
+                r -> {
+                    Thread thread = new Thread(r, "ssn-job-runner");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        if (retentionNanos > 0) {
+            this.reaper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ssn-job-reaper");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = Math.min(retentionNanos, TimeUnit.MINUTES.toNanos(1));
+            reaper.scheduleWithFixedDelay(this::expire, interval, interval, TimeUnit.NANOSECONDS);
+        } else {
+            this.reaper = null;
+        }
+    }
+
+    public long maxUploadBytes() {
+        return maxUploadBytes;
+    }
+
+    /**
+     * Queues a job for a file under {@code ssn.jobs.input-dir}; relative paths are resolved against it.
+     *
+     * @throws IllegalArgumentException if file jobs are disabled or the path isn't a readable file
+     *                                  inside the input directory
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public ValidationJob submitFile(String path, int column, boolean header) throws IOException {
+        return submitFile(path, column, header, false, 0);
+    }
+
+    /**
+     * Like {@link #submitFile(String, int, boolean)}; with {@code normalize}, SSNs are read as by
+     * {@link SsnValidationService#check(CharSequence, SsnRuleSet, boolean)}. The rows are audited as
+     * decisions for {@code client}, a {@link ClientKeys} key.
+     */
+    public ValidationJob submitFile(String path, int column, boolean header, boolean normalize, long client)
+            throws IOException {
+        if (inputDir == null) {
+            throw new IllegalArgumentException("File jobs are disabled: ssn.jobs.input-dir is not set");
+        }
+        checkColumn(column);
+
+        Path input;
+        try {
+            input = inputDir.resolve(path).toRealPath();
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("File not found: " + path);
+        }
+        if (!input.startsWith(inputDir) || !Files.isRegularFile(input) || !Files.isReadable(input)) {
+            throw new IllegalArgumentException("File not found: " + path);
+        }
+
+        reserveSlot();
+        try {
+            return enqueue(new ValidationJob(newId(), input, false, column, header, normalize, Files.size(input),
+                    client));
+        } catch (IOException | RuntimeException e) {
+            queueSlots.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Streams {@code body} to the work directory and queues a job for it. The upload is deleted when
+     * the job finishes.
+     *
+     * @throws RejectedExecutionException if the queue is full; nothing is read from {@code body}
+     * @throws UploadTooLargeException    if {@code body} is longer than {@code ssn.jobs.max-upload-mb}
+     */
+    public ValidationJob submitUpload(InputStream body, int column, boolean header) throws IOException {
+        return submitUpload(body, column, header, false, 0);
+    }
+
+    public ValidationJob submitUpload(InputStream body, int column, boolean header, boolean normalize, long client)
+            throws IOException {
+        checkColumn(column);
+        reserveSlot();
+        String id = newId();
+        Path upload = workDir.resolve(id + ".upload");
+        try {
+            long size = copy(body, upload);
+            return enqueue(new ValidationJob(id, upload, true, column, header, normalize, size, client));
+        } catch (IOException | RuntimeException e) {
+            queueSlots.release();
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+    }
+
+    public Optional<ValidationJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * The results file of a completed job.
+     */
+    public Optional<Path> results(String id) {
+        ValidationJob job = jobs.get(id);
+        if (job == null || job.state() != ValidationJob.State.COMPLETED) {
+            return Optional.empty();
+        }
+        return Optional.of(resultsPath(id));
+    }
+
+    /**
+     * Cancels the job if it hasn't finished and forgets it, deleting its results. A running job
+     * stops at its next progress update and cleans up after itself.
+     */
+    public boolean delete(String id) throws IOException {
+        ValidationJob job = jobs.remove(id);
+        if (job == null) {
+            return false;
+        }
+        // A job still running deletes its own results when it finishes
+        if (job.cancel()) {
+            Files.deleteIfExists(resultsPath(id));
+        }
+        return true;
+    }
+
+    /**
+     * Forgets the jobs that finished more than {@code ssn.jobs.retention-minutes} ago and deletes
+     * their results. Runs every minute, or as often as the retention when that is shorter.
+     */
+    void expire() {
+        long now = nanoClock.getAsLong();
+        for (ValidationJob job : jobs.values()) {
+            if (job.isDone() && now - job.finishedNanos() >= retentionNanos && jobs.remove(job.id(), job)) {
+                try {
+                    Files.deleteIfExists(resultsPath(job.id()));
+                    log.debug("Validation job {} expired", job.id());
+                } catch (IOException e) {
+                    log.warn("Could not delete the results of expired job {}", job.id(), e);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (reaper != null) {
+            reaper.shutdownNow();
+        }
+        runner.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    private void reserveSlot() {
+        if (!queueSlots.tryAcquire()) {
+            throw new RejectedExecutionException("The job queue is full");
+        }
+    }
+
+    // Streams body to file, failing as soon as it passes the upload limit
+    private long copy(InputStream body, Path file) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long size = 0;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            int read;
+            while ((read = body.read(buffer)) >= 0) {
+                size += read;
+                if (size > maxUploadBytes) {
+                    throw new UploadTooLargeException(maxUploadBytes);
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return size;
+    }
+
+    // Called with a queue slot reserved, which the job gives back when it starts
+    private ValidationJob enqueue(ValidationJob job) {
+        jobs.put(job.id(), job);
+        try {
+            runner.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id());
+            throw e;
+        }
+        return job;
+    }
+
+    private void run(ValidationJob job) {
+        queueSlots.release();
+        try {
+            if (job.isCancelled()) {
+                finish(job, ValidationJob.State.CANCELLED, null);
+                return;
+            }
+
+            SsnRuleSet rules = validationService.currentRules();
+            job.started(rules.version());
+            log.info("Validation job {} started: {} bytes, rules version {}", job.id(), job.bytesTotal(), rules.version());
+
+            validator.validate(job, rules, resultsPath(job.id()));
+            if (finish(job, ValidationJob.State.COMPLETED, null) != ValidationJob.State.COMPLETED) {
+                return;
+            }
+            log.info("Validation job {} completed: {} rows, {} invalid, {} rows/s", job.id(), job.rows(),
+                    job.invalidRows(), job.rowsPerSecond());
+        } catch (CancellationException e) {
+            finish(job, ValidationJob.State.CANCELLED, null);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Validation job {} failed", job.id(), e);
+            finish(job, ValidationJob.State.FAILED, e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+    }
+
+    // Uploads are removed before the job reports itself done, so a finished job owns no input. The
+    // results of a job deleted before it finished are removed here; delete() removes them otherwise
+    private ValidationJob.State finish(ValidationJob job, ValidationJob.State state, String error) {
+        if (job.isUpload()) {
+            try {
+                Files.deleteIfExists(job.input());
+            } catch (IOException e) {
+                log.warn("Could not delete upload {}", job.input(), e);
+            }
+        }
+        ValidationJob.State outcome = job.finished(state, error);
+        if (outcome == ValidationJob.State.CANCELLED) {
+            try {
+                Files.deleteIfExists(resultsPath(job.id()));
+            } catch (IOException e) {
+                log.warn("Could not delete the results of cancelled job {}", job.id(), e);
+            }
+        }
+        return outcome;
+    }
+
+    private Path resultsPath(String id) {
+        return workDir.resolve(id + ".results.csv");
+    }
+
+    private static void checkColumn(int column) {
+        if (column < 0) {
+            throw new IllegalArgumentException("column must be 0 or greater");
+        }
+    }
+
+    private static String newId() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,218 @@
+package com.pii.validation.service;
+
+import com.pii.validation.audit.ValidationEventListener;
+import com.pii.validation.core.SsnErrorCode;
+import com.pii.validation.dto.ValidationStatsResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Validation outcomes of the last {@code stats.horizon-s} seconds behind {@code GET /api/v1/stats}.
+ * Each second of a {@link SecondRing} has a striped {@link LongAdder} per outcome and a
+ * {@link HeavyHitters} summary of the clients per outcome, so memory stays bounded however many
+ * clients there are. A query adds up the seconds it covers.
+ *
+ * <p>Outcomes are {@code validations} (every SSN), {@code valid}, {@code rejected}, and one per
+ * {@link SsnErrorCode}; an SSN that fails several rules counts under each. Client summaries are
+ * allocated the first time their outcome occurs and reused after that.
+ */
+@Service
+@ConditionalOnProperty(name = "stats.enabled", havingValue = "true")
+public class ValidationStats {
+
+    public static final String VALIDATIONS = "validations";
+    public static final String VALID = "valid";
+    public static final String REJECTED = "rejected";
+
+    static final int MAX_HORIZON_SECONDS = 3600;
+
+    private static final int ALL_INDEX = 0;
+    private static final int VALID_INDEX = 1;
+    private static final int REJECTED_INDEX = 2;
+    private static final int FIRST_CODE_INDEX = 3;
+    private static final List<String> OUTCOMES = outcomeNames();
+
+    private final int horizonSeconds;
+    private final int topCapacity;
+    private final LongSupplier nanoClock;
+    private final SecondRing<Slot> ring;
+
+    @Autowired
+    public ValidationStats(@Value("${stats.horizon-s:300}") int horizonSeconds,
+                           @Value("${stats.top-capacity:64}") int topCapacity) {
+        this(horizonSeconds, topCapacity, System::nanoTime);
+    }
+
+    ValidationStats(int horizonSeconds, int topCapacity, LongSupplier nanoClock) {
+        if (horizonSeconds < 1 || horizonSeconds > MAX_HORIZON_SECONDS) {
+            throw new IllegalArgumentException("stats.horizon-s must be between 1 and " + MAX_HORIZON_SECONDS);
+        }
+        if (topCapacity < 1) {
+            throw new IllegalArgumentException("stats.top-capacity must be positive");
+        }
+        this.horizonSeconds = horizonSeconds;
+        this.topCapacity = topCapacity;
+        this.nanoClock = nanoClock;
+        this.ring = new SecondRing<>(horizonSeconds, Slot::new, Slot::clear);
+    }
+
+    /**
+     * Outcome names in the order queries report them.
+     */
+    public static List<String> outcomes() {
+        return OUTCOMES;
+    }
+
+    /**
+     * Has the same signature as {@link ValidationEventListener#onValidation}, to be chained after the
+     * audit listener.
+     */
+    public void onValidation(ValidationEventListener.Source source, long client, String ssn, int errors) {
+        record(client, errors);
+    }
+
+    void record(long client, int errors) {
+        Slot slot = ring.current(nanoClock.getAsLong());
+        slot.add(ALL_INDEX, client);
+        if (errors == 0) {
+            slot.add(VALID_INDEX, client);
+            return;
+        }
+        slot.add(REJECTED_INDEX, client);
+        for (int mask = errors; mask != 0; mask &= mask - 1) {
+            int index = FIRST_CODE_INDEX + Integer.numberOfTrailingZeros(mask);
+            if (index < OUTCOMES.size()) {
+                slot.add(index, client);
+            }
+        }
+    }
+
+    public int getHorizonSeconds() {
+        return horizonSeconds;
+    }
+
+    public int getTopCapacity() {
+        return topCapacity;
+    }
+
+    /**
+     * Outcome counts of the last {@code windowSeconds} seconds, including the current one, and the
+     * {@code top} clients with the most {@code outcome} validations in them.
+     */
+    public ValidationStatsResponse query(int windowSeconds, String outcome, int top) {
+        if (windowSeconds < 1 || windowSeconds > horizonSeconds) {
+            throw new IllegalArgumentException("window must be between 1 and " + horizonSeconds + " seconds");
+        }
+        if (top < 0 || top > topCapacity) {
+            throw new IllegalArgumentException("top must be between 0 and " + topCapacity);
+        }
+        int outcomeIndex = OUTCOMES.indexOf(outcome.toLowerCase(Locale.ROOT));
+        if (outcomeIndex < 0) {
+            throw new IllegalArgumentException("Unknown outcome '" + outcome + "', expected one of " + OUTCOMES);
+        }
+
+        long[] counts = new long[OUTCOMES.size()];
+        // Per client {count, error}, summed over the seconds that tracked it
+        Map<Long, long[]> clients = new HashMap<>();
+        ring.forEach(nanoClock.getAsLong(), windowSeconds, slot -> {
+            slot.addCounts(counts);
+            slot.addClients(outcomeIndex, clients);
+        });
+
+        Map<String, Long> outcomes = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            outcomes.put(OUTCOMES.get(i), counts[i]);
+        }
+        List<Map.Entry<Long, long[]>> ranked = new ArrayList<>(clients.entrySet());
+        ranked.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+        List<ValidationStatsResponse.Client> topClients = new ArrayList<>(Math.min(top, ranked.size()));
+        for (Map.Entry<Long, long[]> entry : ranked.subList(0, Math.min(top, ranked.size()))) {
+            topClients.add(new ValidationStatsResponse.Client(ClientKeys.toAddress(entry.getKey()),
+                    entry.getValue()[0], entry.getValue()[1]));
+        }
+        return new ValidationStatsResponse(windowSeconds, outcomes, OUTCOMES.get(outcomeIndex), topClients);
+    }
+
+    private static List<String> outcomeNames() {
+        int highestCode = 0;
+        for (SsnErrorCode code : SsnErrorCode.values()) {
+            highestCode = Math.max(highestCode, code.code());
+        }
+        String[] names = new String[FIRST_CODE_INDEX + highestCode + 1];
+        names[ALL_INDEX] = VALIDATIONS;
+        names[VALID_INDEX] = VALID;
+        names[REJECTED_INDEX] = REJECTED;
+        for (SsnErrorCode code : SsnErrorCode.values()) {
+            names[FIRST_CODE_INDEX + code.code()] = code.name().toLowerCase(Locale.ROOT);
+        }
+        return List.of(names);
+    }
+
+    private final class Slot {
+
+        final LongAdder[] counts = new LongAdder[OUTCOMES.size()];
+        final HeavyHitters[] clients = new HeavyHitters[OUTCOMES.size()];
+
+        Slot() {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        void add(int outcome, long client) {
+            counts[outcome].increment();
+            // HeavyHitters only has final fields, so a summary created on another thread is safe to
+            // use without the slot's lock
+            HeavyHitters summary = clients[outcome];
+            if (summary == null) {
+                summary = summary(outcome);
+            }
+            summary.add(client);
+        }
+
+        void addCounts(long[] totals) {
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += counts[i].sum();
+            }
+        }
+
+        void addClients(int outcome, Map<Long, long[]> totals) {
+            HeavyHitters summary = clients[outcome];
+            if (summary == null) {
+                return;
+            }
+            summary.forEach((key, count, error) -> {
+                long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+                total[0] += count;
+                total[1] += error;
+            });
+        }
+
+        synchronized HeavyHitters summary(int outcome) {
+            if (clients[outcome] == null) {
+                clients[outcome] = new HeavyHitters(topCapacity);
+            }
+            return clients[outcome];
+        }
+
+        synchronized void clear() {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i].reset();
+                if (clients[i] != null) {
+                    clients[i].clear();
+                }
+            }
+        }
+    }
+}
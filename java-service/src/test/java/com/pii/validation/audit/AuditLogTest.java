@@ -0,0 +1,204 @@
+package com.pii.validation.audit;
+
+import com.pii.validation.audit.AuditLogReader.AuditRecord;
+import com.pii.validation.audit.ValidationEventListener.Source;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AuditLog")
+class AuditLogTest {
+
+    private static final byte[] KEY = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final long SEGMENT_SIZE = 1 << 20;
+
+    @TempDir
+    Path dir;
+
+    private AuditLog open(int bufferSize, AuditLog.Backpressure backpressure, long segmentSize) throws IOException {
+        return new AuditLog(dir, KEY, bufferSize, backpressure, segmentSize, 1000);
+    }
+
+    private List<AuditRecord> readAll() throws IOException {
+        List<AuditRecord> records = new ArrayList<>();
+        AuditLogReader.read(dir, records::add);
+        return records;
+    }
+
+    private static byte[] expectedHash(String ssn) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(KEY, "HmacSHA256"));
+        return Arrays.copyOf(mac.doFinal(ssn.getBytes(StandardCharsets.UTF_8)), 16);
+    }
+
+    @Nested
+    @DisplayName("writing and reading")
+    class WriteRead {
+
+        @Test
+        @DisplayName("writes every event with a keyed SSN hash instead of the SSN")
+        void roundTrip() throws Exception {
+            long before = System.currentTimeMillis();
+            try (AuditLog log = open(1024, AuditLog.Backpressure.BLOCK, SEGMENT_SIZE)) {
+                log.onValidation(Source.SINGLE, 0xC0A80001L, "123-45-6789", 0);
+                log.onValidation(Source.BATCH, 7, "000-12-3456", 0b100);
+                log.onValidation(Source.SINGLE, 7, null, 1);
+            }
+
+            List<AuditRecord> records = readAll();
+            assertEquals(3, records.size());
+
+            AuditRecord first = records.get(0);
+            assertTrue(first.timestamp() >= before);
+            assertEquals(0xC0A80001L, first.client());
+            assertArrayEquals(expectedHash("123-45-6789"), first.ssnHash());
+            assertTrue(first.valid());
+            assertEquals(Source.SINGLE, first.source());
+
+            AuditRecord second = records.get(1);
+            assertArrayEquals(expectedHash("000-12-3456"), second.ssnHash());
+            assertEquals(0b100, second.errors());
+            assertFalse(second.valid());
+            assertEquals(Source.BATCH, second.source());
+
+            assertNull(records.get(2).ssnHash());
+            assertEquals(1, records.get(2).errors());
+        }
+
+        @Test
+        @DisplayName("never stores the SSN itself")
+        void doesNotStoreSsn() throws IOException {
+            try (AuditLog log = open(1024, AuditLog.Backpressure.BLOCK, SEGMENT_SIZE)) {
+                log.onValidation(Source.SINGLE, 1, "123-45-6789", 0);
+            }
+            for (Path segment : AuditLogReader.segments(dir)) {
+                String content = new String(Files.readAllBytes(segment), StandardCharsets.ISO_8859_1);
+                assertFalse(content.contains("123-45-6789"));
+                assertFalse(content.contains("123456789"));
+            }
+        }
+
+        @Test
+        @DisplayName("hashes non-ASCII input as UTF-8")
+        void hashesNonAscii() throws Exception {
+            try (AuditLog log = open(1024, AuditLog.Backpressure.BLOCK, SEGMENT_SIZE)) {
+                log.onValidation(Source.SINGLE, 1, "１２３-45-6789", 2);
+            }
+            assertArrayEquals(expectedHash("１２３-45-6789"), readAll().get(0).ssnHash());
+        }
+
+        @Test
+        @DisplayName("rejects keys shorter than 16 bytes")
+        void rejectsShortKey() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new AuditLog(dir, new byte[8], 1024, AuditLog.Backpressure.DROP, SEGMENT_SIZE, 1000));
+        }
+
+        @Test
+        @DisplayName("reader rejects files that are not segments")
+        void readerRejectsForeignFiles() throws IOException {
+            Path file = Files.write(dir.resolve("audit-000000000000.log"), new byte[128]);
+            assertThrows(IOException.class, () -> AuditLogReader.read(file, record -> { }));
+        }
+    }
+
+    @Nested
+    @DisplayName("segments")
+    class Segments {
+
+        @Test
+        @DisplayName("rotates to a new segment when the current one is full")
+        void rotates() throws IOException {
+            long segmentSize = AuditLogFormat.HEADER_SIZE + 10L * AuditLogFormat.RECORD_SIZE;
+            AuditLog log = open(1024, AuditLog.Backpressure.BLOCK, segmentSize);
+            for (int i = 0; i < 25; i++) {
+                log.onValidation(Source.BATCH, i, "123-45-6789", 0);
+            }
+            log.close();
+
+            assertEquals(3, log.segmentCount());
+            assertEquals(25, log.writtenCount());
+
+            assertEquals(3, AuditLogReader.segments(dir).size());
+            List<AuditRecord> records = readAll();
+            assertEquals(25, records.size());
+            for (int i = 0; i < 25; i++) {
+                assertEquals(i, records.get(i).client());
+            }
+        }
+
+        @Test
+        @DisplayName("starts a new segment after a restart instead of overwriting")
+        void appendsAfterRestart() throws IOException {
+            try (AuditLog log = open(1024, AuditLog.Backpressure.BLOCK, SEGMENT_SIZE)) {
+                log.onValidation(Source.SINGLE, 1, "123-45-6789", 0);
+            }
+            try (AuditLog log = open(1024, AuditLog.Backpressure.BLOCK, SEGMENT_SIZE)) {
+                log.onValidation(Source.SINGLE, 2, "123-45-6789", 0);
+            }
+
+            assertEquals(2, AuditLogReader.segments(dir).size());
+            List<AuditRecord> records = readAll();
+            assertEquals(List.of(1L, 2L), records.stream().map(AuditRecord::client).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("backpressure")
+    class Backpressure {
+
+        @Test
+        @DisplayName("drop accounts for every event as either written or dropped")
+        void dropCountsEvents() throws IOException {
+            int events = 100_000;
+            AuditLog log = open(2, AuditLog.Backpressure.DROP, 8L << 20);
+            for (int i = 0; i < events; i++) {
+                log.onValidation(Source.BATCH, i, "123-45-6789", 0);
+            }
+            log.close();
+
+            assertEquals(events, log.writtenCount() + log.droppedCount());
+            assertEquals(log.writtenCount(), readAll().size());
+            assertEquals(0, log.backlog());
+        }
+
+        @Test
+        @DisplayName("block waits for space instead of losing events")
+        void blockKeepsEvents() throws IOException {
+            int events = 20_000;
+            AuditLog log = open(2, AuditLog.Backpressure.BLOCK, SEGMENT_SIZE);
+            for (int i = 0; i < events; i++) {
+                log.onValidation(Source.BATCH, i, "123-45-6789", 0);
+            }
+            log.close();
+
+            assertEquals(events, log.writtenCount());
+            assertEquals(0, log.droppedCount());
+            assertEquals(events, readAll().size());
+        }
+
+        @Test
+        @DisplayName("drops events published after close")
+        void dropsAfterClose() throws IOException {
+            AuditLog log = open(16, AuditLog.Backpressure.BLOCK, SEGMENT_SIZE);
+            log.close();
+            log.onValidation(Source.SINGLE, 1, "123-45-6789", 0);
+
+            assertEquals(1, log.droppedCount());
+            assertEquals(0, log.writtenCount());
+        }
+    }
+}
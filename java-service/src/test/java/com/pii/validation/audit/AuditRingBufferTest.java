@@ -0,0 +1,108 @@
+package com.pii.validation.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AuditRingBuffer")
+class AuditRingBufferTest {
+
+    @Test
+    @DisplayName("rejects capacities that are not a power of two")
+    void rejectsBadCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer(0));
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer(1));
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer(1000));
+    }
+
+    @Test
+    @DisplayName("hands events to the consumer in publish order with all fields")
+    void drainsInOrder() {
+        AuditRingBuffer buffer = new AuditRingBuffer(8);
+        assertTrue(buffer.offer(10, 1, "123-45-6789", 0, 0));
+        assertTrue(buffer.offer(20, 2, null, 1, 1));
+
+        List<String> events = new ArrayList<>();
+        int drained = buffer.drain((timestamp, client, ssn, errors, source) ->
+                events.add(timestamp + "," + client + "," + ssn + "," + errors + "," + source), 10);
+
+        assertEquals(2, drained);
+        assertEquals(List.of("10,1,123-45-6789,0,0", "20,2,null,1,1"), events);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    @DisplayName("refuses events when full and accepts them again once drained")
+    void refusesWhenFull() {
+        AuditRingBuffer buffer = new AuditRingBuffer(4);
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(buffer.offer(i, 0, null, 0, 0));
+        }
+        assertFalse(buffer.offer(5, 0, null, 0, 0));
+        assertEquals(4, buffer.size());
+
+        assertEquals(2, buffer.drain((timestamp, client, ssn, errors, source) -> { }, 2));
+        assertTrue(buffer.offer(5, 0, null, 0, 0));
+        assertTrue(buffer.offer(6, 0, null, 0, 0));
+        assertFalse(buffer.offer(7, 0, null, 0, 0));
+
+        List<Long> timestamps = new ArrayList<>();
+        buffer.drain((timestamp, client, ssn, errors, source) -> timestamps.add(timestamp), 10);
+        assertEquals(List.of(3L, 4L, 5L, 6L), timestamps);
+    }
+
+    @Test
+    @DisplayName("loses nothing and keeps each producer's order under concurrent producers")
+    void concurrentProducers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        AuditRingBuffer buffer = new AuditRingBuffer(1024);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long client = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 1; i <= perProducer; i++) {
+                    while (!buffer.offer(i, client, null, 0, 0)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        long[] lastSeen = new long[producers];
+        long[] received = new long[1];
+        boolean[] ordered = {true};
+        start.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received[0] < (long) producers * perProducer && System.nanoTime() < deadline) {
+            buffer.drain((timestamp, client, ssn, errors, source) -> {
+                int producer = (int) client;
+                ordered[0] &= timestamp == lastSeen[producer] + 1;
+                lastSeen[producer] = timestamp;
+                received[0]++;
+            }, 256);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals((long) producers * perProducer, received[0]);
+        assertTrue(ordered[0]);
+        assertEquals(0, buffer.size());
+    }
+}
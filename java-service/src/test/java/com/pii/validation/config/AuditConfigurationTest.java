@@ -0,0 +1,80 @@
+package com.pii.validation.config;
+
+import com.pii.validation.audit.AuditLog;
+import com.pii.validation.audit.AuditLogReader;
+import com.pii.validation.audit.ValidationEventListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Audit log configured with audit.enabled")
+class AuditConfigurationTest {
+
+    @TempDir
+    static Path dir;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ValidationEventListener listener;
+
+    @DynamicPropertySource
+    static void audit(DynamicPropertyRegistry registry) {
+        registry.add("audit.enabled", () -> "true");
+        registry.add("audit.dir", dir::toString);
+        registry.add("audit.hmac-key", () -> Base64.getEncoder().encodeToString(new byte[32]));
+    }
+
+    @Test
+    @DisplayName("records single and batch validations")
+    void recordsValidations() throws Exception {
+        AuditLog auditLog = assertInstanceOf(AuditLog.class, listener);
+        long before = auditLog.writtenCount();
+
+        mockMvc.perform(post("/api/v1/ssn/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"123-45-6789\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/v1/ssn/validate/batch")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("000-12-3456\n123-45-6788\n"))
+                .andExpect(status().isOk());
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (auditLog.writtenCount() < before + 3 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(before + 3, auditLog.writtenCount());
+
+        // The mapping is shared with the writer, so records are readable before any force
+        List<AuditLogReader.AuditRecord> records = new ArrayList<>();
+        AuditLogReader.read(dir, records::add);
+        List<AuditLogReader.AuditRecord> recent = records.subList(records.size() - 3, records.size());
+        assertEquals(ValidationEventListener.Source.SINGLE, recent.get(0).source());
+        assertTrue(recent.get(0).valid());
+        assertEquals(ValidationEventListener.Source.BATCH, recent.get(1).source());
+        assertFalse(recent.get(1).valid());
+        assertEquals(ValidationEventListener.Source.BATCH, recent.get(2).source());
+        assertTrue(recent.get(2).valid());
+    }
+}
@@ -0,0 +1,47 @@
+package com.pii.validation.config;
+
+import com.pii.validation.service.ClientRateLimiter;
+import com.pii.validation.service.CompactRateLimiterService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"rate.limit.backend=compact", "rate.limit.compact.capacity=1024"})
+@AutoConfigureMockMvc
+@DisplayName("RateLimitFilter with the compact backend")
+class CompactRateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClientRateLimiter rateLimiter;
+
+    @Test
+    @DisplayName("selects the compact limiter and returns 429 once the limit is exceeded")
+    void returns429WhenRateLimitExceeded() throws Exception {
+        assertInstanceOf(CompactRateLimiterService.class, rateLimiter);
+
+        for (int i = 0; i < 101; i++) {
+            var result = mockMvc.perform(post("/api/v1/ssn/validate")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"ssn\": \"123-45-6789\"}"));
+
+            if (i < 100) {
+                result.andExpect(status().isOk())
+                        .andExpect(header().string("X-RateLimit-Remaining", String.valueOf(99 - i)));
+            } else {
+                result.andExpect(status().isTooManyRequests())
+                        .andExpect(header().exists("X-RateLimit-Reset"));
+            }
+        }
+    }
+}
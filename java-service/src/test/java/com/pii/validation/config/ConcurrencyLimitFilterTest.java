@@ -0,0 +1,93 @@
+package com.pii.validation.config;
+
+import com.pii.validation.service.AdaptiveConcurrencyLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"concurrency.limit.initial=10", "concurrency.limit.min=1"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DisplayName("ConcurrencyLimitFilter")
+class ConcurrencyLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConcurrencyLimitFilter filter;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @Test
+    @DisplayName("reports the limit and in-flight count on admitted requests")
+    void reportsLimitHeaders() throws Exception {
+        mockMvc.perform(post("/api/v1/ssn/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"123-45-6789\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Concurrency-Limit", String.valueOf(limiter.getLimit())))
+                .andExpect(header().string("X-Concurrency-Inflight", "1"));
+
+        assertEquals(0, limiter.getInflight());
+    }
+
+    @Test
+    @DisplayName("returns 503 once the limit is reached and frees slots afterwards")
+    void shedsLoadAtLimit() throws Exception {
+        int limit = limiter.getLimit();
+        MockHttpServletResponse[] shed = new MockHttpServletResponse[1];
+
+        // Each request re-enters the filter from inside the chain, so `limit` of them are in flight
+        // when the next one arrives
+        FilterChain nested = new FilterChain() {
+            private int depth;
+
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response)
+                    throws IOException, ServletException {
+                depth++;
+                MockHttpServletResponse next = new MockHttpServletResponse();
+                if (depth < limit) {
+                    filter.doFilter(new MockHttpServletRequest(), next, this);
+                } else {
+                    filter.doFilter(new MockHttpServletRequest(), next, (req, res) -> { });
+                    shed[0] = next;
+                }
+            }
+        };
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), nested);
+
+        assertEquals(503, shed[0].getStatus());
+        assertEquals("1", shed[0].getHeader("Retry-After"));
+        assertEquals(String.valueOf(limit), shed[0].getHeader("X-Concurrency-Inflight"));
+        assertEquals("{\"error\": \"Service overloaded\", \"message\": \"Too many concurrent requests. Please retry shortly.\"}",
+                shed[0].getContentAsString());
+        assertEquals(0, limiter.getInflight());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(content().string(containsString("concurrency_limit_decisions_total{outcome=\"rejected\"")))
+                .andExpect(content().string(containsString("concurrency_inflight ")))
+                .andExpect(content().string(containsString("concurrency_limit ")));
+    }
+}
@@ -0,0 +1,54 @@
+package com.pii.validation.config;
+
+import com.pii.validation.core.SsnDenylistWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("SSN denylist configured with ssn.denylist.path")
+class DenylistConfigurationTest {
+
+    @TempDir
+    static Path dir;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void denylist(DynamicPropertyRegistry registry) throws IOException {
+        Path file = dir.resolve("denylist.bin");
+        SsnDenylistWriter.writeSorted(new int[]{123_45_6789}, file);
+        registry.add("ssn.denylist.path", file::toString);
+    }
+
+    @Test
+    @DisplayName("rejects denylisted SSNs with the denylist error")
+    void rejectsDenylistedSsn() throws Exception {
+        mockMvc.perform(post("/api/v1/ssn/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"123-45-6789\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.errors[0]").value("This SSN is on the denylist of compromised or synthetic numbers"));
+
+        mockMvc.perform(post("/api/v1/ssn/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"123-45-6788\"}"))
+                .andExpect(status().isOk());
+    }
+}
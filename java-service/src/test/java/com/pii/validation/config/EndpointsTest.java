@@ -0,0 +1,36 @@
+package com.pii.validation.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Endpoints")
+class EndpointsTest {
+
+    @Test
+    @DisplayName("classifies batch, job and index-load endpoints as bulk")
+    void bulk() {
+        assertTrue(Endpoints.isBulk("/api/v1/ssn/validate/batch"));
+        assertTrue(Endpoints.isBulk("/api/v1/ssn/seen/bulk"));
+        assertTrue(Endpoints.isBulk("/api/v1/ssn/tokenize/batch"));
+        assertTrue(Endpoints.isBulk("/api/v1/ssn/detokenize/batch"));
+        assertTrue(Endpoints.isBulk("/api/v1/ssn/jobs"));
+        assertTrue(Endpoints.isBulk("/api/v1/ssn/jobs/42/results"));
+
+        assertFalse(Endpoints.isBulk("/api/v1/ssn/validate"));
+        assertFalse(Endpoints.isBulk("/api/v1/ssn/tokenize"));
+        assertFalse(Endpoints.isBulk("/health"));
+    }
+
+    @Test
+    @DisplayName("classifies the liveness and readiness endpoints as health checks")
+    void health() {
+        assertTrue(Endpoints.isHealth("/health"));
+        assertTrue(Endpoints.isHealth("/health/ready"));
+
+        assertFalse(Endpoints.isHealth("/healthz"));
+        assertFalse(Endpoints.isHealth("/api/v1/ssn/validate"));
+    }
+}
@@ -0,0 +1,118 @@
+package com.pii.validation.config;
+
+import com.pii.validation.service.Lane;
+import com.pii.validation.service.LaneGate;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "lanes.enabled=true",
+        "lanes.capacity=4",
+        "lanes.interactive.reserved=1",
+        "lanes.bulk.max-concurrent=2",
+        "lanes.bulk.max-queued=0",
+        "rate.limit.requests-per-minute=3",
+        "lanes.bulk.requests-per-minute=50"
+})
+@AutoConfigureMockMvc
+@DisplayName("LaneFilter")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class LaneFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LaneGate gate;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private static MockHttpServletRequestBuilder validate(String ssn) {
+        return post("/api/v1/ssn/validate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ssn\": \"" + ssn + "\"}");
+    }
+
+    @Test
+    @DisplayName("puts batch endpoints and X-Lane: bulk requests in the bulk lane")
+    void classifiesRequests() throws Exception {
+        mockMvc.perform(validate("123-45-6789"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(LaneFilter.LANE_HEADER, "interactive"));
+        mockMvc.perform(validate("123-45-6789").header(LaneFilter.LANE_HEADER, "bulk"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(LaneFilter.LANE_HEADER, "bulk"));
+        mockMvc.perform(post("/api/v1/ssn/validate/batch")
+                        .header(LaneFilter.LANE_HEADER, "interactive")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("123-45-6789\n"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(LaneFilter.LANE_HEADER, "bulk"));
+        mockMvc.perform(get("/health"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(LaneFilter.LANE_HEADER));
+
+        assertEquals(1, registry.get("lane.requests").tag("lane", "interactive").timer().count());
+        assertEquals(2, registry.get("lane.requests").tag("lane", "bulk").timer().count());
+        assertEquals(0, gate.getInflight(Lane.INTERACTIVE) + gate.getInflight(Lane.BULK));
+    }
+
+    @Test
+    @DisplayName("charges bulk endpoints to the bulk lane's budget and X-Lane: bulk requests to the client's own")
+    void separateBudgets() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(validate("123-45-6789")).andExpect(status().isOk());
+        }
+        mockMvc.perform(validate("123-45-6789")).andExpect(status().isTooManyRequests());
+
+        // The header lowers the priority but doesn't open the bulk budget
+        mockMvc.perform(validate("123-45-6789").header(LaneFilter.LANE_HEADER, "bulk"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(LaneFilter.LANE_HEADER, "bulk"))
+                .andExpect(header().string("X-RateLimit-Limit", "3"));
+
+        // Batch items beyond the first are charged to the same budget
+        mockMvc.perform(post("/api/v1/ssn/validate/batch")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("123-45-6789\n123-45-6789\n123-45-6789\n"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-RateLimit-Limit", "50"));
+        // 50, less 3 for the batch and 1 for this probe
+        assertEquals(46, gate.budget(Lane.BULK).tryConsume("127.0.0.1", 1).remainingTokens());
+    }
+
+    @Test
+    @DisplayName("returns 503 to bulk requests while the lane is full, without holding up interactive ones")
+    void shedsBulkWhenFull() throws Exception {
+        assertEquals(LaneGate.Admission.ADMITTED, gate.acquire(Lane.BULK));
+        assertEquals(LaneGate.Admission.ADMITTED, gate.acquire(Lane.BULK));
+        try {
+            mockMvc.perform(validate("123-45-6789").header(LaneFilter.LANE_HEADER, "bulk"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.error").value("Lane busy"));
+            mockMvc.perform(validate("123-45-6789"))
+                    .andExpect(status().isOk());
+        } finally {
+            gate.release(Lane.BULK);
+            gate.release(Lane.BULK);
+        }
+
+        assertEquals(1.0, registry.get("lane.rejections").tag("lane", "bulk").tag("reason", "queue_full")
+                .functionCounter().count());
+    }
+}
@@ -0,0 +1,39 @@
+package com.pii.validation.config;
+
+import com.pii.validation.service.ClientRateLimiter;
+import com.pii.validation.service.LeasedRateLimiterService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "rate.limit.backend=leased")
+@AutoConfigureMockMvc
+@DisplayName("RateLimitFilter with the leased backend")
+class LeasedRateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClientRateLimiter rateLimiter;
+
+    @Test
+    @DisplayName("selects the leased limiter backed by the in-process coordinator")
+    void usesLeasedLimiter() throws Exception {
+        assertInstanceOf(LeasedRateLimiterService.class, rateLimiter);
+
+        mockMvc.perform(post("/api/v1/ssn/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"123-45-6789\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-RateLimit-Limit", "100"));
+    }
+}
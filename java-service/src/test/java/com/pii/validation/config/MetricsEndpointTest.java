@@ -0,0 +1,44 @@
+package com.pii.validation.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesRegex;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DisplayName("Prometheus metrics endpoint")
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("exposes validation and rate limiting meters")
+    void exposesValidationAndRateLimitMeters() throws Exception {
+        mockMvc.perform(post("/api/v1/ssn/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"000-45-6789\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("ssn_validation_seconds_bucket")))
+                .andExpect(content().string(matchesRegex("(?s).*ssn_validation_rejections_total\\{reason=\"area_000\",?} 1\\.0.*")))
+                .andExpect(content().string(containsString("rate_limit_filter_seconds_count{outcome=\"allowed\"")))
+                .andExpect(content().string(containsString("rate_limit_clients ")))
+                .andExpect(content().string(containsString("rate_limit_evictions_total ")));
+    }
+}
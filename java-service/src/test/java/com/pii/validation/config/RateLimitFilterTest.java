@@ -11,6 +11,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -101,4 +102,28 @@ class RateLimitFilterTest {
                 .andExpect(status().isOk())
                 .andExpect(header().exists("X-RateLimit-Limit"));
     }
+
+    @Test
+    @DisplayName("charges batch requests one token per item")
+    void chargesBatchPerItem() throws Exception {
+        StringBuilder batch = new StringBuilder();
+        for (int i = 0; i < 150; i++) {
+            batch.append("123-45-6789\n");
+        }
+
+        String body = mockMvc.perform(post("/api/v1/ssn/validate/batch")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(batch.toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(101, lines.length);
+        assertEquals("Too many requests", objectMapper.readTree(lines[100]).get("error").asText());
+
+        mockMvc.perform(post("/api/v1/ssn/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new SsnValidationRequest("123-45-6789"))))
+                .andExpect(status().isTooManyRequests());
+    }
 }
@@ -0,0 +1,76 @@
+package com.pii.validation.config;
+
+import com.pii.validation.dto.SsnValidationRequest;
+import com.pii.validation.dto.SsnValidationResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("SsnJsonHttpMessageConverter")
+class SsnJsonHttpMessageConverterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HttpMessageConverters converters;
+
+    @Test
+    @DisplayName("is the first converter for the request and response types")
+    void registeredAhead() {
+        HttpMessageConverter<?> reader = converters.getConverters().stream()
+                .filter(converter -> converter.canRead(SsnValidationRequest.class, MediaType.APPLICATION_JSON))
+                .findFirst().orElseThrow();
+        HttpMessageConverter<?> writer = converters.getConverters().stream()
+                .filter(converter -> converter.canWrite(SsnValidationResponse.class, MediaType.APPLICATION_JSON))
+                .findFirst().orElseThrow();
+
+        assertInstanceOf(SsnJsonHttpMessageConverter.class, reader);
+        assertInstanceOf(SsnJsonHttpMessageConverter.class, writer);
+    }
+
+    @Test
+    @DisplayName("writes the response with an exact Content-Length")
+    void writesContentLength() throws Exception {
+        String body = "{\"valid\":true,\"ssn\":\"123-45-6789\",\"errors\":[]}";
+
+        mockMvc.perform(post("/api/v1/ssn/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"123-45-6789\"}"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().longValue("Content-Length", body.length()))
+                .andExpect(content().string(body));
+    }
+
+    @Test
+    @DisplayName("falls back to Jackson for escaped input")
+    void fallsBackForEscapes() throws Exception {
+        mockMvc.perform(post("/api/v1/ssn/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"123\\u002d45-6789\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ssn").value("123-45-6789"));
+    }
+
+    @Test
+    @DisplayName("rejects malformed JSON with 400 like Jackson")
+    void rejectsMalformedJson() throws Exception {
+        mockMvc.perform(post("/api/v1/ssn/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"123-45-6789\""))
+                .andExpect(status().isBadRequest());
+    }
+}
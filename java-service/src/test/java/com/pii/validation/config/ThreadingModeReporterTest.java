@@ -0,0 +1,57 @@
+package com.pii.validation.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("ThreadingModeReporter")
+class ThreadingModeReporterTest {
+
+    @Test
+    @DisplayName("uses virtual threads only when requested on Java 21 or later")
+    void effectiveMode() {
+        assertFalse(ThreadingModeReporter.effectiveVirtual(false, 21));
+        assertFalse(ThreadingModeReporter.effectiveVirtual(true, 17));
+        assertTrue(ThreadingModeReporter.effectiveVirtual(true, 21));
+        assertTrue(ThreadingModeReporter.effectiveVirtual(true, 25));
+    }
+
+    @Nested
+    @SpringBootTest
+    @AutoConfigureMockMvc
+    @ActiveProfiles("virtual-threads")
+    @DisplayName("with the virtual-threads profile")
+    class VirtualThreadsProfile {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ThreadingModeReporter reporter;
+
+        @Test
+        @DisplayName("reports the mode the running JVM supports and serves requests")
+        void servesRequests() throws Exception {
+            assertEquals(Runtime.version().feature() >= 21, reporter.isVirtual());
+
+            mockMvc.perform(post("/api/v1/ssn/validate")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ssn\": \"123-45-6789\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.valid").value(true));
+        }
+    }
+}
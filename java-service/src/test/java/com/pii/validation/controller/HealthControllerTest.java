@@ -1,13 +1,26 @@
 package com.pii.validation.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.pii.validation.core.SsnRuleSet;
+import com.pii.validation.service.SaturationMonitor;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
@@ -26,4 +39,109 @@ class HealthControllerTest {
                 .andExpect(jsonPath("$.status").value("UP"))
                 .andExpect(jsonPath("$.service").value("ssn-validation-service"));
     }
+
+    @Test
+    @DisplayName("GET /health reports the active rule set version and hash")
+    void reportsRuleSet() throws Exception {
+        mockMvc.perform(get("/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rules.version").value("built-in"))
+                .andExpect(jsonPath("$.rules.hash").value(SsnRuleSet.DEFAULT.fingerprint()));
+    }
+
+    @Nested
+    @SpringBootTest(properties = "readiness.max-inflight=2")
+    @AutoConfigureMockMvc
+    @DisplayName("GET /health/ready")
+    class Readiness {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private SaturationMonitor saturation;
+
+        @Test
+        @DisplayName("returns READY with the saturation signals on an idle node")
+        void ready() throws Exception {
+            mockMvc.perform(post("/api/v1/ssn/validate")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ssn\": \"123-45-6789\"}"))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/health/ready"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("READY"))
+                    .andExpect(jsonPath("$.reasons").isEmpty())
+                    .andExpect(jsonPath("$.windowSeconds").value(10))
+                    .andExpect(jsonPath("$.inflight").value(0))
+                    .andExpect(jsonPath("$.latency.samples").isNumber())
+                    .andExpect(jsonPath("$.rateLimiter.clients").isNumber())
+                    .andExpect(jsonPath("$.gc.pauseRatio").isNumber());
+        }
+
+        @Test
+        @DisplayName("returns 503 NOT_READY while a signal is past its threshold")
+        void notReady() throws Exception {
+            for (int i = 0; i < 3; i++) {
+                saturation.requestStarted();
+            }
+            try {
+                mockMvc.perform(get("/health/ready"))
+                        .andExpect(status().isServiceUnavailable())
+                        .andExpect(jsonPath("$.status").value("NOT_READY"))
+                        .andExpect(jsonPath("$.inflight").value(3))
+                        .andExpect(jsonPath("$.reasons[0]").value(startsWith("inflight 3 exceeds 2")));
+            } finally {
+                for (int i = 0; i < 3; i++) {
+                    saturation.requestFinished(0, false);
+                }
+            }
+
+            mockMvc.perform(get("/health"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("UP"));
+        }
+
+        @Test
+        @DisplayName("keeps answering probes polled past the rate limit")
+        void notRateLimited() throws Exception {
+            // Twice the default 100 requests per minute
+            for (int i = 0; i < 100; i++) {
+                mockMvc.perform(get("/health/ready"))
+                        .andExpect(status().is(anyOf(is(200), is(503))))
+                        .andExpect(header().doesNotExist("X-RateLimit-Remaining"));
+                mockMvc.perform(get("/health"))
+                        .andExpect(status().isOk());
+            }
+
+            mockMvc.perform(post("/api/v1/ssn/validate")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ssn\": \"123-45-6789\"}"))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+    @DisplayName("GET /health/ready on Tomcat")
+    class ReadinessOnTomcat {
+
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @Test
+        @DisplayName("reports the worker pool")
+        void reportsWorkers() {
+            ResponseEntity<JsonNode> response = restTemplate.getForEntity("/health/ready", JsonNode.class);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            JsonNode workers = response.getBody().get("workers");
+            assertNotNull(workers);
+            assertTrue(workers.get("busy").asInt() >= 1);
+            assertEquals(200, workers.get("max").asInt());
+            assertEquals(0, workers.get("queued").asInt());
+            assertTrue(workers.get("connections").asLong() >= 1);
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package com.pii.validation.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("IdentifierController")
+class IdentifierControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("validates ITINs and EINs on their own endpoints")
+    void validatesTypes() throws Exception {
+        mockMvc.perform(post("/api/v1/itin/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"value\": \" 912-70-1234 \"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.type").value("itin"))
+                .andExpect(jsonPath("$.valid").value(true))
+                .andExpect(jsonPath("$.value").value("912-70-1234"))
+                .andExpect(jsonPath("$.errors").isEmpty());
+
+        mockMvc.perform(post("/api/v1/ein/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"value\": \"07-1234567\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.valid").value(false))
+                .andExpect(jsonPath("$.errors[0]").value("Prefix (first 2 digits) is not a valid EIN prefix"));
+    }
+
+    @Test
+    @DisplayName("leaves SSNs to the SSN endpoint")
+    void ssnStaysOnItsEndpoint() throws Exception {
+        mockMvc.perform(post("/api/v1/ssn/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"123-45-6789\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ssn").value("123-45-6789"));
+    }
+
+    @Test
+    @DisplayName("lists the registered types and returns 404 for others")
+    void unknownTypes() throws Exception {
+        mockMvc.perform(get("/api/v1/identifiers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.types[0]").value("ein"))
+                .andExpect(jsonPath("$.types[1]").value("itin"));
+
+        mockMvc.perform(post("/api/v1/vin/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"value\": \"1\"}"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Unknown identifier type"));
+    }
+
+    @Test
+    @DisplayName("requires a value")
+    void requiresValue() throws Exception {
+        mockMvc.perform(post("/api/v1/itin/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"value\": \"\"}"))
+                .andExpect(status().isBadRequest());
+    }
+}
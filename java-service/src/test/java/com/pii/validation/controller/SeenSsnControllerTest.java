@@ -0,0 +1,92 @@
+package com.pii.validation.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("SeenSsnController")
+class SeenSsnControllerTest {
+
+    @TempDir
+    static Path dir;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void index(DynamicPropertyRegistry registry) {
+        registry.add("ssn.index.enabled", () -> "true");
+        registry.add("ssn.index.hmac-key", () -> Base64.getEncoder().encodeToString(new byte[32]));
+        registry.add("ssn.index.snapshot-path", () -> dir.resolve("seen.bin").toString());
+    }
+
+    @Test
+    @DisplayName("answers lookups and records SSNs on request")
+    void seenAndRecord() throws Exception {
+        mockMvc.perform(post("/api/v1/ssn/seen")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"111-22-3333\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seen").value(false));
+
+        mockMvc.perform(post("/api/v1/ssn/seen?record=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"111-22-3333\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seen").value(false));
+
+        mockMvc.perform(post("/api/v1/ssn/seen")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"111-22-3333\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seen").value(true));
+    }
+
+    @Test
+    @DisplayName("bulk-loads SSNs from plain text")
+    void bulkLoad() throws Exception {
+        mockMvc.perform(post("/api/v1/ssn/seen/bulk")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("222-33-4444\n222-33-4445\nbogus\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines").value(3))
+                .andExpect(jsonPath("$.added").value(2))
+                .andExpect(jsonPath("$.invalid").value(1));
+
+        mockMvc.perform(post("/api/v1/ssn/seen")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"222-33-4445\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seen").value(true));
+    }
+
+    @Test
+    @DisplayName("rejects malformed and missing SSNs")
+    void rejectsInvalid() throws Exception {
+        mockMvc.perform(post("/api/v1/ssn/seen")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"111223333\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid SSN"));
+
+        mockMvc.perform(post("/api/v1/ssn/seen")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+}
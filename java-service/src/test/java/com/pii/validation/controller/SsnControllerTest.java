@@ -1,8 +1,12 @@
 package com.pii.validation.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pii.validation.core.EmbeddedSsnValidator;
+import com.pii.validation.core.SsnRuleSet;
 import com.pii.validation.dto.SsnValidationRequest;
+import com.pii.validation.service.RuleSetService;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -10,6 +14,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -24,6 +30,9 @@ class SsnControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private RuleSetService ruleSets;
+
     @Test
     @DisplayName("POST /api/v1/ssn/validate returns 200 for valid SSN")
     void returnsOkForValidSsn() throws Exception {
@@ -107,4 +116,135 @@ class SsnControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.valid").value(false));
     }
+
+    @Test
+    @DisplayName("POST /api/v1/ssn/validate/batch streams one result per item of a JSON array")
+    void validatesJsonArrayBatch() throws Exception {
+        String body = mockMvc.perform(post("/api/v1/ssn/validate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"123-45-6789\", {\"ssn\": \"000-45-6789\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(objectMapper.readTree(lines[0]).get("valid").asBoolean());
+        assertFalse(objectMapper.readTree(lines[1]).get("valid").asBoolean());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/ssn/validate/batch accepts newline-delimited JSON")
+    void validatesNdjsonBatch() throws Exception {
+        String body = mockMvc.perform(post("/api/v1/ssn/validate/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("\"123-45-6789\"\n{\"ssn\": \"666-45-6789\"}\n\"12-345\"\n"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("123-45-6789", objectMapper.readTree(lines[0]).get("ssn").asText());
+        assertFalse(objectMapper.readTree(lines[2]).get("valid").asBoolean());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/ssn/validate/batch accepts plain text lines")
+    void validatesPlainTextBatch() throws Exception {
+        String body = mockMvc.perform(post("/api/v1/ssn/validate/batch")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("123-45-6789\n\n078-05-1120\n"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertFalse(objectMapper.readTree(lines[1]).get("valid").asBoolean());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/ssn/validate?normalize=true returns the canonical form")
+    void normalizesSingle() throws Exception {
+        mockMvc.perform(post("/api/v1/ssn/validate?normalize=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"\uFF11\uFF12\uFF13 45 6789\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true))
+                .andExpect(jsonPath("$.ssn").value("123-45-6789"))
+                .andExpect(jsonPath("$.normalized").value(true));
+
+        mockMvc.perform(post("/api/v1/ssn/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"123456789\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.normalized").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/ssn/validate/batch?normalize=true normalizes every item")
+    void normalizesBatch() throws Exception {
+        String body = mockMvc.perform(post("/api/v1/ssn/validate/batch?normalize=true")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("123456789\n123-45-6789\n12-345-6789\n"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("123-45-6789", objectMapper.readTree(lines[0]).get("ssn").asText());
+        assertTrue(objectMapper.readTree(lines[0]).get("normalized").asBoolean());
+        assertFalse(objectMapper.readTree(lines[1]).get("normalized").asBoolean());
+        assertFalse(objectMapper.readTree(lines[2]).get("valid").asBoolean());
+    }
+
+    @Nested
+    @DisplayName("rule set handshake")
+    class RuleSetHandshake {
+
+        @Test
+        @DisplayName("POST /api/v1/ssn/validate reports the rules' fingerprint")
+        void validateReportsFingerprint() throws Exception {
+            String fingerprint = ruleSets.current().fingerprint();
+
+            mockMvc.perform(post("/api/v1/ssn/validate")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ssn\": \"123-45-6789\"}"))
+                    .andExpect(header().string(EmbeddedSsnValidator.FINGERPRINT_HEADER, fingerprint));
+            mockMvc.perform(post("/api/v1/ssn/validate")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"ssn\": \"000-45-6789\"}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(header().string(EmbeddedSsnValidator.FINGERPRINT_HEADER, fingerprint));
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/ssn/rules returns a rule file an embedded validator can adopt")
+        void rulesCanBeAdopted() throws Exception {
+            SsnRuleSet rules = ruleSets.current();
+
+            String body = mockMvc.perform(get("/api/v1/ssn/rules"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"" + rules.fingerprint() + "\""))
+                    .andExpect(jsonPath("$.version").value(rules.version()))
+                    .andExpect(jsonPath("$.fingerprint").value(rules.fingerprint()))
+                    .andReturn().getResponse().getContentAsString();
+
+            EmbeddedSsnValidator validator = new EmbeddedSsnValidator();
+            validator.adopt(objectMapper.readTree(body).get("ruleFile").asText(), rules.fingerprint());
+            assertTrue(validator.inSync());
+            assertEquals(rules.version(), validator.rules().version());
+        }
+
+        @Test
+        @DisplayName("GET /api/v1/ssn/rules returns 304 while the fingerprint is unchanged")
+        void notModifiedWhileUnchanged() throws Exception {
+            String etag = "\"" + ruleSets.current().fingerprint() + "\"";
+
+            mockMvc.perform(get("/api/v1/ssn/rules").header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+            mockMvc.perform(get("/api/v1/ssn/rules").header("If-None-Match", "\"" + "0".repeat(64) + "\""))
+                    .andExpect(status().isOk());
+        }
+    }
 }
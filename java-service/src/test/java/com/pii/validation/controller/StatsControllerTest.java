@@ -0,0 +1,73 @@
+package com.pii.validation.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "stats.enabled=true")
+@AutoConfigureMockMvc
+@DisplayName("StatsController")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class StatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("counts single and batch validations per outcome and client")
+    void countsValidations() throws Exception {
+        mockMvc.perform(post("/api/v1/ssn/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"123-45-6789\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/v1/ssn/validate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"666-45-6789\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/ssn/validate/batch")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("666-12-3456\n123-45-6789\n"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/stats").param("outcome", "area_666").param("window", "60"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windowSeconds").value(60))
+                .andExpect(jsonPath("$.outcomes.validations").value(4))
+                .andExpect(jsonPath("$.outcomes.valid").value(2))
+                .andExpect(jsonPath("$.outcomes.rejected").value(2))
+                .andExpect(jsonPath("$.outcomes.area_666").value(2))
+                .andExpect(jsonPath("$.outcome").value("area_666"))
+                .andExpect(jsonPath("$.topClients[0].client").value("127.0.0.1"))
+                .andExpect(jsonPath("$.topClients[0].count").value(2))
+                .andExpect(jsonPath("$.topClients[0].error").value(0));
+    }
+
+    @Test
+    @DisplayName("defaults to the whole horizon and rejected validations")
+    void defaults() throws Exception {
+        mockMvc.perform(get("/api/v1/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windowSeconds").value(300))
+                .andExpect(jsonPath("$.outcome").value("rejected"))
+                .andExpect(jsonPath("$.topClients").isEmpty());
+    }
+
+    @Test
+    @DisplayName("returns 400 for unknown outcomes and out-of-range windows")
+    void invalidQuery() throws Exception {
+        mockMvc.perform(get("/api/v1/stats").param("outcome", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid query"));
+        mockMvc.perform(get("/api/v1/stats").param("window", "301"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,116 @@
+package com.pii.validation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pii.validation.core.SsnErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "ssn.tokenization.enabled=true",
+        "ssn.tokenization.key=AAAAAAAAAAAAAAAAAAAAAA==",
+        "ssn.tokenization.tweak=people.ssn"
+})
+@AutoConfigureMockMvc
+@DisplayName("TokenizationController")
+class TokenizationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String tokenize(String ssn) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/ssn/tokenize")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"" + ssn + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("token").asText();
+    }
+
+    @Test
+    @DisplayName("tokenizes and detokenizes single SSNs")
+    void roundTrip() throws Exception {
+        String token = tokenize("123-45-6789");
+        assertTrue(token.matches("\\d{3}-\\d{2}-\\d{4}"));
+
+        mockMvc.perform(post("/api/v1/ssn/detokenize")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"token\": \"" + token + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ssn").value("123-45-6789"));
+    }
+
+    @Test
+    @DisplayName("rejects invalid SSNs with the validation messages")
+    void rejectsInvalid() throws Exception {
+        mockMvc.perform(post("/api/v1/ssn/tokenize")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ssn\": \"000-45-6789\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid SSN"))
+                .andExpect(jsonPath("$.errors[0]").value(SsnErrorCode.AREA_000.message()));
+
+        mockMvc.perform(post("/api/v1/ssn/detokenize")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"token\": \"not-a-token\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("converts plain-text batches to NDJSON")
+    void batches() throws Exception {
+        String token = tokenize("123-45-6789");
+
+        mockMvc.perform(post("/api/v1/ssn/tokenize/batch")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("123-45-6789\n666-00-0000\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(org.hamcrest.Matchers.startsWith("{\"token\":\"" + token + "\"}\n{\"errors\":[")));
+
+        mockMvc.perform(post("/api/v1/ssn/detokenize/batch")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(token + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("{\"ssn\":\"123-45-6789\"}\n"));
+    }
+
+    @Test
+    @DisplayName("charges batches one rate limit token per line")
+    void chargesBatchPerLine() throws Exception {
+        // A client of its own, so the other tests keep their tokens
+        String body = "123-45-6789\n".repeat(150);
+        String[] lines = mockMvc.perform(post("/api/v1/ssn/tokenize/batch")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.15");
+                            return request;
+                        })
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().split("\n");
+
+        assertEquals(101, lines.length);
+        assertEquals("Too many requests", objectMapper.readTree(lines[100]).get("error").asText());
+
+        mockMvc.perform(post("/api/v1/ssn/detokenize/batch")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.15");
+                            return request;
+                        })
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("123-45-6789\n"))
+                .andExpect(status().isTooManyRequests());
+    }
+}
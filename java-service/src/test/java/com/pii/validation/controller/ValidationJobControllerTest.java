@@ -0,0 +1,154 @@
+package com.pii.validation.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("ValidationJobController")
+class ValidationJobControllerTest {
+
+    @TempDir
+    static Path dir;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void jobs(DynamicPropertyRegistry registry) throws IOException {
+        Path input = Files.createDirectories(dir.resolve("input"));
+        Files.writeString(input.resolve("people.csv"), "name,ssn\nAda,123-45-6789\nBob,666-45-6789\n");
+        registry.add("ssn.jobs.input-dir", input::toString);
+        registry.add("ssn.jobs.work-dir", () -> dir.resolve("work").toString());
+        registry.add("ssn.jobs.max-upload-mb", () -> "1");
+    }
+
+    private JsonNode awaitDone(String id) throws Exception {
+        for (int attempt = 0; attempt < 1000; attempt++) {
+            JsonNode status = objectMapper.readTree(mockMvc.perform(get("/api/v1/ssn/jobs/{id}", id))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            String state = status.get("state").asText();
+            if (!state.equals("QUEUED") && !state.equals("RUNNING")) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        return fail("job did not finish");
+    }
+
+    private String submit(String body) throws Exception {
+        String location = mockMvc.perform(post("/api/v1/ssn/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andReturn().getResponse().getHeader("Location");
+        return location.substring(location.lastIndexOf('/') + 1);
+    }
+
+    @Test
+    @DisplayName("validates a file from the input directory and serves the results")
+    void validatesFile() throws Exception {
+        String id = submit("{\"path\": \"people.csv\", \"column\": 1, \"header\": true}");
+
+        JsonNode status = awaitDone(id);
+        assertEquals("COMPLETED", status.get("state").asText());
+        assertEquals(2, status.get("rows").asLong());
+        assertEquals(1, status.get("invalidRows").asLong());
+        assertEquals(1.0, status.get("progress").asDouble());
+
+        mockMvc.perform(get("/api/v1/ssn/jobs/{id}/results", id))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(content().string("line,valid,errors\n2,true,\n3,false,AREA_666\n"));
+    }
+
+    @Test
+    @DisplayName("validates an uploaded CSV body")
+    void validatesUpload() throws Exception {
+        String location = mockMvc.perform(post("/api/v1/ssn/jobs")
+                        .contentType("text/csv")
+                        .param("column", "0")
+                        .content("123-45-6789\n000-12-3456\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.bytesTotal").value(24))
+                .andReturn().getResponse().getHeader("Location");
+        String id = location.substring(location.lastIndexOf('/') + 1);
+
+        assertEquals("COMPLETED", awaitDone(id).get("state").asText());
+        mockMvc.perform(get("/api/v1/ssn/jobs/{id}/results", id))
+                .andExpect(content().string("line,valid,errors\n1,true,\n2,false,AREA_000\n"));
+
+        mockMvc.perform(delete("/api/v1/ssn/jobs/{id}", id))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/v1/ssn/jobs/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("normalizes uploaded SSNs with normalize=true")
+    void normalizesUpload() throws Exception {
+        String location = mockMvc.perform(post("/api/v1/ssn/jobs")
+                        .contentType("text/csv")
+                        .param("normalize", "true")
+                        .content("123456789\n123 45 6789\n12-345-6789\n"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getHeader("Location");
+        String id = location.substring(location.lastIndexOf('/') + 1);
+
+        assertEquals("COMPLETED", awaitDone(id).get("state").asText());
+        mockMvc.perform(get("/api/v1/ssn/jobs/{id}/results", id))
+                .andExpect(content().string("line,valid,errors\n1,true,\n2,true,\n3,false,FORMAT\n"));
+    }
+
+    @Test
+    @DisplayName("rejects paths outside the input directory with 400")
+    void rejectsEscapingPath() throws Exception {
+        mockMvc.perform(post("/api/v1/ssn/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"path\": \"../../etc/passwd\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid job"));
+    }
+
+    @Test
+    @DisplayName("rejects uploads over ssn.jobs.max-upload-mb with 413")
+    void rejectsLargeUpload() throws Exception {
+        mockMvc.perform(post("/api/v1/ssn/jobs")
+                        .contentType("text/csv")
+                        .content(new byte[(1 << 20) + 1]))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.error").value("Upload too large"));
+    }
+
+    @Test
+    @DisplayName("returns 404 for unknown jobs")
+    void unknownJob() throws Exception {
+        mockMvc.perform(get("/api/v1/ssn/jobs/{id}", "no-such-job"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/v1/ssn/jobs/{id}/results", "no-such-job"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,100 @@
+package com.pii.validation.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The core package ships on its own as the {@code core} jar, which other services embed, so its
+ * classes may refer to nothing but the JDK and each other. This reads the constant pool of every
+ * compiled core class, which names every class and descriptor the bytecode refers to.
+ */
+@DisplayName("core package dependencies")
+class CoreDependenciesTest {
+
+    private static final Pattern DESCRIPTOR_TYPE = Pattern.compile("L([\\w$]+(?:/[\\w$]+)+);");
+
+    @Test
+    @DisplayName("refers only to java.*, javax.crypto and itself")
+    void onlyJdkDependencies() throws IOException, URISyntaxException {
+        Path classes = Path.of(SsnValidator.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Path core = classes.resolve("com/pii/validation/core");
+
+        Set<String> foreign = new TreeSet<>();
+        int classCount = 0;
+        try (Stream<Path> files = Files.walk(core)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".class")).toList()) {
+                classCount++;
+                for (String type : referencedTypes(file)) {
+                    if (!type.startsWith("java/") && !type.startsWith("javax/crypto/")
+                            && !type.startsWith("com/pii/validation/core/")) {
+                        foreign.add(core.relativize(file) + " -> " + type);
+                    }
+                }
+            }
+        }
+
+        assertTrue(classCount > 10, "no core classes found under " + core);
+        assertEquals(Set.of(), foreign);
+    }
+
+    // Every Utf8 constant except string literals is a name or descriptor, so the types in them are
+    // the ones the class refers to
+    private static Set<String> referencedTypes(Path classFile) throws IOException {
+        Map<Integer, String> utf8 = new HashMap<>();
+        Set<Integer> literals = new HashSet<>();
+        try (InputStream stream = Files.newInputStream(classFile);
+             DataInputStream in = new DataInputStream(stream)) {
+            in.readInt();                // magic
+            in.readUnsignedShort();      // minor version
+            in.readUnsignedShort();      // major version
+            int count = in.readUnsignedShort();
+            for (int i = 1; i < count; i++) {
+                int tag = in.readUnsignedByte();
+                switch (tag) {
+                    case 1 -> utf8.put(i, in.readUTF());
+                    case 8 -> literals.add(in.readUnsignedShort());
+                    case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipNBytes(4);
+                    case 5, 6 -> {
+                        in.skipNBytes(8);
+                        i++;             // takes two entries
+                    }
+                    case 7, 16, 19, 20 -> in.skipNBytes(2);
+                    case 15 -> in.skipNBytes(3);
+                    default -> fail("Unknown constant pool tag " + tag + " in " + classFile);
+                }
+            }
+        }
+
+        Set<String> types = new TreeSet<>();
+        utf8.forEach((index, text) -> {
+            if (literals.contains(index)) {
+                return;
+            }
+            if (text.indexOf('/') > 0 && text.indexOf(';') < 0) {
+                types.add(text);
+            }
+            Matcher matcher = DESCRIPTOR_TYPE.matcher(text);
+            while (matcher.find()) {
+                types.add(matcher.group(1));
+            }
+        });
+        return types;
+    }
+}
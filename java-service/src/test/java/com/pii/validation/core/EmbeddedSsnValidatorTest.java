@@ -0,0 +1,129 @@
+package com.pii.validation.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EmbeddedSsnValidator")
+class EmbeddedSsnValidatorTest {
+
+    private static final String DEFAULT_FINGERPRINT = SsnRuleSet.DEFAULT.fingerprint();
+
+    @Test
+    @DisplayName("rejects missing and malformed input locally before any handshake")
+    void rejectsFormatErrorsWithoutServer() {
+        EmbeddedSsnValidator validator = new EmbeddedSsnValidator();
+
+        EmbeddedSsnValidator.Result malformed = validator.prevalidate("12-345");
+        EmbeddedSsnValidator.Result missing = validator.prevalidate("  ");
+
+        assertTrue(malformed.isInvalid());
+        assertEquals(SsnErrorCode.FORMAT.bit(), malformed.errors());
+        assertEquals(SsnErrorCode.messages(SsnErrorCode.FORMAT.bit()), malformed.messages());
+        assertTrue(missing.isInvalid());
+        assertEquals(SsnErrorCode.REQUIRED.bit(), missing.errors());
+    }
+
+    @Test
+    @DisplayName("only rejects formats the server would reject in the same normalization mode")
+    void matchesNormalizationMode() {
+        EmbeddedSsnValidator validator = new EmbeddedSsnValidator(SsnRuleSet.DEFAULT, DEFAULT_FINGERPRINT);
+
+        assertTrue(validator.prevalidate("123456789").isInvalid());
+        assertEquals(SsnErrorCode.FORMAT.bit(), validator.prevalidate("123456789", false).errors());
+        assertEquals(EmbeddedSsnValidator.Outcome.ASK_SERVER, validator.prevalidate("123456789", true).outcome());
+        assertEquals(EmbeddedSsnValidator.Outcome.ASK_SERVER,
+                validator.prevalidate("\uFF11\uFF12\uFF13 45 6789", true).outcome());
+        assertTrue(validator.prevalidate("12-345", true).isInvalid());
+        assertEquals(SsnErrorCode.AREA_666.bit(), validator.prevalidate("666456789", true).errors());
+    }
+
+    @Test
+    @DisplayName("asks the server about SSNs that pass locally, even in sync")
+    void asksServerAboutPassingSsns() {
+        EmbeddedSsnValidator validator = new EmbeddedSsnValidator(SsnRuleSet.DEFAULT, DEFAULT_FINGERPRINT);
+
+        EmbeddedSsnValidator.Result result = validator.prevalidate("123-45-6789");
+
+        assertEquals(EmbeddedSsnValidator.Outcome.ASK_SERVER, result.outcome());
+        assertEquals(0, result.errors());
+        assertEquals(0, result.messages().size());
+    }
+
+    @Nested
+    @DisplayName("rule errors")
+    class RuleErrors {
+
+        @Test
+        @DisplayName("are asked about until the server's fingerprint is known")
+        void askedAboutBeforeHandshake() {
+            EmbeddedSsnValidator validator = new EmbeddedSsnValidator();
+
+            EmbeddedSsnValidator.Result result = validator.prevalidate("000-45-6789");
+
+            assertFalse(validator.inSync());
+            assertEquals(EmbeddedSsnValidator.Outcome.ASK_SERVER, result.outcome());
+            assertEquals(SsnErrorCode.AREA_000.bit(), result.errors());
+        }
+
+        @Test
+        @DisplayName("are rejected locally while the fingerprints match")
+        void rejectedWhileInSync() {
+            EmbeddedSsnValidator validator = new EmbeddedSsnValidator();
+
+            assertTrue(validator.serverFingerprint(DEFAULT_FINGERPRINT));
+            assertTrue(validator.prevalidate("000-45-6789").isInvalid());
+            assertTrue(validator.prevalidate("078-05-1120").isInvalid());
+        }
+
+        @Test
+        @DisplayName("are asked about again once the server reports different rules")
+        void askedAboutAfterServerChanges() {
+            EmbeddedSsnValidator validator = new EmbeddedSsnValidator(SsnRuleSet.DEFAULT, DEFAULT_FINGERPRINT);
+
+            assertFalse(validator.serverFingerprint("0".repeat(64)));
+            assertEquals(EmbeddedSsnValidator.Outcome.ASK_SERVER, validator.prevalidate("000-45-6789").outcome());
+            assertTrue(validator.prevalidate("12-345").isInvalid());
+        }
+    }
+
+    @Nested
+    @DisplayName("adopting the server's rules")
+    class Adopt {
+
+        @Test
+        @DisplayName("applies them and is in sync")
+        void appliesServerRules() throws IOException {
+            SsnRuleSet server = SsnRuleSet.parse(new StringReader("version=9\nrules.reserved-areas=900-999\n"));
+            EmbeddedSsnValidator validator = new EmbeddedSsnValidator();
+            validator.serverFingerprint(server.fingerprint());
+            assertEquals(EmbeddedSsnValidator.Outcome.ASK_SERVER, validator.prevalidate("950-12-3456").outcome());
+
+            validator.adopt(server.ruleFile(), server.fingerprint());
+
+            assertTrue(validator.inSync());
+            assertEquals("9", validator.rules().version());
+            EmbeddedSsnValidator.Result result = validator.prevalidate("950-12-3456");
+            assertTrue(result.isInvalid());
+            assertEquals(SsnErrorCode.AREA_RESERVED.bit(), result.errors());
+        }
+
+        @Test
+        @DisplayName("refuses a rule file that doesn't match the fingerprint")
+        void refusesMismatch() {
+            EmbeddedSsnValidator validator = new EmbeddedSsnValidator(SsnRuleSet.DEFAULT, DEFAULT_FINGERPRINT);
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> validator.adopt("version=2\nrules.area-666=false\n", DEFAULT_FINGERPRINT));
+            assertThrows(IllegalArgumentException.class,
+                    () -> validator.adopt("version=2\nrules.unknown=1\n", DEFAULT_FINGERPRINT));
+            assertSame(SsnRuleSet.DEFAULT, validator.rules());
+            assertTrue(validator.inSync());
+        }
+    }
+}
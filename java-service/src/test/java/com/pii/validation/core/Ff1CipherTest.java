@@ -0,0 +1,137 @@
+package com.pii.validation.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Ff1Cipher")
+class Ff1CipherTest {
+
+    private static final HexFormat HEX = HexFormat.of();
+    private static final byte[] KEY = HEX.parseHex("2B7E151628AED2A6ABF7158809CF4F3C");
+
+    // NIST SP 800-38G sample vectors for radix 10 (FF1 samples 1, 2, 4, 5, 7 and 8)
+    @ParameterizedTest(name = "key {0}, tweak \"{1}\"")
+    @CsvSource({
+            "2B7E151628AED2A6ABF7158809CF4F3C, '', 2433477484",
+            "2B7E151628AED2A6ABF7158809CF4F3C, 39383736353433323130, 6124200773",
+            "2B7E151628AED2A6ABF7158809CF4F3CEF4359D8D580AA4F, '', 2830668132",
+            "2B7E151628AED2A6ABF7158809CF4F3CEF4359D8D580AA4F, 39383736353433323130, 2496655549",
+            "2B7E151628AED2A6ABF7158809CF4F3CEF4359D8D580AA4F7F036D6F04FC6A94, '', 6657667009",
+            "2B7E151628AED2A6ABF7158809CF4F3CEF4359D8D580AA4F7F036D6F04FC6A94, 39383736353433323130, 1001623463",
+    })
+    @DisplayName("matches the NIST sample vectors")
+    void nistVectors(String key, String tweak, long expected) {
+        Ff1Cipher cipher = new Ff1Cipher(HEX.parseHex(key), HEX.parseHex(tweak), 10);
+
+        assertEquals(expected, cipher.encrypt(123456789L));
+        assertEquals(123456789L, cipher.decrypt(expected));
+    }
+
+    @Test
+    @DisplayName("round-trips every supported length, including odd ones and leading zeros")
+    void roundTrips() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int length = Ff1Cipher.MIN_LENGTH; length <= Ff1Cipher.MAX_LENGTH; length++) {
+            Ff1Cipher cipher = new Ff1Cipher(KEY, new byte[0], length);
+            long bound = (long) Math.pow(10, length);
+            for (int i = 0; i < 1000; i++) {
+                long value = i == 0 ? 0 : i == 1 ? bound - 1 : random.nextLong(bound);
+                long token = cipher.encrypt(value);
+                assertTrue(token >= 0 && token < bound, "length " + length);
+                assertEquals(value, cipher.decrypt(token), "length " + length);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("is a permutation of the domain")
+    void permutation() {
+        Ff1Cipher cipher = new Ff1Cipher(KEY, new byte[0], 6);
+        Set<Long> tokens = new HashSet<>();
+        for (long value = 0; value < 1_000_000; value++) {
+            assertTrue(tokens.add(cipher.encrypt(value)));
+        }
+    }
+
+    @Test
+    @DisplayName("gives different tokens for different tweaks and keys")
+    void tweakAndKeyMatter() {
+        Ff1Cipher plain = new Ff1Cipher(KEY, new byte[0], 9);
+        Ff1Cipher tweaked = new Ff1Cipher(KEY, new byte[]{1}, 9);
+        Ff1Cipher otherKey = new Ff1Cipher(new byte[16], new byte[0], 9);
+
+        long value = 123_45_6789;
+        assertNotEquals(plain.encrypt(value), tweaked.encrypt(value));
+        assertNotEquals(plain.encrypt(value), otherKey.encrypt(value));
+    }
+
+    @Test
+    @DisplayName("handles tweaks spanning several blocks")
+    void longTweak() {
+        Ff1Cipher cipher = new Ff1Cipher(KEY, new byte[40], 9);
+        assertEquals(123_45_6789, cipher.decrypt(cipher.encrypt(123_45_6789)));
+    }
+
+    @Test
+    @DisplayName("encrypts batches like single values")
+    void batches() {
+        Ff1Cipher cipher = new Ff1Cipher(KEY, new byte[0], 9);
+        long[] values = {0, 1, 123_45_6789, 999_99_9999};
+        long[] expected = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            expected[i] = cipher.encrypt(values[i]);
+        }
+
+        cipher.apply(values, values.length, false);
+        assertArrayEquals(expected, values);
+        cipher.apply(values, 2, true);
+        assertEquals(0, values[0]);
+        assertEquals(1, values[1]);
+        assertEquals(expected[2], values[2]);
+    }
+
+    @Test
+    @DisplayName("gives the same results from many threads")
+    void threadSafe() throws InterruptedException {
+        Ff1Cipher cipher = new Ff1Cipher(KEY, new byte[0], 9);
+        long expected = cipher.encrypt(123_45_6789);
+        AtomicBoolean wrong = new AtomicBoolean();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    if (cipher.encrypt(123_45_6789) != expected || cipher.decrypt(expected) != 123_45_6789) {
+                        wrong.set(true);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse(wrong.get());
+    }
+
+    @Test
+    @DisplayName("rejects bad keys, lengths and values")
+    void rejectsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new Ff1Cipher(new byte[15], new byte[0], 9));
+        assertThrows(IllegalArgumentException.class, () -> new Ff1Cipher(KEY, new byte[0], 5));
+        assertThrows(IllegalArgumentException.class, () -> new Ff1Cipher(KEY, new byte[0], 19));
+
+        Ff1Cipher cipher = new Ff1Cipher(KEY, new byte[0], 9);
+        assertThrows(IllegalArgumentException.class, () -> cipher.encrypt(1_000_000_000));
+        assertThrows(IllegalArgumentException.class, () -> cipher.decrypt(-1));
+    }
+}
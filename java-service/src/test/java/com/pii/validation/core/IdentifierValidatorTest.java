@@ -0,0 +1,145 @@
+package com.pii.validation.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IdentifierValidator")
+class IdentifierValidatorTest {
+
+    private static final IdentifierValidator ITIN = IdentifierValidator.compile(IdentifierTypes.ITIN);
+    private static final IdentifierValidator EIN = IdentifierValidator.compile(IdentifierTypes.EIN);
+
+    private static int errors(IdentifierValidator validator, String input) {
+        return IdentifierValidator.errors(validator.check(input));
+    }
+
+    @Nested
+    @DisplayName("ITIN")
+    class Itin {
+
+        @Test
+        @DisplayName("accepts every issued group range")
+        void acceptsIssuedGroups() {
+            for (String itin : new String[]{"912-50-1234", "900-65-0000", "999-70-1234", "912-88-1234",
+                    "912-90-1234", "912-92-1234", "912-94-1234", "912-99-9999"}) {
+                assertEquals(0, errors(ITIN, itin), itin);
+            }
+            assertEquals(912_70_1234, IdentifierValidator.value(ITIN.check(" 912-70-1234 ")));
+        }
+
+        @Test
+        @DisplayName("rejects groups outside the issued ranges")
+        void rejectsOtherGroups() {
+            for (String itin : new String[]{"912-00-1234", "912-49-1234", "912-66-1234", "912-69-1234",
+                    "912-89-1234", "912-93-1234"}) {
+                assertEquals(1 << 2, errors(ITIN, itin), itin);
+            }
+            assertEquals(List.of(IdentifierTypes.ITIN.rules().get(0).message()), ITIN.messages(1 << 2));
+        }
+
+        @Test
+        @DisplayName("requires the leading 9 and the dashes")
+        void requiresFormat() {
+            assertEquals(IdentifierValidator.FORMAT, errors(ITIN, "812-70-1234"));
+            assertEquals(IdentifierValidator.FORMAT, errors(ITIN, "912701234"));
+            assertEquals(IdentifierValidator.FORMAT, errors(ITIN, "912-7a-1234"));
+            assertEquals(IdentifierValidator.FORMAT, errors(ITIN, "912-70-12345"));
+            assertEquals(List.of("ITIN must be in 9XX-XX-XXXX format"), ITIN.messages(IdentifierValidator.FORMAT));
+        }
+
+        @Test
+        @DisplayName("reports blank input as required")
+        void blankIsRequired() {
+            assertEquals(IdentifierValidator.REQUIRED, errors(ITIN, null));
+            assertEquals(IdentifierValidator.REQUIRED, errors(ITIN, " \t"));
+            assertEquals(List.of("ITIN is required"), ITIN.messages(IdentifierValidator.REQUIRED));
+        }
+    }
+
+    @Nested
+    @DisplayName("EIN")
+    class Ein {
+
+        @Test
+        @DisplayName("accepts assigned prefixes and rejects the others")
+        void prefixes() {
+            String assigned = "01-06,10-16,20-27,30-48,50-68,71-77,80-88,90-95,98-99";
+            ValidationRule reference = ValidationRule.allowOnly("P", "p", 0, assigned);
+            for (int prefix = 0; prefix < 100; prefix++) {
+                String ein = String.format("%02d-1234567", prefix);
+                assertEquals(reference.violatedBy(prefix) ? 1 << 2 : 0, errors(EIN, ein), ein);
+            }
+            assertEquals(0, errors(EIN, "12-3456789"));
+        }
+
+        @Test
+        @DisplayName("requires XX-XXXXXXX")
+        void format() {
+            assertEquals(IdentifierValidator.FORMAT, errors(EIN, "123456789"));
+            assertEquals(IdentifierValidator.FORMAT, errors(EIN, "123-45-6789"));
+            assertEquals(List.of("EIN must be in XX-XXXXXXX format"), EIN.messages(IdentifierValidator.FORMAT));
+        }
+    }
+
+    @Nested
+    @DisplayName("engine")
+    class Engine {
+
+        @Test
+        @DisplayName("matches SsnValidator when given the built-in SSA rules")
+        void matchesSsnValidator() {
+            IdentifierValidator ssn = IdentifierValidator.compile(IdentifierType.of("ssn-like", "SSN", "###-##-####",
+                    ValidationRule.reject("AREA_000", "area 000", 0, "000"),
+                    ValidationRule.reject("AREA_666", "area 666", 0, "666"),
+                    ValidationRule.reject("GROUP_00", "group 00", 1, "00"),
+                    ValidationRule.reject("SERIAL_0000", "serial 0000", 2, "0000")));
+            // Same bit order as SsnErrorCode, minus KNOWN_TEST_NUMBER which is not a per-field rule
+            int mask = SsnErrorCode.KNOWN_TEST_NUMBER.bit() - 1;
+
+            SplittableRandom random = new SplittableRandom(7);
+            for (int i = 0; i < 100_000; i++) {
+                int area = i % 50 == 0 ? 666 : i % 50 == 1 ? 0 : random.nextInt(1000);
+                int group = i % 7 == 0 ? 0 : random.nextInt(100);
+                int serial = i % 11 == 0 ? 0 : random.nextInt(10_000);
+                String input = String.format("%03d-%02d-%04d", area, group, serial);
+                assertEquals(SsnValidator.errors(SsnValidator.check(input)) & mask, errors(ssn, input), input);
+            }
+            assertEquals(SsnErrorCode.FORMAT.bit(), errors(ssn, "123-456-789"));
+        }
+
+        @Test
+        @DisplayName("combines several rules on the same field")
+        void combinesRules() {
+            IdentifierValidator validator = IdentifierValidator.compile(IdentifierType.of("t", "T", "##-##",
+                    ValidationRule.reject("LOW", "low", 0, "00-09"),
+                    ValidationRule.allowOnly("EVEN", "even", 0, "00,02,04,06,08,10,12"),
+                    ValidationRule.reject("ZERO", "zero", 1, "0")));
+
+            assertEquals(1 << 2, errors(validator, "02-11"));
+            assertEquals((1 << 2) | (1 << 3), errors(validator, "03-11"));
+            assertEquals((1 << 3) | (1 << 4), errors(validator, "13-00"));
+            assertEquals(0, errors(validator, "12-11"));
+        }
+
+        @Test
+        @DisplayName("rejects types it can't compile")
+        void rejectsBadTypes() {
+            assertThrows(IllegalArgumentException.class, () -> IdentifierValidator.compile(
+                    IdentifierType.of("t", "T", "###-###-####")));
+            assertThrows(IllegalArgumentException.class, () -> IdentifierValidator.compile(
+                    IdentifierType.of("t", "T", "##", ValidationRule.reject("R", "r", 1, "0"))));
+            assertThrows(IllegalArgumentException.class, () -> IdentifierValidator.compile(
+                    IdentifierType.of("t", "T", "##", ValidationRule.reject("R", "r", 0, "100"))));
+            assertThrows(IllegalArgumentException.class, () -> IdentifierValidator.compile(
+                    IdentifierType.of("t", "T", "######", ValidationRule.reject("R", "r", 0, "0"))));
+            assertThrows(IllegalArgumentException.class, () -> ValidationRule.reject("R", "r", 0, "9-1"));
+            assertThrows(IllegalArgumentException.class, () -> ValidationRule.reject("R", "r", 0, "x"));
+        }
+    }
+}
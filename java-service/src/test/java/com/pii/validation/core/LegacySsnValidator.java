@@ -0,0 +1,56 @@
+package com.pii.validation.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Verbatim copy of the original regex-based SsnValidationService rules, kept as the reference
+ * oracle for {@link SsnValidator}.
+ */
+final class LegacySsnValidator {
+
+    private static final Pattern SSN_FORMAT_PATTERN = Pattern.compile("^\\d{3}-\\d{2}-\\d{4}$");
+
+    private static final Set<String> INVALID_SSNS = Set.of("078-05-1120", "219-09-9999", "457-55-5462");
+
+    private LegacySsnValidator() {
+    }
+
+    static List<String> validate(String ssn) {
+        List<String> errors = new ArrayList<>();
+
+        if (ssn == null || ssn.isBlank()) {
+            errors.add("SSN is required");
+            return errors;
+        }
+
+        ssn = ssn.trim();
+
+        if (!SSN_FORMAT_PATTERN.matcher(ssn).matches()) {
+            errors.add("SSN must be in XXX-XX-XXXX format");
+            return errors;
+        }
+
+        String[] parts = ssn.split("-");
+
+        if ("000".equals(parts[0])) {
+            errors.add("Area number (first 3 digits) cannot be 000");
+        }
+        if ("666".equals(parts[0])) {
+            errors.add("Area number (first 3 digits) cannot be 666");
+        }
+        if ("00".equals(parts[1])) {
+            errors.add("Group number (middle 2 digits) cannot be 00");
+        }
+        if ("0000".equals(parts[2])) {
+            errors.add("Serial number (last 4 digits) cannot be 0000");
+        }
+        if (INVALID_SSNS.contains(ssn)) {
+            errors.add("This SSN is a known invalid test number");
+        }
+
+        return errors;
+    }
+}
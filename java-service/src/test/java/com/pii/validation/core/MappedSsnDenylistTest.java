@@ -0,0 +1,148 @@
+package com.pii.validation.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MappedSsnDenylist")
+class MappedSsnDenylistTest {
+
+    private static final int[] DENIED = {0, 1, 123_45_6789, 123_45_6790, 999_99_9999, 500_00_0001};
+
+    @TempDir
+    Path dir;
+
+    @Nested
+    @DisplayName("sorted format")
+    class Sorted {
+
+        @Test
+        @DisplayName("finds exactly the written values")
+        void containsWrittenValues() throws IOException {
+            Path file = dir.resolve("denylist.bin");
+            SsnDenylistWriter.writeSorted(DENIED, file);
+
+            MappedSsnDenylist denylist = MappedSsnDenylist.open(file);
+
+            assertFalse(denylist.isBitmap());
+            assertEquals(DENIED.length, denylist.size());
+            assertEquals(16 + 4L * DENIED.length, Files.size(file));
+            assertDeniesExactly(denylist, DENIED);
+        }
+
+        @Test
+        @DisplayName("agrees with a linear scan on random values")
+        void matchesReferenceOnRandomValues() throws IOException {
+            Random random = new Random(42);
+            int[] values = new int[10_000];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(MappedSsnDenylist.VALUE_RANGE);
+            }
+            Path file = dir.resolve("random.bin");
+            SsnDenylistWriter.writeSorted(values, file);
+            MappedSsnDenylist denylist = MappedSsnDenylist.open(file);
+
+            for (int value : values) {
+                assertTrue(denylist.contains(value));
+            }
+            Set<Integer> set = new HashSet<>();
+            for (int value : values) {
+                set.add(value);
+            }
+            for (int i = 0; i < 10_000; i++) {
+                int probe = random.nextInt(MappedSsnDenylist.VALUE_RANGE);
+                assertEquals(set.contains(probe), denylist.contains(probe));
+            }
+        }
+
+        @Test
+        @DisplayName("handles an empty list")
+        void emptyList() throws IOException {
+            Path file = dir.resolve("empty.bin");
+            SsnDenylistWriter.writeSorted(new int[0], file);
+
+            assertFalse(MappedSsnDenylist.open(file).contains(123_45_6789));
+        }
+    }
+
+    @Nested
+    @DisplayName("bitmap format")
+    class Bitmap {
+
+        @Test
+        @DisplayName("finds exactly the written values")
+        void containsWrittenValues() throws IOException {
+            Path file = dir.resolve("denylist.bin");
+            SsnDenylistWriter.writeBitmap(DENIED, file);
+
+            MappedSsnDenylist denylist = MappedSsnDenylist.open(file);
+
+            assertTrue(denylist.isBitmap());
+            assertEquals(DENIED.length, denylist.size());
+            assertEquals(16 + 125_000_000L, Files.size(file));
+            assertDeniesExactly(denylist, DENIED);
+        }
+    }
+
+    @Test
+    @DisplayName("maps the payload only on the first lookup")
+    void mapsLazily() throws IOException {
+        Path file = dir.resolve("denylist.bin");
+        SsnDenylistWriter.writeSorted(DENIED, file);
+
+        MappedSsnDenylist denylist = MappedSsnDenylist.open(file);
+        assertFalse(denylist.isMapped());
+
+        denylist.contains(42);
+        assertTrue(denylist.isMapped());
+    }
+
+    @Test
+    @DisplayName("rejects files that are not denylists or are truncated")
+    void rejectsInvalidFiles() throws IOException {
+        Path garbage = dir.resolve("garbage.bin");
+        Files.writeString(garbage, "123-45-6789\n987-65-4321\n");
+        assertThrows(IOException.class, () -> MappedSsnDenylist.open(garbage));
+
+        Path file = dir.resolve("denylist.bin");
+        SsnDenylistWriter.writeSorted(DENIED, file);
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = dir.resolve("truncated.bin");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> MappedSsnDenylist.open(truncated));
+    }
+
+    @Test
+    @DisplayName("reads SSN text in any accepted form, skipping lines that aren't SSNs")
+    void readsText() throws IOException {
+        String text = "123-45-6789\n\n  078-05-1120 \nnot an ssn\n123-45-6789\n000-12-3456\n";
+
+        int[] values = SsnDenylistWriter.read(new BufferedReader(new StringReader(text)));
+
+        assertArrayEquals(new int[]{12_3456, 78_05_1120, 123_45_6789}, values);
+    }
+
+    private static void assertDeniesExactly(SsnDenylist denylist, int[] denied) {
+        for (int value : denied) {
+            assertTrue(denylist.contains(value), "expected " + value + " to be denied");
+            if (value + 1 < MappedSsnDenylist.VALUE_RANGE && Arrays.stream(denied).noneMatch(v -> v == value + 1)) {
+                assertFalse(denylist.contains(value + 1), "expected " + (value + 1) + " to be allowed");
+            }
+        }
+        assertFalse(denylist.contains(-1));
+        assertFalse(denylist.contains(MappedSsnDenylist.VALUE_RANGE));
+    }
+}
@@ -0,0 +1,123 @@
+package com.pii.validation.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SsnRuleSet")
+class SsnRuleSetTest {
+
+    private static SsnRuleSet parse(String text) throws IOException {
+        return SsnRuleSet.parse(new StringReader(text));
+    }
+
+    @Test
+    @DisplayName("the shipped rule file compiles to the built-in rules")
+    void shippedFileMatchesDefault() throws IOException {
+        SsnRuleSet rules = SsnRuleSet.load(Path.of("config/ssn-rules.properties"));
+
+        assertEquals("1", rules.version());
+        assertEquals(SsnRuleSet.DEFAULT.fingerprint(), rules.fingerprint());
+    }
+
+    @Test
+    @DisplayName("keys left out keep the built-in setting")
+    void defaultsForMissingKeys() throws IOException {
+        SsnRuleSet rules = parse("version=7\n");
+
+        assertEquals("7", rules.version());
+        assertEquals(SsnRuleSet.DEFAULT.canonical(), rules.canonical());
+        assertEquals(SsnErrorCode.KNOWN_TEST_NUMBER.bit(), rules.check(78_05_1120));
+    }
+
+    @Test
+    @DisplayName("the fingerprint ignores version, comments, ordering and duplicates")
+    void fingerprintIsCanonical() throws IOException {
+        SsnRuleSet a = parse("version=1\nrules.known-test-numbers=219-09-9999,078-05-1120\n");
+        SsnRuleSet b = parse("# edited\nrules.known-test-numbers = 078-05-1120, 219-09-9999, 078-05-1120\nversion=2\n");
+        SsnRuleSet c = parse("version=1\nrules.known-test-numbers=078-05-1120\n");
+
+        assertEquals(a.fingerprint(), b.fingerprint());
+        assertNotEquals(a.fingerprint(), c.fingerprint());
+        assertEquals(64, a.fingerprint().length());
+    }
+
+    @Test
+    @DisplayName("the rule file parses back to the same version and rules")
+    void ruleFileRoundTrips() throws IOException {
+        SsnRuleSet rules = parse("version=2024-06\\\\a\nrules.group-00=false\nrules.reserved-areas=900-902,734\n");
+
+        SsnRuleSet copy = parse(rules.ruleFile());
+
+        assertEquals("2024-06\\a", copy.version());
+        assertEquals(rules.fingerprint(), copy.fingerprint());
+        assertEquals(SsnRuleSet.DEFAULT.fingerprint(), parse(SsnRuleSet.DEFAULT.ruleFile()).fingerprint());
+    }
+
+    @Nested
+    @DisplayName("compiled rules")
+    class Compiled {
+
+        @Test
+        @DisplayName("can switch off individual SSA rules")
+        void switchesOffRules() throws IOException {
+            SsnRuleSet rules = parse("""
+                    version=1
+                    rules.area-000=false
+                    rules.group-00=false
+                    """);
+
+            assertEquals(SsnErrorCode.SERIAL_0000.bit(), rules.check(0));
+            assertEquals(SsnErrorCode.AREA_666.bit(), rules.check(666_12_3456));
+        }
+
+        @Test
+        @DisplayName("rejects reserved areas and ranges")
+        void rejectsReservedAreas() throws IOException {
+            SsnRuleSet rules = parse("version=1\nrules.reserved-areas=734-749, 773, 666\n");
+
+            assertEquals(SsnErrorCode.AREA_RESERVED.bit(), rules.check(734_12_3456));
+            assertEquals(SsnErrorCode.AREA_RESERVED.bit(), rules.check(749_12_3456));
+            assertEquals(SsnErrorCode.AREA_RESERVED.bit(), rules.check(773_12_3456));
+            assertEquals(0, rules.check(750_12_3456));
+            assertEquals(SsnErrorCode.AREA_666.bit() | SsnErrorCode.AREA_RESERVED.bit(), rules.check(666_12_3456));
+        }
+
+        @Test
+        @DisplayName("replaces the known test numbers")
+        void replacesTestNumbers() throws IOException {
+            SsnRuleSet rules = parse("version=1\nrules.known-test-numbers=123-45-6789\n");
+
+            assertEquals(SsnErrorCode.KNOWN_TEST_NUMBER.bit(), rules.check(123_45_6789));
+            assertEquals(0, rules.check(78_05_1120));
+            assertTrue(SsnValidator.isValid(SsnValidator.check("078-05-1120", rules)));
+        }
+    }
+
+    @Nested
+    @DisplayName("invalid files")
+    class Invalid {
+
+        @Test
+        @DisplayName("require a version")
+        void requiresVersion() {
+            assertThrows(IllegalArgumentException.class, () -> parse("rules.area-000=true\n"));
+        }
+
+        @Test
+        @DisplayName("reject unknown keys and malformed values")
+        void rejectsBadContent() {
+            assertThrows(IllegalArgumentException.class, () -> parse("version=1\nrules.area-00=true\n"));
+            assertThrows(IllegalArgumentException.class, () -> parse("version=1\nrules.group-00=yes\n"));
+            assertThrows(IllegalArgumentException.class, () -> parse("version=1\nrules.reserved-areas=7a4\n"));
+            assertThrows(IllegalArgumentException.class, () -> parse("version=1\nrules.reserved-areas=749-734\n"));
+            assertThrows(IllegalArgumentException.class, () -> parse("version=1\nrules.known-test-numbers=123456789\n"));
+        }
+    }
+}
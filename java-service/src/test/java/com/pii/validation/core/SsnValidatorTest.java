@@ -0,0 +1,201 @@
+package com.pii.validation.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SsnValidator")
+class SsnValidatorTest {
+
+    @Nested
+    @DisplayName("result packing")
+    class ResultPacking {
+
+        @Test
+        @DisplayName("decodes the nine-digit value of a valid SSN")
+        void decodesValue() {
+            long result = SsnValidator.check("123-45-6789");
+
+            assertTrue(SsnValidator.isValid(result));
+            assertEquals(123_45_6789, SsnValidator.value(result));
+        }
+
+        @Test
+        @DisplayName("accumulates every rule violation in the mask")
+        void accumulatesErrors() {
+            int errors = SsnValidator.errors(SsnValidator.check("000-00-0000"));
+
+            assertTrue(SsnErrorCode.AREA_000.isSet(errors));
+            assertTrue(SsnErrorCode.GROUP_00.isSet(errors));
+            assertTrue(SsnErrorCode.SERIAL_0000.isSet(errors));
+            assertFalse(SsnErrorCode.FORMAT.isSet(errors));
+        }
+
+        @Test
+        @DisplayName("maps masks to messages in rule order")
+        void mapsMessages() {
+            int mask = SsnErrorCode.SERIAL_0000.bit() | SsnErrorCode.AREA_666.bit();
+
+            assertEquals(List.of(SsnErrorCode.AREA_666.message(), SsnErrorCode.SERIAL_0000.message()),
+                    SsnErrorCode.messages(mask));
+            assertSame(SsnErrorCode.messages(mask), SsnErrorCode.messages(mask));
+        }
+    }
+
+    @Nested
+    @DisplayName("lenient check")
+    class Lenient {
+
+        private long lenient(String input) {
+            return SsnValidator.checkLenient(input, SsnRuleSet.DEFAULT);
+        }
+
+        @Test
+        @DisplayName("canonicalizes common input formats")
+        void acceptsCommonFormats() {
+            for (String input : List.of("123456789", "123 45 6789", "123  45\t6789", "123 - 45 - 6789", "123-456789",
+                    "\uFF11\uFF12\uFF13\uFF0D\uFF14\uFF15\uFF0D\uFF16\uFF17\uFF18\uFF19", "123\u201345\u20136789",
+                    "\u00A0123-45-6789\u3000", "123\u300045\u30006789")) {
+                long result = lenient(input);
+
+                assertTrue(SsnValidator.isValid(result), input);
+                assertTrue(SsnValidator.isNormalized(result), input);
+                assertEquals(123_45_6789, SsnValidator.value(result), input);
+            }
+        }
+
+        @Test
+        @DisplayName("leaves canonical input, trimmed like String.trim(), unflagged")
+        void canonicalInput() {
+            for (String input : List.of("123-45-6789", "  123-45-6789\t")) {
+                long result = lenient(input);
+
+                assertEquals(SsnValidator.check(input), result, input);
+                assertFalse(SsnValidator.isNormalized(result), input);
+            }
+        }
+
+        @Test
+        @DisplayName("applies the rules to normalized values")
+        void appliesRules() {
+            long result = lenient("666 00 0000");
+
+            assertTrue(SsnValidator.isNormalized(result));
+            assertEquals(SsnValidator.errors(SsnValidator.check("666-00-0000")), SsnValidator.errors(result));
+            assertEquals(666_00_0000, SsnValidator.value(result));
+        }
+
+        @Test
+        @DisplayName("rejects other groupings, separators and lengths")
+        void rejectsOtherFormats() {
+            for (String input : List.of("12-345-6789", "1234-5-6789", "123--45-6789", "123.45.6789", "12345678",
+                    "1234567890", "123-45-678a", "-123456789", "123456789-", "\u0661\u0662\u0663456789")) {
+                assertEquals(SsnErrorCode.FORMAT.bit(), SsnValidator.errors(lenient(input)), input);
+                assertFalse(SsnValidator.isNormalized(lenient(input)), input);
+            }
+            assertEquals(SsnErrorCode.REQUIRED.bit(), SsnValidator.errors(lenient(null)));
+            assertEquals(SsnErrorCode.REQUIRED.bit(), SsnValidator.errors(lenient(" \u3000 ")));
+        }
+
+        @Test
+        @DisplayName("formats values in canonical form")
+        void formats() {
+            assertEquals("123-45-6789", SsnValidator.format(123_45_6789));
+            assertEquals("001-02-0003", SsnValidator.format(1_02_0003));
+        }
+    }
+
+    @Nested
+    @DisplayName("equivalence with the regex implementation")
+    class Equivalence {
+
+        @Test
+        @DisplayName("agrees on every area and group with edge-case serials")
+        void agreesOnAreasAndGroups() {
+            int[] serials = {0, 1, 1120, 5462, 6789, 9999};
+            char[] buffer = new char[11];
+
+            for (int area = 0; area < 1000; area++) {
+                for (int group = 0; group < 100; group++) {
+                    for (int serial : serials) {
+                        assertAgrees(format(buffer, area * 1_000_000 + group * 10_000 + serial));
+                    }
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("agrees on a random sample of the SSN space")
+        void agreesOnRandomSample() {
+            SplittableRandom random = new SplittableRandom(42);
+            char[] buffer = new char[11];
+
+            for (int i = 0; i < 1_000_000; i++) {
+                assertAgrees(format(buffer, random.nextInt(1_000_000_000)));
+            }
+        }
+
+        @Test
+        @DisplayName("agrees on malformed and padded inputs")
+        void agreesOnMalformedInputs() {
+            String[] samples = {
+                    null, "", " ", "\t\n", " ", "\u0001", "\u0001 \u0001", "   ",
+                    "123456789", "12-345-6789", "123-45-678", "123-45-67890", "1234-5-6789",
+                    "123-45-6789\n", " 123-45-6789 ", "\u0000123-45-6789", " 123-45-6789",
+                    "１２３-45-6789", "123_45_6789", "abc-de-fghi", "123-4a-6789", "123-45-6789<b>",
+                    "/23-45-6789", ":23-45-6789", "078-05-1120", " 219-09-9999\t"
+            };
+            for (String sample : samples) {
+                assertAgrees(sample);
+            }
+
+            SplittableRandom random = new SplittableRandom(7);
+            char[] alphabet = "0123456789- \t x".toCharArray();
+            for (int i = 0; i < 200_000; i++) {
+                char[] chars = new char[9 + random.nextInt(6)];
+                for (int j = 0; j < chars.length; j++) {
+                    chars[j] = alphabet[random.nextInt(alphabet.length)];
+                }
+                assertAgrees(new String(chars));
+            }
+        }
+
+        @Test
+        @EnabledIfSystemProperty(named = "ssn.exhaustive", matches = "true")
+        @DisplayName("agrees on the full 10^9 SSN space (-Dssn.exhaustive=true)")
+        void agreesOnFullSpace() {
+            IntStream.range(0, 1000).parallel().forEach(area -> {
+                char[] buffer = new char[11];
+                for (int rest = 0; rest < 1_000_000; rest++) {
+                    assertAgrees(format(buffer, area * 1_000_000 + rest));
+                }
+            });
+        }
+
+        private void assertAgrees(String ssn) {
+            long result = SsnValidator.check(ssn);
+            List<String> expected = LegacySsnValidator.validate(ssn);
+
+            assertEquals(expected, SsnErrorCode.messages(SsnValidator.errors(result)), () -> "input: " + ssn);
+        }
+
+        private String format(char[] buffer, int value) {
+            for (int i = 10; i >= 0; i--) {
+                if (i == 3 || i == 6) {
+                    buffer[i] = '-';
+                } else {
+                    buffer[i] = (char) ('0' + value % 10);
+                    value /= 10;
+                }
+            }
+            return new String(buffer);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.pii.validation.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pii.validation.core.SsnErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SsnJsonCodec")
+class SsnJsonCodecTest {
+
+    // Configured like the ObjectMapper behind Spring Boot's HTTP message converters
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private static SsnValidationRequest read(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return SsnJsonCodec.readRequest(bytes, bytes.length);
+    }
+
+    @Nested
+    @DisplayName("Reading requests")
+    class Reading {
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+                "{\"ssn\":\"123-45-6789\"}",
+                " {\n  \"ssn\" : \"123-45-6789\"\r\n}\t",
+                "{\"name\": \"x\", \"ssn\": \"123-45-6789\", \"age\": 42, \"ok\": true, \"n\": -1.5e+3, \"z\": null}",
+                "{\"ssn\": \"000-00-0000\", \"ssn\": \"123-45-6789\"}",
+                "{\"ssn\": \"  123-45-6789<b>x</b>  \"}",
+                "{}",
+                "{\"ssn\": null}",
+                "{\"SSN\": \"123-45-6789\"}"
+        })
+        @DisplayName("reads the ssn field exactly like Jackson")
+        void matchesJackson(String json) throws IOException {
+            SsnValidationRequest request = read(json);
+
+            assertNotNull(request, "expected the fast path to handle " + json);
+            assertEquals(objectMapper.readValue(json, SsnValidationRequest.class).getSsn(), request.getSsn());
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+                "{\"ssn\": \"123\\u002d45-6789\"}",
+                "{\"ssn\": \"123-45-6789\\\"\"}",
+                "{\"ssn\": \"éé\"}",
+                "{\"ssn\": 123456789}",
+                "{\"ssn\": true}",
+                "{\"other\": {\"ssn\": \"1\"}, \"ssn\": \"123-45-6789\"}",
+                "{\"other\": [1], \"ssn\": \"123-45-6789\"}",
+                "{\"ssn\": \"123-45-6789\",}",
+                "{\"ssn\": \"123-45-6789\"} trailing",
+                "{\"ssn\": 01}",
+                "{\"x\": tru, \"ssn\": \"123-45-6789\"}",
+                "{\"ssn\": \"123-45-6789\"",
+                "[\"123-45-6789\"]",
+                ""
+        })
+        @DisplayName("leaves escapes, non-ASCII, coercions, nesting and malformed bodies to Jackson")
+        void fallsBack(String json) {
+            assertNull(read(json));
+        }
+    }
+
+    @Nested
+    @DisplayName("Writing responses")
+    class Writing {
+
+        private void assertSameAsJackson(SsnValidationResponse response) throws IOException {
+            byte[] written = SsnJsonCodec.writeResponse(response);
+
+            assertNotNull(written);
+            assertEquals(objectMapper.writeValueAsString(response), new String(written, StandardCharsets.UTF_8));
+        }
+
+        @Test
+        @DisplayName("writes every error mask byte for byte like Jackson")
+        void writesEveryMask() throws IOException {
+            assertSameAsJackson(SsnValidationResponse.success("123-45-6789"));
+            for (int mask = 1; mask < 1 << (SsnErrorCode.values().length); mask++) {
+                assertSameAsJackson(SsnValidationResponse.failure("000-00-0000", mask));
+            }
+        }
+
+        @ParameterizedTest
+        @ValueSource(strings = {"", "a\"b\\c", "tab\tnl\ncr\rbs\bff\f", "\u0000\u0001\u001f\u007f", "é", "€ ✓",
+                "😀 x", "</script>", " "})
+        @DisplayName("escapes and encodes text like Jackson")
+        void escapesLikeJackson(String ssn) throws IOException {
+            assertSameAsJackson(SsnValidationResponse.failure(ssn, SsnErrorCode.FORMAT.bit()));
+        }
+
+        @Test
+        @DisplayName("writes null SSNs and explicit error lists")
+        void writesNullsAndExplicitErrors() throws IOException {
+            assertSameAsJackson(SsnValidationResponse.failure(null, SsnErrorCode.REQUIRED.bit()));
+            assertSameAsJackson(SsnValidationResponse.failure("x", List.of("one", "two \"quoted\"")));
+            assertSameAsJackson(SsnValidationResponse.failure("x", List.of()));
+            assertSameAsJackson(SsnValidationResponse.failure("x", Arrays.asList("a", null)));
+
+            SsnValidationResponse added = SsnValidationResponse.failure("x", SsnErrorCode.AREA_000.bit());
+            added.addError("extra");
+            assertSameAsJackson(added);
+        }
+
+        @Test
+        @DisplayName("writes the normalized flag like Jackson")
+        void writesNormalizedFlag() throws IOException {
+            for (boolean normalized : new boolean[]{true, false}) {
+                SsnValidationResponse valid = SsnValidationResponse.success("123-45-6789");
+                valid.setNormalized(normalized);
+                assertSameAsJackson(valid);
+
+                SsnValidationResponse invalid = SsnValidationResponse.failure("666-45-6789", SsnErrorCode.AREA_666.bit());
+                invalid.setNormalized(normalized);
+                assertSameAsJackson(invalid);
+
+                SsnValidationResponse explicit = SsnValidationResponse.failure("x", List.of("one"));
+                explicit.setNormalized(normalized);
+                assertSameAsJackson(explicit);
+            }
+        }
+
+        @Test
+        @DisplayName("leaves unpaired surrogates to Jackson")
+        void fallsBackOnUnpairedSurrogates() {
+            assertNull(SsnJsonCodec.writeResponse(SsnValidationResponse.failure("\ud83d", 0)));
+            assertNull(SsnJsonCodec.writeResponse(SsnValidationResponse.failure("x", List.of("\ude00"))));
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.pii.validation.loadgen;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * Keep-alive HTTP/1.1 connection from a chosen local address. The JDK's {@code HttpClient} can't bind
+ * the local address on Java 17, and the service keys its rate limiter on the client address, so the
+ * generator needs this to act as many clients. Requests are pre-encoded; responses are read to the end
+ * and discarded.
+ */
+final class HttpConnection implements Closeable {
+
+    private final Socket socket;
+    private final OutputStream out;
+    private final InputStream in;
+    private boolean open = true;
+
+    HttpConnection(InetAddress localAddress, InetSocketAddress target) throws IOException {
+        socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.setSoTimeout(30_000);
+        if (localAddress != null) {
+            socket.bind(new InetSocketAddress(localAddress, 0));
+        }
+        socket.connect(target, 5_000);
+        out = socket.getOutputStream();
+        in = new BufferedInputStream(socket.getInputStream(), 8192);
+    }
+
+    /**
+     * Sends a complete, pre-encoded request and reads its response.
+     *
+     * @return the response status code
+     */
+    int exchange(byte[] request) throws IOException {
+        out.write(request);
+        out.flush();
+
+        String statusLine = readLine();
+        if (statusLine.length() < 12 || !statusLine.startsWith("HTTP/1.")) {
+            throw new IOException("Not an HTTP response: " + statusLine);
+        }
+        int status = Integer.parseInt(statusLine.substring(9, 12));
+
+        long contentLength = -1;
+        boolean chunked = false;
+        String header;
+        while (!(header = readLine()).isEmpty()) {
+            int colon = header.indexOf(':');
+            if (colon < 0) {
+                continue;
+            }
+            String name = header.substring(0, colon).trim();
+            String value = header.substring(colon + 1).trim();
+            if (name.equalsIgnoreCase("Content-Length")) {
+                contentLength = Long.parseLong(value);
+            } else if (name.equalsIgnoreCase("Transfer-Encoding") && value.equalsIgnoreCase("chunked")) {
+                chunked = true;
+            } else if (name.equalsIgnoreCase("Connection") && value.equalsIgnoreCase("close")) {
+                open = false;
+            }
+        }
+
+        if (chunked) {
+            long size;
+            while ((size = Long.parseLong(readLine().split(";")[0].trim(), 16)) > 0) {
+                skip(size + 2);
+            }
+            while (!readLine().isEmpty()) {
+                // trailers
+            }
+        } else if (contentLength >= 0) {
+            skip(contentLength);
+        } else {
+            open = false;
+            while (in.read() >= 0) {
+                // body until the server closes the connection
+            }
+        }
+        return status;
+    }
+
+    boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // nothing to do
+        }
+    }
+
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder(64);
+        int c;
+        while ((c = in.read()) != '\n') {
+            if (c < 0) {
+                throw new EOFException("Connection closed");
+            }
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    private void skip(long bytes) throws IOException {
+        while (bytes > 0) {
+            long skipped = in.skip(bytes);
+            if (skipped <= 0) {
+                if (in.read() < 0) {
+                    throw new EOFException("Connection closed");
+                }
+                skipped = 1;
+            }
+            bytes -= skipped;
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.pii.validation.loadgen;
+
+import com.pii.validation.SsnValidationApplication;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for {@code /api/v1/ssn/validate} and {@code /health} (see LOAD_TESTING.md).
+ *
+ * <p>Requests are scheduled at a fixed rate whatever the service does: request {@code i} is due at
+ * {@code start + i / rate}. Sender threads take due requests from a queue, each over its own keep-alive
+ * connections. A request's latency is measured from when it was due, not from when a sender got to it. So
+ * when the service stalls, the requests that queue up behind the stall count the wait, which a closed
+ * loop (send, wait, send) would leave out. That is the coordinated-omission correction. The time from
+ * sending to the response is recorded too, as the uncorrected service time.
+ *
+ * <p>Without {@code --url}, the service is started in this JVM on a free port, so both share the CPUs.
+ * Start it separately and pass {@code --url} for numbers that only include the service.
+ */
+public final class LoadGenerator {
+
+    enum Kind {
+        VALID(200), MALFORMED(400), RULE_VIOLATING(400), HEALTH(200);
+
+        final int expectedStatus;
+
+        Kind(int expectedStatus) {
+            this.expectedStatus = expectedStatus;
+        }
+    }
+
+    private static final long HIGHEST_MICROS = TimeUnit.SECONDS.toMicros(60);
+    private static final int VARIANTS = 256;
+    private static final int SOCKETS_PER_SENDER = 32;
+    private static final String[] MALFORMED = {"123456789", "12-345-6789", "123-45-678", "abc-de-fghi",
+            "123-45-67890", "123 45 6789"};
+    private static final String[] RULE_VIOLATING = {"000-12-3456", "666-12-3456", "123-00-4567", "123-45-0000",
+            "078-05-1120", "219-09-9999"};
+
+    private final LoadOptions options;
+    private final InetSocketAddress target;
+    private final byte[][][] requests = new byte[Kind.values().length][][];
+
+    LoadGenerator(LoadOptions options, URI url) {
+        this.options = options;
+        this.target = new InetSocketAddress(url.getHost(), url.getPort() > 0 ? url.getPort() : 80);
+        if (options.clients > 1 && (target.getAddress() == null || !target.getAddress().isLoopbackAddress())) {
+            throw new IllegalArgumentException("--clients needs a loopback target, since clients are 127.x.y.z addresses");
+        }
+
+        String host = url.getHost() + ":" + target.getPort();
+        SplittableRandom random = new SplittableRandom(42);
+        requests[Kind.VALID.ordinal()] = new byte[VARIANTS][];
+        for (int i = 0; i < VARIANTS; i++) {
+            String ssn = String.format("%03d-%02d-%04d", 1 + random.nextInt(665), 1 + random.nextInt(99),
+                    1 + random.nextInt(9999));
+            requests[Kind.VALID.ordinal()][i] = validate(host, ssn);
+        }
+        requests[Kind.MALFORMED.ordinal()] = encodeAll(host, MALFORMED);
+        requests[Kind.RULE_VIOLATING.ordinal()] = encodeAll(host, RULE_VIOLATING);
+        requests[Kind.HEALTH.ordinal()] = new byte[][]{
+                ("GET /health HTTP/1.1\r\nHost: " + host + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII)};
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        ConfigurableApplicationContext service = null;
+        URI url = options.url;
+        if (url == null) {
+            service = startService(options);
+            url = URI.create("http://127.0.0.1:" + ((WebServerApplicationContext) service).getWebServer().getPort());
+        }
+        try {
+            Report report = new LoadGenerator(options, url).run(System.out);
+            report.print(System.out);
+            if (options.histogram != null) {
+                try (PrintStream out = new PrintStream(Files.newOutputStream(options.histogram))) {
+                    report.corrected.outputPercentileDistribution(out, 1000.0);
+                }
+                System.out.println("Corrected latency distribution (ms) written to " + options.histogram);
+            }
+        } finally {
+            if (service != null) {
+                service.close();
+            }
+        }
+    }
+
+    static ConfigurableApplicationContext startService(LoadOptions options) {
+        List<String> args = new ArrayList<>(options.serviceArguments);
+        args.add("--server.port=0");
+        args.add("--spring.main.banner-mode=off");
+        args.add("--logging.level.root=WARN");
+        args.add("--logging.level.com.pii.validation=WARN");
+        if (options.unlimited) {
+            args.add("--rate.limit.requests-per-minute=1000000000");
+        }
+        return new SpringApplicationBuilder(SsnValidationApplication.class).run(args.toArray(String[]::new));
+    }
+
+    Report run(PrintStream progress) throws InterruptedException {
+        long total = (long) options.rate * (options.warmupSeconds + options.durationSeconds);
+        progress.printf("Offering %d req/s to %s for %d s (+%d s warmup), %d connections, %d client address(es)%n",
+                options.rate, target, options.durationSeconds, options.warmupSeconds, options.connections,
+                options.clients);
+
+        BlockingQueue<Request> queue = new LinkedBlockingQueue<>();
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(20);
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long measureTo = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+
+        List<Sender> senders = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < options.connections; i++) {
+            Sender sender = new Sender(queue, measureFrom, measureTo);
+            Thread thread = new Thread(sender, "loadgen-sender-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            senders.add(sender);
+            threads.add(thread);
+        }
+
+        SplittableRandom random = new SplittableRandom(7);
+        int mixTotal = options.validWeight + options.malformedWeight + options.ruleViolatingWeight;
+        double periodNanos = 1e9 / options.rate;
+        for (long i = 0; i < total; i++) {
+            long due = start + (long) (i * periodNanos);
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            queue.add(new Request(due, kind(random, mixTotal), random.nextInt(options.clients),
+                    random.nextInt(VARIANTS)));
+        }
+        for (int i = 0; i < senders.size(); i++) {
+            queue.add(Request.STOP);
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(60));
+        }
+
+        Report report = new Report(options, queue.size());
+        for (Sender sender : senders) {
+            report.add(sender);
+        }
+        report.measuredNanos = Math.max(measureTo, report.lastCompletion) - measureFrom;
+        return report;
+    }
+
+    private Kind kind(SplittableRandom random, int mixTotal) {
+        if (options.healthPercent > 0 && random.nextInt(100) < options.healthPercent) {
+            return Kind.HEALTH;
+        }
+        int pick = random.nextInt(mixTotal);
+        if (pick < options.validWeight) {
+            return Kind.VALID;
+        }
+        return pick < options.validWeight + options.malformedWeight ? Kind.MALFORMED : Kind.RULE_VIOLATING;
+    }
+
+    private static byte[] validate(String host, String ssn) {
+        String body = "{\"ssn\":\"" + ssn + "\"}";
+        return ("POST /api/v1/ssn/validate HTTP/1.1\r\nHost: " + host
+                + "\r\nContent-Type: application/json\r\nContent-Length: " + body.length() + "\r\n\r\n" + body)
+                .getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[][] encodeAll(String host, String[] ssns) {
+        byte[][] encoded = new byte[ssns.length][];
+        for (int i = 0; i < ssns.length; i++) {
+            encoded[i] = validate(host, ssns[i]);
+        }
+        return encoded;
+    }
+
+    // 127.x.y.z for client n, counting from 127.0.0.1
+    private static InetAddress clientAddress(int client) throws UnknownHostException {
+        int n = client + 1;
+        return InetAddress.getByAddress(new byte[]{127, (byte) (n >>> 16), (byte) (n >>> 8), (byte) n});
+    }
+
+    private record Request(long due, Kind kind, int client, int variant) {
+
+        static final Request STOP = new Request(0, null, 0, 0);
+    }
+
+    // One sender thread: takes due requests, keeps a connection per client it has served recently
+    private final class Sender implements Runnable {
+
+        private final BlockingQueue<Request> queue;
+        private final long measureFrom;
+        private final long measureTo;
+        private final Histogram corrected = new Histogram(HIGHEST_MICROS, 3);
+        private final Histogram uncorrected = new Histogram(HIGHEST_MICROS, 3);
+        private final long[] statuses = new long[600];
+        private long unexpected;
+        private long errors;
+        private long completed;
+        private long lastCompletion;
+
+        private final Map<Integer, HttpConnection> connections =
+                new LinkedHashMap<>(SOCKETS_PER_SENDER * 2, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Integer, HttpConnection> eldest) {
+                        if (size() > SOCKETS_PER_SENDER) {
+                            eldest.getValue().close();
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+
+        private Sender(BlockingQueue<Request> queue, long measureFrom, long measureTo) {
+            this.queue = queue;
+            this.measureFrom = measureFrom;
+            this.measureTo = measureTo;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Request request;
+                while ((request = queue.take()) != Request.STOP) {
+                    send(request);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                connections.values().forEach(HttpConnection::close);
+            }
+        }
+
+        private void send(Request request) {
+            byte[][] variants = requests[request.kind().ordinal()];
+            byte[] bytes = variants[request.variant() % variants.length];
+            boolean measured = request.due() >= measureFrom && request.due() < measureTo;
+
+            HttpConnection connection = null;
+            long sent = 0;
+            int status;
+            try {
+                connection = connections.get(request.client());
+                if (connection == null) {
+                    connection = new HttpConnection(options.clients > 1 ? clientAddress(request.client()) : null, target);
+                    connections.put(request.client(), connection);
+                }
+                sent = System.nanoTime();
+                status = connection.exchange(bytes);
+                if (!connection.isOpen()) {
+                    connections.remove(request.client()).close();
+                }
+            } catch (IOException | RuntimeException e) {
+                if (connection != null) {
+                    connections.remove(request.client());
+                    connection.close();
+                }
+                if (measured) {
+                    errors++;
+                }
+                return;
+            }
+
+            long now = System.nanoTime();
+            if (!measured) {
+                return;
+            }
+            completed++;
+            lastCompletion = Math.max(lastCompletion, now);
+            statuses[status < statuses.length ? status : 0]++;
+            if (status != request.kind().expectedStatus) {
+                unexpected++;
+            }
+            corrected.recordValue(Math.min(HIGHEST_MICROS, (now - request.due()) / 1000));
+            uncorrected.recordValue(Math.min(HIGHEST_MICROS, (now - sent) / 1000));
+        }
+    }
+
+    /**
+     * Results of the measured part of a run.
+     */
+    static final class Report {
+
+        final Histogram corrected = new Histogram(HIGHEST_MICROS, 3);
+        final Histogram uncorrected = new Histogram(HIGHEST_MICROS, 3);
+        final long[] statuses = new long[600];
+        final long offered;
+        final long unsent;
+        long completed;
+        long unexpected;
+        long errors;
+        long lastCompletion;
+        long measuredNanos;
+
+        private Report(LoadOptions options, long unsent) {
+            this.offered = (long) options.rate * options.durationSeconds;
+            this.unsent = unsent;
+        }
+
+        private void add(Sender sender) {
+            corrected.add(sender.corrected);
+            uncorrected.add(sender.uncorrected);
+            for (int i = 0; i < statuses.length; i++) {
+                statuses[i] += sender.statuses[i];
+            }
+            completed += sender.completed;
+            unexpected += sender.unexpected;
+            errors += sender.errors;
+            lastCompletion = Math.max(lastCompletion, sender.lastCompletion);
+        }
+
+        double throughput() {
+            return completed / (measuredNanos / 1e9);
+        }
+
+        void print(PrintStream out) {
+            out.printf("Offered %d requests, completed %d (%.1f req/s), %d connection errors, %d still queued at the end%n",
+                    offered, completed, throughput(), errors, unsent);
+            StringBuilder statusLine = new StringBuilder("Status:");
+            for (int i = 0; i < statuses.length; i++) {
+                if (statuses[i] > 0) {
+                    statusLine.append(' ').append(i == 0 ? "other" : i).append('=').append(statuses[i]);
+                }
+            }
+            out.println(statusLine.append(", ").append(unexpected).append(" unexpected for their input"));
+            out.printf("%-12s %9s %9s %9s %9s %9s%n", "Latency ms", "p50", "p90", "p99", "p99.9", "max");
+            row(out, "corrected", corrected);
+            row(out, "service", uncorrected);
+        }
+
+        private static void row(PrintStream out, String label, Histogram histogram) {
+            out.printf("%-12s %9.3f %9.3f %9.3f %9.3f %9.3f%n", label,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+    }
+}
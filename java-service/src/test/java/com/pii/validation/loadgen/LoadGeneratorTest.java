@@ -0,0 +1,81 @@
+package com.pii.validation.loadgen;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LoadGenerator")
+class LoadGeneratorTest {
+
+    @Nested
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "rate.limit.requests-per-minute=1000000")
+    @DisplayName("against a running service")
+    class AgainstService {
+
+        @LocalServerPort
+        private int port;
+
+        @Test
+        @DisplayName("sends every scheduled request from several client addresses and records each one")
+        void recordsEveryRequest() throws InterruptedException {
+            LoadOptions options = LoadOptions.parse("--rate=200", "--duration=1", "--warmup=0", "--clients=4",
+                    "--connections=4", "--health=10", "--mix=50,25,25");
+
+            LoadGenerator.Report report = new LoadGenerator(options, URI.create("http://127.0.0.1:" + port))
+                    .run(new PrintStream(new ByteArrayOutputStream()));
+
+            assertEquals(200, report.offered);
+            assertEquals(200, report.completed);
+            assertEquals(0, report.errors);
+            assertEquals(0, report.unexpected);
+            assertTrue(report.statuses[200] > 0);
+            assertTrue(report.statuses[400] > 0);
+            assertEquals(200, report.statuses[200] + report.statuses[400]);
+            assertEquals(200, report.corrected.getTotalCount());
+            // Latency counted from the due time can't be shorter than from the send
+            assertTrue(report.corrected.getMaxValue() >= report.uncorrected.getMaxValue());
+        }
+    }
+
+    @Nested
+    @DisplayName("options")
+    class Options {
+
+        @Test
+        @DisplayName("parses generator options and passes the rest to the service")
+        void parses() {
+            LoadOptions options = LoadOptions.parse("--rate=5000", "--mix=1,2,3", "--unlimited",
+                    "--rate.limit.backend=compact");
+
+            assertEquals(5000, options.rate);
+            assertEquals(1, options.validWeight);
+            assertEquals(2, options.malformedWeight);
+            assertEquals(3, options.ruleViolatingWeight);
+            assertTrue(options.unlimited);
+            assertEquals(List.of("--rate.limit.backend=compact"), options.serviceArguments);
+        }
+
+        @Test
+        @DisplayName("rejects invalid values")
+        void rejectsInvalid() {
+            assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse("--rate=0"));
+            assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse("--mix=1,2"));
+            assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse("--mix=0,0,0"));
+            assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse("--health=101"));
+            assertThrows(IllegalArgumentException.class,
+                    () -> LoadOptions.parse("--url=http://localhost:8080", "--server.port=1"));
+            assertThrows(IllegalArgumentException.class, () -> new LoadGenerator(
+                    LoadOptions.parse("--clients=2"), URI.create("http://192.0.2.1:8080")));
+        }
+    }
+}
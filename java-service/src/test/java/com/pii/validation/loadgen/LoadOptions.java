@@ -0,0 +1,105 @@
+package com.pii.validation.loadgen;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line of {@link LoadGenerator}. Options are {@code --name=value}; any other argument is passed
+ * to the embedded service, e.g. {@code --rate.limit.backend=compact}.
+ */
+final class LoadOptions {
+
+    static final String USAGE = """
+            Usage: LoadGenerator [options] [service arguments]
+              --url=http://host:port   target service (default: start one in-process on a free port)
+              --rate=N                 requests per second, open loop (default 1000)
+              --duration=S             measured seconds (default 30)
+              --warmup=S               seconds sent before measuring, not recorded (default 5)
+              --mix=V,M,R              weights of valid, malformed and rule-violating SSNs (default 80,10,10)
+              --health=P               percent of requests sent to /health instead (default 0)
+              --clients=N              distinct client addresses 127.x.y.z, loopback only (default 1)
+              --connections=N          concurrent connections, one sender thread each (default 64)
+              --unlimited              lift the per-client rate limit of the in-process service
+              --histogram=FILE         write the corrected latency distribution (.hgrm) to FILE
+            """;
+
+    URI url;
+    int rate = 1000;
+    int durationSeconds = 30;
+    int warmupSeconds = 5;
+    int validWeight = 80;
+    int malformedWeight = 10;
+    int ruleViolatingWeight = 10;
+    int healthPercent;
+    int clients = 1;
+    int connections = 64;
+    boolean unlimited;
+    Path histogram;
+    final List<String> serviceArguments = new ArrayList<>();
+
+    static LoadOptions parse(String... args) {
+        LoadOptions options = new LoadOptions();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int equals = arg.indexOf('=');
+            String name = equals < 0 ? arg : arg.substring(0, equals);
+            String value = equals < 0 ? "" : arg.substring(equals + 1);
+            switch (name) {
+                case "--url" -> options.url = URI.create(value);
+                case "--rate" -> options.rate = positive(name, value);
+                case "--duration" -> options.durationSeconds = positive(name, value);
+                case "--warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "--mix" -> options.mix(value);
+                case "--health" -> options.healthPercent = percent(name, value);
+                case "--clients" -> options.clients = positive(name, value);
+                case "--connections" -> options.connections = positive(name, value);
+                case "--unlimited" -> options.unlimited = true;
+                case "--histogram" -> options.histogram = Path.of(value);
+                case "--help" -> throw new IllegalArgumentException(USAGE);
+                default -> options.serviceArguments.add(arg);
+            }
+        }
+        if (options.clients > 1 << 24) {
+            throw new IllegalArgumentException("--clients can be at most " + (1 << 24));
+        }
+        if (options.url != null && !options.serviceArguments.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + options.serviceArguments
+                    + "; service arguments only apply without --url");
+        }
+        return options;
+    }
+
+    private void mix(String value) {
+        String[] weights = value.split(",");
+        if (weights.length != 3) {
+            throw new IllegalArgumentException("--mix needs three weights: valid,malformed,ruleViolating");
+        }
+        validWeight = Integer.parseInt(weights[0].trim());
+        malformedWeight = Integer.parseInt(weights[1].trim());
+        ruleViolatingWeight = Integer.parseInt(weights[2].trim());
+        if (validWeight < 0 || malformedWeight < 0 || ruleViolatingWeight < 0
+                || validWeight + malformedWeight + ruleViolatingWeight == 0) {
+            throw new IllegalArgumentException("--mix weights must be non-negative and not all zero");
+        }
+    }
+
+    private static int positive(String name, String value) {
+        int number = Integer.parseInt(value);
+        if (number <= 0) {
+            throw new IllegalArgumentException(name + " must be positive");
+        }
+        return number;
+    }
+
+    private static int percent(String name, String value) {
+        int number = Integer.parseInt(value);
+        if (number < 0 || number > 100) {
+            throw new IllegalArgumentException(name + " must be between 0 and 100");
+        }
+        return number;
+    }
+}
@@ -0,0 +1,58 @@
+package com.pii.validation.metrics;
+
+import com.pii.validation.core.BinaryValidationClient;
+import com.pii.validation.core.SsnErrorCode;
+import com.pii.validation.service.BinaryValidationServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesRegex;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"binary.enabled=true", "binary.port=0", "binary.io-threads=1", "stats.enabled=true"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DirtiesContext
+@DisplayName("Binary protocol in the application")
+class BinaryProtocolMetricsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BinaryValidationServer server;
+
+    @Test
+    @DisplayName("counts binary validations in the protocol, validation and statistics meters")
+    void countsValidations() throws Exception {
+        try (BinaryValidationClient client = BinaryValidationClient.connect("127.0.0.1", server.getPort())) {
+            List<CompletableFuture<Integer>> results = client.validateAll(List.of("123-45-6789", "666-45-6789"));
+            assertEquals(0, results.get(0).get(5, TimeUnit.SECONDS));
+            assertEquals(SsnErrorCode.AREA_666.bit(), results.get(1).get(5, TimeUnit.SECONDS));
+        }
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("binary_frames_total 2.0")))
+                .andExpect(content().string(containsString("binary_rate_limited_total 0.0")))
+                .andExpect(content().string(matchesRegex("(?s).*ssn_validation_rejections_total\\{reason=\"area_666\",?} 1\\.0.*")));
+        mockMvc.perform(get("/api/v1/stats").param("window", "60"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.outcomes.validations").value(2))
+                .andExpect(jsonPath("$.outcomes.area_666").value(1))
+                .andExpect(jsonPath("$.topClients[0].client").value("127.0.0.1"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.pii.validation.metrics;
+
+import com.pii.validation.core.SsnErrorCode;
+import com.pii.validation.service.SsnValidationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("ValidationMetrics")
+class ValidationMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private SsnValidationService service;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        service = new SsnValidationService(new ValidationMetrics(registry, 1));
+    }
+
+    @Test
+    @DisplayName("counts and times every validation when sampling is 1")
+    void timesEveryValidation() {
+        service.validate("123-45-6789");
+        service.validate("000-45-6789");
+        service.validate(null);
+
+        assertEquals(3, registry.get("ssn.validations").functionCounter().count());
+        assertEquals(3, registry.get("ssn.validation").timer().count());
+    }
+
+    @Test
+    @DisplayName("times only a sample of validations")
+    void samplesTimer() {
+        registry = new SimpleMeterRegistry();
+        service = new SsnValidationService(new ValidationMetrics(registry, 64));
+
+        for (int i = 0; i < 64_000; i++) {
+            service.validate("123-45-6789");
+        }
+
+        long timed = registry.get("ssn.validation").timer().count();
+        assertEquals(64_000, registry.get("ssn.validations").functionCounter().count());
+        assertTrue(timed > 500 && timed < 1500, "timed " + timed);
+    }
+
+    @Test
+    @DisplayName("rejects a sampling rate that isn't a power of two")
+    void rejectsInvalidSampling() {
+        assertThrows(IllegalArgumentException.class, () -> new ValidationMetrics(registry, 3));
+    }
+
+    @Test
+    @DisplayName("counts rejections by failed rule")
+    void countsRejectionsByReason() {
+        service.validate("123-45-6789");
+        service.validate("000-00-0000");
+        service.validate("666-45-6789");
+        service.validate("");
+
+        assertEquals(1, rejections(SsnErrorCode.AREA_000));
+        assertEquals(1, rejections(SsnErrorCode.GROUP_00));
+        assertEquals(1, rejections(SsnErrorCode.SERIAL_0000));
+        assertEquals(1, rejections(SsnErrorCode.AREA_666));
+        assertEquals(1, rejections(SsnErrorCode.REQUIRED));
+        assertEquals(0, rejections(SsnErrorCode.FORMAT));
+    }
+
+    private double rejections(SsnErrorCode code) {
+        return registry.get("ssn.validation.rejections")
+                .tag("reason", code.name().toLowerCase())
+                .functionCounter()
+                .count();
+    }
+}
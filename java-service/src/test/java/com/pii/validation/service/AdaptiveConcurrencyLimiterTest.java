@@ -0,0 +1,125 @@
+package com.pii.validation.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdaptiveConcurrencyLimiter")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private AdaptiveConcurrencyLimiter limiter(int initial, int min, int max) {
+        return new AdaptiveConcurrencyLimiter(initial, min, max, 1.5, WINDOW_NANOS, 10, clock::get);
+    }
+
+    // Runs one sampling window with `concurrency` requests in flight, each taking `rttMillis`; the
+    // last release closes the window
+    private void runWindow(AdaptiveConcurrencyLimiter limiter, int concurrency, long rttMillis) {
+        int acquired = 0;
+        for (int i = 0; i < concurrency; i++) {
+            if (limiter.tryAcquire()) {
+                acquired++;
+            }
+        }
+        for (int i = 0; i < acquired - 1; i++) {
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(rttMillis), true);
+        }
+        clock.addAndGet(WINDOW_NANOS);
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(rttMillis), true);
+    }
+
+    @Test
+    @DisplayName("rejects requests beyond the limit until a slot is released")
+    void enforcesLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInflight());
+
+        limiter.release(1_000, true);
+        assertTrue(limiter.tryAcquire());
+        assertEquals(3, limiter.acceptedCount());
+        assertEquals(1, limiter.rejectedCount());
+    }
+
+    @Test
+    @DisplayName("grows the limit while latency is steady and the limit is in use")
+    void growsUnderSteadyLatency() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 10, 100);
+
+        for (int i = 0; i < 20; i++) {
+            runWindow(limiter, limiter.getLimit(), 5);
+        }
+
+        assertTrue(limiter.getLimit() > 20, "limit " + limiter.getLimit());
+        assertEquals(0, limiter.getInflight());
+    }
+
+    @Test
+    @DisplayName("does not grow the limit when most of it is unused")
+    void holdsWhenIdle() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40, 10, 100);
+
+        for (int i = 0; i < 20; i++) {
+            runWindow(limiter, 12, 5);
+        }
+
+        assertEquals(40, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("shrinks the limit when latency rises, down to the minimum")
+    void shrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = limiter(50, 10, 100);
+        for (int i = 0; i < 5; i++) {
+            runWindow(limiter, limiter.getLimit(), 5);
+        }
+        int steady = limiter.getLimit();
+
+        runWindow(limiter, limiter.getLimit(), 50);
+        assertTrue(limiter.getLimit() < steady, "limit " + limiter.getLimit() + " after " + steady);
+
+        for (int i = 0; i < 100; i++) {
+            runWindow(limiter, limiter.getLimit(), 50 + 10L * i);
+        }
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("ignores samples that don't reflect server capacity")
+    void ignoresUnsampledRequests() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 10, 100);
+        for (int i = 0; i < 5; i++) {
+            runWindow(limiter, 20, 5);
+        }
+        int steady = limiter.getLimit();
+
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        clock.addAndGet(WINDOW_NANOS);
+        for (int i = 0; i < 20; i++) {
+            limiter.release(TimeUnit.SECONDS.toNanos(5), false);
+        }
+
+        assertEquals(steady, limiter.getLimit());
+        assertEquals(0, limiter.getInflight());
+    }
+
+    @Test
+    @DisplayName("rejects inconsistent bounds")
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> limiter(5, 10, 100));
+        assertThrows(IllegalArgumentException.class, () -> limiter(50, 10, 20));
+        assertThrows(IllegalArgumentException.class, () -> limiter(0, 0, 20));
+    }
+}
@@ -0,0 +1,82 @@
+package com.pii.validation.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BatchValidationService")
+class BatchValidationServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BatchValidationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BatchValidationService(new SsnValidationService(), objectMapper);
+    }
+
+    @Test
+    @DisplayName("writes one result line per array element")
+    void writesOneLinePerArrayElement() throws IOException {
+        String[] lines = run("[\"123-45-6789\", \"000-45-6789\", {\"other\": 1, \"ssn\": \"123-00-6789\"}]",
+                MediaType.APPLICATION_JSON, () -> true);
+
+        assertEquals(3, lines.length);
+        assertTrue(json(lines[0]).get("valid").asBoolean());
+        assertFalse(json(lines[1]).get("valid").asBoolean());
+        assertEquals("123-00-6789", json(lines[2]).get("ssn").asText());
+    }
+
+    @Test
+    @DisplayName("treats objects without an ssn field as missing")
+    void treatsMissingFieldAsRequired() throws IOException {
+        String[] lines = run("{\"name\": \"x\"}", MediaType.APPLICATION_NDJSON, () -> true);
+
+        assertEquals(1, lines.length);
+        assertEquals("SSN is required", json(lines[0]).get("errors").get(0).asText());
+    }
+
+    @Test
+    @DisplayName("stops with a terminal error line when the permit is refused")
+    void stopsWhenPermitRefused() throws IOException {
+        AtomicInteger permits = new AtomicInteger(2);
+
+        String[] lines = run("\"123-45-6789\"\n\"123-45-6789\"\n\"123-45-6789\"\n",
+                MediaType.APPLICATION_NDJSON, () -> permits.getAndDecrement() > 0);
+
+        assertEquals(3, lines.length);
+        assertEquals("Too many requests", json(lines[2]).get("error").asText());
+    }
+
+    @Test
+    @DisplayName("reports malformed input after the items already validated")
+    void reportsMalformedInput() throws IOException {
+        String[] lines = run("[\"123-45-6789\", {oops", MediaType.APPLICATION_JSON, () -> true);
+
+        assertEquals(2, lines.length);
+        assertEquals("Malformed batch", json(lines[1]).get("error").asText());
+    }
+
+    private String[] run(String body, MediaType contentType, BooleanSupplier permit)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.validate(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), contentType, out, permit);
+        return out.toString(StandardCharsets.UTF_8).split("\n");
+    }
+
+    private JsonNode json(String line) throws IOException {
+        return objectMapper.readTree(line);
+    }
+}
@@ -0,0 +1,251 @@
+package com.pii.validation.service;
+
+import com.pii.validation.audit.ValidationEventListener;
+import com.pii.validation.core.BinaryProtocol;
+import com.pii.validation.core.BinaryValidationClient;
+import com.pii.validation.core.SsnDenylist;
+import com.pii.validation.core.SsnErrorCode;
+import com.pii.validation.metrics.ValidationMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BinaryValidationServer")
+class BinaryValidationServerTest {
+
+    private record Event(ValidationEventListener.Source source, long client, String ssn, int errors) {
+    }
+
+    private final List<Event> events = Collections.synchronizedList(new ArrayList<>());
+    private final List<AutoCloseable> resources = new ArrayList<>();
+    private BinaryValidationServer server;
+
+    @AfterEach
+    void stop() throws Exception {
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+        if (server != null) {
+            server.shutdown();
+        }
+    }
+
+    private BinaryValidationServer start(int requestsPerMinute, int maxConnections) throws IOException {
+        SsnDenylist denylist = value -> value == 219_09_9998;
+        server = new BinaryValidationServer(new InetSocketAddress("127.0.0.1", 0), 1, maxConnections,
+                new SsnValidationService(ValidationMetrics.noop(), denylist), new RateLimiterService(requestsPerMinute),
+                (source, client, ssn, errors) -> events.add(new Event(source, client, ssn, errors)));
+        return server;
+    }
+
+    private BinaryValidationClient client() throws IOException {
+        BinaryValidationClient client = BinaryValidationClient.connect("127.0.0.1", server.getPort());
+        resources.add(client);
+        return client;
+    }
+
+    private SocketChannel raw() throws IOException {
+        SocketChannel channel = SocketChannel.open(new InetSocketAddress("127.0.0.1", server.getPort()));
+        resources.add(channel);
+        return channel;
+    }
+
+    private static ByteBuffer readFully(SocketChannel channel, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                fail("connection closed after " + buffer.position() + " of " + size + " bytes");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static int result(CompletableFuture<Integer> future) throws Exception {
+        return future.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("validates pipelined requests with the rules and the denylist")
+    void validatesPipelined() throws Exception {
+        start(1_000, 8);
+        List<CompletableFuture<Integer>> results = client().validateAll(
+                List.of("123-45-6789", "666-45-6789", "078-05-1120", "219-09-9998", " 123-45-6780 "));
+
+        assertEquals(0, result(results.get(0)));
+        assertEquals(SsnErrorCode.AREA_666.bit(), result(results.get(1)));
+        assertEquals(SsnErrorCode.KNOWN_TEST_NUMBER.bit(), result(results.get(2)));
+        assertEquals(SsnErrorCode.DENYLISTED.bit(), result(results.get(3)));
+        assertEquals(0, result(results.get(4)));
+        assertEquals(5, server.frameCount());
+    }
+
+    @Test
+    @DisplayName("answers missing and malformed SSNs in the client")
+    void malformedLocally() throws Exception {
+        start(1_000, 8);
+        BinaryValidationClient client = client();
+
+        assertEquals(SsnErrorCode.FORMAT.bit(), result(client.validate("123456789")));
+        assertEquals(SsnErrorCode.REQUIRED.bit(), result(client.validate(" ")));
+        assertEquals(SsnErrorCode.REQUIRED.bit(), result(client.validate(null)));
+        assertEquals(0, result(client.validate("123-45-6789")));
+        assertEquals(1, server.frameCount());
+    }
+
+    @Test
+    @DisplayName("charges the client's rate limit and rejects frames past it")
+    void rateLimited() throws Exception {
+        start(10, 8);
+        List<String> ssns = Collections.nCopies(15, "123-45-6789");
+        List<CompletableFuture<Integer>> results = client().validateAll(ssns);
+
+        int validated = 0;
+        int limited = 0;
+        for (CompletableFuture<Integer> future : results) {
+            try {
+                assertEquals(0, result(future));
+                validated++;
+            } catch (ExecutionException e) {
+                BinaryValidationClient.RateLimitedException cause =
+                        assertInstanceOf(BinaryValidationClient.RateLimitedException.class, e.getCause());
+                assertTrue(cause.retryAfterMillis() > 0);
+                limited++;
+            }
+        }
+        assertEquals(10, validated);
+        assertEquals(5, limited);
+        assertEquals(5, server.rateLimitedCount());
+    }
+
+    @Test
+    @DisplayName("reports binary validations to the listener with the client address")
+    void notifiesListener() throws Exception {
+        start(1_000, 8);
+        result(client().validate("666-45-6789"));
+
+        assertEquals(List.of(new Event(ValidationEventListener.Source.BINARY, ClientKeys.of("127.0.0.1"),
+                "666-45-6789", SsnErrorCode.AREA_666.bit())), events);
+    }
+
+    @Test
+    @DisplayName("echoes request ids in order and rejects numbers above nine digits")
+    void rawFrames() throws IOException {
+        start(1_000, 8);
+        SocketChannel channel = raw();
+        ByteBuffer request = ByteBuffer.allocate(BinaryProtocol.PREAMBLE_SIZE + 3 * BinaryProtocol.FRAME_SIZE);
+        request.putInt(BinaryProtocol.PREAMBLE);
+        BinaryProtocol.putRequest(request, 42, 123_45_6789);
+        BinaryProtocol.putRequest(request, 7, 1_000_000_000);
+        BinaryProtocol.putRequest(request, -1, 0);
+        channel.write(request.flip());
+
+        ByteBuffer reply = readFully(channel, BinaryProtocol.PREAMBLE_SIZE + 3 * BinaryProtocol.FRAME_SIZE);
+        assertEquals(BinaryProtocol.PREAMBLE, reply.getInt());
+        int[][] expected = {
+                {42, 0},
+                {7, SsnErrorCode.FORMAT.bit()},
+                {-1, SsnErrorCode.AREA_000.bit() | SsnErrorCode.GROUP_00.bit() | SsnErrorCode.SERIAL_0000.bit()}
+        };
+        for (int[] frame : expected) {
+            assertEquals(BinaryProtocol.BODY_LENGTH, reply.getShort());
+            assertEquals(BinaryProtocol.VALIDATED, reply.get());
+            assertEquals(frame[0], reply.getInt());
+            assertEquals(frame[1], reply.getInt());
+        }
+    }
+
+    @Test
+    @DisplayName("holds back a client that sends without reading, then answers everything")
+    void backpressure() throws IOException {
+        start(1_000_000, 8);
+        int count = 50_000;
+        SocketChannel channel = raw();
+        ByteBuffer request = ByteBuffer.allocate(BinaryProtocol.PREAMBLE_SIZE + count * BinaryProtocol.FRAME_SIZE);
+        request.putInt(BinaryProtocol.PREAMBLE);
+        for (int i = 0; i < count; i++) {
+            BinaryProtocol.putRequest(request, i, 123_45_6789);
+        }
+        // Blocks once both socket buffers fill up, so write everything before reading anything
+        Thread writer = new Thread(() -> {
+            try {
+                channel.write(request.flip());
+            } catch (IOException e) {
+                // The read below fails too
+            }
+        });
+        writer.start();
+
+        ByteBuffer reply = readFully(channel, BinaryProtocol.PREAMBLE_SIZE + count * BinaryProtocol.FRAME_SIZE);
+        assertEquals(BinaryProtocol.PREAMBLE, reply.getInt());
+        for (int i = 0; i < count; i++) {
+            reply.getShort();
+            assertEquals(BinaryProtocol.VALIDATED, reply.get());
+            assertEquals(i, reply.getInt());
+            assertEquals(0, reply.getInt());
+        }
+    }
+
+    @Test
+    @DisplayName("closes connections with a wrong preamble")
+    void wrongPreamble() throws Exception {
+        start(1_000, 8);
+        SocketChannel channel = raw();
+        // Exactly the preamble's size, so nothing is left unread to turn the close into a reset
+        channel.write(ByteBuffer.wrap("GET ".getBytes(StandardCharsets.US_ASCII)));
+
+        assertEquals(-1, channel.read(ByteBuffer.allocate(16)));
+        assertEquals(1, server.protocolErrorCount());
+        waitFor(() -> server.connectionCount() == 0);
+    }
+
+    @Test
+    @DisplayName("refuses connections past max-connections")
+    void maxConnections() throws Exception {
+        start(1_000, 1);
+        BinaryValidationClient first = client();
+        assertEquals(0, result(first.validate("123-45-6789")));
+
+        SocketChannel second = raw();
+        assertEquals(-1, second.read(ByteBuffer.allocate(16)));
+        assertEquals(1, server.refusedConnectionCount());
+
+        first.close();
+        waitFor(() -> server.connectionCount() == 0);
+        assertEquals(0, result(client().validate("123-45-6789")));
+    }
+
+    @Test
+    @DisplayName("fails outstanding requests when the server shuts down")
+    void shutdown() throws Exception {
+        start(1_000, 8);
+        BinaryValidationClient client = client();
+        assertEquals(0, result(client.validate("123-45-6789")));
+
+        server.shutdown();
+        waitFor(() -> !client.isOpen());
+        assertThrows(IOException.class, () -> client.validate("123-45-6789"));
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached");
+            Thread.sleep(1);
+        }
+    }
+}
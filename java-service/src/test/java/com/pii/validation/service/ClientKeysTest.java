@@ -0,0 +1,104 @@
+package com.pii.validation.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ClientKeys")
+class ClientKeysTest {
+
+    @Nested
+    @DisplayName("IPv4")
+    class Ipv4 {
+
+        @Test
+        @DisplayName("keys an address by its 32-bit value")
+        void keysByValue() {
+            assertEquals(0xC0A80001L, ClientKeys.of("192.168.0.1"));
+            assertEquals(0xFFFFFFFFL, ClientKeys.of("255.255.255.255"));
+            assertEquals(0L, ClientKeys.of("0.0.0.0"));
+        }
+
+        @Test
+        @DisplayName("treats IPv4-mapped IPv6 as the IPv4 address")
+        void mapsIpv4MappedAddresses() {
+            assertEquals(ClientKeys.of("10.1.2.3"), ClientKeys.of("::ffff:10.1.2.3"));
+        }
+
+        @Test
+        @DisplayName("does not parse malformed addresses as IPv4")
+        void rejectsMalformed() {
+            assertEquals(-1, ClientKeys.parseIpv4("256.1.1.1", 0, 9));
+            assertEquals(-1, ClientKeys.parseIpv4("1.2.3", 0, 5));
+            assertEquals(-1, ClientKeys.parseIpv4("1.2.3.4.", 0, 8));
+            assertEquals(-1, ClientKeys.parseIpv4("1..3.4", 0, 6));
+        }
+    }
+
+    @Nested
+    @DisplayName("IPv6")
+    class Ipv6 {
+
+        @Test
+        @DisplayName("keys an address by its /64 prefix")
+        void keysByPrefix() {
+            assertEquals(0x20010DB800010002L, ClientKeys.of("2001:db8:1:2:aaaa:bbbb:cccc:dddd"));
+            assertEquals(ClientKeys.of("2001:db8:1:2::1"), ClientKeys.of("2001:db8:1:2:ffff::9"));
+        }
+
+        @Test
+        @DisplayName("expands :: compression in either half")
+        void expandsCompression() {
+            assertEquals(0x20010DB800000000L, ClientKeys.of("2001:db8::1"));
+            assertEquals(0x0000000100020003L, ClientKeys.of("::1:2:3:4:5:6:7"));
+            assertEquals(0L, ClientKeys.of("0:0:0:0:0:0:0:1"));
+            assertEquals(0xFE80000000000000L, ClientKeys.of("fe80::1%eth0"));
+            assertEquals(0x20010DB800000000L, ClientKeys.of("[2001:db8::1]"));
+        }
+
+        @Test
+        @DisplayName("keeps different subnets apart")
+        void separatesSubnets() {
+            assertNotEquals(ClientKeys.of("2001:db8:1:2::1"), ClientKeys.of("2001:db8:1:3::1"));
+        }
+    }
+
+    @Test
+    @DisplayName("hashes anything that is not an IP address")
+    void hashesOtherKeys() {
+        assertEquals(ClientKeys.of("client-a"), ClientKeys.of("client-a"));
+        assertNotEquals(ClientKeys.of("client-a"), ClientKeys.of("client-b"));
+        assertNotEquals(ClientKeys.of("1:2:3"), ClientKeys.of("1:2:4"));
+    }
+
+    @Nested
+    @DisplayName("toAddress")
+    class ToAddress {
+
+        @Test
+        @DisplayName("formats IPv4 keys as dotted addresses and other keys as /64 prefixes")
+        void formats() {
+            assertEquals("192.168.0.1", ClientKeys.toAddress(0xC0A80001L));
+            assertEquals("2001:db8:0:1::", ClientKeys.toAddress(ClientKeys.of("2001:db8:0:1:aaaa::1")));
+        }
+
+        @Test
+        @DisplayName("maps keys back to themselves, hashed ones included")
+        void roundTrips() {
+            long[] keys = {0, 1, 0xFFFFFFFFL, 0x1_0000_0000L, -1, Long.MIN_VALUE + 1, ClientKeys.of("not-an-address"),
+                    ClientKeys.of("fe80::1%eth0")};
+            for (long key : keys) {
+                assertEquals(key, ClientKeys.of(ClientKeys.toAddress(key)), ClientKeys.toAddress(key));
+            }
+            SplittableRandom random = new SplittableRandom(1);
+            for (int i = 0; i < 10_000; i++) {
+                long key = random.nextLong();
+                assertEquals(key, ClientKeys.of(ClientKeys.toAddress(key)));
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.pii.validation.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CompactRateLimiterService")
+class CompactRateLimiterServiceTest {
+
+    private static final long PERIOD_MILLIS = 60_000;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private CompactRateLimiterService limiter(int limit, int capacity) {
+        return new CompactRateLimiterService(limit, capacity, PERIOD_MILLIS, clock::get);
+    }
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    @DisplayName("allows up to the limit and then rejects")
+    void enforcesLimit() {
+        CompactRateLimiterService limiter = limiter(3, 16);
+
+        assertEquals(2, limiter.tryConsume("10.0.0.1", 1).remainingTokens());
+        assertTrue(limiter.tryConsume("10.0.0.1", 1).consumed());
+        assertTrue(limiter.tryConsume("10.0.0.1", 1).consumed());
+
+        RateLimitProbe rejected = limiter.tryConsume("10.0.0.1", 1);
+        assertFalse(rejected.consumed());
+        assertEquals(TimeUnit.MINUTES.toNanos(1), rejected.nanosToWaitForRefill());
+    }
+
+    @Test
+    @DisplayName("keeps separate buckets per client")
+    void separatesClients() {
+        CompactRateLimiterService limiter = limiter(1, 16);
+
+        assertTrue(limiter.tryConsume("10.0.0.1", 1).consumed());
+        assertTrue(limiter.tryConsume("10.0.0.2", 1).consumed());
+        assertFalse(limiter.tryConsume("10.0.0.1", 1).consumed());
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    @DisplayName("refills the whole bucket once per period")
+    void refillsIntervally() {
+        CompactRateLimiterService limiter = limiter(2, 16);
+        limiter.tryConsume("10.0.0.1", 2);
+
+        advanceMillis(PERIOD_MILLIS - 1);
+        assertFalse(limiter.tryConsume("10.0.0.1", 1).consumed());
+
+        advanceMillis(1);
+        assertEquals(1, limiter.tryConsume("10.0.0.1", 1).remainingTokens());
+    }
+
+    @Test
+    @DisplayName("reuses idle slots for new clients without resetting active ones")
+    void reclaimsOnlyIdleSlots() {
+        CompactRateLimiterService limiter = limiter(1, 4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryConsume("10.0.0." + i, 1).consumed());
+        }
+
+        // Table is full of active clients: newcomers are charged against a shared bucket
+        assertFalse(limiter.tryConsume("10.0.1.1", 1).consumed());
+        assertTrue(limiter.overflowCount() > 0);
+
+        advanceMillis(PERIOD_MILLIS);
+        assertTrue(limiter.tryConsume("10.0.1.1", 1).consumed());
+        assertTrue(limiter.evictionCount() > 0);
+    }
+
+    @Test
+    @DisplayName("never hands out more tokens than the limit under contention")
+    void isExactUnderContention() throws InterruptedException {
+        CompactRateLimiterService limiter = limiter(10_000, 1024);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 5_000; i++) {
+                    if (limiter.tryConsume("2001:db8::" + (i % 7 + 1), 1).consumed()) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Every address is in the same /64, so they all share one bucket
+        assertEquals(10_000, granted.get());
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    @DisplayName("rounds capacity up to a power of two")
+    void roundsCapacity() {
+        assertEquals(1024, limiter(1, 1000).capacity());
+        assertThrows(IllegalArgumentException.class, () -> limiter(0, 16));
+    }
+}
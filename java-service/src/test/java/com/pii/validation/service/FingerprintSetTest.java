@@ -0,0 +1,102 @@
+package com.pii.validation.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FingerprintSet")
+class FingerprintSetTest {
+
+    @Test
+    @DisplayName("adds each fingerprint once and finds it again")
+    void addsAndContains() {
+        FingerprintSet set = new FingerprintSet(0);
+        assertTrue(set.add(42));
+        assertFalse(set.add(42));
+        assertTrue(set.contains(42));
+        assertFalse(set.contains(43));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    @DisplayName("stores the fingerprint 0 despite 0 marking empty slots")
+    void storesZero() {
+        FingerprintSet set = new FingerprintSet(0);
+        assertFalse(set.contains(0));
+        assertTrue(set.add(0));
+        assertTrue(set.contains(0));
+    }
+
+    @Test
+    @DisplayName("grows past its initial capacity and keeps every entry")
+    void grows() {
+        FingerprintSet set = new FingerprintSet(0);
+        int initialCapacity = set.capacity();
+        SplittableRandom random = new SplittableRandom(7);
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            long fingerprint = random.nextLong();
+            assertEquals(expected.add(fingerprint), set.add(fingerprint));
+        }
+
+        assertTrue(set.capacity() > initialCapacity);
+        assertTrue(set.size() * 4 <= (long) set.capacity() * 3);
+        assertEquals(expected.size(), set.size());
+        for (long fingerprint : expected) {
+            assertTrue(set.contains(fingerprint));
+        }
+
+        Set<Long> visited = new HashSet<>();
+        set.forEach(visited::add);
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    @DisplayName("sizes its table for the expected number of entries")
+    void presizes() {
+        FingerprintSet set = new FingerprintSet(1_000_000);
+        int capacity = set.capacity();
+        for (long i = 1; i <= 1_000_000; i++) {
+            set.add(i * 0x9E3779B97F4A7C15L);
+        }
+        assertEquals(capacity, set.capacity());
+    }
+
+    @Test
+    @DisplayName("lets readers look up concurrently with a writer that grows the table")
+    void concurrentReaders() throws InterruptedException {
+        FingerprintSet set = new FingerprintSet(0);
+        long[] stable = new long[1000];
+        for (int i = 0; i < stable.length; i++) {
+            stable[i] = (i + 1) * 0x9E3779B97F4A7C15L;
+            set.add(stable[i]);
+        }
+
+        AtomicBoolean missed = new AtomicBoolean();
+        AtomicBoolean done = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                for (long fingerprint : stable) {
+                    if (!set.contains(fingerprint)) {
+                        missed.set(true);
+                    }
+                }
+            }
+        });
+        reader.start();
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < 200_000; i++) {
+            set.add(random.nextLong());
+        }
+        done.set(true);
+        reader.join();
+
+        assertFalse(missed.get());
+    }
+}
@@ -0,0 +1,51 @@
+package com.pii.validation.service;
+
+import com.pii.validation.core.IdentifierType;
+import com.pii.validation.core.IdentifierTypes;
+import com.pii.validation.dto.IdentifierValidationResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IdentifierValidationService")
+class IdentifierValidationServiceTest {
+
+    private final IdentifierValidationService service =
+            new IdentifierValidationService(List.of(IdentifierTypes.ITIN, IdentifierTypes.EIN));
+
+    @Test
+    @DisplayName("validates by type name and trims the echoed value")
+    void validates() {
+        IdentifierValidationResponse response = service.validate("ein", " 12-3456789\n").orElseThrow();
+
+        assertTrue(response.isValid());
+        assertEquals("12-3456789", response.getValue());
+        assertEquals(List.of(), response.getErrors());
+        assertFalse(service.validate("itin", "912-00-1234").orElseThrow().isValid());
+        assertTrue(service.validate("vin", "1").isEmpty());
+        assertEquals(List.of("ein", "itin"), service.types());
+    }
+
+    @Test
+    @DisplayName("accepts additional types")
+    void additionalTypes() {
+        IdentifierValidationService extended = new IdentifierValidationService(List.of(IdentifierTypes.ITIN,
+                IdentifierType.of("tin9", "TIN", "#########")));
+
+        assertTrue(extended.validate("tin9", "123456789").orElseThrow().isValid());
+    }
+
+    @Test
+    @DisplayName("rejects duplicate, reserved and malformed type names")
+    void rejectsBadNames() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new IdentifierValidationService(List.of(IdentifierTypes.ITIN, IdentifierTypes.ITIN)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new IdentifierValidationService(List.of(IdentifierType.of("ssn", "SSN", "###-##-####"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> new IdentifierValidationService(List.of(IdentifierType.of("Tax/ID", "T", "##"))));
+    }
+}
@@ -0,0 +1,173 @@
+package com.pii.validation.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LaneGate")
+class LaneGateTest {
+
+    private static final long LONG_WAIT = TimeUnit.SECONDS.toNanos(30);
+
+    private final ClientRateLimiter interactiveBudget = new RateLimiterService(10);
+    private final ClientRateLimiter bulkBudget = new RateLimiterService(1_000);
+    private final ExecutorService waiters = Executors.newCachedThreadPool();
+
+    // 4 slots, 1 reserved for interactive requests, bulk requests at most 2 of them
+    private LaneGate gate(int maxQueued, long maxWaitNanos) {
+        return new LaneGate(interactiveBudget, bulkBudget, 4, 1, maxQueued, maxWaitNanos, 2, maxQueued, maxWaitNanos);
+    }
+
+    @AfterEach
+    void stopWaiters() {
+        waiters.shutdownNow();
+    }
+
+    private void admit(LaneGate gate, Lane lane) throws InterruptedException {
+        assertEquals(LaneGate.Admission.ADMITTED, gate.acquire(lane));
+    }
+
+    private CompletableFuture<LaneGate.Admission> waitFor(LaneGate gate, Lane lane) throws InterruptedException {
+        int queued = gate.getQueued(lane);
+        CompletableFuture<LaneGate.Admission> admission = CompletableFuture.supplyAsync(() -> {
+            try {
+                return gate.acquire(lane);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }, waiters);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gate.getQueued(lane) == queued && !admission.isDone()) {
+            assertTrue(System.nanoTime() < deadline, "request never queued");
+            Thread.sleep(1);
+        }
+        return admission;
+    }
+
+    @Test
+    @DisplayName("lets interactive requests use every slot")
+    void interactiveUsesAllSlots() throws InterruptedException {
+        LaneGate gate = gate(0, 0);
+        for (int i = 0; i < 4; i++) {
+            admit(gate, Lane.INTERACTIVE);
+        }
+
+        assertEquals(4, gate.getInflight(Lane.INTERACTIVE));
+        assertEquals(LaneGate.Admission.QUEUE_FULL, gate.acquire(Lane.INTERACTIVE));
+        assertEquals(1, gate.rejectedCount(Lane.INTERACTIVE, LaneGate.Admission.QUEUE_FULL));
+    }
+
+    @Test
+    @DisplayName("caps bulk requests and keeps the reserved slots for interactive ones")
+    void bulkOnlyGetsIdleCapacity() throws InterruptedException {
+        LaneGate gate = gate(0, 0);
+        admit(gate, Lane.BULK);
+        admit(gate, Lane.BULK);
+        assertEquals(LaneGate.Admission.QUEUE_FULL, gate.acquire(Lane.BULK));
+
+        admit(gate, Lane.INTERACTIVE);
+        gate.release(Lane.BULK);
+        // One bulk and one interactive request in flight leave 2 slots, 1 of them reserved
+        admit(gate, Lane.BULK);
+        assertEquals(LaneGate.Admission.QUEUE_FULL, gate.acquire(Lane.BULK));
+        gate.release(Lane.BULK);
+        admit(gate, Lane.INTERACTIVE);
+        admit(gate, Lane.INTERACTIVE);
+        assertEquals(LaneGate.Admission.QUEUE_FULL, gate.acquire(Lane.BULK));
+        assertEquals(3, gate.getInflight(Lane.INTERACTIVE));
+        assertEquals(1, gate.getInflight(Lane.BULK));
+    }
+
+    @Nested
+    @DisplayName("queues")
+    class Queues {
+
+        @Test
+        @DisplayName("give a freed slot to waiting interactive requests before bulk ones")
+        void interactiveFirst() throws Exception {
+            LaneGate gate = gate(4, LONG_WAIT);
+            for (int i = 0; i < 4; i++) {
+                admit(gate, Lane.INTERACTIVE);
+            }
+            CompletableFuture<LaneGate.Admission> bulk = waitFor(gate, Lane.BULK);
+            CompletableFuture<LaneGate.Admission> interactive = waitFor(gate, Lane.INTERACTIVE);
+
+            gate.release(Lane.INTERACTIVE);
+            assertEquals(LaneGate.Admission.ADMITTED, interactive.get(5, TimeUnit.SECONDS));
+            assertFalse(bulk.isDone());
+
+            // Bulk requests may not take the reserved slot, only the one after it
+            gate.release(Lane.INTERACTIVE);
+            Thread.sleep(50);
+            assertFalse(bulk.isDone());
+            gate.release(Lane.INTERACTIVE);
+            assertEquals(LaneGate.Admission.ADMITTED, bulk.get(5, TimeUnit.SECONDS));
+            assertEquals(0, gate.getQueued(Lane.BULK));
+        }
+
+        @Test
+        @DisplayName("hold bulk requests back while an interactive request is waiting")
+        void bulkWaitsBehindInteractive() throws Exception {
+            LaneGate gate = gate(4, LONG_WAIT);
+            admit(gate, Lane.BULK);
+            admit(gate, Lane.BULK);
+            admit(gate, Lane.INTERACTIVE);
+            admit(gate, Lane.INTERACTIVE);
+            CompletableFuture<LaneGate.Admission> interactive = waitFor(gate, Lane.INTERACTIVE);
+            CompletableFuture<LaneGate.Admission> bulk = waitFor(gate, Lane.BULK);
+
+            gate.release(Lane.BULK);
+            assertEquals(LaneGate.Admission.ADMITTED, interactive.get(5, TimeUnit.SECONDS));
+            assertFalse(bulk.isDone());
+            gate.release(Lane.INTERACTIVE);
+            gate.release(Lane.INTERACTIVE);
+            assertEquals(LaneGate.Admission.ADMITTED, bulk.get(5, TimeUnit.SECONDS));
+        }
+
+        @Test
+        @DisplayName("turn requests away after max-wait")
+        void timesOut() throws Exception {
+            LaneGate gate = gate(4, TimeUnit.MILLISECONDS.toNanos(20));
+            admit(gate, Lane.BULK);
+            admit(gate, Lane.BULK);
+
+            assertEquals(LaneGate.Admission.TIMED_OUT, gate.acquire(Lane.BULK));
+            assertEquals(1, gate.rejectedCount(Lane.BULK, LaneGate.Admission.TIMED_OUT));
+            assertEquals(0, gate.getQueued(Lane.BULK));
+            assertEquals(0, gate.rejectedCount(Lane.INTERACTIVE, LaneGate.Admission.TIMED_OUT));
+        }
+    }
+
+    @Test
+    @DisplayName("charges each lane to its own token budget")
+    void separateBudgets() {
+        LaneGate gate = gate(0, 0);
+
+        assertSame(interactiveBudget, gate.budget(Lane.INTERACTIVE));
+        assertSame(bulkBudget, gate.budget(Lane.BULK));
+        assertEquals(1_000, gate.budget(Lane.BULK).getLimit());
+    }
+
+    @Test
+    @DisplayName("rejects invalid settings")
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new LaneGate(interactiveBudget, bulkBudget, 4, 4, 0, 0, 2, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LaneGate(interactiveBudget, bulkBudget, 0, 0, 0, 0, 2, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LaneGate(interactiveBudget, bulkBudget, 4, 1, 0, 0, 0, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LaneGate(interactiveBudget, bulkBudget, 4, 1, -1, 0, 2, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LaneGate(interactiveBudget, 4, 1, 0, 0, 2, 0, 0, 0));
+    }
+}
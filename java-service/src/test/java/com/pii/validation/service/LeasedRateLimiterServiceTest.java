@@ -0,0 +1,146 @@
+package com.pii.validation.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LeasedRateLimiterService")
+class LeasedRateLimiterServiceTest {
+
+    private static final long PERIOD_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private InProcessTokenLeaseCoordinator coordinator() {
+        return new InProcessTokenLeaseCoordinator(PERIOD_NANOS, clock::get);
+    }
+
+    private LeasedRateLimiterService node(int limit, long blockSize, TokenLeaseCoordinator coordinator) {
+        // No refresher thread: tests drive the refresh cycle with flush()
+        return new LeasedRateLimiterService(limit, blockSize, 1, 256, TimeUnit.MILLISECONDS.toNanos(5),
+                coordinator, clock::get, null);
+    }
+
+    @Test
+    @DisplayName("admits a first request on the initial credit without a coordinator call")
+    void admitsOnInitialCredit() {
+        InProcessTokenLeaseCoordinator coordinator = coordinator();
+        LeasedRateLimiterService node = node(100, 10, coordinator);
+
+        assertTrue(node.tryConsume("10.0.0.1", 1).consumed());
+        assertFalse(node.tryConsume("10.0.0.1", 1).consumed());
+        assertEquals(0, coordinator.callCount());
+
+        node.flush();
+        assertEquals(1, coordinator.callCount());
+        assertEquals(9, node.tryConsume("10.0.0.1", 1).remainingTokens());
+    }
+
+    @Test
+    @DisplayName("batches every waiting client into one coordinator call")
+    void batchesRefills() {
+        InProcessTokenLeaseCoordinator coordinator = coordinator();
+        LeasedRateLimiterService node = node(100, 10, coordinator);
+
+        for (int i = 0; i < 50; i++) {
+            node.tryConsume("10.0.0." + i, 1);
+        }
+        node.flush();
+
+        assertEquals(1, coordinator.callCount());
+        assertEquals(500, node.leasedTokenCount());
+    }
+
+    @Test
+    @DisplayName("discards leased tokens when their window ends")
+    void expiresLeases() {
+        LeasedRateLimiterService node = node(100, 10, coordinator());
+        node.tryConsume("10.0.0.1", 1);
+        node.flush();
+
+        clock.addAndGet(PERIOD_NANOS);
+
+        assertFalse(node.tryConsume("10.0.0.1", 1).consumed());
+        node.flush();
+        assertTrue(node.tryConsume("10.0.0.1", 1).consumed());
+    }
+
+    @Test
+    @DisplayName("reports the wait until the coordinator window resets once it is exhausted")
+    void reportsWaitWhenExhausted() {
+        LeasedRateLimiterService node = node(10, 10, coordinator());
+        node.tryConsume("10.0.0.1", 1);
+        node.flush();
+        for (int i = 0; i < 10; i++) {
+            node.tryConsume("10.0.0.1", 1);
+            node.flush();
+        }
+
+        RateLimitProbe probe = node.tryConsume("10.0.0.1", 1);
+
+        assertFalse(probe.consumed());
+        assertTrue(probe.nanosToWaitForRefill() > 0);
+    }
+
+    @Test
+    @DisplayName("keeps a budget made with withLimit apart, with its own limit, on the same coordinator")
+    void separateBudget() {
+        InProcessTokenLeaseCoordinator coordinator = coordinator();
+        LeasedRateLimiterService node = node(10, 10, coordinator);
+        LeasedRateLimiterService bulk = node.withLimit("bulk", 50);
+
+        for (int i = 0; i < 20; i++) {
+            node.tryConsume("10.0.0.1", 1);
+            node.flush();
+        }
+        assertFalse(node.tryConsume("10.0.0.1", 1).consumed());
+
+        bulk.tryConsume("10.0.0.1", 1);
+        bulk.flush();
+        assertEquals(50, bulk.getLimit());
+        assertEquals(9, bulk.tryConsume("10.0.0.1", 1).remainingTokens());
+        for (int i = 0; i < 100; i++) {
+            bulk.tryConsume("10.0.0.1", 1);
+            bulk.flush();
+        }
+        assertEquals(50, bulk.leasedTokenCount());
+    }
+
+    @Test
+    @DisplayName("keeps the cluster-wide limit across nodes with little coordinator traffic")
+    void enforcesClusterWideLimit() {
+        int limit = 1_000;
+        int nodes = 4;
+        InProcessTokenLeaseCoordinator coordinator = coordinator();
+        List<LeasedRateLimiterService> cluster = new ArrayList<>();
+        for (int i = 0; i < nodes; i++) {
+            cluster.add(node(limit, 50, coordinator));
+        }
+
+        // Round-robin load far above the limit, with a refresh cycle every 10 requests per node
+        long admitted = 0;
+        long requests = 0;
+        for (int round = 0; round < 1_000; round++) {
+            for (LeasedRateLimiterService node : cluster) {
+                for (int i = 0; i < 10; i++) {
+                    requests++;
+                    if (node.tryConsume("10.0.0.1", 1).consumed()) {
+                        admitted++;
+                    }
+                }
+                node.flush();
+            }
+        }
+
+        // Over-admission is bounded by one initial credit per node
+        assertTrue(admitted >= limit && admitted <= limit + nodes, "admitted " + admitted);
+        double callsPer1k = coordinator.callCount() * 1000.0 / requests;
+        assertTrue(callsPer1k < 1, "coordinator calls per 1k requests: " + callsPer1k);
+    }
+}
@@ -0,0 +1,238 @@
+package com.pii.validation.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RateLimiterSnapshotService")
+class RateLimiterSnapshotServiceTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    @TempDir
+    Path dir;
+
+    private final AtomicLong wallClock = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong nanoClock = new AtomicLong();
+
+    private Path snapshotFile() {
+        return dir.resolve("rate-limits.snapshot");
+    }
+
+    private RateLimiterSnapshotService service(RestorableRateLimiter limiter) {
+        return new RateLimiterSnapshotService(limiter, snapshotFile(), 0, wallClock::get);
+    }
+
+    private CompactRateLimiterService compact(int capacity) {
+        return new CompactRateLimiterService(100, capacity, MINUTE, nanoClock::get);
+    }
+
+    private static Map<String, Long> buckets(RestorableRateLimiter limiter, long nowEpochMillis) {
+        Map<String, Long> buckets = new HashMap<>();
+        limiter.forEachBucket(nowEpochMillis, (key, tokens, nextRefill) -> buckets.put(key, tokens));
+        return buckets;
+    }
+
+    @Nested
+    @DisplayName("caffeine backend")
+    class Caffeine {
+
+        @Test
+        @DisplayName("restores partly used buckets and leaves full ones out")
+        void roundTrip() throws IOException {
+            RateLimiterService before = new RateLimiterService(100);
+            before.tryConsume("10.0.0.1", 30);
+            before.tryConsume("10.0.0.2", 100);
+            before.tryConsume("2001:db8::7", 1);
+            before.resolveBucket("10.0.0.3");
+            assertEquals(3, service(before).snapshot());
+
+            RateLimiterService after = new RateLimiterService(100);
+            service(after);
+
+            assertEquals(3, after.size());
+            assertEquals(70, after.resolveBucket("10.0.0.1").getAvailableTokens());
+            assertEquals(0, after.resolveBucket("10.0.0.2").getAvailableTokens());
+            assertEquals(99, after.resolveBucket("2001:db8::7").getAvailableTokens());
+            assertFalse(after.tryConsume("10.0.0.2", 1).consumed());
+        }
+
+        @Test
+        @DisplayName("keeps the refill schedule")
+        void keepsRefillTime() {
+            RateLimiterService limiter = new RateLimiterService(100);
+            long now = System.currentTimeMillis();
+            limiter.restoreBucket("10.0.0.1", 5, now + 1_500, now);
+
+            RateLimitProbe probe = limiter.tryConsume("10.0.0.1", 10);
+            assertFalse(probe.consumed());
+            assertEquals(5, probe.remainingTokens());
+            long waitMillis = TimeUnit.NANOSECONDS.toMillis(probe.nanosToWaitForRefill());
+            assertTrue(waitMillis > 1_000 && waitMillis <= 1_500, "waits " + waitMillis + " ms");
+        }
+    }
+
+    @Nested
+    @DisplayName("compact backend")
+    class Compact {
+
+        @Test
+        @DisplayName("restores hundreds of thousands of buckets with their tokens and refill times")
+        void roundTrip() throws IOException {
+            CompactRateLimiterService before = compact(1 << 20);
+            int clients = 300_000;
+            for (int i = 0; i < clients; i++) {
+                before.tryConsume((long) i, 1 + i % 100);
+            }
+            nanoClock.addAndGet(TimeUnit.SECONDS.toNanos(20));
+            wallClock.addAndGet(20_000);
+            Map<String, Long> saved = buckets(before, wallClock.get());
+            // Clients that took all 100 tokens are empty, not full, so every client is saved
+            assertEquals(clients, saved.size());
+            assertEquals(clients, service(before).snapshot());
+
+            nanoClock.set(TimeUnit.HOURS.toNanos(5));
+            wallClock.addAndGet(5_000);
+            CompactRateLimiterService after = compact(1 << 20);
+            service(after);
+
+            assertEquals(clients, after.size());
+            assertEquals(saved, buckets(after, wallClock.get()));
+            RateLimitProbe probe = after.tryConsume(ClientKeys.of("0.0.0.99"), 1);
+            assertFalse(probe.consumed());
+            // 60 s window, 20 s used before the snapshot and 5 s of downtime
+            assertEquals(35, TimeUnit.NANOSECONDS.toSeconds(probe.nanosToWaitForRefill()), 1);
+        }
+
+        @Test
+        @DisplayName("restores a snapshot of the caffeine backend")
+        void fromCaffeine() throws IOException {
+            RateLimiterService caffeine = new RateLimiterService(100);
+            caffeine.tryConsume("192.168.1.20", 40);
+            caffeine.tryConsume("2001:db8:0:1::5", 60);
+            service(caffeine).snapshot();
+
+            CompactRateLimiterService compact = compact(1024);
+            service(compact);
+
+            assertEquals(60, compact.tryConsume("192.168.1.20", 0).remainingTokens());
+            assertEquals(40, compact.tryConsume("2001:db8:0:1::9", 0).remainingTokens());
+        }
+    }
+
+    @Test
+    @DisplayName("drops buckets whose refill time passed while the service was down")
+    void dropsExpiredBuckets() throws IOException {
+        CompactRateLimiterService before = compact(1024);
+        before.tryConsume("10.0.0.1", 50);
+        service(before).snapshot();
+
+        wallClock.addAndGet(MINUTE + 1);
+        CompactRateLimiterService after = compact(1024);
+        service(after);
+
+        assertEquals(0, after.size());
+    }
+
+    @Test
+    @DisplayName("starts with full buckets when the snapshot is damaged")
+    void ignoresDamagedSnapshot() throws IOException {
+        CompactRateLimiterService before = compact(1024);
+        before.tryConsume("10.0.0.1", 50);
+        before.tryConsume("10.0.0.2", 50);
+        service(before).snapshot();
+
+        try (FileChannel channel = FileChannel.open(snapshotFile(), StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        CompactRateLimiterService after = compact(1024);
+        service(after);
+        assertEquals(0, after.size());
+
+        Files.writeString(snapshotFile(), "not a snapshot");
+        service(after);
+        assertEquals(0, after.size());
+    }
+
+    @Test
+    @DisplayName("writes a snapshot on shutdown")
+    void snapshotsOnShutdown() {
+        CompactRateLimiterService limiter = compact(1024);
+        RateLimiterSnapshotService service = service(limiter);
+        limiter.tryConsume("10.0.0.1", 10);
+
+        service.shutdown();
+
+        assertTrue(Files.exists(snapshotFile()));
+        CompactRateLimiterService restored = compact(1024);
+        service(restored);
+        assertEquals(90, restored.tryConsume("10.0.0.1", 0).remainingTokens());
+    }
+
+    @Test
+    @DisplayName("keeps the bulk lane's budget in a file of its own")
+    void bulkBudget() throws IOException {
+        String path = snapshotFile().toString();
+        RateLimiterService limiter = new RateLimiterService(100);
+        LaneGate lanes = new LaneGate(limiter, 4, 1, 0, 0, 2, 0, 0, 1_000);
+        limiter.tryConsume("10.0.0.1", 10);
+        lanes.budget(Lane.BULK).tryConsume("10.0.0.1", 300);
+        assertEquals(2, new RateLimiterSnapshotService(limiter, Optional.of(lanes), path, 0).snapshot());
+        assertTrue(Files.exists(Path.of(path + ".bulk")));
+
+        RateLimiterService restored = new RateLimiterService(100);
+        LaneGate restoredLanes = new LaneGate(restored, 4, 1, 0, 0, 2, 0, 0, 1_000);
+        new RateLimiterSnapshotService(restored, Optional.of(restoredLanes), path, 0);
+
+        assertEquals(90, restored.resolveBucket("10.0.0.1").getAvailableTokens());
+        assertEquals(700, ((RateLimiterService) restoredLanes.budget(Lane.BULK)).resolveBucket("10.0.0.1")
+                .getAvailableTokens());
+    }
+
+    @Test
+    @DisplayName("refuses a backend without local state")
+    void rejectsLeasedBackend() {
+        ClientRateLimiter stateless = new ClientRateLimiter() {
+            @Override
+            public RateLimitProbe tryConsume(String clientKey, long tokens) {
+                return new RateLimitProbe(true, 0, 0);
+            }
+
+            @Override
+            public int getLimit() {
+                return 100;
+            }
+
+            @Override
+            public long size() {
+                return 0;
+            }
+
+            @Override
+            public long evictionCount() {
+                return 0;
+            }
+
+            @Override
+            public ClientRateLimiter withLimit(String name, int requestsPerMinute) {
+                return this;
+            }
+        };
+        assertThrows(IllegalArgumentException.class,
+                () -> new RateLimiterSnapshotService(stateless, snapshotFile().toString(), 0));
+    }
+}
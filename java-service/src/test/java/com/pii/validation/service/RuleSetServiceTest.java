@@ -0,0 +1,108 @@
+package com.pii.validation.service;
+
+import com.pii.validation.core.SsnDenylist;
+import com.pii.validation.core.SsnErrorCode;
+import com.pii.validation.core.SsnRuleSet;
+import com.pii.validation.metrics.ValidationMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RuleSetService")
+class RuleSetServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private RuleSetService service;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    private Path writeRules(String content) throws IOException {
+        Path file = dir.resolve("rules.properties");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    @Test
+    @DisplayName("uses the built-in rules without a path")
+    void builtIn() throws IOException {
+        service = new RuleSetService("", true);
+
+        assertSame(SsnRuleSet.DEFAULT, service.current());
+        assertFalse(service.reload());
+    }
+
+    @Test
+    @DisplayName("swaps in a changed file and keeps rule sets already handed out")
+    void swapsOnReload() throws IOException {
+        Path file = writeRules("version=1\n");
+        service = new RuleSetService(file.toString(), false);
+        SsnRuleSet before = service.current();
+
+        writeRules("version=2\nrules.known-test-numbers=123-45-6789\n");
+        assertTrue(service.reload());
+
+        assertEquals("2", service.current().version());
+        assertEquals(SsnErrorCode.KNOWN_TEST_NUMBER.bit(), service.current().check(123_45_6789));
+        assertEquals(0, before.check(123_45_6789));
+        assertEquals(1, service.reloadCount());
+
+        assertFalse(service.reload());
+    }
+
+    @Test
+    @DisplayName("keeps the active version when the file becomes invalid")
+    void keepsVersionOnError() throws IOException {
+        Path file = writeRules("version=1\n");
+        service = new RuleSetService(file.toString(), false);
+
+        writeRules("version=2\nrules.area-000=maybe\n");
+
+        assertFalse(service.reload());
+        assertEquals("1", service.current().version());
+        assertEquals(1, service.failedReloadCount());
+    }
+
+    @Test
+    @DisplayName("fails at startup on an invalid file")
+    void failsFastOnStartup() throws IOException {
+        Path file = writeRules("rules.area-000=true\n");
+
+        assertThrows(IllegalArgumentException.class, () -> new RuleSetService(file.toString(), false));
+    }
+
+    @Test
+    @DisplayName("reloads when the file is replaced on disk")
+    void watchesFile() throws Exception {
+        Path file = writeRules("version=1\n");
+        service = new RuleSetService(file.toString(), true);
+        SsnValidationService validation = new SsnValidationService(ValidationMetrics.noop(),
+                SsnDenylist.EMPTY, service);
+        assertTrue(validation.validate("123-45-6789").isValid());
+
+        Path staged = dir.resolve("rules.properties.new");
+        Files.writeString(staged, "version=2\nrules.known-test-numbers=123-45-6789\n");
+        Files.move(staged, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!"2".equals(service.current().version()) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals("2", service.current().version());
+        assertFalse(validation.validate("123-45-6789").isValid());
+    }
+}
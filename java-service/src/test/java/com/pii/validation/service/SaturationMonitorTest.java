@@ -0,0 +1,248 @@
+package com.pii.validation.service;
+
+import com.pii.validation.dto.ReadinessResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SaturationMonitor")
+class SaturationMonitorTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final AtomicLong gcMillis = new AtomicLong();
+    private final StubRateLimiter rateLimiter = new StubRateLimiter();
+
+    private SaturationMonitor monitor(double maxP99Millis, long maxClients, double maxEvictionsPerSecond) {
+        return new SaturationMonitor(rateLimiter, 10, 0.9, 50, 4, maxP99Millis, maxClients, maxEvictionsPerSecond,
+                0.2, clock::get, gcMillis::get);
+    }
+
+    private SaturationMonitor monitor() {
+        return monitor(100, 0, 0);
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    private static void requests(SaturationMonitor monitor, int count, long latencyMillis) {
+        for (int i = 0; i < count; i++) {
+            monitor.requestStarted();
+            monitor.requestFinished(TimeUnit.MILLISECONDS.toNanos(latencyMillis), true);
+        }
+    }
+
+    @Test
+    @DisplayName("is ready on an idle node")
+    void readyWhenIdle() {
+        ReadinessResponse readiness = monitor().readiness();
+
+        assertTrue(readiness.isReady());
+        assertEquals(ReadinessResponse.READY, readiness.getStatus());
+        assertTrue(readiness.getReasons().isEmpty());
+        assertEquals(0, readiness.getInflight());
+        assertNull(readiness.getWorkers());
+        assertNull(readiness.getLatency().getP99Millis());
+    }
+
+    @Test
+    @DisplayName("is not ready while more requests are in flight than allowed")
+    void notReadyOverInflight() {
+        SaturationMonitor monitor = monitor();
+        for (int i = 0; i < 5; i++) {
+            monitor.requestStarted();
+        }
+
+        ReadinessResponse readiness = monitor.readiness();
+        assertFalse(readiness.isReady());
+        assertEquals(ReadinessResponse.NOT_READY, readiness.getStatus());
+        assertEquals(5, readiness.getInflight());
+        assertEquals("inflight 5 exceeds 4", readiness.getReasons().get(0));
+
+        monitor.requestFinished(1_000, false);
+        assertTrue(monitor.readiness().isReady());
+    }
+
+    @Test
+    @DisplayName("checks worker utilization and queue depth once a worker pool is set")
+    void workerPool() {
+        SaturationMonitor monitor = monitor();
+        monitor.setWorkerPool(() -> new ReadinessResponse.Workers(150, 200, 0, 300));
+        ReadinessResponse readiness = monitor.readiness();
+        assertTrue(readiness.isReady());
+        assertEquals(0.75, readiness.getWorkers().getUtilization());
+
+        monitor.setWorkerPool(() -> new ReadinessResponse.Workers(200, 200, 80, 300));
+        readiness = monitor.readiness();
+        assertFalse(readiness.isReady());
+        assertEquals(2, readiness.getReasons().size());
+        assertTrue(readiness.getReasons().get(0).startsWith("workers.utilization 1 exceeds 0.900"));
+        assertEquals("workers.queued 80 exceeds 50", readiness.getReasons().get(1));
+    }
+
+    @Nested
+    @DisplayName("latency")
+    class Latency {
+
+        @Test
+        @DisplayName("reports no p99 below the minimum sample count")
+        void needsSamples() {
+            SaturationMonitor monitor = monitor();
+            requests(monitor, SaturationMonitor.MIN_LATENCY_SAMPLES - 1, 500);
+
+            ReadinessResponse readiness = monitor.readiness();
+            assertTrue(readiness.isReady());
+            assertEquals(SaturationMonitor.MIN_LATENCY_SAMPLES - 1, readiness.getLatency().getSamples());
+            assertNull(readiness.getLatency().getP99Millis());
+        }
+
+        @Test
+        @DisplayName("is not ready while the p99 of the window exceeds the threshold")
+        void slowP99() {
+            SaturationMonitor monitor = monitor();
+            requests(monitor, 980, 1);
+            requests(monitor, 20, 400);
+
+            ReadinessResponse readiness = monitor.readiness();
+            double p99 = readiness.getLatency().getP99Millis();
+            assertTrue(p99 >= 400 && p99 <= 500, "p99 " + p99);
+            assertFalse(readiness.isReady());
+            assertTrue(readiness.getReasons().get(0).startsWith("latency.p99Millis"));
+        }
+
+        @Test
+        @DisplayName("forgets requests older than the window")
+        void slidesWindow() {
+            SaturationMonitor monitor = monitor();
+            requests(monitor, 200, 400);
+            advanceSeconds(5);
+            requests(monitor, 200, 1);
+            assertEquals(400, monitor.readiness().getLatency().getSamples());
+
+            advanceSeconds(6);
+            ReadinessResponse readiness = monitor.readiness();
+            assertEquals(200, readiness.getLatency().getSamples());
+            assertTrue(readiness.getLatency().getP99Millis() <= 1.25);
+            assertTrue(readiness.isReady());
+        }
+
+        @Test
+        @DisplayName("buckets are at most 25% wide")
+        void bucketResolution() {
+            for (long micros = 1; micros < TimeUnit.SECONDS.toMicros(60); micros = micros * 3 / 2 + 1) {
+                long upper = LatencyWindow.upperBoundMicros(LatencyWindow.bucket(micros));
+                assertTrue(upper > micros && upper <= micros * 1.25 + 1, micros + " -> " + upper);
+            }
+            assertEquals(LatencyWindow.BUCKETS - 1, LatencyWindow.bucket(Long.MAX_VALUE));
+        }
+    }
+
+    @Nested
+    @DisplayName("rates")
+    class Rates {
+
+        @Test
+        @DisplayName("measures GC pause time against the time since a reading a window ago")
+        void gcPauses() {
+            SaturationMonitor monitor = monitor();
+            advanceSeconds(10);
+            gcMillis.addAndGet(1_000);
+
+            ReadinessResponse readiness = monitor.readiness();
+            assertEquals(1_000, readiness.getGc().getPauseMillis());
+            assertEquals(0.1, readiness.getGc().getPauseRatio(), 1e-9);
+            assertTrue(readiness.isReady());
+
+            for (int second = 0; second < 10; second++) {
+                advanceSeconds(1);
+                gcMillis.addAndGet(300);
+                readiness = monitor.readiness();
+            }
+            assertEquals(3_000, readiness.getGc().getPauseMillis());
+            assertFalse(readiness.isReady());
+            assertTrue(readiness.getReasons().get(0).startsWith("gc.pauseRatio 0.300"));
+        }
+
+        @Test
+        @DisplayName("averages over a whole window until one has passed")
+        void startup() {
+            SaturationMonitor monitor = monitor();
+            advanceSeconds(1);
+            gcMillis.addAndGet(500);
+
+            ReadinessResponse readiness = monitor.readiness();
+            assertEquals(500, readiness.getGc().getPauseMillis());
+            assertEquals(0.05, readiness.getGc().getPauseRatio(), 1e-9);
+            assertTrue(readiness.isReady());
+        }
+
+        @Test
+        @DisplayName("reports rate limiter clients and evictions, with optional thresholds")
+        void rateLimiter() {
+            SaturationMonitor monitor = monitor(100, 1_000, 50);
+            rateLimiter.clients = 900;
+            advanceSeconds(10);
+            rateLimiter.evictions = 100;
+
+            ReadinessResponse readiness = monitor.readiness();
+            assertEquals(900, readiness.getRateLimiter().getClients());
+            assertEquals(10, readiness.getRateLimiter().getEvictionsPerSecond(), 1e-9);
+            assertTrue(readiness.isReady());
+
+            rateLimiter.clients = 1_001;
+            advanceSeconds(1);
+            rateLimiter.evictions = 1_200;
+            readiness = monitor.readiness();
+            assertEquals(2, readiness.getReasons().size());
+            assertEquals("rateLimiter.clients 1001 exceeds 1000", readiness.getReasons().get(0));
+            assertTrue(readiness.getReasons().get(1).startsWith("rateLimiter.evictionsPerSecond"));
+        }
+    }
+
+    @Test
+    @DisplayName("rejects an invalid window or negative thresholds")
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new SaturationMonitor(rateLimiter, 0, 0.9, 50, 4, 100,
+                0, 0, 0.2, clock::get, gcMillis::get));
+        assertThrows(IllegalArgumentException.class, () -> new SaturationMonitor(rateLimiter, 61, 0.9, 50, 4, 100,
+                0, 0, 0.2, clock::get, gcMillis::get));
+        assertThrows(IllegalArgumentException.class, () -> new SaturationMonitor(rateLimiter, 10, 0.9, -1, 4, 100,
+                0, 0, 0.2, clock::get, gcMillis::get));
+    }
+
+    private static final class StubRateLimiter implements ClientRateLimiter {
+
+        long clients;
+        long evictions;
+
+        @Override
+        public RateLimitProbe tryConsume(String clientKey, long tokens) {
+            return new RateLimitProbe(true, 0, 0);
+        }
+
+        @Override
+        public int getLimit() {
+            return 100;
+        }
+
+        @Override
+        public long size() {
+            return clients;
+        }
+
+        @Override
+        public long evictionCount() {
+            return evictions;
+        }
+
+        @Override
+        public ClientRateLimiter withLimit(String name, int requestsPerMinute) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
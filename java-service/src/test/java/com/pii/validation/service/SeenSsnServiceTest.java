@@ -0,0 +1,218 @@
+package com.pii.validation.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SeenSsnService")
+class SeenSsnServiceTest {
+
+    private static final byte[] KEY = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path dir;
+
+    private final List<SeenSsnService> services = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        services.forEach(SeenSsnService::shutdown);
+    }
+
+    private SeenSsnService service(byte[] key, Path snapshot) throws IOException {
+        SeenSsnService service = new SeenSsnService(key, snapshot, 0);
+        services.add(service);
+        return service;
+    }
+
+    private static InputStream lines(String... ssns) {
+        return new ByteArrayInputStream(String.join("\n", ssns).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Nested
+    @DisplayName("lookups")
+    class Lookups {
+
+        @Test
+        @DisplayName("reports SSNs as seen only once recorded")
+        void recordThenSeen() throws IOException {
+            SeenSsnService service = service(KEY, null);
+            assertFalse(service.seen("123-45-6789"));
+            assertFalse(service.record("123-45-6789"));
+            assertTrue(service.seen("123-45-6789"));
+            assertTrue(service.record("123-45-6789"));
+            assertFalse(service.seen("123-45-6788"));
+            assertEquals(1, service.size());
+        }
+
+        @Test
+        @DisplayName("ignores surrounding whitespace")
+        void trims() throws IOException {
+            SeenSsnService service = service(KEY, null);
+            service.record(" 123-45-6789\t");
+            assertTrue(service.seen("123-45-6789"));
+        }
+
+        @Test
+        @DisplayName("indexes SSNs that fail SSA rules but are well formed")
+        void indexesRuleViolations() throws IOException {
+            SeenSsnService service = service(KEY, null);
+            assertFalse(service.record("000-12-3456"));
+            assertTrue(service.seen("000-12-3456"));
+        }
+
+        @Test
+        @DisplayName("rejects malformed input")
+        void rejectsMalformed() throws IOException {
+            SeenSsnService service = service(KEY, null);
+            assertThrows(IllegalArgumentException.class, () -> service.seen("123456789"));
+            assertThrows(IllegalArgumentException.class, () -> service.record("12-345-6789"));
+            assertThrows(IllegalArgumentException.class, () -> service.seen(" "));
+        }
+
+        @Test
+        @DisplayName("rejects keys shorter than 16 bytes")
+        void rejectsShortKey() {
+            assertThrows(IllegalArgumentException.class, () -> new SeenSsnService(new byte[8], null, 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("bulk loads")
+    class Loads {
+
+        @Test
+        @DisplayName("adds every well-formed line and counts the rest")
+        void loads() throws IOException {
+            SeenSsnService service = service(KEY, null);
+            service.record("123-45-6789");
+
+            SeenSsnService.LoadResult result = service.load(
+                    lines("123-45-6789", "234-56-7890", "", "not an ssn", "345-67-8901", "234-56-7890"), false);
+
+            assertEquals(new SeenSsnService.LoadResult(5, 2, 1, 3), result);
+            assertTrue(service.seen("234-56-7890"));
+            assertTrue(service.seen("345-67-8901"));
+        }
+
+        @Test
+        @DisplayName("replaces the index with exactly the loaded SSNs")
+        void replaces() throws IOException {
+            SeenSsnService service = service(KEY, null);
+            service.record("123-45-6789");
+
+            SeenSsnService.LoadResult result = service.load(lines("234-56-7890"), true);
+
+            assertEquals(1, result.size());
+            assertFalse(service.seen("123-45-6789"));
+            assertTrue(service.seen("234-56-7890"));
+        }
+
+        @Test
+        @DisplayName("handles loads larger than one insert batch")
+        void largeLoad() throws IOException {
+            SeenSsnService service = service(KEY, null);
+            StringBuilder body = new StringBuilder();
+            for (int i = 0; i < 10_000; i++) {
+                body.append(String.format("%03d-%02d-%04d%n", 100 + i % 500, 10 + i % 80, i));
+            }
+
+            SeenSsnService.LoadResult result = service.load(
+                    new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)), false);
+
+            assertEquals(10_000, result.added());
+            assertTrue(service.seen("100-10-0000"));
+            assertTrue(service.seen(String.format("%03d-%02d-%04d", 100 + 9999 % 500, 10 + 9999 % 80, 9999)));
+        }
+    }
+
+    @Nested
+    @DisplayName("snapshots")
+    class Snapshots {
+
+        @Test
+        @DisplayName("restores the index from the snapshot on startup")
+        void restores() throws IOException {
+            Path snapshot = dir.resolve("seen.bin");
+            SeenSsnService first = service(KEY, snapshot);
+            first.load(lines("123-45-6789", "234-56-7890"), false);
+            first.shutdown();
+            assertTrue(Files.exists(snapshot));
+
+            SeenSsnService second = service(KEY, snapshot);
+            assertEquals(2, second.size());
+            assertTrue(second.seen("123-45-6789"));
+            assertTrue(second.seen("234-56-7890"));
+            assertFalse(second.seen("345-67-8901"));
+        }
+
+        @Test
+        @DisplayName("does not store SSNs in the snapshot")
+        void storesNoSsns() throws IOException {
+            Path snapshot = dir.resolve("seen.bin");
+            SeenSsnService service = service(KEY, snapshot);
+            service.record("123-45-6789");
+            assertTrue(service.snapshot());
+
+            String content = new String(Files.readAllBytes(snapshot), StandardCharsets.ISO_8859_1);
+            assertFalse(content.contains("123-45-6789"));
+        }
+
+        @Test
+        @DisplayName("only writes a snapshot when the index changed")
+        void skipsUnchanged() throws IOException {
+            SeenSsnService service = service(KEY, dir.resolve("seen.bin"));
+            service.record("123-45-6789");
+            assertTrue(service.snapshot());
+            assertFalse(service.snapshot());
+            service.record("123-45-6789");
+            assertFalse(service.snapshot());
+            service.record("234-56-7890");
+            assertTrue(service.snapshot());
+        }
+
+        @Test
+        @DisplayName("refuses a snapshot written with another key")
+        void refusesOtherKey() throws IOException {
+            Path snapshot = dir.resolve("seen.bin");
+            SeenSsnService service = service(KEY, snapshot);
+            service.record("123-45-6789");
+            service.snapshot();
+
+            byte[] otherKey = "fedcba9876543210".getBytes(StandardCharsets.US_ASCII);
+            IOException e = assertThrows(IOException.class, () -> new SeenSsnService(otherKey, snapshot, 0));
+            assertTrue(e.getMessage().contains("different ssn.index.hmac-key"));
+        }
+
+        @Test
+        @DisplayName("refuses a damaged snapshot")
+        void refusesDamaged() throws IOException {
+            Path snapshot = dir.resolve("seen.bin");
+            SeenSsnService service = service(KEY, snapshot);
+            service.load(lines("123-45-6789", "234-56-7890"), false);
+            service.snapshot();
+
+            byte[] bytes = Files.readAllBytes(snapshot);
+            bytes[bytes.length - 1] ^= 1;
+            Files.write(snapshot, bytes);
+            assertThrows(IOException.class, () -> new SeenSsnService(KEY, snapshot, 0));
+
+            Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 3));
+            assertThrows(IOException.class, () -> new SeenSsnService(KEY, snapshot, 0));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.pii.validation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pii.validation.core.SsnErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SsnTokenizationService")
+class SsnTokenizationServiceTest {
+
+    private static final Pattern SSN_FORMAT = Pattern.compile("\\d{3}-\\d{2}-\\d{4}");
+
+    private final SsnTokenizationService service = new SsnTokenizationService(new SsnValidationService(),
+            new ObjectMapper(), new byte[16], new byte[0]);
+
+    private String convert(String body, boolean detokenize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.convertLines(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out, detokenize);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("turns a valid SSN into an SSN-formatted token and back")
+    void roundTrip() {
+        String token = service.tokenize("123-45-6789");
+
+        assertTrue(SSN_FORMAT.matcher(token).matches());
+        assertNotEquals("123-45-6789", token);
+        assertEquals(token, service.tokenize(" 123-45-6789 "));
+        assertEquals("123-45-6789", service.detokenize(token));
+    }
+
+    @Test
+    @DisplayName("keeps leading zeros")
+    void leadingZeros() {
+        assertEquals("001-01-0001", service.detokenize(service.tokenize("001-01-0001")));
+    }
+
+    @Test
+    @DisplayName("only tokenizes valid SSNs")
+    void rejectsInvalidSsns() {
+        InvalidSsnException e = assertThrows(InvalidSsnException.class, () -> service.tokenize("666-45-6789"));
+        assertTrue(SsnErrorCode.AREA_666.isSet(e.errors()));
+        assertThrows(InvalidSsnException.class, () -> service.tokenize("123456789"));
+        assertThrows(InvalidSsnException.class, () -> service.tokenize(null));
+    }
+
+    @Test
+    @DisplayName("detokenizes any well-formed token, even one that fails SSA rules")
+    void detokenizesAnyWellFormedToken() {
+        assertTrue(SSN_FORMAT.matcher(service.detokenize("000-00-0000")).matches());
+        assertThrows(InvalidSsnException.class, () -> service.detokenize("12-345-6789"));
+    }
+
+    @Test
+    @DisplayName("converts batches line by line, keeping invalid lines in place")
+    void batches() throws IOException {
+        StringBuilder body = new StringBuilder();
+        List<String> ssns = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            String ssn = String.format("%03d-%02d-%04d", 100 + i, 10 + i % 80, 1000 + i);
+            ssns.add(ssn);
+            body.append(i == 300 ? "bogus" : ssn).append('\n');
+        }
+
+        String[] lines = convert(body.toString(), false).split("\n");
+
+        assertEquals(600, lines.length);
+        assertEquals("{\"token\":\"" + service.tokenize(ssns.get(0)) + "\"}", lines[0]);
+        assertEquals("{\"token\":\"" + service.tokenize(ssns.get(599)) + "\"}", lines[599]);
+        assertTrue(lines[300].startsWith("{\"errors\":["));
+
+        String token = service.tokenize(ssns.get(42));
+        assertEquals("{\"ssn\":\"" + ssns.get(42) + "\"}", convert(token + "\n", true).trim());
+    }
+
+    @Test
+    @DisplayName("stops a batch with an error line when the permit runs out")
+    void stopsWhenRateLimited() throws IOException {
+        String body = "123-45-6789\n".repeat(400);
+        int[] permits = {300};
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long converted = service.convertLines(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out,
+                false, () -> permits[0]-- > 0);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(300, converted);
+        assertEquals(301, lines.length);
+        assertEquals("{\"token\":\"" + service.tokenize("123-45-6789") + "\"}", lines[299]);
+        assertEquals("{\"error\":\"Too many requests\",\"message\":\"Rate limit exceeded after 300 items.\"}",
+                lines[300]);
+    }
+}
@@ -1,6 +1,10 @@
 package com.pii.validation.service;
 
+import com.pii.validation.core.SsnDenylist;
+import com.pii.validation.core.SsnErrorCode;
+import com.pii.validation.core.SsnRuleSet;
 import com.pii.validation.dto.SsnValidationResponse;
+import com.pii.validation.metrics.ValidationMetrics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -93,6 +97,54 @@ class SsnValidationServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("normalization")
+    class Normalization {
+
+        @Test
+        @DisplayName("returns the canonical form of other formats")
+        void returnsCanonicalForm() {
+            SsnValidationResponse response = service.validate(" 123 45 6789 ", SsnRuleSet.DEFAULT, true);
+
+            assertTrue(response.isValid());
+            assertEquals("123-45-6789", response.getSsn());
+            assertEquals(Boolean.TRUE, response.getNormalized());
+        }
+
+        @Test
+        @DisplayName("reports canonical input as not normalized")
+        void canonicalInput() {
+            SsnValidationResponse response = service.validate(" 123-45-6789 ", SsnRuleSet.DEFAULT, true);
+
+            assertTrue(response.isValid());
+            assertEquals("123-45-6789", response.getSsn());
+            assertEquals(Boolean.FALSE, response.getNormalized());
+            assertNull(service.validate("123-45-6789", SsnRuleSet.DEFAULT, false).getNormalized());
+        }
+
+        @Test
+        @DisplayName("applies the rules to the normalized SSN")
+        void appliesRules() {
+            SsnValidationResponse response = service.validate("666456789", SsnRuleSet.DEFAULT, true);
+
+            assertFalse(response.isValid());
+            assertEquals("666-45-6789", response.getSsn());
+            assertEquals(SsnErrorCode.AREA_666.bit(), response.getErrorCodes());
+            assertEquals(SsnErrorCode.AREA_666.bit(), service.check("666 45 6789", SsnRuleSet.DEFAULT, true));
+            assertEquals(SsnErrorCode.FORMAT.bit(), service.check("666 45 6789", SsnRuleSet.DEFAULT, false));
+        }
+
+        @Test
+        @DisplayName("leaves unrecognized input as it was")
+        void unrecognizedInput() {
+            SsnValidationResponse response = service.validate(" 12-345-6789 ", SsnRuleSet.DEFAULT, true);
+
+            assertFalse(response.isValid());
+            assertEquals("12-345-6789", response.getSsn());
+            assertEquals(Boolean.FALSE, response.getNormalized());
+        }
+    }
+
     @Nested
     @DisplayName("area number validation")
     class AreaNumberValidation {
@@ -170,6 +222,14 @@ class SsnValidationServiceTest {
             assertFalse(response.isValid());
         }
 
+        @Test
+        @DisplayName("reports the known test number error code")
+        void reportsKnownTestNumberCode() {
+            SsnValidationResponse response = service.validate("078-05-1120");
+
+            assertEquals(SsnErrorCode.KNOWN_TEST_NUMBER.bit(), response.getErrorCodes());
+        }
+
         @Test
         @DisplayName("rejects advertisement SSN 457-55-5462")
         void rejectsAdvertisement2() {
@@ -178,4 +238,39 @@ class SsnValidationServiceTest {
             assertFalse(response.isValid());
         }
     }
+
+    @Nested
+    @DisplayName("denylist")
+    class Denylist {
+
+        @BeforeEach
+        void setUp() {
+            SsnDenylist denylist = value -> value == 123_45_6789;
+            service = new SsnValidationService(ValidationMetrics.noop(), denylist);
+        }
+
+        @Test
+        @DisplayName("rejects a denylisted SSN that passes every rule")
+        void rejectsDenylistedSsn() {
+            SsnValidationResponse response = service.validate(" 123-45-6789 ");
+
+            assertFalse(response.isValid());
+            assertEquals(SsnErrorCode.DENYLISTED.bit(), response.getErrorCodes());
+            assertEquals("123-45-6789", response.getSsn());
+        }
+
+        @Test
+        @DisplayName("accepts SSNs that are not on the denylist")
+        void acceptsOtherSsns() {
+            assertTrue(service.validate("123-45-6780").isValid());
+        }
+
+        @Test
+        @DisplayName("reports rule violations without consulting the denylist")
+        void rulesTakePrecedence() {
+            SsnValidationResponse response = service.validate("000-45-6789");
+
+            assertEquals(SsnErrorCode.AREA_000.bit(), response.getErrorCodes());
+        }
+    }
 }
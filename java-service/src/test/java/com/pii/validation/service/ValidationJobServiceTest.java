@@ -0,0 +1,381 @@
+package com.pii.validation.service;
+
+import com.pii.validation.audit.AuditLog;
+import com.pii.validation.audit.AuditLogReader;
+import com.pii.validation.audit.AuditLogReader.AuditRecord;
+import com.pii.validation.audit.ValidationEventListener;
+import com.pii.validation.metrics.ValidationMetrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ValidationJobService")
+class ValidationJobServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private ValidationJobService service;
+    // Added to System.nanoTime to move the service's clock forward
+    private final long[] clockShift = {0};
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    private ValidationJobService service(long chunkSize) throws IOException {
+        return service(new SsnValidationService(), chunkSize, 4, 4);
+    }
+
+    private ValidationJobService service(SsnValidationService validation, long chunkSize, int parallelism,
+                                         int maxQueued) throws IOException {
+        return service(validation, ValidationEventListener.NONE, chunkSize, parallelism, maxQueued);
+    }
+
+    private ValidationJobService service(SsnValidationService validation, ValidationEventListener events,
+                                         long chunkSize, int parallelism, int maxQueued) throws IOException {
+        Path input = Files.createDirectories(dir.resolve("input"));
+        service = new ValidationJobService(validation, events, input, dir.resolve("work"), chunkSize, parallelism, maxQueued,
+                1024, TimeUnit.HOURS.toNanos(1), () -> System.nanoTime() + clockShift[0]);
+        return service;
+    }
+
+    private Path input(String name, String content) throws IOException {
+        return Files.writeString(dir.resolve("input").resolve(name), content);
+    }
+
+    private ValidationJob await(ValidationJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!job.isDone() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(job.isDone(), "job did not finish");
+        return job;
+    }
+
+    private List<String> results(ValidationJob job) throws IOException {
+        return Files.readAllLines(service.results(job.id()).orElseThrow());
+    }
+
+    @Nested
+    @DisplayName("Results")
+    class Results {
+
+        @Test
+        @DisplayName("writes one line per row with its line number and error codes")
+        void writesResults() throws Exception {
+            service(1024);
+            input("people.csv", "name,ssn\nAda,123-45-6789\nBob,000-45-6789\n\nEve,\"219-09-9999\"\nMal,123-00-0000\n");
+
+            ValidationJob job = await(service.submitFile("people.csv", 1, true));
+
+            assertEquals(ValidationJob.State.COMPLETED, job.state());
+            assertEquals(List.of(
+                    "line,valid,errors",
+                    "2,true,",
+                    "3,false,AREA_000",
+                    "5,false,KNOWN_TEST_NUMBER",
+                    "6,false,GROUP_00;SERIAL_0000"
+            ), results(job));
+            assertEquals(4, job.rows());
+            assertEquals(3, job.invalidRows());
+            assertEquals(1.0, job.progress());
+            assertEquals("built-in", job.rulesVersion());
+        }
+
+        @Test
+        @DisplayName("numbers lines across chunk boundaries")
+        void numbersAcrossChunks() throws Exception {
+            // 16-byte chunks put about one row in each chunk
+            service(16);
+            String rows = IntStream.rangeClosed(1, 500)
+                    .mapToObj(i -> (i % 3 == 0 ? "666-12-3456" : "123-45-6789") + "\n")
+                    .collect(Collectors.joining());
+            input("many.csv", rows);
+
+            ValidationJob job = await(service.submitFile("many.csv", 0, false));
+
+            List<String> lines = results(job);
+            assertEquals(501, lines.size());
+            for (int i = 1; i <= 500; i++) {
+                assertEquals(i + (i % 3 == 0 ? ",false,AREA_666" : ",true,"), lines.get(i));
+            }
+            assertEquals(500, job.rows());
+            assertEquals(166, job.invalidRows());
+            assertEquals(job.bytesTotal(), job.bytesProcessed());
+        }
+
+        @Test
+        @DisplayName("handles CRLF, quoted commas, missing columns and no trailing newline")
+        void parsesCsvEdgeCases() throws Exception {
+            service(1024);
+            input("edge.csv", "\"Doe, Jane\", 123-45-6789 \r\nshort\r\n\"x\",\"123-45-678\"");
+
+            ValidationJob job = await(service.submitFile("edge.csv", 1, false));
+
+            assertEquals(List.of(
+                    "line,valid,errors",
+                    "1,true,",
+                    "2,false,REQUIRED",
+                    "3,false,FORMAT"
+            ), results(job));
+        }
+
+        @Test
+        @DisplayName("reads UTF-8 full-width digits and Unicode spaces when normalizing")
+        void normalizesUtf8() throws Exception {
+            service(1024);
+            String rows = "a,\uFF11\uFF12\uFF13\uFF0D\uFF14\uFF15\uFF0D\uFF16\uFF17\uFF18\uFF19\n"
+                    + "b,\u00A0123 45 6789\u00A0\n"
+                    + "c,123\u201345\u20136789\n"
+                    + "d,\u00A0123-45-6789\n";
+            Files.writeString(dir.resolve("input").resolve("unicode.csv"), rows, StandardCharsets.UTF_8);
+
+            ValidationJob normalized = await(service.submitFile("unicode.csv", 1, false, true, 0));
+            ValidationJob strict = await(service.submitFile("unicode.csv", 1, false, false, 0));
+
+            assertEquals(List.of("line,valid,errors", "1,true,", "2,true,", "3,true,", "4,true,"),
+                    results(normalized));
+            // Without normalization, non-ASCII input is malformed rather than trimmed away
+            assertEquals(List.of("line,valid,errors", "1,false,FORMAT", "2,false,FORMAT", "3,false,FORMAT",
+                    "4,false,FORMAT"), results(strict));
+        }
+
+        @Test
+        @DisplayName("applies the denylist like single validations")
+        void appliesDenylist() throws Exception {
+            SsnValidationService validation = new SsnValidationService(ValidationMetrics.noop(),
+                    value -> value == 123_45_6789);
+            service(validation, 1024, 1, 1);
+            input("denied.csv", "123-45-6789\n");
+
+            ValidationJob job = await(service.submitFile("denied.csv", 0, false));
+
+            assertEquals("1,false,DENYLISTED", results(job).get(1));
+        }
+
+        @Test
+        @DisplayName("audits every row as a job decision of the submitting client, even past a full buffer")
+        void auditsRows() throws Exception {
+            Path auditDir = Files.createDirectories(dir.resolve("audit"));
+            byte[] key = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+            // A 16-slot buffer that drops request events; job rows must wait for it instead
+            ValidationJob job;
+            try (AuditLog audit = new AuditLog(auditDir, key, 16, AuditLog.Backpressure.DROP, 1 << 20, 1000)) {
+                service(new SsnValidationService(), audit, 256, 4, 1);
+                String rows = IntStream.rangeClosed(1, 2000)
+                        .mapToObj(i -> (i % 4 == 0 ? "000-12-3456" : "123-45-6789") + "\n")
+                        .collect(Collectors.joining());
+                input("audited.csv", rows);
+
+                job = await(service.submitFile("audited.csv", 0, false, false, 0xC0A80001L));
+                assertEquals(0, audit.droppedCount());
+            }
+
+            List<AuditRecord> records = new ArrayList<>();
+            AuditLogReader.read(auditDir, records::add);
+            assertEquals(ValidationJob.State.COMPLETED, job.state());
+            assertEquals(2000, records.size());
+            assertTrue(records.stream().allMatch(record -> record.source() == ValidationEventListener.Source.JOB
+                    && record.client() == 0xC0A80001L && record.ssnHash() != null));
+            assertEquals(500, records.stream().filter(record -> !record.valid()).count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Inputs")
+    class Inputs {
+
+        @Test
+        @DisplayName("rejects paths outside the input directory")
+        void rejectsEscapes() throws Exception {
+            service(1024);
+            Files.writeString(dir.resolve("secret.csv"), "123-45-6789\n");
+
+            assertThrows(IllegalArgumentException.class, () -> service.submitFile("../secret.csv", 0, false));
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.submitFile(dir.resolve("secret.csv").toString(), 0, false));
+            assertThrows(IllegalArgumentException.class, () -> service.submitFile("missing.csv", 0, false));
+        }
+
+        @Test
+        @DisplayName("rejects file jobs when no input directory is configured")
+        void fileJobsDisabled() throws Exception {
+            service = new ValidationJobService(new SsnValidationService(), ValidationEventListener.NONE, null,
+                    dir.resolve("work"), 1024, 1, 1, 1024, 0, System::nanoTime);
+
+            assertThrows(IllegalArgumentException.class, () -> service.submitFile("people.csv", 0, false));
+        }
+
+        @Test
+        @DisplayName("validates uploads and deletes them afterwards")
+        void validatesUploads() throws Exception {
+            service(1024);
+
+            ValidationJob job = await(service.submitUpload(
+                    new ByteArrayInputStream("123-45-6789\n".getBytes(StandardCharsets.US_ASCII)), 0, false));
+
+            assertEquals(List.of("line,valid,errors", "1,true,"), results(job));
+            try (var files = Files.list(dir.resolve("work"))) {
+                assertEquals(List.of(job.id() + ".results.csv"),
+                        files.map(file -> file.getFileName().toString()).toList());
+            }
+        }
+
+        @Test
+        @DisplayName("rejects uploads over the size limit and deletes what was written")
+        void rejectsLargeUploads() throws Exception {
+            service(1024);
+            byte[] body = "123-45-6789\n".repeat(100).getBytes(StandardCharsets.US_ASCII);
+
+            UploadTooLargeException e = assertThrows(UploadTooLargeException.class,
+                    () -> service.submitUpload(new ByteArrayInputStream(body), 0, false));
+
+            assertEquals(1024, e.maxBytes());
+            try (var files = Files.list(dir.resolve("work"))) {
+                assertEquals(0, files.count());
+            }
+            // The rejected upload gave its queue slot back
+            assertEquals(ValidationJob.State.COMPLETED, await(service.submitUpload(
+                    new ByteArrayInputStream(Arrays.copyOf(body, 1020)), 0, false)).state());
+        }
+
+        @Test
+        @DisplayName("fails jobs whose lines don't fit in a chunk")
+        void failsOnOverlongLines() throws Exception {
+            service(8);
+            input("long.csv", "123-45-6789,aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa\n123-45-6789\n");
+
+            ValidationJob job = await(service.submitFile("long.csv", 0, false));
+
+            assertEquals(ValidationJob.State.FAILED, job.state());
+            assertTrue(job.error().contains("longer than the chunk size"));
+            assertTrue(service.results(job.id()).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Lifecycle")
+    class Lifecycle {
+
+        @Test
+        @DisplayName("deleting a job removes it and its results")
+        void deletes() throws Exception {
+            service(1024);
+            input("people.csv", "123-45-6789\n");
+            ValidationJob job = await(service.submitFile("people.csv", 0, false));
+            Path results = service.results(job.id()).orElseThrow();
+
+            assertTrue(service.delete(job.id()));
+
+            assertTrue(service.find(job.id()).isEmpty());
+            assertFalse(Files.exists(results));
+            assertFalse(service.delete(job.id()));
+        }
+
+        @Test
+        @DisplayName("deleting a job while its last row is validated still removes its results")
+        void deletesWhileFinishing() throws Exception {
+            // Deletes the job from the validation of its only row, after its last progress check
+            CompletableFuture<String> id = new CompletableFuture<>();
+            SsnValidationService deleting = new SsnValidationService(ValidationMetrics.noop(), value -> {
+                try {
+                    assertTrue(service.delete(id.get(10, TimeUnit.SECONDS)));
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                return false;
+            });
+            service(deleting, 1024, 1, 1);
+            input("people.csv", "123-45-6789\n");
+
+            ValidationJob job = service.submitFile("people.csv", 0, false);
+            id.complete(job.id());
+
+            assertEquals(ValidationJob.State.CANCELLED, await(job).state());
+            assertTrue(service.find(job.id()).isEmpty());
+            try (var files = Files.list(dir.resolve("work"))) {
+                assertEquals(List.of(), files.toList());
+            }
+        }
+
+        @Test
+        @DisplayName("expires finished jobs and their results after the retention time")
+        void expires() throws Exception {
+            service(1024);
+            input("people.csv", "123-45-6789\n");
+            ValidationJob job = await(service.submitFile("people.csv", 0, false));
+            Path results = service.results(job.id()).orElseThrow();
+
+            clockShift[0] = TimeUnit.MINUTES.toNanos(59);
+            service.expire();
+            assertTrue(service.find(job.id()).isPresent());
+
+            clockShift[0] = TimeUnit.MINUTES.toNanos(61);
+            service.expire();
+            assertTrue(service.find(job.id()).isEmpty());
+            assertFalse(Files.exists(results));
+        }
+
+        @Test
+        @DisplayName("rejects submissions once the queue is full, without reading uploads")
+        void rejectsWhenQueueFull() throws Exception {
+            // Every validation blocks until released, so the first job holds the runner
+            Object gate = new Object();
+            boolean[] open = {false};
+            SsnValidationService blocking = new SsnValidationService(ValidationMetrics.noop(), value -> {
+                synchronized (gate) {
+                    while (!open[0]) {
+                        try {
+                            gate.wait();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return false;
+                        }
+                    }
+                }
+                return false;
+            });
+            service(blocking, 1024, 1, 1);
+            input("people.csv", "123-45-6789\n");
+
+            ValidationJob running = service.submitFile("people.csv", 0, false);
+            while (running.state() == ValidationJob.State.QUEUED) {
+                Thread.sleep(1);
+            }
+            ValidationJob queued = service.submitFile("people.csv", 0, false);
+
+            assertThrows(RejectedExecutionException.class, () -> service.submitFile("people.csv", 0, false));
+            ByteArrayInputStream upload = new ByteArrayInputStream("123-45-6789\n".getBytes(StandardCharsets.US_ASCII));
+            assertThrows(RejectedExecutionException.class, () -> service.submitUpload(upload, 0, false));
+            assertEquals(12, upload.available());
+            synchronized (gate) {
+                open[0] = true;
+                gate.notifyAll();
+            }
+            assertEquals(ValidationJob.State.COMPLETED, await(running).state());
+            assertEquals(ValidationJob.State.COMPLETED, await(queued).state());
+        }
+    }
+}
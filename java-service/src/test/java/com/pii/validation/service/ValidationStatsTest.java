@@ -0,0 +1,194 @@
+package com.pii.validation.service;
+
+import com.pii.validation.core.SsnErrorCode;
+import com.pii.validation.dto.ValidationStatsResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ValidationStats")
+class ValidationStatsTest {
+
+    private static final long ALICE = ClientKeys.of("10.0.0.1");
+    private static final long BOB = ClientKeys.of("10.0.0.2");
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    private ValidationStats stats(int horizonSeconds, int topCapacity) {
+        return new ValidationStats(horizonSeconds, topCapacity, clock::get);
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    private static void record(ValidationStats stats, long client, int errors, int times) {
+        for (int i = 0; i < times; i++) {
+            stats.record(client, errors);
+        }
+    }
+
+    @Test
+    @DisplayName("counts validations per outcome, and each failed rule of a rejection")
+    void countsOutcomes() {
+        ValidationStats stats = stats(300, 16);
+        record(stats, ALICE, 0, 3);
+        record(stats, ALICE, SsnErrorCode.AREA_666.bit(), 2);
+        record(stats, BOB, SsnErrorCode.GROUP_00.bit() | SsnErrorCode.SERIAL_0000.bit(), 1);
+
+        ValidationStatsResponse response = stats.query(300, "rejected", 10);
+
+        assertEquals(300, response.getWindowSeconds());
+        assertEquals(ValidationStats.outcomes(), List.copyOf(response.getOutcomes().keySet()));
+        assertEquals(6, response.getOutcomes().get("validations"));
+        assertEquals(3, response.getOutcomes().get("valid"));
+        assertEquals(3, response.getOutcomes().get("rejected"));
+        assertEquals(2, response.getOutcomes().get("area_666"));
+        assertEquals(1, response.getOutcomes().get("group_00"));
+        assertEquals(1, response.getOutcomes().get("serial_0000"));
+        assertEquals(0, response.getOutcomes().get("format"));
+    }
+
+    @Test
+    @DisplayName("ranks clients by the requested outcome")
+    void topClientsByOutcome() {
+        ValidationStats stats = stats(300, 16);
+        record(stats, ALICE, 0, 10);
+        record(stats, ALICE, SsnErrorCode.AREA_666.bit(), 1);
+        record(stats, BOB, SsnErrorCode.AREA_666.bit(), 4);
+
+        List<ValidationStatsResponse.Client> area666 = stats.query(300, "AREA_666", 10).getTopClients();
+        assertEquals(2, area666.size());
+        assertEquals("10.0.0.2", area666.get(0).getClient());
+        assertEquals(4, area666.get(0).getCount());
+        assertEquals(0, area666.get(0).getError());
+        assertEquals("10.0.0.1", area666.get(1).getClient());
+        assertEquals(1, area666.get(1).getCount());
+
+        List<ValidationStatsResponse.Client> all = stats.query(300, "validations", 1).getTopClients();
+        assertEquals(1, all.size());
+        assertEquals("10.0.0.1", all.get(0).getClient());
+        assertEquals(11, all.get(0).getCount());
+
+        assertTrue(stats.query(300, "denylisted", 10).getTopClients().isEmpty());
+    }
+
+    @Nested
+    @DisplayName("windows")
+    class Windows {
+
+        @Test
+        @DisplayName("only cover the requested number of seconds")
+        void coverRequestedSeconds() {
+            ValidationStats stats = stats(60, 16);
+            record(stats, ALICE, 0, 5);
+            advanceSeconds(30);
+            record(stats, BOB, 0, 2);
+
+            assertEquals(7, stats.query(60, "valid", 10).getOutcomes().get("valid"));
+            assertEquals(2, stats.query(10, "valid", 10).getOutcomes().get("valid"));
+            assertEquals(1, stats.query(10, "valid", 10).getTopClients().size());
+            assertEquals(5, stats.query(31, "valid", 10).getTopClients().get(0).getCount());
+        }
+
+        @Test
+        @DisplayName("drop seconds older than the horizon")
+        void dropOldSeconds() {
+            ValidationStats stats = stats(10, 16);
+            record(stats, ALICE, 0, 5);
+            advanceSeconds(10);
+            assertEquals(0, stats.query(10, "valid", 10).getOutcomes().get("valid"));
+
+            // The slot is reused for a later second and starts from zero
+            advanceSeconds(1);
+            record(stats, BOB, 0, 1);
+            ValidationStatsResponse response = stats.query(10, "valid", 10);
+            assertEquals(1, response.getOutcomes().get("valid"));
+            assertEquals("10.0.0.2", response.getTopClients().get(0).getClient());
+        }
+
+        @Test
+        @DisplayName("add up a client's counts across seconds")
+        void sumAcrossSeconds() {
+            ValidationStats stats = stats(60, 16);
+            for (int second = 0; second < 5; second++) {
+                record(stats, ALICE, SsnErrorCode.FORMAT.bit(), 3);
+                advanceSeconds(1);
+            }
+
+            ValidationStatsResponse.Client alice = stats.query(60, "format", 10).getTopClients().get(0);
+            assertEquals(15, alice.getCount());
+            assertEquals(0, alice.getError());
+        }
+    }
+
+    @Test
+    @DisplayName("keeps clients above total / capacity in bounded memory, in order")
+    void boundedTopClients() {
+        // 1,750 validations from one thread, so into one of 2 stripes of 8 counters: anyone above
+        // 1,750 / 8 is tracked
+        ValidationStats stats = stats(60, 16);
+        for (int round = 0; round < 50; round++) {
+            record(stats, ALICE, 0, 10);
+            record(stats, BOB, 0, 5);
+            for (int client = 0; client < 20; client++) {
+                stats.record(ClientKeys.of("192.168.1." + (round * 20 + client) % 250), 0);
+            }
+        }
+
+        List<ValidationStatsResponse.Client> top = stats.query(60, "valid", 16).getTopClients();
+        assertTrue(top.size() <= 16);
+        assertEquals("10.0.0.1", top.get(0).getClient());
+        assertEquals("10.0.0.2", top.get(1).getClient());
+        ValidationStatsResponse.Client alice = top.get(0);
+        assertTrue(alice.getCount() >= 500 && alice.getCount() - alice.getError() <= 500);
+        assertEquals(1_750, stats.query(60, "valid", 0).getOutcomes().get("valid"));
+    }
+
+    @Test
+    @DisplayName("merges a client's counts from the stripes of several threads")
+    void mergesStripes() throws InterruptedException {
+        ValidationStats stats = stats(60, 64);
+        // Starts the second, so no thread races the clear of its slot
+        stats.record(BOB, 0);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            int subnet = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    stats.record(ALICE, 0);
+                    stats.record(ClientKeys.of("192.168." + subnet + "." + i % 100), 0);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        ValidationStatsResponse.Client alice = stats.query(60, "valid", 1).getTopClients().get(0);
+        assertEquals("10.0.0.1", alice.getClient());
+        assertTrue(alice.getCount() >= 8_000 && alice.getCount() - alice.getError() <= 8_000,
+                alice.getCount() + " +/- " + alice.getError());
+    }
+
+    @Test
+    @DisplayName("rejects invalid queries and settings")
+    void rejectsInvalidArguments() {
+        ValidationStats stats = stats(60, 16);
+
+        assertThrows(IllegalArgumentException.class, () -> stats.query(0, "valid", 10));
+        assertThrows(IllegalArgumentException.class, () -> stats.query(61, "valid", 10));
+        assertThrows(IllegalArgumentException.class, () -> stats.query(60, "valid", 17));
+        assertThrows(IllegalArgumentException.class, () -> stats.query(60, "unknown", 10));
+        assertThrows(IllegalArgumentException.class, () -> stats(0, 16));
+        assertThrows(IllegalArgumentException.class, () -> stats(3601, 16));
+        assertThrows(IllegalArgumentException.class, () -> stats(60, 0));
+    }
+}